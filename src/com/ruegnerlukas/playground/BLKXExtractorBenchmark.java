@@ -0,0 +1,193 @@
+package com.ruegnerlukas.playground;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.Random;
+
+import com.ruegnerlukas.wtminer.ExtractorLogic;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+
+/**
+ * Compares the json-tree extraction with the streaming extraction of .blkx-files.
+ * usage: [directory with .blkx-files] [vehicles|weapons] [runs]
+ * If the directory does not exist, synthetic files (seeded, see {@link #generateFiles(File, boolean, int)}) are generated into it first,
+ * so the benchmark can be reproduced without the game files.
+ * */
+public class BLKXExtractorBenchmark {
+
+
+	public static void main(String[] args) throws Exception {
+
+		File dir = new File(args.length > 0 ? args[0] : "tankmodels");
+		boolean vehicles = args.length > 1 ? args[1].equalsIgnoreCase("vehicles") : true;
+		int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		if(!dir.exists()) {
+			generateFiles(dir, vehicles, 500);
+			System.out.println("Generated synthetic files: " + dir.getAbsolutePath());
+		}
+
+		File[] files = dir.listFiles();
+		if(files == null) {
+			System.err.println("Not a directory: " + dir.getAbsolutePath());
+			return;
+		}
+
+		long nBytes = 0;
+		for(File file : files) {
+			nBytes += file.getName().endsWith(".blkx") ? file.length() : 0;
+		}
+
+		PrintStream out = System.out;
+		PrintStream err = System.err;
+		PrintStream nullStream = new PrintStream(new OutputStream() {
+			@Override public void write(int b) {
+			}
+		});
+
+		// the extractors print every file
+		System.setOut(nullStream);
+		System.setErr(nullStream);
+		try {
+
+			// warmup + compare results
+			int nDifferent = 0;
+			for(File file : files) {
+				if(!file.getName().endsWith(".blkx")) {
+					continue;
+				}
+				ExtractorLogic.streamBLKX = false;
+				String resultTree = vehicles ? toString(ExtractorLogic.extractVehicle(file)) : toString(ExtractorLogic.extractWeapon(file));
+				ExtractorLogic.streamBLKX = true;
+				String resultStream = vehicles ? toString(ExtractorLogic.extractVehicle(file)) : toString(ExtractorLogic.extractWeapon(file));
+				if(!resultTree.equals(resultStream)) {
+					out.println("different result: " + file.getName() + "\n  tree:   " + resultTree + "\n  stream: " + resultStream);
+					nDifferent++;
+				}
+			}
+			out.println(nDifferent + " files with different results");
+
+			long timeTree = run(files, vehicles, false, runs);
+			long timeStream = run(files, vehicles, true, runs);
+			print(out, "tree", timeTree, runs, nBytes);
+			print(out, "stream", timeStream, runs, nBytes);
+
+		} finally {
+			System.setOut(out);
+			System.setErr(err);
+		}
+	}
+
+
+
+
+	/**
+	 * Generates .blkx-files with the structure of the exported tank models / ground weapons (filler data, cockpit, weapons as objects and arrays,
+	 * bullets and rockets, some duplicate names). The files are the same for every run.
+	 * */
+	private static void generateFiles(File dir, boolean vehicles, int nFiles) throws IOException {
+		dir.mkdirs();
+		Random random = new Random(42);
+		for(int i=0; i<nFiles; i++) {
+			File file = new File(dir, (vehicles ? "vehicle_" : "weapon_") + i + ".blkx");
+			Writer writer = new BufferedWriter(new FileWriter(file));
+			try {
+				writer.write("{\n");
+				writeFiller(writer, random, 40);
+				if(vehicles) {
+					writer.write("\"cockpit\": {\"zoomInFov\": " + (5 + random.nextInt(10)) + ".5, \"zoomOutFov\": " + (30 + random.nextInt(40)) + ".0");
+					if(random.nextBoolean()) {
+						writer.write(", \"sightFov\": " + (20 + random.nextInt(20)));
+					}
+					writer.write("},\n");
+					if(random.nextBoolean()) {
+						writer.write("\"Weapon\": [{\"trigger\": \"gunner0\", \"blk\": \"gameData/Weapons/groundModels_weapons/gun_" + i + ".blk\", \"triggerGroup\": \"primary\"},");
+						writer.write("{\"blk\": \"gameData/Weapons/groundModels_weapons/mg_" + i + ".blk\", \"triggerGroup\": \"machinegun\"}],\n");
+					} else {
+						writer.write("\"Weapon\": {\"blk\": \"gameData/Weapons/groundModels_weapons/gun_" + i + ".blk\"},\n");
+						writer.write("\"Weapon\": {\"blk\": \"gameData/Weapons/groundModels_weapons/gun_" + i + "_b.blk\", \"triggerGroup\": \"secondary\"},\n");
+					}
+				} else {
+					for(int j=0, n=1+random.nextInt(4); j<n; j++) {
+						writer.write("\"" + (random.nextInt(4) == 0 ? "rocket" : "bullet") + "\": {\"bulletName\": \"ammo_" + i + "_" + j + "\", \"bulletType\": \"apds_tank\", ");
+						writer.write("\"speed\": " + (600 + random.nextInt(1200)) + ".0, \"mass\": " + (1 + random.nextInt(20)) + ".25, \"caliber\": 0.0" + (2 + random.nextInt(8)) + ", \"Cx\": 0.3" + random.nextInt(10));
+						writer.write(", \"effects\": {\"hitEffect\": \"explosion\", \"radius\": 2.5}},\n");
+					}
+				}
+				writeFiller(writer, random, 40);
+				writer.write("\"end\": true\n}\n");
+			} finally {
+				writer.close();
+			}
+		}
+	}
+
+
+
+
+	private static void writeFiller(Writer writer, Random random, int nEntries) throws IOException {
+		for(int i=0; i<nEntries; i++) {
+			writer.write("\"filler" + i + "\": {\"values\": [" + random.nextDouble() + ", " + random.nextDouble() + ", " + random.nextInt(1000) + "], ");
+			writer.write("\"name\": \"part_" + random.nextInt(100) + "\", \"nested\": {\"a\": " + random.nextInt(10) + ", \"b\": [true, false, null]}},\n");
+		}
+	}
+
+
+
+
+	private static long run(File[] files, boolean vehicles, boolean stream, int runs) throws Exception {
+		ExtractorLogic.streamBLKX = stream;
+		long ts = System.nanoTime();
+		for(int i=0; i<runs; i++) {
+			for(File file : files) {
+				if(!file.getName().endsWith(".blkx")) {
+					continue;
+				}
+				if(vehicles) {
+					ExtractorLogic.extractVehicle(file);
+				} else {
+					ExtractorLogic.extractWeapon(file);
+				}
+			}
+		}
+		return System.nanoTime() - ts;
+	}
+
+
+
+
+	private static void print(PrintStream out, String name, long time, int runs, long nBytes) {
+		double seconds = (time / (double)runs) / 1000000000.0;
+		out.printf("%-6s  avg=%.2fms  throughput=%.2fMB/s%n", name, seconds * 1000.0, (nBytes / (1024.0*1024.0)) / seconds);
+	}
+
+
+
+
+	private static String toString(Vehicle vehicle) {
+		if(vehicle == null) {
+			return "null";
+		}
+		return vehicle.name + " " + vehicle.fovOut + " " + vehicle.fovIn + " " + vehicle.fovSight + " " + vehicle.weapons + " " + vehicle.triggerGroups;
+	}
+
+
+
+
+	private static String toString(Weapon weapon) {
+		StringBuilder sb = new StringBuilder(weapon.name);
+		for(Ammo ammo : weapon.ammo) {
+			sb.append(" [").append(ammo.name).append(",").append(ammo.type).append(",").append(ammo.speed).append(",").append(ammo.mass).append(",").append(ammo.caliber).append(",").append(ammo.cx).append("]");
+		}
+		return sb.toString();
+	}
+
+
+}
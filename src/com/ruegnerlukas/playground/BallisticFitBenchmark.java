@@ -0,0 +1,107 @@
+package com.ruegnerlukas.playground;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
+import com.ruegnerlukas.simplemath.vectors.vec3.Vector3d;
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.QuadraticFitter;
+import com.ruegnerlukas.wtutils.SightUtils;
+
+/**
+ * Compares the ballistic curve fitting with commons-math (RRQR-decomposition) with the closed-form fitter (full refit and incremental refit after moving one marker).
+ * usage: [number of markers] [iterations]
+ * */
+public class BallisticFitBenchmark {
+
+
+	public static void main(String[] args) {
+
+		int nMarkers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+		Random random = new Random(42);
+		List<Vector2d> points = new ArrayList<Vector2d>();
+		points.add(new Vector2d(0, 0));
+		for(int i=1; i<=nMarkers; i++) {
+			double x = i*2;
+			points.add(new Vector2d(x, 3.1*x + 0.42*x*x + (random.nextDouble()-0.5)*4));
+		}
+
+		// compare results
+		Vector3d expected = SightUtils.fitBallisticFunction(points, 1);
+		Vector3d actual = createFitter(points).solve(1);
+		System.out.println("commons-math: " + expected);
+		System.out.println("closed-form:  " + actual);
+		System.out.printf("max relative difference: %.3e%n", relDiff(expected, actual));
+
+		// warmup
+		for(int i=0; i<Math.min(iterations, 20000); i++) {
+			SightUtils.fitBallisticFunction(points, 1);
+			createFitter(points).solve(1);
+		}
+
+		// commons-math
+		long ts = System.nanoTime();
+		double sink = 0;
+		for(int i=0; i<iterations; i++) {
+			sink += SightUtils.fitBallisticFunction(points, 1).z;
+		}
+		report("commons-math", System.nanoTime()-ts, iterations);
+
+		// closed-form, full refit
+		Vector3d result = new Vector3d();
+		ts = System.nanoTime();
+		for(int i=0; i<iterations; i++) {
+			createFitter(points).solve(1, result);
+			sink += result.z;
+		}
+		report("closed-form", System.nanoTime()-ts, iterations);
+
+		// closed-form, incremental refit (move the last marker up and down)
+		QuadraticFitter fitter = createFitter(points);
+		Vector2d last = points.get(points.size()-1);
+		ts = System.nanoTime();
+		for(int i=0; i<iterations; i++) {
+			double offset = (i & 1) == 0 ? 1 : -1;
+			fitter.move(last.x, last.y, last.x, last.y+offset);
+			last.y += offset;
+			fitter.solve(1, result);
+			sink += result.z;
+		}
+		report("incremental", System.nanoTime()-ts, iterations);
+
+		System.out.printf("max relative difference after incremental refits: %.3e%n", relDiff(SightUtils.fitBallisticFunction(points, 1), result));
+		System.out.println("(" + sink + ")");
+	}
+
+
+
+
+	private static QuadraticFitter createFitter(List<Vector2d> points) {
+		QuadraticFitter fitter = new QuadraticFitter();
+		for(int i=0; i<points.size(); i++) {
+			fitter.add(points.get(i).x, points.get(i).y);
+		}
+		return fitter;
+	}
+
+
+
+
+	private static double relDiff(Vector3d expected, Vector3d actual) {
+		double diff = Math.max(Math.abs(expected.x-actual.x), Math.max(Math.abs(expected.y-actual.y), Math.abs(expected.z-actual.z)));
+		double norm = Math.max(Math.abs(expected.x), Math.max(Math.abs(expected.y), Math.abs(expected.z)));
+		return diff / norm;
+	}
+
+
+
+
+	private static void report(String name, long timeNs, int iterations) {
+		System.out.printf("%-13s avg=%.3fus  (%.0f fits/s)%n", name, (timeNs / (double)iterations) / 1000.0, iterations / (timeNs / 1e9));
+	}
+
+
+}
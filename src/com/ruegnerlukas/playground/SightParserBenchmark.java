@@ -0,0 +1,169 @@
+package com.ruegnerlukas.playground;
+
+import com.ruegnerlukas.wtsights.data.sightfile.BLKSightParser;
+import com.ruegnerlukas.wtsights.data.sightfile.Block;
+import com.ruegnerlukas.wtsights.data.sightfile.BlockElement;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamBool;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamColor;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamFloat;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamInteger;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamText;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamVec2;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamVec3;
+import com.ruegnerlukas.wtsights.data.sightfile.ParamVec4;
+
+/**
+ * Compares the old multi-pass sight parser with the single-pass lexer on generated sight files.
+ * usage: [number of elements] [runs]
+ * */
+public class SightParserBenchmark {
+
+
+	public static void main(String[] args) {
+
+		int nElements = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		String content = generateSight(nElements);
+		System.out.println("generated sight: " + nElements + " elements, " + (content.length()/1024) + "KB");
+
+		// compare results
+		String resultLexer = describe(BLKSightParser.parseContent(content, "generated"));
+		try {
+			String resultLegacy = describe(BLKSightParser.parseLegacy(content));
+			System.out.println("same result: " + resultLegacy.equals(resultLexer));
+		} catch (StackOverflowError e) {
+			System.out.println("old parser: stackoverflow");
+			runs = 0;
+		}
+
+		// warmup
+		for(int i=0; i<Math.min(runs, 3); i++) {
+			BLKSightParser.parseLegacy(content);
+			BLKSightParser.parseContent(content, "generated");
+		}
+
+		if(runs > 0) {
+			long ts = System.nanoTime();
+			for(int i=0; i<runs; i++) {
+				BLKSightParser.parseLegacy(content);
+			}
+			long timeLegacy = System.nanoTime() - ts;
+			System.out.printf("old     avg=%.2fms%n", (timeLegacy / (double)runs) / 1000000.0);
+		}
+
+		int runsLexer = Math.max(runs, 10);
+		long ts = System.nanoTime();
+		for(int i=0; i<runsLexer; i++) {
+			BLKSightParser.parseContent(content, "generated");
+		}
+		long timeLexer = System.nanoTime() - ts;
+		System.out.printf("lexer   avg=%.2fms%n", (timeLexer / (double)runsLexer) / 1000000.0);
+	}
+
+
+
+
+	/**
+	 * Generates a sight in the format written by DataWriter_v3 with the given number of custom elements.
+	 * */
+	private static String generateSight(int nElements) {
+		StringBuilder sb = new StringBuilder();
+		String nl = System.lineSeparator();
+
+		sb.append("// created with WTSightEdit benchmark").append(nl);
+		sb.append("// fileversion = 3").append(nl);
+		sb.append("// vehicle = ussr_t_34_1941").append(nl).append(nl);
+		sb.append("thousandth:t = \"ussr\"").append(nl);
+		sb.append("fontSizeMult:r = 1.0").append(nl);
+		sb.append("applyCorrectionToGun:b = yes").append(nl);
+		sb.append("rangefinderProgressBarColor1:c = 0,255,0,64").append(nl);
+		sb.append("crosshair_hor_ranges {").append(nl);
+		for(int i=-8; i<=8; i++) {
+			sb.append("  range:p2 = ").append(i*4).append(",").append(i%2 == 0 ? Math.abs(i*4) : 0).append(nl);
+		}
+		sb.append("}").append(nl).append(nl);
+
+		sb.append("/* generated elements").append(nl).append("   with a block comment */").append(nl);
+
+		sb.append("drawLines {").append(nl);
+		for(int i=0; i<nElements; i++) {
+			sb.append("  line {").append(nl);
+			sb.append("    thousandth:b = ").append(i%2 == 0 ? "yes" : "no").append(nl);
+			sb.append("    move:b = no").append(nl);
+			sb.append("    line:p4 = ").append(i*0.5f).append(",").append(-i*0.25f).append(", ").append(i*0.125f).append(",").append(1.5f).append(nl);
+			sb.append("  }").append(nl);
+		}
+		sb.append("}").append(nl).append(nl);
+
+		sb.append("drawTexts {").append(nl);
+		for(int i=0; i<nElements; i++) {
+			sb.append("  text { text:t = \"  Text ").append(i).append(" \"; align:i = ").append(i%3).append("; pos:p2 = ").append(i).append(",").append(i*0.01f).append("; size:r = 0.6; } // comment").append(nl);
+		}
+		sb.append("}").append(nl).append(nl);
+
+		sb.append("drawCircles {").append(nl);
+		for(int i=0; i<nElements; i++) {
+			sb.append("\tcircle {").append(nl);
+			sb.append("\t\tsegment:p2 = 0,360").append(nl);
+			sb.append("\t\tpos:p2 = ").append(i*0.1f).append(",").append(i*-0.1f).append(nl);
+			sb.append("\t\tdiameter:r = ").append(1+i%7).append(nl);
+			sb.append("\t\tsize:r = 1").append(nl);
+			sb.append("\t}").append(nl);
+		}
+		sb.append("}").append(nl).append(nl);
+
+		sb.append("//-- metadata start").append(nl);
+		for(int i=0; i<nElements; i++) {
+			sb.append("//-- eid=\"line_").append(i).append("\", name=\"Line ").append(i).append("\", type=\"CUSTOM_LINE\"").append(nl);
+		}
+		return sb.toString();
+	}
+
+
+
+
+	private static String describe(Block block) {
+		StringBuilder sb = new StringBuilder();
+		describe(block, sb);
+		sb.append(" floating=").append(block.floatingMetadata);
+		return sb.toString();
+	}
+
+
+
+
+	private static void describe(BlockElement element, StringBuilder sb) {
+		sb.append(element.name).append('(').append(element.metadata).append(')');
+		if(element instanceof Block) {
+			sb.append('{');
+			for(BlockElement e : ((Block)element).elements) {
+				describe(e, sb);
+				sb.append(';');
+			}
+			sb.append('}');
+		} else if(element instanceof ParamText) {
+			sb.append('=').append(((ParamText)element).text);
+		} else if(element instanceof ParamBool) {
+			sb.append('=').append(((ParamBool)element).value);
+		} else if(element instanceof ParamFloat) {
+			sb.append('=').append(((ParamFloat)element).value);
+		} else if(element instanceof ParamInteger) {
+			sb.append('=').append(((ParamInteger)element).value);
+		} else if(element instanceof ParamVec2) {
+			ParamVec2 p = (ParamVec2)element;
+			sb.append('=').append(p.value.x).append(',').append(p.value.y);
+		} else if(element instanceof ParamVec3) {
+			ParamVec3 p = (ParamVec3)element;
+			sb.append('=').append(p.value.x).append(',').append(p.value.y).append(',').append(p.value.z);
+		} else if(element instanceof ParamVec4) {
+			ParamVec4 p = (ParamVec4)element;
+			sb.append('=').append(p.value.x).append(',').append(p.value.y).append(',').append(p.value.z).append(',').append(p.value.w);
+		} else if(element instanceof ParamColor) {
+			ParamColor p = (ParamColor)element;
+			sb.append('=').append(p.value.x).append(',').append(p.value.y).append(',').append(p.value.z).append(',').append(p.value.w);
+		}
+	}
+
+
+}
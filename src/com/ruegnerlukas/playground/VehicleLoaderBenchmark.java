@@ -0,0 +1,57 @@
+package com.ruegnerlukas.playground;
+
+import java.io.File;
+import java.util.List;
+
+import com.ruegnerlukas.simpleutils.JarLocation;
+import com.ruegnerlukas.wtsights.WTSights;
+import com.ruegnerlukas.wtsights.data.loading.DataLoader_v3;
+import com.ruegnerlukas.wtsights.data.loading.DataLoader_v3_stream;
+import com.ruegnerlukas.wtsights.data.loading.IDataLoader;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+
+public class VehicleLoaderBenchmark {
+
+
+	public static void main(String[] args) throws Exception {
+
+		File file = args.length > 0 ? new File(args[0]) : new File(JarLocation.getJarLocation(WTSights.class) + "/data/vehicle_data.xml");
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		IDataLoader loaderDOM = new DataLoader_v3();
+		IDataLoader loaderStream = new DataLoader_v3_stream();
+
+		// warmup
+		for(int i=0; i<3; i++) {
+			loaderDOM.loadVehicleDataFile(file);
+			loaderStream.loadVehicleDataFile(file);
+		}
+
+		run("DOM", loaderDOM, file, runs);
+		run("StAX", loaderStream, file, runs);
+	}
+
+
+
+
+	private static void run(String name, IDataLoader loader, File file, int runs) throws Exception {
+		Runtime runtime = Runtime.getRuntime();
+		long timeTotal = 0;
+		long memMax = 0;
+		int nVehicles = 0;
+
+		for(int i=0; i<runs; i++) {
+			System.gc();
+			long memBefore = runtime.totalMemory() - runtime.freeMemory();
+			long ts = System.nanoTime();
+			List<Vehicle> vehicles = loader.loadVehicleDataFile(file);
+			timeTotal += System.nanoTime() - ts;
+			memMax = Math.max(memMax, (runtime.totalMemory() - runtime.freeMemory()) - memBefore);
+			nVehicles = vehicles.size();
+		}
+
+		System.out.printf("%-6s  vehicles=%d  avg=%.2fms  maxHeapDelta=%.2fMB%n", name, nVehicles, (timeTotal / (double)runs) / 1000000.0, memMax / (1024.0*1024.0));
+	}
+
+
+}
@@ -0,0 +1,241 @@
+package com.ruegnerlukas.wtminer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Unpacks all .blk-files of a directory with a bounded pool of worker threads.
+ * The unpacker is an external command. The placeholder {@link #PLACEHOLDER_FILE} in the command is replaced by
+ * the path of the .blk-file. The command has to create the file "[name].blkx" next to the .blk-file.
+ * On windows the default command opens the file with the registered unpacker ("cmd /c file.blk"),
+ * on other systems a local (stub-)script can be used, e.g. "sh unpack.sh {file}".
+ * Files whose unpacked .blkx in the output directory is newer than the .blk-file are skipped.
+ *
+ * The miners create the unpacker with {@link #fromSystemProperties()}, so the command, the number of threads and the timeout
+ * can be set on the command line, e.g. -Dwtminer.unpack.command="sh /opt/wt-tools/unpack.sh {file}" -Dwtminer.unpack.threads=4 -Dwtminer.unpack.timeout=60
+ * */
+public class BLKUnpacker {
+
+
+	public static final String PLACEHOLDER_FILE = "{file}";
+
+	public static final String PROPERTY_COMMAND = "wtminer.unpack.command";
+	public static final String PROPERTY_THREADS = "wtminer.unpack.threads";
+	public static final String PROPERTY_TIMEOUT = "wtminer.unpack.timeout";
+
+	private static final long DEFAULT_TIMEOUT = 120;
+
+	// output of the unpacker is discarded
+	private static final File NULL_FILE = new File(System.getProperty("os.name", "").toLowerCase().contains("win") ? "NUL" : "/dev/null");
+
+
+	public enum Result {
+		UNPACKED, SKIPPED, FAILED;
+	}
+
+
+	public interface ProgressListener {
+
+		/**
+		 * Called after a file was processed. May be called from any of the worker threads.
+		 * @param nProcessed the number of processed files (including this one)
+		 * @param nTotal the total number of files
+		 * */
+		void onProgress(File file, Result result, int nProcessed, int nTotal);
+
+	}
+
+
+	private final List<String> command;
+	private final int nThreads;
+	private final long timeoutSeconds;
+
+
+
+
+	/**
+	 * Creates an unpacker with the default command and one thread per cpu.
+	 * */
+	public BLKUnpacker() {
+		this(getDefaultCommand(), Runtime.getRuntime().availableProcessors(), DEFAULT_TIMEOUT);
+	}
+
+
+
+
+	/**
+	 * Creates an unpacker with the settings of the system properties {@link #PROPERTY_COMMAND} (parts separated by whitespace),
+	 * {@link #PROPERTY_THREADS} and {@link #PROPERTY_TIMEOUT} (in seconds). Missing or invalid properties are replaced by the defaults.
+	 * */
+	public static BLKUnpacker fromSystemProperties() {
+
+		List<String> command = getDefaultCommand();
+		String strCommand = System.getProperty(PROPERTY_COMMAND);
+		if(strCommand != null && !strCommand.trim().isEmpty()) {
+			command = Arrays.asList(strCommand.trim().split("\\s+"));
+		}
+
+		int nThreads = Runtime.getRuntime().availableProcessors();
+		long timeoutSeconds = DEFAULT_TIMEOUT;
+		try {
+			nThreads = Integer.parseInt(System.getProperty(PROPERTY_THREADS, Integer.toString(nThreads)).trim());
+		} catch (NumberFormatException e) {
+			System.err.println("Invalid value of " + PROPERTY_THREADS + ", using " + nThreads + " threads");
+		}
+		try {
+			timeoutSeconds = Long.parseLong(System.getProperty(PROPERTY_TIMEOUT, Long.toString(timeoutSeconds)).trim());
+		} catch (NumberFormatException e) {
+			System.err.println("Invalid value of " + PROPERTY_TIMEOUT + ", using " + timeoutSeconds + " seconds");
+		}
+
+		return new BLKUnpacker(command, nThreads, timeoutSeconds);
+	}
+
+
+
+
+	/**
+	 * @param command the command to unpack one file, containing {@link #PLACEHOLDER_FILE}
+	 * @param nThreads the max number of unpack-processes at the same time
+	 * @param timeoutSeconds the max time for unpacking one file. The process is killed afterwards
+	 * */
+	public BLKUnpacker(List<String> command, int nThreads, long timeoutSeconds) {
+		this.command = new ArrayList<String>(command);
+		this.nThreads = Math.max(1, nThreads);
+		this.timeoutSeconds = timeoutSeconds;
+	}
+
+
+
+
+	public static List<String> getDefaultCommand() {
+		if(System.getProperty("os.name", "").toLowerCase().contains("win")) {
+			return Arrays.asList("cmd", "/c", PLACEHOLDER_FILE);
+		} else {
+			return Arrays.asList("sh", "wt_unpack.sh", PLACEHOLDER_FILE);
+		}
+	}
+
+
+
+
+	/**
+	 * Unpacks all .blk-files in the given directory and moves the created .blkx-files to the output directory.
+	 * Blocks until all files are processed.
+	 * @return the number of files that could not be unpacked
+	 * */
+	public int unpack(File dirBLKs, File dirOut, final ProgressListener listener) throws InterruptedException {
+
+		dirOut.mkdirs();
+
+		final List<File> blkFiles = new ArrayList<File>();
+		File[] files = dirBLKs.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				if(file.isFile() && file.getName().endsWith(".blk")) {
+					blkFiles.add(file);
+				}
+			}
+		}
+
+		final int nTotal = blkFiles.size();
+		final AtomicInteger nProcessed = new AtomicInteger(0);
+		final AtomicInteger nFailed = new AtomicInteger(0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(nThreads, Math.max(1, nTotal)));
+		try {
+
+			List<Future<?>> futures = new ArrayList<Future<?>>(nTotal);
+			for(final File file : blkFiles) {
+				final File fileOut = new File(dirOut, file.getName() + "x");
+				futures.add(executor.submit(new Runnable() {
+					@Override public void run() {
+						Result result = unpackFile(file, fileOut);
+						if(result == Result.FAILED) {
+							nFailed.incrementAndGet();
+						}
+						if(listener != null) {
+							listener.onProgress(file, result, nProcessed.incrementAndGet(), nTotal);
+						}
+					}
+				}));
+			}
+
+			for(Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					nFailed.incrementAndGet();
+				}
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return nFailed.get();
+	}
+
+
+
+
+	private Result unpackFile(File file, File fileOut) {
+
+		if(fileOut.exists() && fileOut.lastModified() >= file.lastModified()) {
+			return Result.SKIPPED;
+		}
+
+		List<String> cmd = new ArrayList<String>(command.size());
+		for(String part : command) {
+			cmd.add(part.replace(PLACEHOLDER_FILE, file.getAbsolutePath()));
+		}
+
+		Process proc = null;
+		try {
+			ProcessBuilder builder = new ProcessBuilder(cmd);
+			builder.directory(file.getParentFile());
+			builder.redirectErrorStream(true);
+			builder.redirectOutput(ProcessBuilder.Redirect.appendTo(NULL_FILE));
+			proc = builder.start();
+			proc.getOutputStream().close();
+
+			if(!proc.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+				return Result.FAILED;
+			}
+			if(proc.exitValue() != 0) {
+				return Result.FAILED;
+			}
+
+			File fileUnpacked = new File(file.getAbsolutePath() + "x");
+			if(!fileUnpacked.exists()) {
+				return Result.FAILED;
+			}
+			Files.move(fileUnpacked.toPath(), fileOut.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			return Result.UNPACKED;
+
+		} catch (IOException e) {
+			return Result.FAILED;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Result.FAILED;
+		} finally {
+			if(proc != null && proc.isAlive()) {
+				proc.destroyForcibly();
+			}
+		}
+	}
+
+
+}
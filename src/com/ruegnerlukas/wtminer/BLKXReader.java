@@ -0,0 +1,467 @@
+package com.ruegnerlukas.wtminer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+
+
+/**
+ * Extracts vehicles and weapons from .blkx-files in a single pass with a streaming {@link JsonReader}.
+ * Only the objects/arrays/values with the names we are interested in are kept, everything else is skipped.
+ * The results are collected in the same order as the recursive searches in {@link com.ruegnerlukas.wtutils.JSONUtils}
+ * (matches of an object before the matches in its children), so the extracted data is the same as with the json-tree.
+ * Duplicate names in an object are resolved like in the json-tree: the last value wins.
+ * */
+public class BLKXReader {
+
+
+	private static final Set<String> VEHICLE_OBJECTS = new HashSet<String>(Arrays.asList("Weapon", "cockpit"));
+	private static final Set<String> VEHICLE_ARRAYS = new HashSet<String>(Arrays.asList("Weapon", "cockpit"));
+	private static final Set<String> VEHICLE_VALUES = new HashSet<String>(Arrays.asList("blk", "triggerGroup"));
+
+	private static final Set<String> WEAPON_OBJECTS = new HashSet<String>(Arrays.asList("bullet", "rocket"));
+	private static final Set<String> NONE = new HashSet<String>();
+
+
+
+
+	/**
+	 * A found object, array or value.
+	 * */
+	private static class Node {
+
+		public final String name;
+		public final JsonPrimitive value;						// values: the value
+		public final Map<String,JsonPrimitive> members;			// objects: the values of the object
+		public final List<Map<String,JsonPrimitive>> elements;	// arrays: the values of all objects in the array
+		public final List<Node> children;						// arrays: all found nodes inside the array
+
+		public Node(String name, JsonPrimitive value, Map<String,JsonPrimitive> members, List<Map<String,JsonPrimitive>> elements, List<Node> children) {
+			this.name = name;
+			this.value = value;
+			this.members = members;
+			this.elements = elements;
+			this.children = children;
+		}
+
+		public boolean isObject(String name) {
+			return members != null && this.name.equals(name);
+		}
+
+		public boolean isArray(String name) {
+			return elements != null && this.name.equals(name);
+		}
+
+		public boolean isValue(String name) {
+			return value != null && this.name.equals(name);
+		}
+
+	}
+
+
+
+
+	private final Set<String> objectNames;
+	private final Set<String> arrayNames;
+	private final Set<String> valueNames;
+
+
+
+
+	private BLKXReader(Set<String> objectNames, Set<String> arrayNames, Set<String> valueNames) {
+		this.objectNames = objectNames;
+		this.arrayNames = arrayNames;
+		this.valueNames = valueNames;
+	}
+
+
+
+
+	/**
+	 * Extracts the fovs and weapons of the vehicle in the given file.
+	 * @return the vehicle or null, if no valid cockpit was found
+	 * */
+	public static Vehicle readVehicle(File file) throws IOException {
+
+		List<Node> nodes = new BLKXReader(VEHICLE_OBJECTS, VEHICLE_ARRAYS, VEHICLE_VALUES).read(file);
+
+		Vehicle vehicle = new Vehicle();
+		vehicle.name = file.getName().replaceAll(".blkx", "");
+
+		// weapons
+		for(Node node : nodes) {
+			if(!node.isObject("Weapon")) {
+				continue;
+			}
+			JsonPrimitive primBLK = node.members.get("blk");
+			if(primBLK == null) {
+				continue;
+			}
+			String weaponName = primBLK.isString() ? getWeaponName(primBLK.getAsString()) : "?";
+			String triggerGroup = "primary";
+			if(node.members.containsKey("triggerGroup")) {
+				JsonPrimitive primTriggerGroup = node.members.get("triggerGroup");
+				triggerGroup = primTriggerGroup.isString() ? primTriggerGroup.getAsString() : "?";
+			}
+			addWeapon(vehicle, weaponName, triggerGroup);
+		}
+
+		for(Node node : nodes) {
+			if(!node.isArray("Weapon")) {
+				continue;
+			}
+			JsonPrimitive primBLK = findValue(node.children, "blk");
+			JsonPrimitive primTriggerGroup = findValue(node.children, "triggerGroup");
+			if(primBLK == null || primTriggerGroup == null) {
+				continue;
+			}
+			String weaponName = primBLK.isString() ? getWeaponName(primBLK.getAsString()) : "?";
+			String triggerGroup = primTriggerGroup.isString() ? primTriggerGroup.getAsString() : "?";
+			addWeapon(vehicle, weaponName, triggerGroup);
+		}
+
+		// fov
+		Node objCockpit = findNode(nodes, "cockpit", false);
+
+		if(objCockpit != null) {
+			Map<String,JsonPrimitive> cockpit = objCockpit.members;
+			if(cockpit.containsKey("zoomOutFov") && cockpit.containsKey("zoomInFov")) {
+				vehicle.fovOut = cockpit.get("zoomOutFov").getAsFloat();
+				vehicle.fovIn = cockpit.get("zoomInFov").getAsFloat();
+				if(cockpit.containsKey("sightFov")) {
+					vehicle.fovSight = cockpit.get("sightFov").getAsFloat();
+				} else {
+					vehicle.fovSight = vehicle.fovOut * 2;
+				}
+			} else {
+				System.err.println("Error when searching fovs (" + file.getName() + ")");
+			}
+
+		} else {
+			Node arrCockpit = findNode(nodes, "cockpit", true);
+			if(arrCockpit == null) {
+				System.err.println("no cockpit found");
+				return null;
+			}
+
+			int nFOVsFound = 0;
+			for(Map<String,JsonPrimitive> element : arrCockpit.elements) {
+				if(element.containsKey("zoomOutFov")) {
+					vehicle.fovOut = element.get("zoomOutFov").getAsFloat();
+					nFOVsFound++;
+				}
+				if(element.containsKey("zoomInFov")) {
+					vehicle.fovIn = element.get("zoomInFov").getAsFloat();
+					nFOVsFound++;
+				}
+			}
+
+			if(nFOVsFound != 2) {
+				System.err.println("Invalid number of fovs found: " + nFOVsFound + "(" + file.getName() + ")");
+				return null;
+			}
+
+			for(Map<String,JsonPrimitive> element : arrCockpit.elements) {
+				if(element.containsKey("sightFov")) {
+					vehicle.fovSight = element.get("sightFov").getAsFloat();
+				}
+			}
+		}
+
+		return vehicle;
+	}
+
+
+
+
+	/**
+	 * Extracts the ammo (bullets and rockets) of the weapon in the given file.
+	 * */
+	public static Weapon readWeapon(File file) throws IOException {
+
+		List<Node> nodes = new BLKXReader(WEAPON_OBJECTS, NONE, NONE).read(file);
+
+		Weapon weapon = new Weapon();
+		weapon.name = file.getName().replaceAll(".blkx", "");
+
+		for(String name : new String[]{"bullet", "rocket"}) {
+			for(Node node : nodes) {
+				if(!node.isObject(name)) {
+					continue;
+				}
+
+				Map<String,JsonPrimitive> bullet = node.members;
+				if(!bullet.containsKey("bulletType")) {
+					System.err.println("incorrect attribs: " + bullet);
+					continue;
+				}
+
+				Ammo ammo = new Ammo();
+
+				if(bullet.containsKey("bulletName")) {
+					JsonPrimitive primName = bullet.get("bulletName");
+					if(primName.isString()) {
+						ammo.name = primName.getAsString();
+					}
+				} else {
+					ammo.name = weapon.name;
+				}
+
+				JsonPrimitive primType = bullet.get("bulletType");
+				if(primType.isString()) {
+					ammo.type = primType.getAsString();
+				}
+
+				if(bullet.containsKey("speed")) {
+					JsonPrimitive primSpeed = bullet.get("speed");
+					if(primSpeed.isNumber()) {
+						ammo.speed = primSpeed.getAsInt();
+					}
+				} else {
+					ammo.speed = 0;
+				}
+
+				ammo.mass = getDouble(bullet, "mass");
+				ammo.caliber = getDouble(bullet, "caliber");
+				ammo.cx = getDouble(bullet, "Cx");
+
+				System.out.println(" " + ammo.name);
+				weapon.ammo.add(ammo);
+			}
+		}
+
+		return weapon;
+	}
+
+
+
+
+	/**
+	 * @return the value of the given numeric member or 0, if it does not exist
+	 * */
+	private static double getDouble(Map<String,JsonPrimitive> members, String name) {
+		JsonPrimitive prim = members.get(name);
+		return prim != null && prim.isNumber() ? prim.getAsDouble() : 0;
+	}
+
+
+
+
+	private static String getWeaponName(String strBLK) {
+		String[] pathElements = strBLK.replaceAll(".blk", "").split("/");
+		return pathElements[pathElements.length - 1];
+	}
+
+
+
+
+	private static void addWeapon(Vehicle vehicle, String weaponName, String triggerGroup) {
+		if(weaponName.equals("?") || triggerGroup.equals("?")) {
+			return;
+		}
+		for(int j=0; j<vehicle.weapons.size(); j++) {
+			if(vehicle.weapons.get(j).equalsIgnoreCase(weaponName) && vehicle.triggerGroups.get(j).equalsIgnoreCase(triggerGroup)) {
+				return;
+			}
+		}
+		vehicle.weapons.add(weaponName);
+		vehicle.triggerGroups.add(triggerGroup);
+	}
+
+
+
+
+	private static JsonPrimitive findValue(List<Node> nodes, String name) {
+		for(Node node : nodes) {
+			if(node.isValue(name)) {
+				return node.value;
+			}
+		}
+		return null;
+	}
+
+
+
+
+	private static Node findNode(List<Node> nodes, String name, boolean array) {
+		for(Node node : nodes) {
+			if(array ? node.isArray(name) : node.isObject(name)) {
+				return node;
+			}
+		}
+		return null;
+	}
+
+
+
+
+	/**
+	 * Reads the given file and returns all found nodes.
+	 * */
+	private List<Node> read(File file) throws IOException {
+		List<Node> nodes = new ArrayList<Node>();
+		JsonReader reader = new JsonReader(new BufferedReader(new FileReader(file)));
+		try {
+			reader.setLenient(true);
+			JsonToken token = reader.peek();
+			if(token == JsonToken.BEGIN_OBJECT) {
+				readObject(reader, null, nodes);
+			} else if(token == JsonToken.BEGIN_ARRAY) {
+				readArray(reader, null, nodes);
+			}
+		} finally {
+			reader.close();
+		}
+		return nodes;
+	}
+
+
+
+
+	/**
+	 * Reads the next object. The values of the object are put into the given map (if not null).
+	 * The found nodes are added to the given list: first the nodes found directly in this object, then the nodes found in the children.
+	 * If a name occurs more than once in the object, only the last value is used, but at the position of the first one (same as in a {@link com.google.gson.JsonObject}).
+	 * */
+	private void readObject(JsonReader reader, Map<String,JsonPrimitive> members, List<Node> nodesOut) throws IOException {
+
+		// found nodes by name of the member in this object (null = nothing found in the member)
+		Map<String,Node> nodesDirect = null;
+		Map<String,List<Node>> nodesChildren = null;
+
+		reader.beginObject();
+		while(reader.hasNext()) {
+
+			String name = reader.nextName();
+			JsonToken token = reader.peek();
+			Node node = null;
+			List<Node> children = null;
+
+			if(members != null && (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY)) {
+				members.remove(name);
+			}
+
+			if(token == JsonToken.BEGIN_OBJECT) {
+				Map<String,JsonPrimitive> childMembers = objectNames.contains(name) ? new HashMap<String,JsonPrimitive>() : null;
+				children = new ArrayList<Node>();
+				readObject(reader, childMembers, children);
+				if(childMembers != null) {
+					node = new Node(name, null, childMembers, null, null);
+				}
+
+			} else if(token == JsonToken.BEGIN_ARRAY) {
+				List<Map<String,JsonPrimitive>> elements = arrayNames.contains(name) ? new ArrayList<Map<String,JsonPrimitive>>() : null;
+				children = new ArrayList<Node>();
+				readArray(reader, elements, children);
+				if(elements != null) {
+					node = new Node(name, null, null, elements, children);
+				}
+
+			} else if(members != null || valueNames.contains(name)) {
+				JsonPrimitive value = readValue(reader);
+				if(members != null) {
+					if(value != null) {
+						members.put(name, value);
+					} else {
+						members.remove(name);
+					}
+				}
+				if(value != null && valueNames.contains(name)) {
+					node = new Node(name, value, null, null, null);
+				}
+
+			} else {
+				reader.skipValue();
+			}
+
+			if(children != null && children.isEmpty()) {
+				children = null;
+			}
+			if(node != null || (nodesDirect != null && nodesDirect.containsKey(name))) {
+				nodesDirect = nodesDirect == null ? new LinkedHashMap<String,Node>() : nodesDirect;
+				nodesDirect.put(name, node);
+			}
+			if(children != null || (nodesChildren != null && nodesChildren.containsKey(name))) {
+				nodesChildren = nodesChildren == null ? new LinkedHashMap<String,List<Node>>() : nodesChildren;
+				nodesChildren.put(name, children);
+			}
+		}
+		reader.endObject();
+
+		if(nodesDirect != null) {
+			for(Node node : nodesDirect.values()) {
+				if(node != null) {
+					nodesOut.add(node);
+				}
+			}
+		}
+		if(nodesChildren != null) {
+			for(List<Node> children : nodesChildren.values()) {
+				if(children != null) {
+					nodesOut.addAll(children);
+				}
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * Reads the next array. The values of the objects in the array are added to the given list (if not null).
+	 * */
+	private void readArray(JsonReader reader, List<Map<String,JsonPrimitive>> elements, List<Node> nodesOut) throws IOException {
+		reader.beginArray();
+		while(reader.hasNext()) {
+			JsonToken token = reader.peek();
+			if(token == JsonToken.BEGIN_OBJECT) {
+				Map<String,JsonPrimitive> members = elements != null ? new HashMap<String,JsonPrimitive>() : null;
+				readObject(reader, members, nodesOut);
+				if(members != null) {
+					elements.add(members);
+				}
+			} else if(token == JsonToken.BEGIN_ARRAY) {
+				readArray(reader, null, nodesOut);
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endArray();
+	}
+
+
+
+
+	private static JsonPrimitive readValue(JsonReader reader) throws IOException {
+		switch(reader.peek()) {
+			case STRING:
+				return new JsonPrimitive(reader.nextString());
+			case NUMBER:
+				return new JsonPrimitive(new BigDecimal(reader.nextString()));
+			case BOOLEAN:
+				return new JsonPrimitive(reader.nextBoolean());
+			default:
+				reader.skipValue();
+				return null;
+		}
+	}
+
+
+}
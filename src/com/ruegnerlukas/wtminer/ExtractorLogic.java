@@ -5,25 +5,26 @@ import com.ruegnerlukas.wtsights.data.FileVersion;
 import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
 import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+import com.ruegnerlukas.wtutils.Checksum;
 import com.ruegnerlukas.wtutils.JSONUtils;
-import com.ruegnerlukas.wtutils.XMLUtils;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.*;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 @SuppressWarnings ("ALL")
@@ -57,6 +58,13 @@ public class ExtractorLogic {
 //	public static final String PATH_TO_OUTPUT_COMBINED = "C:\\Users\\LukasRuegner\\Desktop\\vehicle_data.xml";
 
 
+	/**
+	 * true to extract the data from the .blkx-files with the streaming {@link BLKXReader},
+	 * false to parse the whole json-tree and search it.
+	 * */
+	public static boolean streamBLKX = true;
+
+
 
 
 	public static void extract(String PATH_WT_DIR, String PATH_OUTPUT_DIR) throws IOException, InterruptedException {
@@ -67,18 +75,30 @@ public class ExtractorLogic {
 			return;
 		}
 
+		// hashes and data of the previous run
+		MiningManifest manifest = MiningManifest.load(new File(PATH_OUTPUT_DIR + "\\mining_manifest.json"));
+
 		// vehicles
 		unpackBLKs(fileAces.getAbsolutePath() + "\\gamedata\\units\\tankmodels", PATH_OUTPUT_DIR + "\\tankmodels");
-		List<Vehicle> vehicles = extractDataVehicles(PATH_OUTPUT_DIR + "\\tankmodels");
-		saveVehiclesToFile(vehicles, PATH_OUTPUT_DIR + "\\tankmodels\\tankmodels.xml");
+		List<Vehicle> vehicles = extractDataVehicles(PATH_OUTPUT_DIR + "\\tankmodels", manifest);
 
 		// ground weapons
 		unpackBLKs(fileAces.getAbsolutePath() + "\\gamedata\\weapons\\groundmodels_weapons", PATH_OUTPUT_DIR + "\\groundmodel_weapons");
-		List<Weapon> weapons = extractDataWeapons(PATH_OUTPUT_DIR + "\\groundmodel_weapons");
+		List<Weapon> weapons = extractDataWeapons(PATH_OUTPUT_DIR + "\\groundmodel_weapons", manifest);
+
+		File fileMerged = new File(PATH_OUTPUT_DIR + "\\vehicles.xml");
+		if (!manifest.hasChanges() && fileMerged.exists()) {
+			System.out.println("No changes found, nothing to update.");
+			return;
+		}
+
+		saveVehiclesToFile(vehicles, PATH_OUTPUT_DIR + "\\tankmodels\\tankmodels.xml");
 		saveWeaponsToFile(weapons, PATH_OUTPUT_DIR + "\\groundmodel_weapons\\groundmodel_weapons.xml");
 
 		// combine
-		mergeData(PATH_OUTPUT_DIR + "\\groundmodel_weapons\\groundmodel_weapons.xml", PATH_OUTPUT_DIR + "\\tankmodels\\tankmodels.xml", PATH_OUTPUT_DIR + "\\vehicles.xml");
+		mergeData(vehicles, weapons, fileMerged.getAbsolutePath());
+
+		manifest.save();
 
 	}
 
@@ -138,43 +158,23 @@ public class ExtractorLogic {
 		System.out.println("Created output folder");
 
 
-		// get all .blk files
-		File[] blkFiles = dirBLKs.listFiles();
-		System.out.println(blkFiles.length + " files found");
-
+		// unpack all .blk files
 		System.out.println("Unpacking files ...");
 
+		BLKUnpacker unpacker = BLKUnpacker.fromSystemProperties();
 		try {
-
-			for (int i = 0; i < blkFiles.length; i++) {
-
-				File file = blkFiles[i];
-				if (!file.getAbsolutePath().endsWith(".blk")) {
-					System.err.println("Not a .blk file: " + file.getAbsolutePath());
-					continue;
-				}
-
-				System.out.println("unpack " + file.getAbsolutePath());
-
-				Process proc = Runtime.getRuntime().exec("cmd /c " + file.getAbsolutePath());
-				int returnCode = proc.waitFor();
-
-				if (returnCode != 0) {
-					System.err.println("Error unpacking file");
-
-				} else {
-
-					File fileUnpacked = new File(file.getAbsolutePath() + "x");
-					Files.move(Paths.get(fileUnpacked.getAbsolutePath()), Paths.get(PATH_UNPACKED_FILES + "\\" + fileUnpacked.getName()), StandardCopyOption.REPLACE_EXISTING);
-
-					System.out.println("Unpacked file " + (i + 1) + "/" + blkFiles.length);
+			int nFailed = unpacker.unpack(dirBLKs, destDir, new BLKUnpacker.ProgressListener() {
+				@Override public void onProgress(File file, BLKUnpacker.Result result, int nProcessed, int nTotal) {
+					if (result == BLKUnpacker.Result.FAILED) {
+						System.err.println("Error unpacking file " + file.getAbsolutePath());
+					} else {
+						System.out.println((result == BLKUnpacker.Result.SKIPPED ? "Skipped file " : "Unpacked file ") + nProcessed + "/" + nTotal);
+					}
 				}
-
+			});
+			if (nFailed > 0) {
+				System.err.println(nFailed + " files could not be unpacked");
 			}
-
-
-		} catch (IOException e) {
-			e.printStackTrace();
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
@@ -187,7 +187,7 @@ public class ExtractorLogic {
 
 
 
-	private static List<Vehicle> extractDataVehicles(String PATH_UNPACKED_FILES) {
+	private static List<Vehicle> extractDataVehicles(String PATH_UNPACKED_FILES, MiningManifest manifest) {
 
 		System.out.println("========================");
 		System.out.println("|     EXTRACT DATA     |");
@@ -211,6 +211,8 @@ public class ExtractorLogic {
 		System.out.println("Extracting data...");
 
 		List<Vehicle> vehicles = new ArrayList<Vehicle>();
+		List<String> fileNames = new ArrayList<String>();
+		int nSkipped = 0;
 
 		try {
 
@@ -220,285 +222,323 @@ public class ExtractorLogic {
 					System.err.println("Not a .blkx file: " + file.getAbsolutePath());
 					continue;
 				}
+				fileNames.add(file.getName());
+
+				// skip unchanged files
+				String hash = Checksum.generateFromFile(file);
+				if (manifest.isVehicleUpToDate(file.getName(), hash)) {
+					Vehicle vehicle = manifest.getVehicle(file.getName());
+					if (vehicle != null) {
+						vehicles.add(vehicle);
+					}
+					nSkipped++;
+					continue;
+				}
 
-
-				BufferedReader reader = new BufferedReader(new FileReader(file));
-				StringBuilder sb = new StringBuilder();
-				String str;
-				while ((str = reader.readLine()) != null) {
-					sb.append(str);
+				Vehicle vehicle = extractVehicle(file);
+				manifest.putVehicle(file.getName(), hash, vehicle);
+				if (vehicle == null) {
+					continue;
 				}
-				reader.close();
-				String content = sb.toString();
 
+				vehicles.add(vehicle);
 
-				JsonParser parser = new JsonParser();
-				JsonElement rootElement = parser.parse(content);
+				System.out.println("Extracted " + "(" + (i + 1) + "/" + blkxFiles.length + "):  " + file.getName());
+			}
 
-				// vehicle
-				Vehicle vehicle = new Vehicle();
-				vehicle.name = file.getName().replaceAll(".blkx", "");
 
-				// weapons
-				List<JsonObject> jsonObjWeapons = new ArrayList<JsonObject>();
+		} catch (FileNotFoundException e) {
+			e.printStackTrace();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
 
-				if (rootElement.isJsonObject()) {
-					JsonObject root = rootElement.getAsJsonObject();
-					JSONUtils.findObject(root, "Weapon", jsonObjWeapons);
+		manifest.retainVehicleFiles(fileNames);
+		System.out.println(nSkipped + " unchanged files skipped");
 
-				} else if (rootElement.isJsonArray()) {
-					JsonArray root = rootElement.getAsJsonArray();
-					JSONUtils.findObject(root, "Weapon", jsonObjWeapons);
-				}
+		return vehicles;
 
+	}
 
-				List<JsonArray> jsonArrWeapons = new ArrayList<JsonArray>();
 
-				if (rootElement.isJsonObject()) {
-					JsonObject root = rootElement.getAsJsonObject();
-					JSONUtils.findArray(root, "Weapon", jsonArrWeapons);
 
-				} else if (rootElement.isJsonArray()) {
-					JsonArray root = rootElement.getAsJsonArray();
-					JSONUtils.findArray(root, "Weapon", jsonArrWeapons);
-				}
 
+	public static Vehicle extractVehicle(File file) throws IOException {
+		if (streamBLKX) {
+			return BLKXReader.readVehicle(file);
+		} else {
+			return extractVehicleTree(file);
+		}
+	}
 
-				for (JsonObject jsonWeapon : jsonObjWeapons) {
 
-					String weaponName = "?";
-					String triggerGroup = "?";
 
-					if (jsonWeapon.has("blk")) {
 
-						JsonElement elementType = jsonWeapon.get("blk");
-						if (elementType.isJsonPrimitive()) {
-							JsonPrimitive primBLK = (JsonPrimitive) elementType;
-							if (primBLK.isString()) {
-								String strBLK = primBLK.getAsString().replaceAll(".blk", "");
-								String[] pathElements = strBLK.split("/");
-								weaponName = pathElements[pathElements.length - 1];
-							}
-						}
+	private static Vehicle extractVehicleTree(File file) throws IOException {
 
-						if (jsonWeapon.has("triggerGroup")) {
-							JsonElement elementName = jsonWeapon.get("triggerGroup");
-							if (elementName.isJsonPrimitive()) {
-								JsonPrimitive primTriggerGroup = (JsonPrimitive) elementName;
-								if (primTriggerGroup.isString()) {
-									triggerGroup = primTriggerGroup.getAsString();
-								}
-							}
-						} else {
-							triggerGroup = "primary";
-						}
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		StringBuilder sb = new StringBuilder();
+		String str;
+		while ((str = reader.readLine()) != null) {
+			sb.append(str);
+		}
+		reader.close();
+		String content = sb.toString();
 
-					}
 
+		JsonParser parser = new JsonParser();
+		JsonElement rootElement = parser.parse(content);
 
-					if (!weaponName.equals("?") && !triggerGroup.equals("?")) {
+		// vehicle
+		Vehicle vehicle = new Vehicle();
+		vehicle.name = file.getName().replaceAll(".blkx", "");
 
-						boolean combiExists = false;
+		// weapons
+		List<JsonObject> jsonObjWeapons = new ArrayList<JsonObject>();
 
-						for (int j = 0; j < vehicle.weapons.size(); j++) {
-							String w = vehicle.weapons.get(j);
-							String t = vehicle.triggerGroups.get(j);
-							if (w.equalsIgnoreCase(weaponName) && t.equalsIgnoreCase(triggerGroup)) {
-								combiExists = true;
-								break;
-							}
-						}
+		if (rootElement.isJsonObject()) {
+			JsonObject root = rootElement.getAsJsonObject();
+			JSONUtils.findObject(root, "Weapon", jsonObjWeapons);
 
-						if (!combiExists) {
-							vehicle.weapons.add(weaponName);
-							vehicle.triggerGroups.add(triggerGroup);
-						}
+		} else if (rootElement.isJsonArray()) {
+			JsonArray root = rootElement.getAsJsonArray();
+			JSONUtils.findObject(root, "Weapon", jsonObjWeapons);
+		}
 
-					}
 
-				}
+		List<JsonArray> jsonArrWeapons = new ArrayList<JsonArray>();
 
-				for (JsonArray jsonWeapon : jsonArrWeapons) {
+		if (rootElement.isJsonObject()) {
+			JsonObject root = rootElement.getAsJsonObject();
+			JSONUtils.findArray(root, "Weapon", jsonArrWeapons);
 
-					String weaponName = "?";
-					String triggerGroup = "?";
+		} else if (rootElement.isJsonArray()) {
+			JsonArray root = rootElement.getAsJsonArray();
+			JSONUtils.findArray(root, "Weapon", jsonArrWeapons);
+		}
 
-					List<JsonObject> jsonListBlk = new ArrayList<JsonObject>();
-					List<JsonObject> jsonListTriggerGroup = new ArrayList<JsonObject>();
 
-					JSONUtils.findObject(jsonWeapon, "blk", jsonListBlk);
-					JSONUtils.findObject(jsonWeapon, "triggerGroup", jsonListTriggerGroup);
+		for (JsonObject jsonWeapon : jsonObjWeapons) {
 
-					if (!jsonListBlk.isEmpty() && !jsonListTriggerGroup.isEmpty()) {
-						JsonObject jsonBLK = jsonListBlk.get(0);
-						if (jsonBLK.isJsonPrimitive()) {
-							JsonPrimitive primBLK = jsonBLK.getAsJsonPrimitive();
-							if (primBLK.isString()) {
-								String strBLK = primBLK.getAsString().replaceAll(".blk", "");
-								String[] pathElements = strBLK.split("/");
-								weaponName = pathElements[pathElements.length - 1];
-							}
-						}
+			String weaponName = "?";
+			String triggerGroup = "?";
 
-						JsonObject jsonTriggerGroup = jsonListTriggerGroup.get(0);
-						if (jsonTriggerGroup.isJsonPrimitive()) {
-							JsonPrimitive primTG = jsonTriggerGroup.getAsJsonPrimitive();
-							if (primTG.isString()) {
-								triggerGroup = primTG.getAsString();
-							}
+			if (jsonWeapon.has("blk")) {
+
+				JsonElement elementType = jsonWeapon.get("blk");
+				if (elementType.isJsonPrimitive()) {
+					JsonPrimitive primBLK = (JsonPrimitive) elementType;
+					if (primBLK.isString()) {
+						String strBLK = primBLK.getAsString().replaceAll(".blk", "");
+						String[] pathElements = strBLK.split("/");
+						weaponName = pathElements[pathElements.length - 1];
+					}
+				}
+
+				if (jsonWeapon.has("triggerGroup")) {
+					JsonElement elementName = jsonWeapon.get("triggerGroup");
+					if (elementName.isJsonPrimitive()) {
+						JsonPrimitive primTriggerGroup = (JsonPrimitive) elementName;
+						if (primTriggerGroup.isString()) {
+							triggerGroup = primTriggerGroup.getAsString();
 						}
 					}
+				} else {
+					triggerGroup = "primary";
+				}
 
+			}
 
-					List<JsonPrimitive> jsonPrimBLK = new ArrayList<JsonPrimitive>();
-					List<JsonPrimitive> jsonPrimTriggerGroup = new ArrayList<JsonPrimitive>();
 
-					JSONUtils.findPrimitive(jsonWeapon, "blk", jsonPrimBLK);
-					JSONUtils.findPrimitive(jsonWeapon, "triggerGroup", jsonPrimTriggerGroup);
+			if (!weaponName.equals("?") && !triggerGroup.equals("?")) {
 
-					if (!jsonPrimBLK.isEmpty() && !jsonPrimTriggerGroup.isEmpty()) {
+				boolean combiExists = false;
 
-						JsonPrimitive primBLK = jsonPrimBLK.get(0);
+				for (int j = 0; j < vehicle.weapons.size(); j++) {
+					String w = vehicle.weapons.get(j);
+					String t = vehicle.triggerGroups.get(j);
+					if (w.equalsIgnoreCase(weaponName) && t.equalsIgnoreCase(triggerGroup)) {
+						combiExists = true;
+						break;
+					}
+				}
 
-						if (primBLK.isString()) {
-							String strBLK = primBLK.getAsString().replaceAll(".blk", "");
-							String[] pathElements = strBLK.split("/");
-							weaponName = pathElements[pathElements.length - 1];
-						}
+				if (!combiExists) {
+					vehicle.weapons.add(weaponName);
+					vehicle.triggerGroups.add(triggerGroup);
+				}
 
-						JsonPrimitive primTG = jsonPrimTriggerGroup.get(0);
-						if (primTG.isString()) {
-							triggerGroup = primTG.getAsString();
-						}
+			}
 
-					}
+		}
 
+		for (JsonArray jsonWeapon : jsonArrWeapons) {
 
-					if (!weaponName.equals("?") && !triggerGroup.equals("?")) {
+			String weaponName = "?";
+			String triggerGroup = "?";
 
-						boolean combiExists = false;
+			List<JsonObject> jsonListBlk = new ArrayList<JsonObject>();
+			List<JsonObject> jsonListTriggerGroup = new ArrayList<JsonObject>();
 
-						for (int j = 0; j < vehicle.weapons.size(); j++) {
-							String w = vehicle.weapons.get(j);
-							String t = vehicle.triggerGroups.get(j);
-							if (w.equalsIgnoreCase(weaponName) && t.equalsIgnoreCase(triggerGroup)) {
-								combiExists = true;
-								break;
-							}
-						}
-
-						if (!combiExists) {
-							vehicle.weapons.add(weaponName);
-							vehicle.triggerGroups.add(triggerGroup);
-						}
+			JSONUtils.findObject(jsonWeapon, "blk", jsonListBlk);
+			JSONUtils.findObject(jsonWeapon, "triggerGroup", jsonListTriggerGroup);
 
+			if (!jsonListBlk.isEmpty() && !jsonListTriggerGroup.isEmpty()) {
+				JsonObject jsonBLK = jsonListBlk.get(0);
+				if (jsonBLK.isJsonPrimitive()) {
+					JsonPrimitive primBLK = jsonBLK.getAsJsonPrimitive();
+					if (primBLK.isString()) {
+						String strBLK = primBLK.getAsString().replaceAll(".blk", "");
+						String[] pathElements = strBLK.split("/");
+						weaponName = pathElements[pathElements.length - 1];
 					}
+				}
 
+				JsonObject jsonTriggerGroup = jsonListTriggerGroup.get(0);
+				if (jsonTriggerGroup.isJsonPrimitive()) {
+					JsonPrimitive primTG = jsonTriggerGroup.getAsJsonPrimitive();
+					if (primTG.isString()) {
+						triggerGroup = primTG.getAsString();
+					}
 				}
+			}
+
+
+			List<JsonPrimitive> jsonPrimBLK = new ArrayList<JsonPrimitive>();
+			List<JsonPrimitive> jsonPrimTriggerGroup = new ArrayList<JsonPrimitive>();
 
+			JSONUtils.findPrimitive(jsonWeapon, "blk", jsonPrimBLK);
+			JSONUtils.findPrimitive(jsonWeapon, "triggerGroup", jsonPrimTriggerGroup);
 
-				// fov
-				List<JsonObject> jsonCockpits = new ArrayList<JsonObject>();
-				if (rootElement.isJsonObject()) {
-					JsonObject root = rootElement.getAsJsonObject();
-					JSONUtils.findObject(root, "cockpit", jsonCockpits);
+			if (!jsonPrimBLK.isEmpty() && !jsonPrimTriggerGroup.isEmpty()) {
 
-				} else if (rootElement.isJsonArray()) {
-					JsonArray root = rootElement.getAsJsonArray();
-					JSONUtils.findObject(root, "cockpit", jsonCockpits);
+				JsonPrimitive primBLK = jsonPrimBLK.get(0);
+
+				if (primBLK.isString()) {
+					String strBLK = primBLK.getAsString().replaceAll(".blk", "");
+					String[] pathElements = strBLK.split("/");
+					weaponName = pathElements[pathElements.length - 1];
 				}
 
-				if (jsonCockpits.size() > 0) {
-					JsonObject objCockpit = jsonCockpits.get(0);
-
-					if (objCockpit.has("zoomOutFov") && objCockpit.has("zoomInFov")) {
-						JsonElement elementZoomOutFOV = objCockpit.get("zoomOutFov");
-						JsonElement elementZoomInFOV = objCockpit.get("zoomInFov");
-						vehicle.fovOut = elementZoomOutFOV.getAsFloat();
-						vehicle.fovIn = elementZoomInFOV.getAsFloat();
-						if (objCockpit.has("sightFov")) {
-							JsonElement elementSightFOV = objCockpit.get("sightFov");
-							vehicle.fovSight = elementSightFOV.getAsFloat();
-						} else {
-							vehicle.fovSight = vehicle.fovOut * 2;
-						}
-					} else {
-						System.err.println("Error when searching fovs (" + file.getName() + ")");
-					}
+				JsonPrimitive primTG = jsonPrimTriggerGroup.get(0);
+				if (primTG.isString()) {
+					triggerGroup = primTG.getAsString();
+				}
 
-				} else {
-					List<JsonArray> jsonArrCockpits = new ArrayList<JsonArray>();
+			}
 
-					if (rootElement.isJsonObject()) {
-						JsonObject root = rootElement.getAsJsonObject();
-						JSONUtils.findArray(root, "cockpit", jsonArrCockpits);
 
-					} else if (rootElement.isJsonArray()) {
-						JsonArray root = rootElement.getAsJsonArray();
-						JSONUtils.findArray(root, "cockpit", jsonArrCockpits);
+			if (!weaponName.equals("?") && !triggerGroup.equals("?")) {
+
+				boolean combiExists = false;
+
+				for (int j = 0; j < vehicle.weapons.size(); j++) {
+					String w = vehicle.weapons.get(j);
+					String t = vehicle.triggerGroups.get(j);
+					if (w.equalsIgnoreCase(weaponName) && t.equalsIgnoreCase(triggerGroup)) {
+						combiExists = true;
+						break;
 					}
+				}
 
-					if (jsonArrCockpits.size() > 0) {
+				if (!combiExists) {
+					vehicle.weapons.add(weaponName);
+					vehicle.triggerGroups.add(triggerGroup);
+				}
 
-						JsonArray arrCockpit = jsonArrCockpits.get(0);
+			}
 
-						int nFOVsFound = 0;
+		}
 
-						for (int j = 0; j < arrCockpit.size(); j++) {
-							JsonElement element = arrCockpit.get(j);
 
-							if (element instanceof JsonObject) {
-								JsonObject obj = (JsonObject) element;
-								if (obj.has("zoomOutFov")) {
-									vehicle.fovOut = ((JsonPrimitive) obj.get("zoomOutFov")).getAsFloat();
-									nFOVsFound++;
-								}
-								if (obj.has("zoomInFov")) {
-									vehicle.fovIn = ((JsonPrimitive) obj.get("zoomInFov")).getAsFloat();
-									nFOVsFound++;
-								}
-							}
+		// fov
+		List<JsonObject> jsonCockpits = new ArrayList<JsonObject>();
+		if (rootElement.isJsonObject()) {
+			JsonObject root = rootElement.getAsJsonObject();
+			JSONUtils.findObject(root, "cockpit", jsonCockpits);
 
-						}
+		} else if (rootElement.isJsonArray()) {
+			JsonArray root = rootElement.getAsJsonArray();
+			JSONUtils.findObject(root, "cockpit", jsonCockpits);
+		}
 
-						if (nFOVsFound != 2) {
-							System.err.println("Invalid number of fovs found: " + nFOVsFound + "(" + file.getName() + ")");
-							continue;
-						}
+		if (jsonCockpits.size() > 0) {
+			JsonObject objCockpit = jsonCockpits.get(0);
+
+			if (objCockpit.has("zoomOutFov") && objCockpit.has("zoomInFov")) {
+				JsonElement elementZoomOutFOV = objCockpit.get("zoomOutFov");
+				JsonElement elementZoomInFOV = objCockpit.get("zoomInFov");
+				vehicle.fovOut = elementZoomOutFOV.getAsFloat();
+				vehicle.fovIn = elementZoomInFOV.getAsFloat();
+				if (objCockpit.has("sightFov")) {
+					JsonElement elementSightFOV = objCockpit.get("sightFov");
+					vehicle.fovSight = elementSightFOV.getAsFloat();
+				} else {
+					vehicle.fovSight = vehicle.fovOut * 2;
+				}
+			} else {
+				System.err.println("Error when searching fovs (" + file.getName() + ")");
+			}
 
-						for (int j = 0; j < arrCockpit.size(); j++) {
-							JsonElement element = arrCockpit.get(j);
-							if (element instanceof JsonObject) {
-								JsonObject obj = (JsonObject) element;
-								if (obj.has("sightFov")) {
-									vehicle.fovSight = ((JsonPrimitive) obj.get("sightFov")).getAsFloat();    // TODO: two different "sightFov"s in sight file
-								}
-							}
-						}
+		} else {
+			List<JsonArray> jsonArrCockpits = new ArrayList<JsonArray>();
 
+			if (rootElement.isJsonObject()) {
+				JsonObject root = rootElement.getAsJsonObject();
+				JSONUtils.findArray(root, "cockpit", jsonArrCockpits);
 
-					} else {
-						System.err.println("no cockpit found");
-						continue;
+			} else if (rootElement.isJsonArray()) {
+				JsonArray root = rootElement.getAsJsonArray();
+				JSONUtils.findArray(root, "cockpit", jsonArrCockpits);
+			}
+
+			if (jsonArrCockpits.size() > 0) {
+
+				JsonArray arrCockpit = jsonArrCockpits.get(0);
+
+				int nFOVsFound = 0;
+
+				for (int j = 0; j < arrCockpit.size(); j++) {
+					JsonElement element = arrCockpit.get(j);
+
+					if (element instanceof JsonObject) {
+						JsonObject obj = (JsonObject) element;
+						if (obj.has("zoomOutFov")) {
+							vehicle.fovOut = ((JsonPrimitive) obj.get("zoomOutFov")).getAsFloat();
+							nFOVsFound++;
+						}
+						if (obj.has("zoomInFov")) {
+							vehicle.fovIn = ((JsonPrimitive) obj.get("zoomInFov")).getAsFloat();
+							nFOVsFound++;
+						}
 					}
 
 				}
 
+				if (nFOVsFound != 2) {
+					System.err.println("Invalid number of fovs found: " + nFOVsFound + "(" + file.getName() + ")");
+					return null;
+				}
 
-				vehicles.add(vehicle);
+				for (int j = 0; j < arrCockpit.size(); j++) {
+					JsonElement element = arrCockpit.get(j);
+					if (element instanceof JsonObject) {
+						JsonObject obj = (JsonObject) element;
+						if (obj.has("sightFov")) {
+							vehicle.fovSight = ((JsonPrimitive) obj.get("sightFov")).getAsFloat();    // TODO: two different "sightFov"s in sight file
+						}
+					}
+				}
 
-				System.out.println("Extracted " + "(" + (i + 1) + "/" + blkxFiles.length + "):  " + file.getName());
-			}
 
+			} else {
+				System.err.println("no cockpit found");
+				return null;
+			}
 
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
 		}
 
-		return vehicles;
-
+		return vehicle;
 	}
 
 
@@ -573,7 +613,7 @@ public class ExtractorLogic {
 
 
 
-	private static List<Weapon> extractDataWeapons(String PATH_UNPACKED_FILES) {
+	private static List<Weapon> extractDataWeapons(String PATH_UNPACKED_FILES, MiningManifest manifest) {
 
 		System.out.println("========================");
 		System.out.println("|     EXTRACT DATA     |");
@@ -596,6 +636,8 @@ public class ExtractorLogic {
 
 		System.out.println("Extracting data...");
 		List<Weapon> cannons = new ArrayList<Weapon>();
+		List<String> fileNames = new ArrayList<String>();
+		int nSkipped = 0;
 
 
 		try {
@@ -606,118 +648,168 @@ public class ExtractorLogic {
 					System.err.println("Not a .blkx file: " + file.getAbsolutePath());
 					continue;
 				}
+				fileNames.add(file.getName());
+
+				// skip unchanged files
+				String hash = Checksum.generateFromFile(file);
+				if (manifest.isWeaponUpToDate(file.getName(), hash)) {
+					Weapon cannon = manifest.getWeapon(file.getName());
+					if (cannon != null) {
+						cannons.add(cannon);
+					}
+					nSkipped++;
+					continue;
+				}
 
-				Weapon cannon = new Weapon();
-				cannon.name = file.getName().replaceAll(".blkx", "");
+				Weapon cannon = extractWeapon(file);
 
-				BufferedReader reader = new BufferedReader(new FileReader(file));
-				StringBuilder sb = new StringBuilder();
-				String str;
-				while ((str = reader.readLine()) != null) {
-					sb.append(str);
+				if (!cannon.ammo.isEmpty()) {
+					cannons.add(cannon);
+					manifest.putWeapon(file.getName(), hash, cannon);
+				} else {
+					System.err.println(cannon.name + " is empty");
+					manifest.putWeapon(file.getName(), hash, null);
 				}
-				reader.close();
-				String content = sb.toString();
 
+				System.out.println("Extracted " + "(" + (i + 1) + "/" + blkxFiles.length + "):  " + file.getName());
 
-				JsonParser parser = new JsonParser();
-				JsonElement rootElement = parser.parse(content);
+			}
 
-				List<JsonObject> jsonAmmo = new ArrayList<JsonObject>();
+		} catch (FileNotFoundException e) {
+			e.printStackTrace();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
 
-				if (rootElement.isJsonObject()) {
-					JsonObject root = rootElement.getAsJsonObject();
-					JSONUtils.findObject(root, "bullet", jsonAmmo);
-					JSONUtils.findObject(root, "rocket", jsonAmmo);
+		manifest.retainWeaponFiles(fileNames);
+		System.out.println(nSkipped + " unchanged files skipped");
 
-				} else if (rootElement.isJsonArray()) {
-					JsonArray root = rootElement.getAsJsonArray();
-					JSONUtils.findObject(root, "bullet", jsonAmmo);
-					JSONUtils.findObject(root, "rocket", jsonAmmo);
-				}
+		System.out.println("=======================");
+		System.out.println();
+		System.out.println();
 
 
-				for (JsonObject jsonBullet : jsonAmmo) {
+		return cannons;
+	}
 
-					if (jsonBullet.has("bulletType") /* &&jsonBullet.has("speed") */) {
 
-						Ammo ammo = new Ammo();
 
 
-						if (jsonBullet.has("bulletName")) {
-							JsonElement elementName = jsonBullet.get("bulletName");
-							if (elementName.isJsonPrimitive()) {
-								JsonPrimitive primName = (JsonPrimitive) elementName;
-								if (primName.isString()) {
-									ammo.name = primName.getAsString();
-								}
-							}
-						} else {
-							ammo.name = cannon.name;
-						}
+	public static Weapon extractWeapon(File file) throws IOException {
+		if (streamBLKX) {
+			return BLKXReader.readWeapon(file);
+		} else {
+			return extractWeaponTree(file);
+		}
+	}
 
-						JsonElement elementType = jsonBullet.get("bulletType");
-						if (elementType.isJsonPrimitive()) {
-							JsonPrimitive primType = (JsonPrimitive) elementType;
-							if (primType.isString()) {
-								ammo.type = primType.getAsString();
-							}
-						}
 
-						if (jsonBullet.has("speed")) {
-							JsonElement elementSpeed = jsonBullet.get("speed");
-							if (elementSpeed.isJsonPrimitive()) {
-								JsonPrimitive primSpeed = (JsonPrimitive) elementSpeed;
-								if (primSpeed.isNumber()) {
-									ammo.speed = primSpeed.getAsInt();
-								}
-							}
-						} else {
-							ammo.speed = 0;
-						}
 
-//						JsonElement elementMass = jsonBullet.get("mass");
-//						if(elementMass.isJsonPrimitive()) {
-//							JsonPrimitive primSpeed = (JsonPrimitive)elementMass;
-//							if(primSpeed.isNumber()) {
-//								ammo.mass = primSpeed.getAsDouble();
-//							}
-//						}
-						System.out.println(" " + ammo.name);
-
-						if (!cannon.ammo.contains(ammo)) {
-							cannon.ammo.add(ammo);
-						}
 
-					} else {
-						System.err.println("incorrect attribs: " + jsonBullet);
+	private static Weapon extractWeaponTree(File file) throws IOException {
+
+		Weapon cannon = new Weapon();
+		cannon.name = file.getName().replaceAll(".blkx", "");
+
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		StringBuilder sb = new StringBuilder();
+		String str;
+		while ((str = reader.readLine()) != null) {
+			sb.append(str);
+		}
+		reader.close();
+		String content = sb.toString();
+
+
+		JsonParser parser = new JsonParser();
+		JsonElement rootElement = parser.parse(content);
+
+		List<JsonObject> jsonAmmo = new ArrayList<JsonObject>();
+
+		if (rootElement.isJsonObject()) {
+			JsonObject root = rootElement.getAsJsonObject();
+			JSONUtils.findObject(root, "bullet", jsonAmmo);
+			JSONUtils.findObject(root, "rocket", jsonAmmo);
+
+		} else if (rootElement.isJsonArray()) {
+			JsonArray root = rootElement.getAsJsonArray();
+			JSONUtils.findObject(root, "bullet", jsonAmmo);
+			JSONUtils.findObject(root, "rocket", jsonAmmo);
+		}
+
+
+		for (JsonObject jsonBullet : jsonAmmo) {
+
+			if (jsonBullet.has("bulletType") /* &&jsonBullet.has("speed") */) {
+
+				Ammo ammo = new Ammo();
+
+
+				if (jsonBullet.has("bulletName")) {
+					JsonElement elementName = jsonBullet.get("bulletName");
+					if (elementName.isJsonPrimitive()) {
+						JsonPrimitive primName = (JsonPrimitive) elementName;
+						if (primName.isString()) {
+							ammo.name = primName.getAsString();
+						}
 					}
+				} else {
+					ammo.name = cannon.name;
+				}
 
+				JsonElement elementType = jsonBullet.get("bulletType");
+				if (elementType.isJsonPrimitive()) {
+					JsonPrimitive primType = (JsonPrimitive) elementType;
+					if (primType.isString()) {
+						ammo.type = primType.getAsString();
+					}
 				}
 
-				if (!cannon.ammo.isEmpty()) {
-					cannons.add(cannon);
+				if (jsonBullet.has("speed")) {
+					JsonElement elementSpeed = jsonBullet.get("speed");
+					if (elementSpeed.isJsonPrimitive()) {
+						JsonPrimitive primSpeed = (JsonPrimitive) elementSpeed;
+						if (primSpeed.isNumber()) {
+							ammo.speed = primSpeed.getAsInt();
+						}
+					}
 				} else {
-					System.err.println(cannon.name + " is empty");
+					ammo.speed = 0;
 				}
 
-				System.out.println("Extracted " + "(" + (i + 1) + "/" + blkxFiles.length + "):  " + file.getName());
+				ammo.mass = getDouble(jsonBullet, "mass");
+				ammo.caliber = getDouble(jsonBullet, "caliber");
+				ammo.cx = getDouble(jsonBullet, "Cx");
 
+				System.out.println(" " + ammo.name);
+
+				if (!cannon.ammo.contains(ammo)) {
+					cannon.ammo.add(ammo);
+				}
+
+			} else {
+				System.err.println("incorrect attribs: " + jsonBullet);
 			}
 
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
 		}
 
+		return cannon;
+	}
 
-		System.out.println("=======================");
-		System.out.println();
-		System.out.println();
 
 
-		return cannons;
+
+	/**
+	 * @return the value of the given numeric member or 0, if it does not exist
+	 * */
+	private static double getDouble(JsonObject json, String name) {
+		if (json.has(name) && json.get(name).isJsonPrimitive()) {
+			JsonPrimitive prim = json.getAsJsonPrimitive(name);
+			if (prim.isNumber()) {
+				return prim.getAsDouble();
+			}
+		}
+		return 0;
 	}
 
 
@@ -755,9 +847,15 @@ public class ExtractorLogic {
 					attrSpeed.setNodeValue("" + (int) bullet.speed);
 					elementBullet.setAttributeNode(attrSpeed);
 
-//					Attr attrMass = doc.createAttribute("mass");
-//					attrMass.setNodeValue(""+(double)bullet.mass);
-//					elementBullet.setAttributeNode(attrMass);
+					if (bullet.mass > 0) {
+						elementBullet.setAttribute("mass", "" + bullet.mass);
+					}
+					if (bullet.caliber > 0) {
+						elementBullet.setAttribute("caliber", "" + bullet.caliber);
+					}
+					if (bullet.cx > 0) {
+						elementBullet.setAttribute("cx", "" + bullet.cx);
+					}
 
 					Attr attrType = doc.createAttribute("type");
 					attrType.setNodeValue(bullet.type);
@@ -794,102 +892,111 @@ public class ExtractorLogic {
 
 
 
-	private static void mergeData(String PATH_TO_OUTPUT_WEAPONS, String PATH_TO_OUTPUT_VEHICLES, String PATH_TO_OUTPUT_MERGED) {
+	/**
+	 * Merges the weapons into the vehicles and writes the result to PATH_TO_OUTPUT_MERGED.
+	 * The weapons are joined to the vehicles with a map (weapon-name -> weapon) and the result is written directly with a {@link XMLStreamWriter}.
+	 * */
+	private static void mergeData(List<Vehicle> vehicles, List<Weapon> weapons, String PATH_TO_OUTPUT_MERGED) {
 
 
 		System.out.println("========================");
 		System.out.println("|      MERGE DATA      |");
 		System.out.println("========================");
 
-		try {
-
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder builder = factory.newDocumentBuilder();
-
-			Document docWeapons = builder.parse(new File(PATH_TO_OUTPUT_WEAPONS));
-			Document docVehicles = builder.parse(new File(PATH_TO_OUTPUT_VEHICLES));
-
-			Element rootVehicles = docVehicles.getDocumentElement();
-			Element rootWeapons = docWeapons.getDocumentElement();
-
-			Document docMerged = builder.newDocument();
-			Element rootMerged = docMerged.createElement("data");
-			rootMerged.setAttribute("fileversion", FileVersion.V_2.fileversion);
-			docMerged.appendChild(rootMerged);
-			Element elementVehicles = docMerged.createElement("vehicles");
-			rootMerged.appendChild(elementVehicles);
-
-			for (Element elementVehicle : XMLUtils.getChildren(rootVehicles)) {
-
-
-				List<Element> listWeapons = XMLUtils.getChildren(elementVehicle);
-				if (listWeapons.size() == 0) {
-					System.out.println("no weapons: " + elementVehicle.getTagName());
-					continue;
-				}
-
-
-				Element elementVehicleMerged = docMerged.createElement(elementVehicle.getTagName());
-				elementVehicles.appendChild(elementVehicleMerged);
-
-				String fovOut = elementVehicle.getAttribute("fovOut");
-				String fovIn = elementVehicle.getAttribute("fovIn");
-				String fovSight = elementVehicle.getAttribute("fovSight");
-				elementVehicleMerged.setAttribute("fovOut", fovOut);
-				elementVehicleMerged.setAttribute("fovIn", fovIn);
-				elementVehicleMerged.setAttribute("fovSight", fovSight);
+		// weapon-name -> weapon (first weapon with the name, like the search in the weapon-document)
+		Map<String, Weapon> weaponMap = new HashMap<String, Weapon>();
+		for (Weapon weapon : weapons) {
+			if (!weaponMap.containsKey(weapon.name)) {
+				weaponMap.put(weapon.name, weapon);
+			}
+		}
 
-				Element elementWeapons = docMerged.createElement("weapons");
-				elementVehicleMerged.appendChild(elementWeapons);
+		try {
 
-				for (Element elementWeaponVehicle : listWeapons) {
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(PATH_TO_OUTPUT_MERGED));
+			XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
 
-					Element elementWeaponMerged = docMerged.createElement("weapon_" + elementWeaponVehicle.getAttribute("name"));
-					elementWeaponMerged.setAttribute("triggerGroup", elementWeaponVehicle.getAttribute("triggerGroup"));
-					elementWeapons.appendChild(elementWeaponMerged);
+			try {
 
-					Element elementWeaponAmmo = docMerged.createElement("ammo");
-					elementWeaponMerged.appendChild(elementWeaponAmmo);
+				writer.writeStartDocument("UTF-8", "1.0");
+				writeIndent(writer, 0);
+				writer.writeStartElement("data");
+				writer.writeAttribute("fileversion", FileVersion.V_2.fileversion);
+				writeIndent(writer, 1);
+				writer.writeStartElement("vehicles");
 
+				for (Vehicle vehicle : vehicles) {
 
-					Element elementWeapon = XMLUtils.getElementByTagName(rootWeapons, "weapon_" + elementWeaponVehicle.getAttribute("name").toLowerCase());
-					if (elementWeapon == null) {
-						System.err.println("weapon null: " + "weapon_" + elementWeaponVehicle.getAttribute("name").toLowerCase());
+					if (vehicle.weapons.isEmpty()) {
+						System.out.println("no weapons: " + "vehicle_" + vehicle.name);
 						continue;
 					}
 
-					for (Element elementAmmo : XMLUtils.getChildren(elementWeapon)) {
+					writeIndent(writer, 2);
+					writer.writeStartElement("vehicle_" + vehicle.name);
+					writer.writeAttribute("fovOut", "" + vehicle.fovOut);
+					writer.writeAttribute("fovIn", "" + vehicle.fovIn);
+					writer.writeAttribute("fovSight", "" + vehicle.fovSight);
+					writeIndent(writer, 3);
+					writer.writeStartElement("weapons");
+
+					for (int i = 0; i < vehicle.weapons.size(); i++) {
+						String weaponName = vehicle.weapons.get(i);
+
+						writeIndent(writer, 4);
+						writer.writeStartElement("weapon_" + weaponName);
+						writer.writeAttribute("triggerGroup", vehicle.triggerGroups.get(i));
+						writeIndent(writer, 5);
+						writer.writeStartElement("ammo");
+
+						Weapon weapon = weaponMap.get(weaponName.toLowerCase());
+						if (weapon == null) {
+							System.err.println("weapon null: " + "weapon_" + weaponName.toLowerCase());
+						} else {
+							for (Ammo ammo : weapon.ammo) {
+								writeIndent(writer, 6);
+								writer.writeEmptyElement("ammo_" + ammo.name);
+								writer.writeAttribute("type", ammo.type == null ? "" : ammo.type);
+								writer.writeAttribute("speed", "" + ammo.speed);
+								if (ammo.mass > 0) {
+									writer.writeAttribute("mass", "" + ammo.mass);
+								}
+								if (ammo.caliber > 0) {
+									writer.writeAttribute("caliber", "" + ammo.caliber);
+								}
+								if (ammo.cx > 0) {
+									writer.writeAttribute("cx", "" + ammo.cx);
+								}
+							}
+							writeIndent(writer, 5);
+						}
 
-						Element elementAmmoMerged = docMerged.createElement(elementAmmo.getTagName());
-						elementAmmoMerged.setAttribute("type", elementAmmo.getAttribute("type"));
-						elementAmmoMerged.setAttribute("speed", elementAmmo.getAttribute("speed"));
-//						elementAmmoMerged.setAttribute("mass", elementAmmo.getAttribute("mass"));
-						elementWeaponAmmo.appendChild(elementAmmoMerged);
+						writer.writeEndElement(); // ammo
+						writeIndent(writer, 4);
+						writer.writeEndElement(); // weapon
 					}
 
+					writeIndent(writer, 3);
+					writer.writeEndElement(); // weapons
+					writeIndent(writer, 2);
+					writer.writeEndElement(); // vehicle
 				}
-			}
-
 
-			TransformerFactory transformerFactory = TransformerFactory.newInstance();
-			Transformer transformer = transformerFactory.newTransformer();
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-			DOMSource source = new DOMSource(docMerged);
-			StreamResult result = new StreamResult(new File(PATH_TO_OUTPUT_MERGED));
-			transformer.transform(source, result);
+				writeIndent(writer, 1);
+				writer.writeEndElement(); // vehicles
+				writeIndent(writer, 0);
+				writer.writeEndElement(); // data
+				writer.writeEndDocument();
 
+			} finally {
+				writer.close();
+				out.close();
+			}
 
-		} catch (ParserConfigurationException e) {
-			e.printStackTrace();
-		} catch (SAXException e) {
+		} catch (XMLStreamException e) {
 			e.printStackTrace();
 		} catch (IOException e) {
 			e.printStackTrace();
-		} catch (TransformerConfigurationException e) {
-			e.printStackTrace();
-		} catch (TransformerException e) {
-			e.printStackTrace();
 		}
 
 		System.out.println("Data merged and file created");
@@ -897,4 +1004,16 @@ public class ExtractorLogic {
 	}
 
 
+
+
+	private static void writeIndent(XMLStreamWriter writer, int depth) throws XMLStreamException {
+		StringBuilder sb = new StringBuilder(1 + depth * 2);
+		sb.append('\n');
+		for (int i = 0; i < depth; i++) {
+			sb.append("  ");
+		}
+		writer.writeCharacters(sb.toString());
+	}
+
+
 }
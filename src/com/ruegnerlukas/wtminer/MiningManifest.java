@@ -0,0 +1,364 @@
+package com.ruegnerlukas.wtminer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+
+
+/**
+ * Remembers the content-hash of every extracted .blkx-file together with the extracted vehicle/weapon.
+ * On the next run only files with a different hash have to be parsed again.
+ * The manifest also remembers whether any file was added, changed or removed during the current run.
+ * */
+public class MiningManifest {
+
+
+	private static class Entry<T> {
+		public final String hash;
+		public final T record; // null, if nothing could be extracted from the file
+		public Entry(String hash, T record) {
+			this.hash = hash;
+			this.record = record;
+		}
+	}
+
+
+	/**
+	 * Version of the manifest and of the extracted fields. Has to be increased whenever the extractor extracts other fields (e.g. mass, caliber and cx of the ammo in version 2).
+	 * Manifests of other versions are discarded, so all files are extracted again.
+	 * */
+	private static final int FORMAT_VERSION = 2;
+
+	private final File file;
+
+	private final Map<String,Entry<Vehicle>> vehicles = new HashMap<String,Entry<Vehicle>>();
+	private final Map<String,Entry<Weapon>> weapons = new HashMap<String,Entry<Weapon>>();
+
+	private boolean changed = false;
+
+
+
+
+	private MiningManifest(File file) {
+		this.file = file;
+	}
+
+
+
+
+	/**
+	 * Loads the manifest from the given file. Returns an empty manifest if the file does not exist or is invalid.
+	 * */
+	public static MiningManifest load(File file) {
+
+		MiningManifest manifest = new MiningManifest(file);
+		if(!file.exists()) {
+			return manifest;
+		}
+
+		try {
+			BufferedReader reader = new BufferedReader(new FileReader(file));
+			JsonObject root = new JsonParser().parse(reader).getAsJsonObject();
+			reader.close();
+
+			if(!root.has("version") || root.get("version").getAsInt() != FORMAT_VERSION) {
+				System.out.println("Manifest has an outdated version, extracting all files");
+				return manifest;
+			}
+
+			JsonObject jsonVehicles = root.getAsJsonObject("vehicles");
+			for(Map.Entry<String,JsonElement> e : jsonVehicles.entrySet()) {
+				JsonObject jsonEntry = e.getValue().getAsJsonObject();
+				Vehicle vehicle = jsonEntry.has("record") ? vehicleFromJson(jsonEntry.getAsJsonObject("record")) : null;
+				manifest.vehicles.put(e.getKey(), new Entry<Vehicle>(jsonEntry.get("hash").getAsString(), vehicle));
+			}
+
+			JsonObject jsonWeapons = root.getAsJsonObject("weapons");
+			for(Map.Entry<String,JsonElement> e : jsonWeapons.entrySet()) {
+				JsonObject jsonEntry = e.getValue().getAsJsonObject();
+				Weapon weapon = jsonEntry.has("record") ? weaponFromJson(jsonEntry.getAsJsonObject("record")) : null;
+				manifest.weapons.put(e.getKey(), new Entry<Weapon>(jsonEntry.get("hash").getAsString(), weapon));
+			}
+
+			System.out.println("Manifest loaded: " + manifest.vehicles.size() + " vehicle-files, " + manifest.weapons.size() + " weapon-files");
+
+		} catch(Exception e) {
+			System.err.println("Could not load manifest, extracting all files: " + e);
+			manifest.vehicles.clear();
+			manifest.weapons.clear();
+		}
+
+		return manifest;
+	}
+
+
+
+
+	public void save() {
+
+		JsonObject root = new JsonObject();
+		root.addProperty("version", FORMAT_VERSION);
+
+		JsonObject jsonVehicles = new JsonObject();
+		for(Map.Entry<String,Entry<Vehicle>> e : vehicles.entrySet()) {
+			JsonObject jsonEntry = new JsonObject();
+			jsonEntry.addProperty("hash", e.getValue().hash);
+			if(e.getValue().record != null) {
+				jsonEntry.add("record", vehicleToJson(e.getValue().record));
+			}
+			jsonVehicles.add(e.getKey(), jsonEntry);
+		}
+		root.add("vehicles", jsonVehicles);
+
+		JsonObject jsonWeapons = new JsonObject();
+		for(Map.Entry<String,Entry<Weapon>> e : weapons.entrySet()) {
+			JsonObject jsonEntry = new JsonObject();
+			jsonEntry.addProperty("hash", e.getValue().hash);
+			if(e.getValue().record != null) {
+				jsonEntry.add("record", weaponToJson(e.getValue().record));
+			}
+			jsonWeapons.add(e.getKey(), jsonEntry);
+		}
+		root.add("weapons", jsonWeapons);
+
+		// write into a temporary file first, so a crash can not leave a truncated manifest
+		File fileTmp = new File(file.getAbsolutePath() + ".tmp");
+		try {
+			Writer writer = new BufferedWriter(new FileWriter(fileTmp));
+			try {
+				Gson gson = new GsonBuilder().create();
+				gson.toJson(root, writer);
+			} finally {
+				writer.close();
+			}
+			Files.move(fileTmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			System.out.println("Manifest saved");
+		} catch(Exception e) {
+			System.err.println("Could not save manifest: " + e);
+			fileTmp.delete();
+		}
+
+	}
+
+
+
+
+	/**
+	 * @return true, if the manifest contains the given file with the given hash
+	 * */
+	public boolean isVehicleUpToDate(String fileName, String hash) {
+		Entry<Vehicle> entry = vehicles.get(fileName);
+		return hash != null && entry != null && entry.hash.equals(hash);
+	}
+
+
+
+
+	/**
+	 * @return the vehicle extracted from the given file during a previous run (can be null)
+	 * */
+	public Vehicle getVehicle(String fileName) {
+		Entry<Vehicle> entry = vehicles.get(fileName);
+		return entry == null ? null : entry.record;
+	}
+
+
+
+
+	public void putVehicle(String fileName, String hash, Vehicle vehicle) {
+		vehicles.put(fileName, new Entry<Vehicle>(hash, vehicle));
+		changed = true;
+	}
+
+
+
+
+	/**
+	 * Removes all vehicle-files not in the given collection.
+	 * */
+	public void retainVehicleFiles(Collection<String> fileNames) {
+		Set<String> keep = new HashSet<String>(fileNames);
+		Iterator<Map.Entry<String,Entry<Vehicle>>> iter = vehicles.entrySet().iterator();
+		while(iter.hasNext()) {
+			Map.Entry<String,Entry<Vehicle>> e = iter.next();
+			if(!keep.contains(e.getKey())) {
+				iter.remove();
+				changed = true;
+			}
+		}
+	}
+
+
+
+
+	public boolean isWeaponUpToDate(String fileName, String hash) {
+		Entry<Weapon> entry = weapons.get(fileName);
+		return hash != null && entry != null && entry.hash.equals(hash);
+	}
+
+
+
+
+	public Weapon getWeapon(String fileName) {
+		Entry<Weapon> entry = weapons.get(fileName);
+		return entry == null ? null : entry.record;
+	}
+
+
+
+
+	public void putWeapon(String fileName, String hash, Weapon weapon) {
+		weapons.put(fileName, new Entry<Weapon>(hash, weapon));
+		changed = true;
+	}
+
+
+
+
+	public void retainWeaponFiles(Collection<String> fileNames) {
+		Set<String> keep = new HashSet<String>(fileNames);
+		Iterator<Map.Entry<String,Entry<Weapon>>> iter = weapons.entrySet().iterator();
+		while(iter.hasNext()) {
+			Map.Entry<String,Entry<Weapon>> e = iter.next();
+			if(!keep.contains(e.getKey())) {
+				iter.remove();
+				changed = true;
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * @return true, if any file was added, changed or removed in this run
+	 * */
+	public boolean hasChanges() {
+		return changed;
+	}
+
+
+
+
+	private static JsonObject vehicleToJson(Vehicle vehicle) {
+		JsonObject json = new JsonObject();
+		json.addProperty("name", vehicle.name);
+		json.addProperty("fovOut", vehicle.fovOut);
+		json.addProperty("fovIn", vehicle.fovIn);
+		json.addProperty("fovSight", vehicle.fovSight);
+		JsonArray jsonWeapons = new JsonArray();
+		for(int i=0; i<vehicle.weapons.size(); i++) {
+			JsonObject jsonWeapon = new JsonObject();
+			jsonWeapon.addProperty("name", vehicle.weapons.get(i));
+			jsonWeapon.addProperty("triggerGroup", vehicle.triggerGroups.get(i));
+			jsonWeapons.add(jsonWeapon);
+		}
+		json.add("weapons", jsonWeapons);
+		return json;
+	}
+
+
+
+
+	private static Vehicle vehicleFromJson(JsonObject json) {
+		Vehicle vehicle = new Vehicle();
+		vehicle.name = json.get("name").getAsString();
+		vehicle.fovOut = json.get("fovOut").getAsFloat();
+		vehicle.fovIn = json.get("fovIn").getAsFloat();
+		vehicle.fovSight = json.get("fovSight").getAsFloat();
+		for(JsonElement e : json.getAsJsonArray("weapons")) {
+			JsonObject jsonWeapon = e.getAsJsonObject();
+			vehicle.weapons.add(jsonWeapon.get("name").getAsString());
+			vehicle.triggerGroups.add(jsonWeapon.get("triggerGroup").getAsString());
+		}
+		return vehicle;
+	}
+
+
+
+
+	private static JsonObject weaponToJson(Weapon weapon) {
+		JsonObject json = new JsonObject();
+		json.addProperty("name", weapon.name);
+		JsonArray jsonAmmo = new JsonArray();
+		for(Ammo ammo : weapon.ammo) {
+			JsonObject jsonBullet = new JsonObject();
+			jsonBullet.addProperty("name", ammo.name);
+			jsonBullet.addProperty("type", ammo.type);
+			jsonBullet.addProperty("speed", ammo.speed);
+			jsonBullet.addProperty("mass", ammo.mass);
+			jsonBullet.addProperty("caliber", ammo.caliber);
+			jsonBullet.addProperty("cx", ammo.cx);
+			jsonAmmo.add(jsonBullet);
+		}
+		json.add("ammo", jsonAmmo);
+		return json;
+	}
+
+
+
+
+	private static Weapon weaponFromJson(JsonObject json) {
+		Weapon weapon = new Weapon();
+		weapon.name = json.get("name").getAsString();
+		for(JsonElement e : json.getAsJsonArray("ammo")) {
+			JsonObject jsonBullet = e.getAsJsonObject();
+			Ammo ammo = new Ammo();
+			ammo.parentWeapon = weapon;
+			ammo.name = getStringOrNull(jsonBullet, "name");
+			ammo.type = getStringOrNull(jsonBullet, "type");
+			ammo.speed = jsonBullet.get("speed").getAsInt();
+			ammo.mass = getDoubleOrZero(jsonBullet, "mass");
+			ammo.caliber = getDoubleOrZero(jsonBullet, "caliber");
+			ammo.cx = getDoubleOrZero(jsonBullet, "cx");
+			weapon.ammo.add(ammo);
+		}
+		return weapon;
+	}
+
+
+
+
+	private static String getStringOrNull(JsonObject json, String name) {
+		if(!json.has(name) || json.get(name).isJsonNull()) {
+			return null;
+		}
+		return json.get(name).getAsString();
+	}
+
+
+
+
+	/**
+	 * @return the value of the given member or 0, if it does not exist
+	 * */
+	private static double getDoubleOrZero(JsonObject json, String name) {
+		if(!json.has(name) || json.get(name).isJsonNull()) {
+			return 0;
+		}
+		return json.get(name).getAsDouble();
+	}
+
+
+}
@@ -21,9 +21,6 @@ import javax.xml.transform.*;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -221,48 +218,27 @@ public class WTMiner {
 		System.out.println("Created output folder");
 
 		
-		// get all .blk files
-		File[] blkFiles = dirBLKs.listFiles();
-		System.out.println(blkFiles.length + " files found");
-		
-		
+		// unpack all .blk files
 		System.out.println("Unpacking files ...");
-		
+
+		BLKUnpacker unpacker = BLKUnpacker.fromSystemProperties();
 		try {
-			
-			for(int i=0; i<blkFiles.length; i++) {
-				
-				File file = blkFiles[i];
-				if(!file.getAbsolutePath().endsWith(".blk")) {
-					System.err.println("Not a .blk file: " + file.getAbsolutePath());
-					continue;
-				}
-				
-				System.out.println("unpack " + file.getAbsolutePath());
-				
-				Process proc = Runtime.getRuntime().exec("cmd /c " + file.getAbsolutePath());
-				int returnCode = proc.waitFor();
-				
-				if(returnCode != 0) {
-					System.err.println("Error unpacking file");
-					
-				} else {
-					
-					File fileUnpacked = new File(file.getAbsolutePath() + "x");
-					Files.move(Paths.get(fileUnpacked.getAbsolutePath()), Paths.get(PATH_UNPACKED_FILES + "\\" + fileUnpacked.getName()), StandardCopyOption.REPLACE_EXISTING);
-					
-					System.out.println("Unpacked file " + (i+1) + "/" + blkFiles.length);
+			int nFailed = unpacker.unpack(dirBLKs, destDir, new BLKUnpacker.ProgressListener() {
+				@Override public void onProgress(File file, BLKUnpacker.Result result, int nProcessed, int nTotal) {
+					if(result == BLKUnpacker.Result.FAILED) {
+						System.err.println("Error unpacking file " + file.getAbsolutePath());
+					} else {
+						System.out.println((result == BLKUnpacker.Result.SKIPPED ? "Skipped file " : "Unpacked file ") + nProcessed + "/" + nTotal);
+					}
 				}
-				
+			});
+			if(nFailed > 0) {
+				System.err.println(nFailed + " files could not be unpacked");
 			}
-			
-			
-		} catch (IOException e) {
-			e.printStackTrace();
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
-		
+
 		System.out.println("=======================");
 		System.out.println();
 		System.out.println();
@@ -0,0 +1,238 @@
+package com.ruegnerlukas.wtsights;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ruegnerlukas.simpleutils.JarLocation;
+import com.ruegnerlukas.simpleutils.logging.LogLevel;
+import com.ruegnerlukas.simpleutils.logging.filter.FilterLevel;
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.Database;
+import com.ruegnerlukas.wtsights.data.FileVersion;
+import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
+import com.ruegnerlukas.wtsights.data.loading.DataLoader;
+import com.ruegnerlukas.wtsights.data.sight.SightData;
+import com.ruegnerlukas.wtsights.data.writing.DataWriter;
+import com.ruegnerlukas.wtutils.Config;
+
+
+/**
+ * Headless batch compiler for sights. Does not start the javafx-toolkit.
+ * Loads all sight-files (.blk) in a directory (and its sub-directories) and writes them with the current {@link DataWriter} into the output directory.
+ * The ballistic data of a sight is read from the .xml-file with the same name next to the sight, or from the default ballistic file.
+ * The sights are processed in parallel.
+ *
+ * usage: -vehicles [vehicle_data.xml] -in [sight directory] -out [output directory] (-ballistic [default ballistic file]) (-threads [n])
+ * */
+public class SightBatchCompiler {
+
+
+	private final File dirIn;
+	private final File dirOut;
+	private final File fileBallisticDefault;
+	private final int nThreads;
+
+	// ballistic data is only read by the loader/writer and can be shared between the sights
+	private final ConcurrentHashMap<String,BallisticData> ballisticCache = new ConcurrentHashMap<String,BallisticData>();
+
+
+
+
+	public static void main(String[] args) throws Exception {
+
+		File fileVehicles = new File(JarLocation.getJarLocation(WTSights.class) + "/data/vehicle_data.xml");
+		File dirIn = null;
+		File dirOut = null;
+		File fileBallistic = null;
+		int nThreads = Runtime.getRuntime().availableProcessors();
+
+		for(int i=0; i+1<args.length; i+=2) {
+			String key = args[i];
+			String value = args[i+1];
+			if(key.equalsIgnoreCase("-vehicles")) {
+				fileVehicles = new File(value);
+			} else if(key.equalsIgnoreCase("-in")) {
+				dirIn = new File(value);
+			} else if(key.equalsIgnoreCase("-out")) {
+				dirOut = new File(value);
+			} else if(key.equalsIgnoreCase("-ballistic")) {
+				fileBallistic = new File(value);
+			} else if(key.equalsIgnoreCase("-threads")) {
+				nThreads = Integer.parseInt(value);
+			} else {
+				System.err.println("Unknown argument: " + key);
+			}
+		}
+
+		if(dirIn == null || dirOut == null || !dirIn.isDirectory()) {
+			System.err.println("usage: -vehicles [vehicle_data.xml] -in [sight directory] -out [output directory] (-ballistic [default ballistic file]) (-threads [n])");
+			System.exit(1);
+			return;
+		}
+		if(!fileVehicles.exists()) {
+			System.err.println("Could not find vehicle data: " + fileVehicles.getAbsolutePath());
+			System.exit(1);
+			return;
+		}
+
+		System.setProperty("java.awt.headless", "true");
+		Logger.get().getFilterManager().addFilter(FilterLevel.not(LogLevel.DEBUG));
+
+		File fileConfig = new File(JarLocation.getJarLocation(WTSights.class) + "/data/config.json");
+		if(fileConfig.exists()) {
+			Config.load(fileConfig);
+		}
+		Database.loadVehicles(fileVehicles);
+		Database.loadTrajectories(new File(fileVehicles.getAbsoluteFile().getParentFile(), "trajectories.bin"));
+
+		int nFailed = new SightBatchCompiler(dirIn, dirOut, fileBallistic, nThreads).compileAll();
+		System.exit(nFailed == 0 ? 0 : 2);
+	}
+
+
+
+
+	public SightBatchCompiler(File dirIn, File dirOut, File fileBallisticDefault, int nThreads) {
+		this.dirIn = dirIn;
+		this.dirOut = dirOut;
+		this.fileBallisticDefault = fileBallisticDefault;
+		this.nThreads = Math.max(1, nThreads);
+	}
+
+
+
+
+	/**
+	 * Compiles all sights in the input directory. Blocks until all sights are written.
+	 * @return the number of sights that could not be compiled
+	 * */
+	public int compileAll() throws InterruptedException {
+
+		final List<File> files = new ArrayList<File>();
+		collectSights(dirIn, files);
+		Logger.get().info("Compiling " + files.size() + " sights with " + nThreads + " threads");
+
+		// create loaders before starting the threads
+		DataLoader.get(FileVersion.AUTO_DETECT);
+
+		final AtomicInteger nFailed = new AtomicInteger(0);
+		final AtomicInteger nDone = new AtomicInteger(0);
+		long timeStart = System.currentTimeMillis();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(nThreads, Math.max(1, files.size())));
+		try {
+
+			List<Future<?>> futures = new ArrayList<Future<?>>(files.size());
+			for(final File file : files) {
+				futures.add(executor.submit(new Runnable() {
+					@Override public void run() {
+						boolean success = compile(file);
+						if(!success) {
+							nFailed.incrementAndGet();
+						}
+						System.out.println("(" + nDone.incrementAndGet() + "/" + files.size() + ") " + (success ? "compiled " : "FAILED   ") + file.getPath());
+					}
+				}));
+			}
+
+			for(Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					Logger.get().error(e);
+					nFailed.incrementAndGet();
+				}
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		System.out.println("Compiled " + (files.size()-nFailed.get()) + "/" + files.size() + " sights in " + (System.currentTimeMillis()-timeStart) + "ms");
+		return nFailed.get();
+	}
+
+
+
+
+	private static void collectSights(File dir, List<File> filesOut) {
+		File[] files = dir.listFiles();
+		if(files == null) {
+			return;
+		}
+		for(File file : files) {
+			if(file.isDirectory()) {
+				collectSights(file, filesOut);
+			} else if(file.getName().endsWith(".blk")) {
+				filesOut.add(file);
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * Loads the given sight and writes it into the output directory.
+	 * @return true, if the sight was written
+	 * */
+	private boolean compile(File fileSight) {
+		try {
+
+			BallisticData dataBall = getBallisticData(fileSight);
+			if(dataBall == null || dataBall.vehicle == null) {
+				Logger.get().error("No ballistic data found for " + fileSight);
+				return false;
+			}
+
+			SightData dataSight = DataLoader.get(FileVersion.AUTO_DETECT).loadSightDataFile(fileSight, dataBall);
+
+			String relPath = dirIn.toURI().relativize(fileSight.toURI()).getPath();
+			File fileOut = new File(dirOut, relPath);
+			fileOut.getParentFile().mkdirs();
+
+			return DataWriter.get().saveSight(dataSight, dataBall, fileOut);
+
+		} catch (Exception e) {
+			Logger.get().error(e);
+			return false;
+		}
+	}
+
+
+
+
+	/**
+	 * @return the ballistic data of the given sight (the .xml-file with the same name or the default ballistic data) or null
+	 * */
+	private BallisticData getBallisticData(File fileSight) throws Exception {
+		File fileBallistic = new File(fileSight.getParentFile(), fileSight.getName().substring(0, fileSight.getName().length()-".blk".length()) + ".xml");
+		if(!fileBallistic.exists()) {
+			fileBallistic = fileBallisticDefault;
+		}
+		if(fileBallistic == null || !fileBallistic.exists()) {
+			return null;
+		}
+
+		String key = fileBallistic.getAbsolutePath();
+		BallisticData data = ballisticCache.get(key);
+		if(data == null) {
+			data = DataLoader.get(FileVersion.AUTO_DETECT).loadBallisticDataFile(fileBallistic);
+			if(data == null) {
+				return null;
+			}
+			BallisticData prev = ballisticCache.putIfAbsent(key, data);
+			data = prev == null ? data : prev;
+		}
+		return data;
+	}
+
+
+}
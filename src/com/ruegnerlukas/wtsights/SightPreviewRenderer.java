@@ -0,0 +1,305 @@
+package com.ruegnerlukas.wtsights;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import com.ruegnerlukas.simpleutils.JarLocation;
+import com.ruegnerlukas.simpleutils.logging.LogLevel;
+import com.ruegnerlukas.simpleutils.logging.filter.FilterLevel;
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.DataPackage;
+import com.ruegnerlukas.wtsights.data.Database;
+import com.ruegnerlukas.wtsights.data.FileVersion;
+import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
+import com.ruegnerlukas.wtsights.data.loading.DataLoader;
+import com.ruegnerlukas.wtsights.data.sight.SightData;
+import com.ruegnerlukas.wtsights.ui.sighteditor.rendering.AWTRenderTarget;
+import com.ruegnerlukas.wtsights.ui.sighteditor.rendering.DisplayList;
+import com.ruegnerlukas.wtsights.ui.sighteditor.rendering.SightRenderer;
+import com.ruegnerlukas.wtutils.Config;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+
+/**
+ * Renders previews of all sights in a directory at multiple resolutions and zoom states into png-files. No window is opened.
+ * The sights are laid out by the {@link SightRenderer} and drawn into images with java2d, both in parallel (jobs of the same sight are laid out one at a time).
+ * The javafx-toolkit is started for fonts and text measurement. To run without a display use monocle: -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw
+ *
+ * usage: -vehicles [vehicle_data.xml] -in [sight directory] -out [output directory] (-ballistic [default ballistic file])
+ *        (-resolutions [1920x1080,2560x1440,3840x2160]) (-zoom [both|in|out]) (-threads [n])
+ * */
+public class SightPreviewRenderer extends Application {
+
+
+	private static File fileVehicles;
+	private static File dirIn;
+	private static File dirOut;
+	private static File fileBallisticDefault;
+	private static List<int[]> resolutions = new ArrayList<int[]>();
+	private static boolean[] zoomStates = new boolean[] {false, true};
+	private static int nThreads = Runtime.getRuntime().availableProcessors();
+
+	private static final ConcurrentHashMap<String,BallisticData> ballisticCache = new ConcurrentHashMap<String,BallisticData>();
+
+
+
+
+	public static void main(String[] args) {
+
+		fileVehicles = new File(JarLocation.getJarLocation(WTSights.class) + "/data/vehicle_data.xml");
+		String strResolutions = "1920x1080,2560x1440,3840x2160";
+
+		for(int i=0; i+1<args.length; i+=2) {
+			String key = args[i];
+			String value = args[i+1];
+			if(key.equalsIgnoreCase("-vehicles")) {
+				fileVehicles = new File(value);
+			} else if(key.equalsIgnoreCase("-in")) {
+				dirIn = new File(value);
+			} else if(key.equalsIgnoreCase("-out")) {
+				dirOut = new File(value);
+			} else if(key.equalsIgnoreCase("-ballistic")) {
+				fileBallisticDefault = new File(value);
+			} else if(key.equalsIgnoreCase("-resolutions")) {
+				strResolutions = value;
+			} else if(key.equalsIgnoreCase("-zoom")) {
+				if(value.equalsIgnoreCase("in")) {
+					zoomStates = new boolean[] {true};
+				} else if(value.equalsIgnoreCase("out")) {
+					zoomStates = new boolean[] {false};
+				}
+			} else if(key.equalsIgnoreCase("-threads")) {
+				nThreads = Math.max(1, Integer.parseInt(value));
+			} else {
+				System.err.println("Unknown argument: " + key);
+			}
+		}
+
+		for(String strRes : strResolutions.split(",")) {
+			String[] wh = strRes.trim().toLowerCase().split("x");
+			if(wh.length == 2) {
+				resolutions.add(new int[] {Integer.parseInt(wh[0].trim()), Integer.parseInt(wh[1].trim())});
+			} else {
+				System.err.println("Invalid resolution: " + strRes);
+			}
+		}
+
+		if(dirIn == null || dirOut == null || !dirIn.isDirectory() || resolutions.isEmpty()) {
+			System.err.println("usage: -vehicles [vehicle_data.xml] -in [sight directory] -out [output directory] (-ballistic [default ballistic file]) (-resolutions [1920x1080,2560x1440,3840x2160]) (-zoom [both|in|out]) (-threads [n])");
+			System.exit(1);
+			return;
+		}
+		if(!fileVehicles.exists()) {
+			System.err.println("Could not find vehicle data: " + fileVehicles.getAbsolutePath());
+			System.exit(1);
+			return;
+		}
+
+		Logger.get().getFilterManager().addFilter(FilterLevel.not(LogLevel.DEBUG));
+
+		launch(args);
+	}
+
+
+
+
+	@Override
+	public void start(Stage primaryStage) throws Exception {
+		Platform.setImplicitExit(false);
+		Thread thread = new Thread(new Runnable() {
+			@Override public void run() {
+				int nFailed = 1;
+				try {
+					File fileConfig = new File(JarLocation.getJarLocation(WTSights.class) + "/data/config.json");
+					if(fileConfig.exists()) {
+						Config.load(fileConfig);
+					}
+					Database.loadVehicles(fileVehicles);
+					Database.loadTrajectories(new File(fileVehicles.getAbsoluteFile().getParentFile(), "trajectories.bin"));
+					nFailed = renderAll();
+				} catch (Exception e) {
+					Logger.get().error(e);
+				}
+				System.exit(nFailed == 0 ? 0 : 2);
+			}
+		}, "preview-renderer");
+		thread.start();
+	}
+
+
+
+
+	/**
+	 * Renders all sights in the input directory. Blocks until all images are written.
+	 * @return the number of images that could not be rendered
+	 * */
+	private static int renderAll() throws InterruptedException {
+
+		List<File> files = new ArrayList<File>();
+		collectSights(dirIn, files);
+		final int nImages = files.size() * resolutions.size() * zoomStates.length;
+		Logger.get().info("Rendering " + files.size() + " sights (" + nImages + " images) with " + nThreads + " threads");
+
+		final AtomicInteger nFailed = new AtomicInteger(0);
+		final AtomicInteger nDone = new AtomicInteger(0);
+		long timeStart = System.currentTimeMillis();
+
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try {
+
+			List<Future<?>> futures = new ArrayList<Future<?>>(nImages);
+			for(final File fileSight : files) {
+
+				final DataPackage data = loadSight(fileSight);
+				if(data == null) {
+					nFailed.addAndGet(resolutions.size() * zoomStates.length);
+					System.out.println("FAILED   " + fileSight.getPath());
+					continue;
+				}
+
+				String relPath = dirIn.toURI().relativize(fileSight.toURI()).getPath();
+				final String baseName = relPath.substring(0, relPath.length()-".blk".length());
+
+				for(final int[] resolution : resolutions) {
+					for(final boolean zoomedIn : zoomStates) {
+						futures.add(executor.submit(new Runnable() {
+							@Override public void run() {
+								File fileOut = new File(dirOut, baseName + "_" + resolution[0] + "x" + resolution[1] + (zoomedIn ? "_zoomed" : "") + ".png");
+								boolean success = render(data, resolution[0], resolution[1], zoomedIn, fileOut);
+								if(!success) {
+									nFailed.incrementAndGet();
+								}
+								System.out.println("(" + nDone.incrementAndGet() + "/" + nImages + ") " + (success ? "rendered " : "FAILED   ") + fileOut.getPath());
+							}
+						}));
+					}
+				}
+			}
+
+			for(Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					Logger.get().error(e);
+					nFailed.incrementAndGet();
+				}
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+
+		System.out.println("Rendered " + (nImages-nFailed.get()) + "/" + nImages + " images in " + (System.currentTimeMillis()-timeStart) + "ms");
+		return nFailed.get();
+	}
+
+
+
+
+	/**
+	 * Renders the given sight into a png-file.
+	 * @return true, if the image was written
+	 * */
+	private static boolean render(DataPackage data, int width, int height, boolean zoomedIn, File fileOut) {
+		try {
+
+			// the zoom state is part of the sight data, that is shared between the jobs of the same sight
+			List<DisplayList> lists;
+			synchronized (data) {
+				data.dataSight.envZoomedIn = zoomedIn;
+				lists = SightRenderer.record(data, width, height);
+			}
+
+			BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = image.createGraphics();
+			SightRenderer.draw(new AWTRenderTarget(g), lists, width, height);
+			g.dispose();
+
+			fileOut.getParentFile().mkdirs();
+			return ImageIO.write(image, "png", fileOut);
+
+		} catch (Exception e) {
+			Logger.get().error(e);
+			return false;
+		}
+	}
+
+
+
+
+	private static void collectSights(File dir, List<File> filesOut) {
+		File[] files = dir.listFiles();
+		if(files == null) {
+			return;
+		}
+		for(File file : files) {
+			if(file.isDirectory()) {
+				collectSights(file, filesOut);
+			} else if(file.getName().endsWith(".blk")) {
+				filesOut.add(file);
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * @return the sight with its ballistic data (the .xml-file with the same name or the default ballistic data) and the first ballistic element selected or null
+	 * */
+	private static DataPackage loadSight(File fileSight) {
+		try {
+
+			File fileBallistic = new File(fileSight.getParentFile(), fileSight.getName().substring(0, fileSight.getName().length()-".blk".length()) + ".xml");
+			if(!fileBallistic.exists()) {
+				fileBallistic = fileBallisticDefault;
+			}
+			if(fileBallistic == null || !fileBallistic.exists()) {
+				Logger.get().error("No ballistic data found for " + fileSight);
+				return null;
+			}
+
+			String key = fileBallistic.getAbsolutePath();
+			BallisticData dataBall = ballisticCache.get(key);
+			if(dataBall == null) {
+				dataBall = DataLoader.get(FileVersion.AUTO_DETECT).loadBallisticDataFile(fileBallistic);
+				if(dataBall == null || dataBall.vehicle == null) {
+					Logger.get().error("Could not load ballistic data " + fileBallistic);
+					return null;
+				}
+				ballisticCache.put(key, dataBall);
+			}
+
+			SightData dataSight = DataLoader.get(FileVersion.AUTO_DETECT).loadSightDataFile(fileSight, dataBall);
+			if(dataSight == null) {
+				return null;
+			}
+
+			DataPackage data = new DataPackage();
+			data.dataBallistic = dataBall;
+			data.dataSight = dataSight;
+			data.elementBallistic = dataBall.elements.isEmpty() ? null : dataBall.elements.get(0);
+			return data;
+
+		} catch (Exception e) {
+			Logger.get().error(e);
+			return null;
+		}
+	}
+
+
+}
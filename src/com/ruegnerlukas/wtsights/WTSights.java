@@ -114,6 +114,7 @@ public class WTSights extends Application {
 		}
 		
 		Database.loadVehicles(new File(JarLocation.getJarLocation(WTSights.class) + (wasStartedInsideData ? "" : "/data") + "/vehicle_data.xml"));
+		Database.loadTrajectories(new File(JarLocation.getJarLocation(WTSights.class) + (wasStartedInsideData ? "" : "/data") + "/trajectories.bin"));
 		
 		primaryStage.setOnCloseRequest(event -> System.exit(0));
 		
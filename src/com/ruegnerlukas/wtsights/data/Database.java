@@ -2,20 +2,34 @@ package com.ruegnerlukas.wtsights.data;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.ballisticdata.trajectory.TrajectoryCache;
 import com.ruegnerlukas.wtsights.data.loading.DataLoader;
 import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
 import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+import com.ruegnerlukas.wtutils.Checksum;
 
 public class Database {
 
 	private static List<Vehicle> vehicles;
 	private static Map<String, Vehicle> vehicleMap;
+	
+	// indices build after loading. ammo of a vehicle by name and by (type,speed)
+	private static Map<Vehicle, Map<String,Ammo>> ammoByName;
+	private static Map<Vehicle, Map<String,List<Ammo>>> ammoByTypeSpeed;
+	
+	// search indices over the pretty and the internal names
+	private static VehicleSearchIndex searchIndexPretty;
+	private static VehicleSearchIndex searchIndexNames;
+	
+	// elevation tables of all ammo with known ballistic properties
+	private static TrajectoryCache trajectories = new TrajectoryCache();
 
 	
 	
@@ -26,7 +40,17 @@ public class Database {
 	
 	public static void loadVehicles(File file) {
 		try {
-			vehicleMap = new HashMap<String,Vehicle>();
+			
+			// try snapshot of previous launch first
+			File fileSnapshot = VehicleDataSnapshot.getSnapshotFile(file);
+			String checksum = file.exists() ? Checksum.generateFromFile(file) : null;
+			vehicles = VehicleDataSnapshot.load(fileSnapshot, checksum);
+			if(vehicles != null) {
+				buildIndex();
+				Logger.get().info("Vehicles loaded from snapshot (" + vehicleMap.size() + ")");
+				return;
+			}
+			
 			vehicles = DataLoader.get(FileVersion.AUTO_DETECT).loadVehicleDataFile(file);
 			for(int i=0, n=vehicles.size(); i<n; i++) {
 				Vehicle vehicle = vehicles.get(i);
@@ -37,10 +61,14 @@ public class Database {
 						ammo.namePretty = toPrettyAmmoName(ammo.name);
 					}
 				}
-				
-				vehicleMap.put(vehicle.name, vehicle);
 			}
+			buildIndex();
 			Logger.get().info("Vehicles loaded (" + vehicleMap.size() + ")");
+			
+			if(!vehicles.isEmpty()) {
+				VehicleDataSnapshot.write(fileSnapshot, checksum, vehicles);
+			}
+			
 		} catch (Exception e) {
 			Logger.get().error(e);
 		}
@@ -49,6 +77,96 @@ public class Database {
 	
 	
 	
+	/**
+	 * Loads the trajectory tables from the given file and computes the tables of all ammo (in parallel) that are not in the file yet.
+	 * The file is updated, if new tables were computed.
+	 * */
+	public static void loadTrajectories(File file) {
+		try {
+			
+			trajectories.load(file);
+			
+			List<Ammo> ammoList = new ArrayList<Ammo>();
+			if(vehicles != null) {
+				for(Vehicle vehicle : vehicles) {
+					for(Weapon weapon : vehicle.weaponsList) {
+						ammoList.addAll(weapon.ammo);
+					}
+				}
+			}
+			
+			int nComputed = trajectories.precompute(ammoList, Runtime.getRuntime().availableProcessors());
+			Logger.get().info("Trajectories loaded (" + trajectories.size() + ", " + nComputed + " computed)");
+			
+			if(nComputed > 0) {
+				trajectories.save(file);
+			}
+			
+		} catch (Exception e) {
+			Logger.get().error(e);
+		}
+	}
+	
+	
+	
+	
+	public static TrajectoryCache getTrajectories() {
+		return trajectories;
+	}
+	
+	
+	
+	
+	private static void buildIndex() {
+		vehicleMap = new HashMap<String,Vehicle>();
+		ammoByName = new HashMap<Vehicle,Map<String,Ammo>>();
+		ammoByTypeSpeed = new HashMap<Vehicle,Map<String,List<Ammo>>>();
+		
+		for(int i=0, n=vehicles.size(); i<n; i++) {
+			Vehicle vehicle = vehicles.get(i);
+			vehicleMap.put(vehicle.name, vehicle);
+			
+			Map<String,Ammo> mapName = new HashMap<String,Ammo>();
+			Map<String,List<Ammo>> mapTypeSpeed = new HashMap<String,List<Ammo>>();
+			ammoByName.put(vehicle, mapName);
+			ammoByTypeSpeed.put(vehicle, mapTypeSpeed);
+			
+			for(Weapon weapon : vehicle.weaponsList) {
+				for(Ammo ammo : weapon.ammo) {
+					if(!mapName.containsKey(ammo.name)) {
+						mapName.put(ammo.name, ammo);
+					}
+					addToList(mapTypeSpeed, typeSpeedKey(ammo.type, ammo.speed), ammo);
+				}
+			}
+		}
+		
+		searchIndexPretty = new VehicleSearchIndex(vehicles, true);
+		searchIndexNames = new VehicleSearchIndex(vehicles, false);
+	}
+	
+	
+	
+	
+	private static void addToList(Map<String,List<Ammo>> map, String key, Ammo ammo) {
+		List<Ammo> list = map.get(key);
+		if(list == null) {
+			list = new ArrayList<Ammo>(2);
+			map.put(key, list);
+		}
+		list.add(ammo);
+	}
+	
+	
+	
+	
+	private static String typeSpeedKey(String type, int speed) {
+		return (type == null ? "" : type.toLowerCase()) + ":" + speed;
+	}
+	
+	
+	
+	
 	public static String toPrettyAmmoName(String name) {
 		name = name.replace("ammo_", "").replaceAll("_", " ");
 		return name;
@@ -69,30 +187,41 @@ public class Database {
 	
 	
 	public static List<String> getVehicleNamesFiltered(String filter) {
-		List<String> names = new ArrayList<String>();
-		for(int i=0, n=vehicles.size(); i<n; i++) {
-			Vehicle v = vehicles.get(i);
-			if(filter.isEmpty()) {
-				names.add(v.name);
-			} else {
-				if(v.name.toLowerCase().contains(filter.toLowerCase())) {
-					names.add(v.name);
-				}
-			}
+		List<Vehicle> vehiclesFiltered = searchIndexNames.search(filter);
+		List<String> names = new ArrayList<String>(vehiclesFiltered.size());
+		for(int i=0, n=vehiclesFiltered.size(); i<n; i++) {
+			names.add(vehiclesFiltered.get(i).name);
 		}
 		return names;
 	}
+	
+	
+	
+	
+	/**
+	 * Searches the vehicles by their pretty names.
+	 * @param nation only include vehicles of this nation (or null)
+	 * @param ammoType only include vehicles with ammo of this type (or null)
+	 * */
+	public static List<Vehicle> searchVehicles(String filter, String nation, String ammoType) {
+		if(searchIndexPretty == null) {
+			return new ArrayList<Vehicle>();
+		}
+		return searchIndexPretty.search(filter, nation, ammoType);
+	}
+	
+	
+	
+	
+	public static VehicleSearchIndex getSearchIndex() {
+		return searchIndexPretty;
+	}
 
 	
 	
 	
 	public static Vehicle getVehicleByName(String name) {
-		for(Vehicle vehicle : vehicles) {
-			if(vehicle.name.equals(name)) {
-				return vehicle;
-			}
-		}
-		return null;
+		return vehicleMap == null ? null : vehicleMap.get(name);
 	}
 	
 	
@@ -126,23 +255,36 @@ public class Database {
 	
 	
 	public static List<Ammo> getAmmo(String vehicleName, String type, int speed) {
-		
-		List<Ammo> ammoList = new ArrayList<Ammo>();
-		
 		Vehicle vehicle = getVehicleByName(vehicleName);
-		if(vehicle != null) {
-			
-			for(Weapon weapon : vehicle.weaponsList) {
-				for(Ammo ammo : weapon.ammo) {
-					if(ammo.type.equalsIgnoreCase(type) && ammo.speed == speed) {
-						ammoList.add(ammo);
-					}
-				}
-			}
-			
+		if(vehicle == null || type == null) {
+			return Collections.emptyList();
 		}
-		
-		return ammoList;
+		List<Ammo> ammoList = ammoByTypeSpeed.get(vehicle).get(typeSpeedKey(type, speed));
+		return ammoList == null ? Collections.<Ammo>emptyList() : Collections.unmodifiableList(ammoList);
+	}
+	
+	
+	
+	
+	/**
+	 * @return the (first) ammo of the given vehicle with the given name or null
+	 * */
+	public static Ammo getAmmoByName(Vehicle vehicle, String ammoName) {
+		if(vehicle == null || ammoByName == null) {
+			return null;
+		}
+		Map<String,Ammo> mapName = ammoByName.get(vehicle);
+		if(mapName == null) {
+			return null;
+		}
+		return mapName.get(ammoName);
+	}
+	
+	
+	
+	
+	public static Ammo getAmmoByName(String vehicleName, String ammoName) {
+		return getAmmoByName(getVehicleByName(vehicleName), ammoName);
 	}
 	
 	
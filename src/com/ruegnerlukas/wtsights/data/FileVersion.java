@@ -8,7 +8,8 @@ public enum FileVersion {
 	DUMMY("dummy"),
 	V_1_DEFAULT("1"),
 	V_2("2"),
-	V_3("3");
+	V_3("3"),
+	V_4("4"); // ballistic data with the images in a sidecar file (see ImageSidecar)
 
 	
 	public final String fileversion;
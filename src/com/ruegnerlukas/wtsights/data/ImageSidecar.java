@@ -0,0 +1,103 @@
+package com.ruegnerlukas.wtsights.data;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Binary file next to a ballistic data file that holds the encoded images (e.g. jpg) without any conversion.
+ * The file starts with a short header followed by the raw bytes of all images. The offsets and lengths of the images are stored in the xml-file.
+ * */
+public class ImageSidecar {
+
+
+	public static final String FILE_EXTENSION = ".images";
+
+	private static final byte[] MAGIC = "WTIMG".getBytes(Charset.forName("US-ASCII"));
+	private static final int VERSION = 1;
+
+
+
+
+	/**
+	 * @return the sidecar file of the given ballistic data file ("name.xml" -> "name.images")
+	 * */
+	public static File getFile(File fileXml) {
+		String name = fileXml.getName();
+		if(name.toLowerCase().endsWith(".xml")) {
+			name = name.substring(0, name.length()-".xml".length());
+		}
+		return new File(fileXml.getAbsoluteFile().getParentFile(), name + FILE_EXTENSION);
+	}
+
+
+
+
+	/**
+	 * Writes the given images into the given file (replaces an existing file).
+	 * @return the offsets of the images in the file
+	 * */
+	public static long[] write(File file, List<byte[]> images) throws IOException {
+		long[] offsets = new long[images.size()];
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			out.write(MAGIC);
+			out.write(VERSION);
+			long offset = MAGIC.length + 1;
+			for(int i=0; i<images.size(); i++) {
+				offsets[i] = offset;
+				out.write(images.get(i));
+				offset += images.get(i).length;
+			}
+		} finally {
+			out.close();
+		}
+		return offsets;
+	}
+
+
+
+
+	/**
+	 * Reads the images at the given offsets from the given file. The images are not decoded.
+	 * @return the bytes of the images
+	 * */
+	public static byte[][] read(File file, long[] offsets, int[] lengths) throws IOException {
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+
+			byte[] header = new byte[MAGIC.length];
+			in.readFully(header);
+			if(!Arrays.equals(header, MAGIC)) {
+				throw new IOException("Not an image sidecar file: " + file);
+			}
+			int version = in.read();
+			if(version != VERSION) {
+				throw new IOException("Unsupported image sidecar version (" + version + "): " + file);
+			}
+
+			byte[][] images = new byte[offsets.length][];
+			for(int i=0; i<offsets.length; i++) {
+				if(offsets[i] + lengths[i] > in.length()) {
+					throw new IOException("Image " + i + " exceeds the end of the sidecar file: " + file);
+				}
+				images[i] = new byte[lengths[i]];
+				in.seek(offsets[i]);
+				in.readFully(images[i]);
+			}
+			return images;
+
+		} finally {
+			in.close();
+		}
+	}
+
+
+}
@@ -0,0 +1,330 @@
+package com.ruegnerlukas.wtsights.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+import com.ruegnerlukas.wtutils.SightUtils.TriggerGroup;
+
+
+/**
+ * Binary snapshot of the loaded vehicle data. Written after the vehicle-xml was loaded successfully and
+ * memory-mapped on the next start instead of parsing the xml again.
+ * The snapshot stores the checksum of the xml-file it was created from and is ignored when the xml changed.
+ *
+ * Layout (big endian):
+ * header:		magic, format version, checksum (utf), offsets of the sections (relative to the end of the header)
+ * strings:		count, (length, utf-8 bytes)*
+ * vehicles:	count, name[], namePretty[], fovOut[], fovIn[], fovSight[], firstWeapon[], nWeapons[]
+ * weapons:		count, name[], triggerGroup[], firstAmmo[], nAmmo[]
+ * ammo:		count, name[], namePretty[], type[], speed[], mass[], caliber[], cx[]
+ * */
+public class VehicleDataSnapshot {
+
+
+	private static final int MAGIC = 0x57545653; // "WTVS"
+	private static final int FORMAT_VERSION = 3;
+
+
+
+
+	public static File getSnapshotFile(File fileXml) {
+		return new File(fileXml.getAbsolutePath() + ".snapshot");
+	}
+
+
+
+
+	/**
+	 * Loads the vehicles from the given snapshot-file.
+	 * @param checksum the checksum of the current vehicle-xml
+	 * @return the list of vehicles or null, if the snapshot does not exist, is outdated or could not be read
+	 * */
+	public static List<Vehicle> load(File file, String checksum) {
+
+		if(file == null || !file.exists() || checksum == null) {
+			return null;
+		}
+
+		try {
+
+			// check header before mapping the file, to not keep a mapping to an outdated file
+			int headerSize;
+			int[] offsets = new int[4];
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				if(in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+					Logger.get().info("Vehicle snapshot has unknown format: " + file);
+					return null;
+				}
+				String checksumSnapshot = in.readUTF();
+				if(!checksum.equals(checksumSnapshot)) {
+					Logger.get().info("Vehicle snapshot is outdated: " + file);
+					return null;
+				}
+				for(int i=0; i<offsets.length; i++) {
+					offsets[i] = in.readInt();
+				}
+				headerSize = 4 + 4 + 2 + checksumSnapshot.getBytes(StandardCharsets.UTF_8).length + 4*offsets.length;
+			}
+
+			try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+				// strings
+				buffer.position(headerSize + offsets[0]);
+				String[] strings = new String[buffer.getInt()];
+				byte[] bytes = new byte[64];
+				for(int i=0; i<strings.length; i++) {
+					int length = buffer.getInt();
+					if(bytes.length < length) {
+						bytes = new byte[length];
+					}
+					buffer.get(bytes, 0, length);
+					strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+				}
+
+				// ammo
+				buffer.position(headerSize + offsets[3]);
+				int nAmmo = buffer.getInt();
+				int[] ammoName = getInts(buffer, nAmmo);
+				int[] ammoNamePretty = getInts(buffer, nAmmo);
+				int[] ammoType = getInts(buffer, nAmmo);
+				int[] ammoSpeed = getInts(buffer, nAmmo);
+				double[] ammoMass = getDoubles(buffer, nAmmo);
+				double[] ammoCaliber = getDoubles(buffer, nAmmo);
+				double[] ammoCx = getDoubles(buffer, nAmmo);
+
+				// weapons
+				buffer.position(headerSize + offsets[2]);
+				int nWeapons = buffer.getInt();
+				int[] weaponName = getInts(buffer, nWeapons);
+				int[] weaponTrigger = getInts(buffer, nWeapons);
+				int[] weaponFirstAmmo = getInts(buffer, nWeapons);
+				int[] weaponNAmmo = getInts(buffer, nWeapons);
+
+				// vehicles
+				buffer.position(headerSize + offsets[1]);
+				int nVehicles = buffer.getInt();
+				int[] vehicleName = getInts(buffer, nVehicles);
+				int[] vehicleNamePretty = getInts(buffer, nVehicles);
+				float[] fovOut = getFloats(buffer, nVehicles);
+				float[] fovIn = getFloats(buffer, nVehicles);
+				float[] fovSight = getFloats(buffer, nVehicles);
+				int[] vehicleFirstWeapon = getInts(buffer, nVehicles);
+				int[] vehicleNWeapons = getInts(buffer, nVehicles);
+
+
+				TriggerGroup[] triggerGroups = TriggerGroup.values();
+				List<Vehicle> vehicles = new ArrayList<Vehicle>(nVehicles);
+
+				for(int i=0; i<nVehicles; i++) {
+					Vehicle vehicle = new Vehicle();
+					vehicle.name = strings[vehicleName[i]];
+					vehicle.namePretty = strings[vehicleNamePretty[i]];
+					vehicle.fovOut = fovOut[i];
+					vehicle.fovIn = fovIn[i];
+					vehicle.fovSight = fovSight[i];
+
+					for(int j=vehicleFirstWeapon[i], m=j+vehicleNWeapons[i]; j<m; j++) {
+						Weapon weapon = new Weapon();
+						weapon.name = strings[weaponName[j]];
+						weapon.triggerGroup = triggerGroups[weaponTrigger[j]];
+						vehicle.weaponsList.add(weapon);
+
+						for(int k=weaponFirstAmmo[j], l=k+weaponNAmmo[j]; k<l; k++) {
+							Ammo ammo = new Ammo();
+							ammo.parentWeapon = weapon;
+							ammo.name = strings[ammoName[k]];
+							ammo.namePretty = strings[ammoNamePretty[k]];
+							ammo.type = strings[ammoType[k]];
+							ammo.speed = ammoSpeed[k];
+							ammo.mass = ammoMass[k];
+							ammo.caliber = ammoCaliber[k];
+							ammo.cx = ammoCx[k];
+							weapon.ammo.add(ammo);
+						}
+					}
+
+					vehicles.add(vehicle);
+				}
+
+				return vehicles;
+			}
+
+		} catch(Exception e) {
+			Logger.get().warn("Could not read vehicle snapshot: " + file + ", " + e);
+			return null;
+		}
+
+	}
+
+
+
+
+	private static int[] getInts(ByteBuffer buffer, int n) {
+		int[] values = new int[n];
+		buffer.asIntBuffer().get(values);
+		buffer.position(buffer.position() + n*4);
+		return values;
+	}
+
+
+
+
+	private static float[] getFloats(ByteBuffer buffer, int n) {
+		float[] values = new float[n];
+		buffer.asFloatBuffer().get(values);
+		buffer.position(buffer.position() + n*4);
+		return values;
+	}
+
+
+
+
+
+	private static double[] getDoubles(ByteBuffer buffer, int n) {
+		double[] values = new double[n];
+		buffer.asDoubleBuffer().get(values);
+		buffer.position(buffer.position() + n*8);
+		return values;
+	}
+
+
+
+
+	/**
+	 * Writes the given vehicles to the given snapshot-file.
+	 * @param checksum the checksum of the vehicle-xml the vehicles were loaded from
+	 * */
+	public static boolean write(File file, String checksum, List<Vehicle> vehicles) {
+
+		if(file == null || checksum == null || vehicles == null) {
+			return false;
+		}
+
+		try {
+
+			List<String> strings = new ArrayList<String>();
+			Map<String,Integer> stringIndices = new HashMap<String,Integer>();
+
+			List<Weapon> weapons = new ArrayList<Weapon>();
+			List<Ammo> ammoList = new ArrayList<Ammo>();
+			for(Vehicle vehicle : vehicles) {
+				for(Weapon weapon : vehicle.weaponsList) {
+					weapons.add(weapon);
+					ammoList.addAll(weapon.ammo);
+				}
+			}
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			int[] offsets = new int[4];
+
+			// vehicles
+			offsets[1] = out.size();
+			out.writeInt(vehicles.size());
+			for(Vehicle vehicle : vehicles) { out.writeInt(stringIndex(vehicle.name, strings, stringIndices)); }
+			for(Vehicle vehicle : vehicles) { out.writeInt(stringIndex(vehicle.namePretty, strings, stringIndices)); }
+			for(Vehicle vehicle : vehicles) { out.writeFloat(vehicle.fovOut); }
+			for(Vehicle vehicle : vehicles) { out.writeFloat(vehicle.fovIn); }
+			for(Vehicle vehicle : vehicles) { out.writeFloat(vehicle.fovSight); }
+			int firstWeapon = 0;
+			for(Vehicle vehicle : vehicles) {
+				out.writeInt(firstWeapon);
+				firstWeapon += vehicle.weaponsList.size();
+			}
+			for(Vehicle vehicle : vehicles) { out.writeInt(vehicle.weaponsList.size()); }
+
+			// weapons
+			offsets[2] = out.size();
+			out.writeInt(weapons.size());
+			for(Weapon weapon : weapons) { out.writeInt(stringIndex(weapon.name, strings, stringIndices)); }
+			for(Weapon weapon : weapons) { out.writeInt((weapon.triggerGroup == null ? TriggerGroup.UNKNOWN : weapon.triggerGroup).ordinal()); }
+			int firstAmmo = 0;
+			for(Weapon weapon : weapons) {
+				out.writeInt(firstAmmo);
+				firstAmmo += weapon.ammo.size();
+			}
+			for(Weapon weapon : weapons) { out.writeInt(weapon.ammo.size()); }
+
+			// ammo
+			offsets[3] = out.size();
+			out.writeInt(ammoList.size());
+			for(Ammo ammo : ammoList) { out.writeInt(stringIndex(ammo.name, strings, stringIndices)); }
+			for(Ammo ammo : ammoList) { out.writeInt(stringIndex(ammo.namePretty, strings, stringIndices)); }
+			for(Ammo ammo : ammoList) { out.writeInt(stringIndex(ammo.type, strings, stringIndices)); }
+			for(Ammo ammo : ammoList) { out.writeInt(ammo.speed); }
+			for(Ammo ammo : ammoList) { out.writeDouble(ammo.mass); }
+			for(Ammo ammo : ammoList) { out.writeDouble(ammo.caliber); }
+			for(Ammo ammo : ammoList) { out.writeDouble(ammo.cx); }
+
+			// strings (at the end, since the table is filled while writing the other sections)
+			offsets[0] = out.size();
+			out.writeInt(strings.size());
+			for(String str : strings) {
+				byte[] strBytes = str.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(strBytes.length);
+				out.write(strBytes);
+			}
+			out.flush();
+
+
+			File fileTmp = new File(file.getAbsolutePath() + ".tmp");
+			try (DataOutputStream outFile = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileTmp)))) {
+				outFile.writeInt(MAGIC);
+				outFile.writeInt(FORMAT_VERSION);
+				outFile.writeUTF(checksum);
+				for(int offset : offsets) {
+					outFile.writeInt(offset);
+				}
+				bytes.writeTo(outFile);
+			}
+			Files.move(fileTmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			Logger.get().info("Vehicle snapshot saved: " + file.getAbsolutePath());
+			return true;
+
+		} catch(IOException e) {
+			Logger.get().warn("Could not write vehicle snapshot: " + file + ", " + e);
+			return false;
+		}
+
+	}
+
+
+
+
+	private static int stringIndex(String str, List<String> strings, Map<String,Integer> stringIndices) {
+		String s = str == null ? "" : str;
+		Integer index = stringIndices.get(s);
+		if(index == null) {
+			index = strings.size();
+			strings.add(s);
+			stringIndices.put(s, index);
+		}
+		return index;
+	}
+
+
+}
@@ -0,0 +1,243 @@
+package com.ruegnerlukas.wtsights.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+
+
+/**
+ * Search index over the names of a list of vehicles.
+ * The lowercase names and a trigram index are build once. A query narrows the candidates with the trigrams
+ * and only checks the remaining names. When the new query contains the previous query (e.g. when typing),
+ * the previous result is narrowed down instead.
+ * Additional facets filter the vehicles by nation and by available ammo type.
+ * Not thread-safe (the last result is kept for the next query).
+ * */
+public class VehicleSearchIndex {
+
+
+	private final Vehicle[] vehicles;
+	private final String[] keys;
+
+	private final Map<Long,int[]> trigrams = new HashMap<Long,int[]>();
+	private final Map<String,BitSet> facetNation = new HashMap<String,BitSet>();
+	private final Map<String,BitSet> facetAmmoType = new HashMap<String,BitSet>();
+
+	private String lastQuery = null;
+	private int[] lastResult = null;
+	private int lastResultSize = 0;
+
+
+
+
+	/**
+	 * @param prettyNames true to search in {@link Vehicle#namePretty}, false to search in {@link Vehicle#name}
+	 * */
+	public VehicleSearchIndex(List<Vehicle> vehicles, boolean prettyNames) {
+		this.vehicles = vehicles.toArray(new Vehicle[vehicles.size()]);
+		this.keys = new String[this.vehicles.length];
+
+		Map<Long,int[]> postings = new HashMap<Long,int[]>();
+		Map<Long,Integer> postingSizes = new HashMap<Long,Integer>();
+
+		for(int i=0; i<this.vehicles.length; i++) {
+			Vehicle vehicle = this.vehicles[i];
+			String key = prettyNames ? vehicle.namePretty : vehicle.name;
+			keys[i] = key == null ? "" : key.toLowerCase();
+
+			// trigrams
+			for(int j=0; j+3<=keys[i].length(); j++) {
+				Long trigram = trigram(keys[i], j);
+				Integer size = postingSizes.get(trigram);
+				int[] list = postings.get(trigram);
+				if(list == null) {
+					list = new int[4];
+					size = 0;
+				}
+				if(size > 0 && list[size-1] == i) {
+					continue; // trigram appears multiple times in the same name
+				}
+				if(size == list.length) {
+					list = Arrays.copyOf(list, list.length*2);
+				}
+				list[size] = i;
+				postings.put(trigram, list);
+				postingSizes.put(trigram, size+1);
+			}
+
+			// facets
+			addFacet(facetNation, getNation(vehicle), i);
+			for(Weapon weapon : vehicle.weaponsList) {
+				for(Ammo ammo : weapon.ammo) {
+					addFacet(facetAmmoType, ammo.type, i);
+				}
+			}
+		}
+
+		for(Map.Entry<Long,int[]> entry : postings.entrySet()) {
+			trigrams.put(entry.getKey(), Arrays.copyOf(entry.getValue(), postingSizes.get(entry.getKey())));
+		}
+	}
+
+
+
+
+	private static Long trigram(String str, int index) {
+		return ((long)str.charAt(index) << 32) | ((long)str.charAt(index+1) << 16) | (long)str.charAt(index+2);
+	}
+
+
+
+
+	private static void addFacet(Map<String,BitSet> facet, String value, int index) {
+		if(value == null || value.isEmpty()) {
+			return;
+		}
+		String key = value.toLowerCase();
+		BitSet set = facet.get(key);
+		if(set == null) {
+			set = new BitSet();
+			facet.put(key, set);
+		}
+		set.set(index);
+	}
+
+
+
+
+	/**
+	 * @return the nation of the given vehicle (the first part of the internal name, e.g. "germ", "ussr", ...)
+	 * */
+	public static String getNation(Vehicle vehicle) {
+		String name = vehicle.name.replace("vehicle_", "");
+		int index = name.indexOf('_');
+		return index < 0 ? name : name.substring(0, index);
+	}
+
+
+
+
+	public Set<String> getNations() {
+		return Collections.unmodifiableSet(facetNation.keySet());
+	}
+
+
+
+
+	public Set<String> getAmmoTypes() {
+		return Collections.unmodifiableSet(facetAmmoType.keySet());
+	}
+
+
+
+
+	public List<Vehicle> search(String query) {
+		return search(query, null, null);
+	}
+
+
+
+
+	/**
+	 * @param query		the text to search for (case insensitive). Empty to match all vehicles
+	 * @param nation	only include vehicles of this nation or null
+	 * @param ammoType	only include vehicles with ammo of this type or null
+	 * @return the matching vehicles in the original order
+	 * */
+	public List<Vehicle> search(String query, String nation, String ammoType) {
+
+		String q = query == null ? "" : query.toLowerCase();
+
+		int[] result;
+		int resultSize;
+
+		if(q.isEmpty()) {
+			result = null;
+			resultSize = vehicles.length;
+
+		} else if(lastQuery != null && q.contains(lastQuery)) {
+			// narrow previous result
+			result = new int[lastResultSize];
+			resultSize = 0;
+			for(int i=0; i<lastResultSize; i++) {
+				int index = lastResult[i];
+				if(keys[index].contains(q)) {
+					result[resultSize++] = index;
+				}
+			}
+
+		} else if(q.length() >= 3) {
+			// take the shortest posting list of the trigrams and verify each candidate against the whole query
+			int[] candidates = null;
+			for(int j=0; j+3<=q.length(); j++) {
+				int[] list = trigrams.get(trigram(q, j));
+				if(list == null) {
+					candidates = new int[0];
+					break;
+				}
+				if(candidates == null || list.length < candidates.length) {
+					candidates = list;
+				}
+			}
+			result = new int[candidates.length];
+			resultSize = 0;
+			for(int i=0; i<candidates.length; i++) {
+				int index = candidates[i];
+				if(keys[index].contains(q)) {
+					result[resultSize++] = index;
+				}
+			}
+
+		} else {
+			// query too short for trigrams
+			result = new int[vehicles.length];
+			resultSize = 0;
+			for(int i=0; i<vehicles.length; i++) {
+				if(keys[i].contains(q)) {
+					result[resultSize++] = i;
+				}
+			}
+		}
+
+		if(result != null) {
+			lastQuery = q;
+			lastResult = result;
+			lastResultSize = resultSize;
+		} else {
+			lastQuery = null;
+			lastResult = null;
+			lastResultSize = 0;
+		}
+
+		// facets
+		BitSet filterNation = nation == null ? null : facetNation.get(nation.toLowerCase());
+		BitSet filterAmmoType = ammoType == null ? null : facetAmmoType.get(ammoType.toLowerCase());
+		if( (nation != null && filterNation == null) || (ammoType != null && filterAmmoType == null) ) {
+			return new ArrayList<Vehicle>();
+		}
+
+		List<Vehicle> vehiclesOut = new ArrayList<Vehicle>(resultSize);
+		for(int i=0; i<resultSize; i++) {
+			int index = result == null ? i : result[i];
+			if(filterNation != null && !filterNation.get(index)) {
+				continue;
+			}
+			if(filterAmmoType != null && !filterAmmoType.get(index)) {
+				continue;
+			}
+			vehiclesOut.add(vehicles[index]);
+		}
+		return vehiclesOut;
+	}
+
+
+}
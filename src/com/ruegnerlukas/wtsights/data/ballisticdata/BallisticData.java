@@ -1,11 +1,15 @@
 package com.ruegnerlukas.wtsights.data.ballisticdata;
 
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.ruegnerlukas.wtsights.data.Database;
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.DefaultBallisticFuntion;
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.IBallisticFunction;
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.NullBallisticFunction;
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.TrajectoryBallisticFunction;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
 
 public class BallisticData {
@@ -17,8 +21,8 @@ public class BallisticData {
 	public double zoomModIn = 1.0;
 
 	
-	public Map<BallisticElement, BufferedImage> imagesBallistic = new HashMap<BallisticElement, BufferedImage>();
-	public Map<Boolean, BufferedImage> imagesZoom = new HashMap<Boolean, BufferedImage>();
+	public LazyImageMap<BallisticElement> imagesBallistic = new LazyImageMap<BallisticElement>();
+	public LazyImageMap<Boolean> imagesZoom = new LazyImageMap<Boolean>();
 	
 	
 	
@@ -33,4 +37,34 @@ public class BallisticData {
 	
 	
 	
+	
+	/**
+	 * @return the function fitted to the stored markers of the given element or the function computed from the ammo (see {@link BallisticData#createFunctionFromAmmo(BallisticElement)}), if the element has no markers
+	 * */
+	public IBallisticFunction createFunction(BallisticElement element) {
+		if(element.markerData != null) {
+			return DefaultBallisticFuntion.create(element, vehicle, isZoomedIn(element));
+		} else {
+			return createFunctionFromAmmo(element);
+		}
+	}
+	
+	
+	
+	
+	/**
+	 * @return the function computed from the ammo of the given element (for the current fov) or a {@link NullBallisticFunction}, if the trajectory of the ammo is not known
+	 * */
+	public IBallisticFunction createFunctionFromAmmo(BallisticElement element) {
+		if(!element.isRocketElement) {
+			IBallisticFunction function = TrajectoryBallisticFunction.create(element, Database.getTrajectories(), vehicle.fovOut*zoomModOut);
+			if(function != null) {
+				return function;
+			}
+		}
+		return new NullBallisticFunction();
+	}
+	
+	
+	
 }
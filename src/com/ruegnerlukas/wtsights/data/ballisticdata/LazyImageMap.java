@@ -0,0 +1,183 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+
+
+/**
+ * A map of images that also accepts encoded images (e.g. the jpg-bytes stored in a ballistic data file).
+ * Encoded images are decoded on the first access and kept afterwards. The encoded bytes are kept as long as the image is not replaced, so they can be written again without re-encoding.
+ * */
+public class LazyImageMap<K> extends AbstractMap<K,BufferedImage> {
+
+
+	private static class ImageEntry {
+		public byte[] encoded;
+		public BufferedImage image;
+	}
+
+
+	private final Map<K,ImageEntry> entries = new LinkedHashMap<K,ImageEntry>();
+
+
+
+
+	/**
+	 * adds an encoded image (in any format readable by {@link ImageIO}). The image is decoded on the first access.
+	 * */
+	public synchronized void putEncoded(K key, byte[] encoded) {
+		ImageEntry entry = new ImageEntry();
+		entry.encoded = encoded;
+		entries.put(key, entry);
+	}
+
+
+
+
+	/**
+	 * @return the encoded bytes of the image with the given key or null, if the image was not added encoded
+	 * */
+	public synchronized byte[] getEncoded(Object key) {
+		ImageEntry entry = entries.get(key);
+		return entry == null ? null : entry.encoded;
+	}
+
+
+
+
+	/**
+	 * @return true, if the image with the given key was decoded or added decoded
+	 * */
+	public synchronized boolean isDecoded(Object key) {
+		ImageEntry entry = entries.get(key);
+		return entry != null && entry.image != null;
+	}
+
+
+
+
+	@Override
+	public synchronized BufferedImage get(Object key) {
+		ImageEntry entry = entries.get(key);
+		return entry == null ? null : decode(key, entry);
+	}
+
+
+
+
+	/**
+	 * Returns the previous image. A previous image that was not decoded yet is decoded first.
+	 * */
+	@Override
+	public synchronized BufferedImage put(K key, BufferedImage image) {
+		ImageEntry entry = new ImageEntry();
+		entry.image = image;
+		ImageEntry prev = entries.put(key, entry);
+		return prev == null ? null : decode(key, prev);
+	}
+
+
+
+
+	@Override
+	public synchronized boolean containsKey(Object key) {
+		return entries.containsKey(key);
+	}
+
+
+
+
+	/**
+	 * Returns the removed image. An image that was not decoded yet is decoded first.
+	 * */
+	@Override
+	public synchronized BufferedImage remove(Object key) {
+		ImageEntry prev = entries.remove(key);
+		return prev == null ? null : decode(key, prev);
+	}
+
+
+
+
+	@Override
+	public synchronized int size() {
+		return entries.size();
+	}
+
+
+
+
+	@Override
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+
+
+
+	private BufferedImage decode(Object key, ImageEntry entry) {
+		if(entry.image == null && entry.encoded != null) {
+			try {
+				entry.image = ImageIO.read(new ByteArrayInputStream(entry.encoded));
+			} catch (IOException e) {
+				Logger.get().error("Could not decode image: " + key);
+				Logger.get().error(e);
+				entry.encoded = null;
+			}
+		}
+		return entry.image;
+	}
+
+
+
+
+	/**
+	 * The values of the entries are decoded when they are accessed.
+	 * */
+	@Override
+	public Set<Entry<K,BufferedImage>> entrySet() {
+		return new AbstractSet<Entry<K,BufferedImage>>() {
+			@Override public Iterator<Entry<K,BufferedImage>> iterator() {
+				final Iterator<K> keys = entries.keySet().iterator();
+				return new Iterator<Entry<K,BufferedImage>>() {
+					@Override public boolean hasNext() {
+						return keys.hasNext();
+					}
+					@Override public Entry<K,BufferedImage> next() {
+						final K key = keys.next();
+						return new Entry<K,BufferedImage>() {
+							@Override public K getKey() {
+								return key;
+							}
+							@Override public BufferedImage getValue() {
+								return get(key);
+							}
+							@Override public BufferedImage setValue(BufferedImage value) {
+								return put(key, value);
+							}
+						};
+					}
+					@Override public void remove() {
+						keys.remove();
+					}
+				};
+			}
+			@Override public int size() {
+				return LazyImageMap.this.size();
+			}
+		};
+	}
+
+
+}
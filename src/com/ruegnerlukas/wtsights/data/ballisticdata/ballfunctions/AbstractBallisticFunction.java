@@ -0,0 +1,63 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
+
+
+/**
+ * Base of ballistic functions with a lazily created table of the standard range grid.
+ * Ranges on the grid are read from the table, all other ranges are evaluated with {@link IBallisticFunction#eval(double)}.
+ * The inverse table is also created on the first access. Functions are replaced when their markers change, so both tables never have to be invalidated.
+ * Functions are shared between threads, so the tables are built completely before they are published (two threads may build the same table, which is harmless).
+ * */
+public abstract class AbstractBallisticFunction implements IBallisticFunction {
+
+	
+	private volatile double[] table = null;
+	private volatile BallisticInverseTable inverse = null;
+	
+	
+	
+	
+	@Override
+	public void evalInto(double[] ranges, double[] out) {
+		final double[] table = getTable();
+		for(int i=0; i<ranges.length; i++) {
+			final double range = ranges[i];
+			final int index = (int) (range / TABLE_STEP);
+			if(index >= 0 && index < table.length && index * TABLE_STEP == range) {
+				out[i] = table[index];
+			} else {
+				out[i] = eval(range);
+			}
+		}
+	}
+	
+	
+	
+	
+	@Override
+	public double[] getTable() {
+		double[] values = table;
+		if(values == null) {
+			values = new double[TABLE_MAX/TABLE_STEP + 1];
+			for(int i=0; i<values.length; i++) {
+				values[i] = eval(i * TABLE_STEP);
+			}
+			table = values;
+		}
+		return values;
+	}
+	
+	
+	
+	
+	@Override
+	public BallisticInverseTable getInverse() {
+		BallisticInverseTable result = inverse;
+		if(result == null) {
+			result = new BallisticInverseTable(this);
+			inverse = result;
+		}
+		return result;
+	}
+	
+	
+}
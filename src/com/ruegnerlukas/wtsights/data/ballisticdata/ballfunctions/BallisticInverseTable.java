@@ -0,0 +1,97 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
+
+
+/**
+ * Inverse of a ballistic function (pixels -> range in meters), sampled in steps of {@link BallisticInverseTable#STEP} meters up to {@link IBallisticFunction#TABLE_MAX}.
+ * Only the part of the function that is strictly monotonic from 0 meters on is used. Lookups use a binary search and interpolate linearly between two samples.
+ * */
+public class BallisticInverseTable {
+
+
+	/** the distance between two samples in meters */
+	public static final int STEP = 10;
+
+	private final double[] pixels;
+	private final int size;
+	private final double sign; // +1 = increasing, -1 = decreasing
+
+
+
+
+	public BallisticInverseTable(IBallisticFunction function) {
+
+		final int n = IBallisticFunction.TABLE_MAX/STEP + 1;
+		double[] ranges = new double[n];
+		for(int i=0; i<n; i++) {
+			ranges[i] = i * STEP;
+		}
+		this.pixels = new double[n];
+		function.evalInto(ranges, pixels);
+
+		this.sign = pixels[1] < pixels[0] ? -1 : +1;
+		int size = 1;
+		while(size < n && sign*pixels[size] > sign*pixels[size-1]) {
+			size++;
+		}
+		this.size = size;
+	}
+
+
+
+
+	/**
+	 * @return the range in meters at the given offset in pixels or NaN, if the offset is outside of the table
+	 * */
+	public double getRange(double px) {
+
+		if(size < 2) {
+			return Double.NaN;
+		}
+
+		final double value = sign * px;
+		if(!(value >= sign*pixels[0] && value <= sign*pixels[size-1])) {
+			return Double.NaN;
+		}
+
+		// find the last sample that is not greater than the value
+		int lo = 0;
+		int hi = size-2;
+		while(lo < hi) {
+			final int mid = (lo + hi + 1) >>> 1;
+			if(sign*pixels[mid] <= value) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+
+		final double t = (px - pixels[lo]) / (pixels[lo+1] - pixels[lo]);
+		return (lo + t) * STEP;
+	}
+
+
+
+
+	/**
+	 * @return the range in meters at the given offset in pixels rounded to the given step or NaN, if the offset is outside of the table
+	 * */
+	public double getRange(double px, int stepMeters) {
+		final double range = getRange(px);
+		if(Double.isNaN(range) || stepMeters <= 0) {
+			return range;
+		}
+		return Math.round(range / stepMeters) * stepMeters;
+	}
+
+
+
+
+	/**
+	 * @return the largest range in meters covered by the table
+	 * */
+	public double getMaxRange() {
+		return (size-1) * STEP;
+	}
+
+
+}
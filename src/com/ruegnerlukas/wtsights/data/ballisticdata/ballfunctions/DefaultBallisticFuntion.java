@@ -1,16 +1,14 @@
 package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.simplemath.vectors.vec3.Vector3d;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
 import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
 import com.ruegnerlukas.wtutils.SightUtils;
 
-public class DefaultBallisticFuntion implements IBallisticFunction {
+public class DefaultBallisticFuntion extends AbstractBallisticFunction {
 
 	
 	private Vector3d params = new Vector3d();
@@ -21,33 +19,59 @@ public class DefaultBallisticFuntion implements IBallisticFunction {
 		if(element.markerData == null) {
 			return null;
 		}
-		
-		List<Marker> markers = element.markerData.markers;
-		
-		double[] distMeters = new double[markers.size()+1];
-		double[] yPos = new double[markers.size()+1];
-		distMeters[0] = 0;
-		yPos[0] = 0;
-		for(int i=0; i<markers.size(); i++) {
-			distMeters[i+1] = markers.get(i).distMeters;
-			yPos[i+1] = markers.get(i).yPos / (zoomedIn ? (vehicle.fovOut / vehicle.fovIn) : 1);
-		}
-
-		List<Vector2d> points = new ArrayList<Vector2d>();
-		for(int i=0; i<yPos.length; i++) {
-			points.add(new Vector2d(distMeters[i]/100.0, yPos[i]));
-		}
-		Vector3d params = SightUtils.fitBallisticFunction(points, 1);
+		return create(createFitter(element), vehicle, zoomedIn);
+	}
+	
+	
+	
+	
+	/**
+	 * creates the function from the given fitter (see {@link DefaultBallisticFuntion#createFitter(BallisticElement)})
+	 * */
+	public static IBallisticFunction create(QuadraticFitter fitter, Vehicle vehicle, boolean zoomedIn) {
+		Vector3d params = fitter.solve(zoomedIn ? (vehicle.fovOut / vehicle.fovIn) : 1);
 		if(params == null) {
 			return new NullBallisticFunction();
 		} else {
 			return new DefaultBallisticFuntion(params);
 		}
-		
 	}
 	
 	
 	
+	
+	/**
+	 * @return a fitter containing the origin and all markers of the given element
+	 * */
+	public static QuadraticFitter createFitter(BallisticElement element) {
+		QuadraticFitter fitter = new QuadraticFitter();
+		fitter.add(0, 0);
+		if(element.markerData != null) {
+			List<Marker> markers = element.markerData.markers;
+			for(int i=0; i<markers.size(); i++) {
+				addMarker(fitter, markers.get(i));
+			}
+		}
+		return fitter;
+	}
+	
+	
+	
+	
+	public static void addMarker(QuadraticFitter fitter, Marker marker) {
+		fitter.add(marker.distMeters/100.0, marker.yPos);
+	}
+	
+	
+	
+	
+	public static void removeMarker(QuadraticFitter fitter, Marker marker) {
+		fitter.remove(marker.distMeters/100.0, marker.yPos);
+	}
+	
+	
+	
+	
 	private DefaultBallisticFuntion(Vector3d params) {
 		this.params = params;
 	}
@@ -62,6 +86,20 @@ public class DefaultBallisticFuntion implements IBallisticFunction {
 		return SightUtils.ballisticFunction(distanceMeters/100.0, params);
 	}
 
+	
+	
+	
+	@Override
+	public void evalInto(double[] ranges, double[] out) {
+		final double a = params.x;
+		final double b = params.y;
+		final double c = params.z;
+		for(int i=0; i<ranges.length; i++) {
+			final double x = ranges[i] / 100.0;
+			out[i] = a + b*x + c*x*x;
+		}
+	}
+
 
 
 
@@ -2,6 +2,38 @@ package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
 
 public interface IBallisticFunction {
 
+	/** the step of the standard range grid in meters */
+	public static final int TABLE_STEP = 200;
+	
+	/** the last range of the standard range grid in meters */
+	public static final int TABLE_MAX = 10000;
+	
+	
+	
+	/**
+	 * @return the offset in pixels at the given range in meters
+	 * */
 	public double eval(double x);
 	
+	
+	
+	/**
+	 * evaluates the function at all given ranges (in meters) and writes the results into the given array (with at least the same length)
+	 * */
+	public void evalInto(double[] ranges, double[] out);
+	
+	
+	
+	/**
+	 * @return the values at the ranges of the standard grid (0, 200, 400, ... {@link IBallisticFunction#TABLE_MAX} meters). The array is cached and must not be modified.
+	 * */
+	public double[] getTable();
+	
+	
+	
+	/**
+	 * @return the inverse of this function (pixels -> range). The table is created on the first access and cached.
+	 * */
+	public BallisticInverseTable getInverse();
+	
 }
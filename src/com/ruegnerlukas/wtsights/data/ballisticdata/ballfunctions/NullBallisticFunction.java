@@ -1,10 +1,19 @@
 package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
 
-public class NullBallisticFunction implements IBallisticFunction {
+import java.util.Arrays;
+
+public class NullBallisticFunction extends AbstractBallisticFunction {
 
 	@Override
 	public double eval(double x) {
 		return 0;
 	}
 
+	
+	
+	@Override
+	public void evalInto(double[] ranges, double[] out) {
+		Arrays.fill(out, 0, ranges.length, 0);
+	}
+	
 }
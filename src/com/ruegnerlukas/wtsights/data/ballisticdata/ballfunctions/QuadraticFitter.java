@@ -0,0 +1,158 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
+
+import com.ruegnerlukas.simplemath.vectors.vec3.Vector3d;
+
+
+/**
+ * Least-squares fit of y = a + b*x + c*x^2.
+ * Keeps the sums of the normal equations, so adding, removing or moving a point only updates the sums and solving does not depend on the number of points.
+ * */
+public class QuadraticFitter {
+
+
+	/**
+	 * the system is treated as singular if det(A^T*A) is smaller than this ratio of the product of its diagonal (Hadamard bound).
+	 * Matches a relative threshold of 1e-5 on the diagonal of the QR-decomposition of A.
+	 * */
+	private static final double SINGULARITY_THRESHOLD_RATIO = 1.0e-10;
+
+	private int n;
+	private double sx, sx2, sx3, sx4;
+	private double sy, sxy, sx2y;
+
+
+
+
+	public QuadraticFitter() {
+	}
+
+
+
+
+	public QuadraticFitter(QuadraticFitter other) {
+		set(other);
+	}
+
+
+
+
+	public QuadraticFitter set(QuadraticFitter other) {
+		this.n = other.n;
+		this.sx = other.sx;
+		this.sx2 = other.sx2;
+		this.sx3 = other.sx3;
+		this.sx4 = other.sx4;
+		this.sy = other.sy;
+		this.sxy = other.sxy;
+		this.sx2y = other.sx2y;
+		return this;
+	}
+
+
+
+
+	public QuadraticFitter clear() {
+		n = 0;
+		sx = sx2 = sx3 = sx4 = 0;
+		sy = sxy = sx2y = 0;
+		return this;
+	}
+
+
+
+
+	public QuadraticFitter add(double x, double y) {
+		return accumulate(x, y, +1);
+	}
+
+
+
+
+	public QuadraticFitter remove(double x, double y) {
+		return accumulate(x, y, -1);
+	}
+
+
+
+
+	public QuadraticFitter move(double xOld, double yOld, double xNew, double yNew) {
+		accumulate(xOld, yOld, -1);
+		return accumulate(xNew, yNew, +1);
+	}
+
+
+
+
+	private QuadraticFitter accumulate(double x, double y, int sign) {
+		final double x2 = x*x;
+		n += sign;
+		sx += sign * x;
+		sx2 += sign * x2;
+		sx3 += sign * x2*x;
+		sx4 += sign * x2*x2;
+		sy += sign * y;
+		sxy += sign * x*y;
+		sx2y += sign * x2*y;
+		return this;
+	}
+
+
+
+
+	/**
+	 * @return the number of points
+	 * */
+	public int getCount() {
+		return n;
+	}
+
+
+
+
+	/**
+	 * Solves the normal equations. The resulting parameters are written into the given vector (x = a, y = b, z = c).
+	 * @param yScale the y-values of all points are divided by this value
+	 * @return false, if there are not enough (distinct) points to fit the function. The given vector is not changed in that case.
+	 * */
+	public boolean solve(double yScale, Vector3d result) {
+
+		if(n < 3) {
+			return false;
+		}
+
+		// A^T*A = | n   sx  sx2 |    A^T*y = | sy   |
+		//         | sx  sx2 sx3 |            | sxy  |
+		//         | sx2 sx3 sx4 |            | sx2y |
+		final double c00 = sx2*sx4 - sx3*sx3;
+		final double c01 = sx2*sx3 - sx*sx4;
+		final double c02 = sx*sx3 - sx2*sx2;
+		final double c11 = n*sx4 - sx2*sx2;
+		final double c12 = sx*sx2 - n*sx3;
+		final double c22 = n*sx2 - sx*sx;
+
+		final double det = n*c00 + sx*c01 + sx2*c02;
+		if(!(det > SINGULARITY_THRESHOLD_RATIO * n * sx2 * sx4)) {
+			return false;
+		}
+
+		final double f = 1.0 / (det * yScale);
+		result.x = (c00*sy + c01*sxy + c02*sx2y) * f;
+		result.y = (c01*sy + c11*sxy + c12*sx2y) * f;
+		result.z = (c02*sy + c12*sxy + c22*sx2y) * f;
+		return true;
+	}
+
+
+
+
+	/**
+	 * @param yScale the y-values of all points are divided by this value
+	 * @return the parameters (x = a, y = b, z = c) or null, if there are not enough (distinct) points to fit the function
+	 * */
+	public Vector3d solve(double yScale) {
+		Vector3d result = new Vector3d();
+		return solve(yScale, result) ? result : null;
+	}
+
+
+}
@@ -0,0 +1,86 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions;
+
+import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
+import com.ruegnerlukas.wtsights.data.ballisticdata.trajectory.TrajectoryCache;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+
+/**
+ * Ballistic function computed from the properties of the ammo instead of calibration markers.
+ * Interpolates the elevation table of the {@link TrajectoryCache} linearly and converts the elevation into pixels (zoomed out).
+ * */
+public class TrajectoryBallisticFunction extends AbstractBallisticFunction {
+
+
+	/** the width of the screen (in pixels) the functions created at load time refer to (same as the default 1280x720 screenshots) */
+	public static final double CANONICAL_SCREEN_WIDTH = 1280;
+	
+	private final double[] elevations;
+	private final double pixelsPerRadian;
+
+
+
+
+	/**
+	 * @param fovOut the field of view (zoomed out) in degrees
+	 * @return the function for the {@link TrajectoryBallisticFunction#CANONICAL_SCREEN_WIDTH} or null, if there is no ammo with an elevation table
+	 * */
+	public static TrajectoryBallisticFunction create(BallisticElement element, TrajectoryCache cache, double fovOut) {
+		return create(element, cache, fovOut, CANONICAL_SCREEN_WIDTH);
+	}
+
+
+
+
+	/**
+	 * @param fovOut the field of view (zoomed out) in degrees
+	 * @param screenWidth the width of the screen in pixels the function is used for
+	 * @return the function of the first ammo of the given element with an elevation table or null, if there is no such ammo
+	 * */
+	public static TrajectoryBallisticFunction create(BallisticElement element, TrajectoryCache cache, double fovOut, double screenWidth) {
+		for(Ammo ammo : element.ammunition) {
+			double[] elevations = cache.get(ammo);
+			if(elevations != null && elevations.length >= 2) {
+				return new TrajectoryBallisticFunction(elevations, screenWidth / Math.toRadians(fovOut));
+			}
+		}
+		return null;
+	}
+
+
+
+
+	public TrajectoryBallisticFunction(double[] elevations, double pixelsPerRadian) {
+		this.elevations = elevations;
+		this.pixelsPerRadian = pixelsPerRadian;
+	}
+
+
+
+
+	/**
+	 * Ranges after the end of the table are extrapolated linearly.
+	 * */
+	@Override
+	public double eval(double distanceMeters) {
+		final double pos = Math.max(0, distanceMeters) / TABLE_STEP;
+		final int index = Math.min((int)pos, elevations.length-2);
+		final double t = pos - index;
+		return (elevations[index] + (elevations[index+1] - elevations[index]) * t) * pixelsPerRadian;
+	}
+
+
+
+
+	@Override
+	public void evalInto(double[] ranges, double[] out) {
+		final int last = elevations.length-2;
+		for(int i=0; i<ranges.length; i++) {
+			final double pos = Math.max(0, ranges[i]) / TABLE_STEP;
+			final int index = Math.min((int)pos, last);
+			final double t = pos - index;
+			out[i] = (elevations[index] + (elevations[index+1] - elevations[index]) * t) * pixelsPerRadian;
+		}
+	}
+
+
+}
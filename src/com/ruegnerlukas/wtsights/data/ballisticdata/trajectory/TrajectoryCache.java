@@ -0,0 +1,191 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata.trajectory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+
+
+/**
+ * Elevation tables of ammo (see {@link TrajectoryEngine}), keyed by the hash of the ballistic properties of the ammo ({@link TrajectoryEngine#hash(Ammo)}).
+ * Ammo with the same properties shares one table. The tables can be saved to a file and are only computed again for new or changed ammo.
+ *
+ * File layout (big endian): magic, format version, count, (hash, length, elevations[])*
+ * */
+public class TrajectoryCache {
+
+
+	private static final int MAGIC = 0x57545452; // "WTTR"
+	private static final int FORMAT_VERSION = 1;
+
+	private final Map<Long,double[]> tables = new ConcurrentHashMap<Long,double[]>();
+
+
+
+
+	/**
+	 * @return the elevation table of the given ammo or null, if it was not computed
+	 * */
+	public double[] get(Ammo ammo) {
+		if(!TrajectoryEngine.canCompute(ammo)) {
+			return null;
+		}
+		return tables.get(TrajectoryEngine.hash(ammo));
+	}
+
+
+
+
+	public int size() {
+		return tables.size();
+	}
+
+
+
+
+	/**
+	 * Computes the tables of all given ammo that are not in the cache yet. The tables are computed in parallel.
+	 * @param nThreads the number of threads to use
+	 * @return the number of computed tables
+	 * */
+	public int precompute(Collection<Ammo> ammoList, int nThreads) {
+
+		// one task per distinct set of properties
+		List<Ammo> missing = new ArrayList<Ammo>();
+		Set<Long> hashes = new HashSet<Long>();
+		for(Ammo ammo : ammoList) {
+			if(TrajectoryEngine.canCompute(ammo)) {
+				long hash = TrajectoryEngine.hash(ammo);
+				if(!tables.containsKey(hash) && hashes.add(hash)) {
+					missing.add(ammo);
+				}
+			}
+		}
+		if(missing.isEmpty()) {
+			return 0;
+		}
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(missing.size());
+		for(final Ammo ammo : missing) {
+			tasks.add(new Callable<Void>() {
+				@Override public Void call() throws Exception {
+					tables.put(TrajectoryEngine.hash(ammo), TrajectoryEngine.computeElevations(ammo));
+					return null;
+				}
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(nThreads, missing.size())));
+		try {
+			for(Future<Void> future : executor.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Logger.get().error(e);
+		} finally {
+			executor.shutdown();
+		}
+
+		return missing.size();
+	}
+
+
+
+
+	/**
+	 * Adds the tables of the given file to this cache.
+	 * @return false, if the file does not exist or could not be read
+	 * */
+	public boolean load(File file) {
+
+		if(!file.exists()) {
+			return false;
+		}
+
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if(in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+					Logger.get().info("Trajectory cache has unknown format: " + file);
+					return false;
+				}
+				int count = in.readInt();
+				for(int i=0; i<count; i++) {
+					long hash = in.readLong();
+					double[] elevations = new double[in.readInt()];
+					for(int j=0; j<elevations.length; j++) {
+						elevations[j] = in.readDouble();
+					}
+					tables.put(hash, elevations);
+				}
+			} finally {
+				in.close();
+			}
+			return true;
+
+		} catch (IOException e) {
+			Logger.get().warn("Could not read trajectory cache: " + file + ", " + e);
+			return false;
+		}
+	}
+
+
+
+
+	/**
+	 * Writes all tables into the given file (replaces an existing file). The tables are written into a temporary file first, so a crash can not leave a truncated file.
+	 * */
+	public void save(File file) throws IOException {
+		File fileTmp = new File(file.getAbsolutePath() + ".tmp");
+		boolean saved = false;
+		try {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileTmp)));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeInt(tables.size());
+				for(Map.Entry<Long,double[]> entry : tables.entrySet()) {
+					double[] elevations = entry.getValue();
+					out.writeLong(entry.getKey());
+					out.writeInt(elevations.length);
+					for(int i=0; i<elevations.length; i++) {
+						out.writeDouble(elevations[i]);
+					}
+				}
+			} finally {
+				out.close();
+			}
+			Files.move(fileTmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			saved = true;
+		} finally {
+			if(!saved) {
+				fileTmp.delete();
+			}
+		}
+	}
+
+
+}
@@ -0,0 +1,145 @@
+package com.ruegnerlukas.wtsights.data.ballisticdata.trajectory;
+
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.IBallisticFunction;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+
+
+/**
+ * Integrates the trajectory of a projectile with quadratic air drag (F = 0.5 * airDensity * cx * area * v^2) and gravity.
+ * The result is the elevation the gun needs to hit a target at the ranges of the standard grid ({@link IBallisticFunction#TABLE_STEP}).
+ * */
+public class TrajectoryEngine {
+
+
+	public static final double GRAVITY = 9.81;			// m/s^2
+	public static final double AIR_DENSITY = 1.225;		// kg/m^3
+
+	/** changes whenever the model changes, so cached tables of previous versions are not used anymore */
+	public static final int MODEL_VERSION = 1;
+
+	private static final double TIME_STEP = 0.001;		// s
+	private static final double MAX_TIME = 60;			// s
+	private static final double MIN_SPEED = 10;			// m/s
+
+
+
+
+	/**
+	 * @return true, if the given ammo has all properties needed to compute its trajectory
+	 * */
+	public static boolean canCompute(Ammo ammo) {
+		return ammo.speed > 0 && ammo.mass > 0 && ammo.caliber > 0 && ammo.cx > 0;
+	}
+
+
+
+
+	/**
+	 * @return the elevation table of the given ammo (see {@link TrajectoryEngine#computeElevations(double, double, double, double)}) or null, if the ammo has not all required properties
+	 * */
+	public static double[] computeElevations(Ammo ammo) {
+		if(!canCompute(ammo)) {
+			return null;
+		}
+		return computeElevations(ammo.speed, ammo.mass, ammo.caliber, ammo.cx);
+	}
+
+
+
+
+	/**
+	 * Fires the projectile horizontally and records the drop at the ranges of the standard grid (0, 200, 400, ... meters).
+	 * The elevation at a range is the angle of the drop seen from the gun (flat fire approximation, valid for the small angles of direct fire).
+	 * @param speed the muzzle velocity in m/s
+	 * @param mass the mass in kg
+	 * @param caliber the caliber in m
+	 * @param cx the drag coefficient
+	 * @return the elevations in radians, starting at 0 meters. Ends at the last range the projectile reaches (with more than {@link TrajectoryEngine#MIN_SPEED}).
+	 * */
+	public static double[] computeElevations(double speed, double mass, double caliber, double cx) {
+
+		final double area = Math.PI * caliber * caliber / 4.0;
+		final double k = 0.5 * AIR_DENSITY * cx * area / mass;
+		final double dt = TIME_STEP;
+
+		final int maxEntries = IBallisticFunction.TABLE_MAX / IBallisticFunction.TABLE_STEP + 1;
+		double[] elevations = new double[maxEntries];
+		int nEntries = 1;
+		double nextRange = IBallisticFunction.TABLE_STEP;
+
+		double x = 0;
+		double y = 0;
+		double vx = speed;
+		double vy = 0;
+
+		for(double t=0; t<MAX_TIME && nEntries<maxEntries; t+=dt) {
+
+			// midpoint method
+			double v = Math.sqrt(vx*vx + vy*vy);
+			if(v < MIN_SPEED) {
+				break;
+			}
+			final double ax1 = -k * v * vx;
+			final double ay1 = -k * v * vy - GRAVITY;
+			final double vxm = vx + ax1 * dt/2;
+			final double vym = vy + ay1 * dt/2;
+			final double vm = Math.sqrt(vxm*vxm + vym*vym);
+			final double ax2 = -k * vm * vxm;
+			final double ay2 = -k * vm * vym - GRAVITY;
+
+			final double xPrev = x;
+			final double yPrev = y;
+			x += vxm * dt;
+			y += vym * dt;
+			vx += ax2 * dt;
+			vy += ay2 * dt;
+
+			// record all ranges passed in this step
+			while(x >= nextRange && nEntries < maxEntries) {
+				final double f = (nextRange - xPrev) / (x - xPrev);
+				final double drop = -(yPrev + (y - yPrev) * f);
+				elevations[nEntries++] = Math.atan2(drop, nextRange);
+				nextRange += IBallisticFunction.TABLE_STEP;
+			}
+		}
+
+		if(nEntries < maxEntries) {
+			double[] truncated = new double[nEntries];
+			System.arraycopy(elevations, 0, truncated, 0, nEntries);
+			return truncated;
+		}
+		return elevations;
+	}
+
+
+
+
+	/**
+	 * @return a hash of all properties of the given ammo the trajectory depends on (and the version of the model)
+	 * */
+	public static long hash(Ammo ammo) {
+		long hash = 0xcbf29ce484222325L;
+		hash = mix(hash, MODEL_VERSION);
+		hash = mix(hash, ammo.speed);
+		hash = mix(hash, Double.doubleToLongBits(ammo.mass));
+		hash = mix(hash, Double.doubleToLongBits(ammo.caliber));
+		hash = mix(hash, Double.doubleToLongBits(ammo.cx));
+		return hash;
+	}
+
+
+
+
+	/**
+	 * FNV-1a over the bytes of the given value
+	 * */
+	private static long mix(long hash, long value) {
+		for(int i=0; i<8; i++) {
+			hash ^= (value >>> (i*8)) & 0xFF;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+
+}
@@ -10,12 +10,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
 import com.ruegnerlukas.simpleutils.logging.logger.Logger;
 import com.ruegnerlukas.wtsights.data.FileVersion;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
@@ -29,6 +23,10 @@ public class DataLoader implements IDataLoader {
 	
 	private static boolean initialized = false;
 	private static Map<FileVersion,IDataLoader> loaders = new HashMap<FileVersion,IDataLoader>();
+	private static IDataLoader streamLoader;
+	
+	/** if true, vehicle-data files (v2/v3) are loaded with the streaming loader ({@link DataLoader_v3_stream}) */
+	public static boolean streamVehicleData = true;
 	
 	
 	public static IDataLoader get(FileVersion fileVersion) {
@@ -48,10 +46,26 @@ public class DataLoader implements IDataLoader {
 			loaders.put(FileVersion.V_1_DEFAULT, new DataLoader_v1_default());
 			loaders.put(FileVersion.V_2, new DataLoader_v2());
 			loaders.put(FileVersion.V_3, new DataLoader_v3());
+			loaders.put(FileVersion.V_4, loaders.get(FileVersion.V_3));
+			streamLoader = new DataLoader_v3_stream();
 			initialized = true;
 		}
 		return loaders.get(fileVersion);
 	}
+	
+	
+	
+	
+	/**
+	 * @param streaming if true, the streaming loader ({@link DataLoader_v3_stream}) is returned for the versions 2 and 3
+	 * */
+	public static IDataLoader get(FileVersion fileVersion, boolean streaming) {
+		IDataLoader loader = get(fileVersion);
+		if(streaming && (fileVersion == FileVersion.V_2 || fileVersion == FileVersion.V_3)) {
+			return streamLoader;
+		}
+		return loader;
+	}
 
 
 	
@@ -71,14 +85,10 @@ public class DataLoader implements IDataLoader {
 			return new ArrayList<Vehicle>();
 		}
 		
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		DocumentBuilder builder = factory.newDocumentBuilder();
-		Document doc = builder.parse(file);
-		
-		Element root = doc.getDocumentElement();
-		if(root.hasAttribute("fileversion")) {
-			FileVersion fileVersion = FileVersion.getFromString(root.getAttribute("fileversion"));
-			return DataLoader.get(fileVersion).loadVehicleDataFile(file);
+		String strFileVersion = DataLoader_v3_stream.readRootFileVersion(file);
+		if(strFileVersion != null) {
+			FileVersion fileVersion = FileVersion.getFromString(strFileVersion);
+			return DataLoader.get(fileVersion, streamVehicleData).loadVehicleDataFile(file);
 		} else {
 			return DataLoader.get(FileVersion.V_1_DEFAULT).loadVehicleDataFile(file);
 		}
@@ -98,13 +108,10 @@ public class DataLoader implements IDataLoader {
 		}
 		
 		
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		DocumentBuilder builder = factory.newDocumentBuilder();
-		Document doc = builder.parse(file);
-		
-		Element root = doc.getDocumentElement();
-		if(root.hasAttribute("fileversion")) {
-			FileVersion fileVersion = FileVersion.getFromString(root.getAttribute("fileversion"));
+		// only the root element is read, the loader parses the file afterwards
+		String strFileVersion = DataLoader_v3_stream.readRootFileVersion(file);
+		if(strFileVersion != null) {
+			FileVersion fileVersion = FileVersion.getFromString(strFileVersion);
 			return DataLoader.get(fileVersion).loadBallisticDataFile(file);
 		} else {
 			return DataLoader.get(FileVersion.V_1_DEFAULT).loadBallisticDataFile(file);
@@ -9,7 +9,6 @@ import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
 import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.ballisticdata.MarkerData;
-import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.DefaultBallisticFuntion;
 import com.ruegnerlukas.wtsights.data.calibration.CalibrationAmmoData;
 import com.ruegnerlukas.wtsights.data.calibration.CalibrationData;
 import com.ruegnerlukas.wtsights.data.sight.BIndicator;
@@ -229,15 +228,7 @@ public class DataLoader_v1_default implements IDataLoader {
 				}
 
 				// load ammo from vehicle db
-				Vehicle vehicle = Database.getVehicleByName(vehicleName);
-				for(Weapon w : vehicle.weaponsList) {
-					for(Ammo a : w.ammo) {
-						if(a.name.equals(elementAmmo.getTagName())) {
-							ammoData.ammo = a;
-							break;
-						}
-					}
-				}
+				ammoData.ammo = Database.getAmmoByName(vehicleName, elementAmmo.getTagName());
 				
 				data.ammoData.add(ammoData);
 				
@@ -334,13 +325,9 @@ public class DataLoader_v1_default implements IDataLoader {
 				BallisticElement ballElement = new BallisticElement();
 				data.elements.add(ballElement);
 				for(String name : ammoNames) {
-					search: for(Weapon weapon : data.vehicle.weaponsList) {
-						for(Ammo ammo : weapon.ammo) {
-							if(ammo.name.equals(name)) {
-								ballElement.ammunition.add(ammo);
-								break search;
-							}
-						}
+					Ammo ammo = Database.getAmmoByName(data.vehicle, name);
+					if(ammo != null) {
+						ballElement.ammunition.add(ammo);
 					}
 				}
 				if(ballElement.ammunition.size() == 1) {
@@ -366,10 +353,10 @@ public class DataLoader_v1_default implements IDataLoader {
 						marker.id = dataMarkers.markers.size()+1;
 						dataMarkers.markers.add(marker);
 					}
-					
-					ballElement.function = DefaultBallisticFuntion.create(ballElement, data.vehicle, data.isZoomedIn(ballElement));
 				}
 				
+				ballElement.function = data.createFunction(ballElement);
+				
 			}
 			
 			Element elementImages = XMLUtils.getElementByTagName(elementVehicle, "images");
@@ -379,18 +366,15 @@ public class DataLoader_v1_default implements IDataLoader {
 				}
 				int elementIndex = Integer.parseInt(elementImg.getTagName().split("_")[2]);
 				BallisticElement ballElement = data.elements.get(elementIndex);
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesBallistic.put(ballElement, img);
+				data.imagesBallistic.putEncoded(ballElement, Base64.getDecoder().decode(elementImg.getAttribute("encodedData")));
 			}
 			if(XMLUtils.getElementByTagName(elementImages, "image_element_zoomModIn") != null) {
 				Element elementImg = XMLUtils.getElementByTagName(elementImages, "image_element_zoomModIn");
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesZoom.put(true, img);
+				data.imagesZoom.putEncoded(true, Base64.getDecoder().decode(elementImg.getAttribute("encodedData")));
 			}
 			if(XMLUtils.getElementByTagName(elementImages, "image_element_zoomModOut") != null) {
 				Element elementImg = XMLUtils.getElementByTagName(elementImages, "image_element_zoomModOut");
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesZoom.put(false, img);
+				data.imagesZoom.putEncoded(false, Base64.getDecoder().decode(elementImg.getAttribute("encodedData")));
 			}
 				
 		} catch (ParserConfigurationException e) {
@@ -1,7 +1,5 @@
 package com.ruegnerlukas.wtsights.data.loading;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -10,7 +8,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.imageio.ImageIO;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -29,7 +26,6 @@ import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
 import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.ballisticdata.MarkerData;
-import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.DefaultBallisticFuntion;
 import com.ruegnerlukas.wtsights.data.sight.BIndicator;
 import com.ruegnerlukas.wtsights.data.sight.HIndicator;
 import com.ruegnerlukas.wtsights.data.sight.SightData;
@@ -179,6 +175,9 @@ public class DataLoader_v2 implements IDataLoader {
 					ammo.parentWeapon = weapon;
 					ammo.type = elementAmmo.getAttribute("type");
 					ammo.speed = Integer.parseInt(elementAmmo.getAttribute("speed"));
+					ammo.mass = attributeAsDouble(elementAmmo, "mass");
+					ammo.caliber = attributeAsDouble(elementAmmo, "caliber");
+					ammo.cx = attributeAsDouble(elementAmmo, "cx");
 					ammo.name = elementAmmo.getTagName();
 				
 					boolean ammoExists = false;
@@ -259,13 +258,9 @@ public class DataLoader_v2 implements IDataLoader {
 				BallisticElement ballElement = new BallisticElement();
 				data.elements.add(ballElement);
 				for(String name : ammoNames) {
-					search: for(Weapon weapon : data.vehicle.weaponsList) {
-						for(Ammo ammo : weapon.ammo) {
-							if(ammo.name.equals(name)) {
-								ballElement.ammunition.add(ammo);
-								break search;
-							}
-						}
+					Ammo ammo = Database.getAmmoByName(data.vehicle, name);
+					if(ammo != null) {
+						ballElement.ammunition.add(ammo);
 					}
 				}
 				if(ballElement.ammunition.size() == 1) {
@@ -291,10 +286,10 @@ public class DataLoader_v2 implements IDataLoader {
 						marker.id = dataMarkers.markers.size()+1;
 						dataMarkers.markers.add(marker);
 					}
-					
-					ballElement.function = DefaultBallisticFuntion.create(ballElement, data.vehicle, data.isZoomedIn(ballElement));
 				}
 				
+				ballElement.function = data.createFunction(ballElement);
+				
 			}
 			
 			Element elementImages = XMLUtils.getElementByTagName(elementVehicle, "images");
@@ -304,18 +299,15 @@ public class DataLoader_v2 implements IDataLoader {
 				}
 				int elementIndex = Integer.parseInt(elementImg.getTagName().split("_")[2]);
 				BallisticElement ballElement = data.elements.get(elementIndex);
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesBallistic.put(ballElement, img);
+				data.imagesBallistic.putEncoded(ballElement, Base64.getDecoder().decode(elementImg.getAttribute("encodedData")));
 			}
 			if(XMLUtils.getElementByTagName(elementImages, "image_element_zoomModIn") != null) {
 				Element elementImg = XMLUtils.getElementByTagName(elementImages, "image_element_zoomModIn");
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesZoom.put(true, img);
+				data.imagesZoom.putEncoded(true, Base64.getDecoder().decode(elementImg.getAttribute("encodedData")));
 			}
 			if(XMLUtils.getElementByTagName(elementImages, "image_element_zoomModOut") != null) {
 				Element elementImg = XMLUtils.getElementByTagName(elementImages, "image_element_zoomModOut");
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesZoom.put(false, img);
+				data.imagesZoom.putEncoded(false, Base64.getDecoder().decode(elementImg.getAttribute("encodedData")));
 			}
 				
 		} catch (ParserConfigurationException e) {
@@ -332,14 +324,6 @@ public class DataLoader_v2 implements IDataLoader {
 	
 	
 	
-	private BufferedImage decodeImage(String encodedImage) throws IOException {
-		byte[] bytes = Base64.getDecoder().decode(encodedImage);
-		return ImageIO.read(new ByteArrayInputStream(bytes));
-	}
-	
-	
-	
-	
 	@Override
 	public SightData loadSightDataFile(File file, BallisticData dataBall) {
 		
@@ -1265,4 +1249,14 @@ public class DataLoader_v2 implements IDataLoader {
 	
 	
 	
+	/**
+	 * @return the value of the given optional attribute or 0, if the attribute does not exist
+	 * */
+	private static double attributeAsDouble(Element element, String name) {
+		String value = element.getAttribute(name);
+		return value == null || value.isEmpty() ? 0 : Double.parseDouble(value);
+	}
+	
+	
+	
 }
@@ -4,11 +4,11 @@ import com.ruegnerlukas.simplemath.MathUtils;
 import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.simpleutils.logging.logger.Logger;
 import com.ruegnerlukas.wtsights.data.Database;
+import com.ruegnerlukas.wtsights.data.ImageSidecar;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
 import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.ballisticdata.MarkerData;
-import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.DefaultBallisticFuntion;
 import com.ruegnerlukas.wtsights.data.sight.BIndicator;
 import com.ruegnerlukas.wtsights.data.sight.HIndicator;
 import com.ruegnerlukas.wtsights.data.sight.SightData;
@@ -33,12 +33,9 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import javax.imageio.ImageIO;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
@@ -148,6 +145,9 @@ public class DataLoader_v3 implements IDataLoader {
 					ammo.parentWeapon = weapon;
 					ammo.type = elementAmmo.getAttribute("type");
 					ammo.speed = Integer.parseInt(elementAmmo.getAttribute("speed"));
+					ammo.mass = attributeAsDouble(elementAmmo, "mass");
+					ammo.caliber = attributeAsDouble(elementAmmo, "caliber");
+					ammo.cx = attributeAsDouble(elementAmmo, "cx");
 					ammo.name = elementAmmo.getTagName();
 
 					boolean ammoExists = false;
@@ -227,13 +227,9 @@ public class DataLoader_v3 implements IDataLoader {
 				BallisticElement ballElement = new BallisticElement();
 				data.elements.add(ballElement);
 				for(String name : ammoNames) {
-					search: for(Weapon weapon : data.vehicle.weaponsList) {
-						for(Ammo ammo : weapon.ammo) {
-							if(ammo.name.equals(name)) {
-								ballElement.ammunition.add(ammo);
-								break search;
-							}
-						}
+					Ammo ammo = Database.getAmmoByName(data.vehicle, name);
+					if(ammo != null) {
+						ballElement.ammunition.add(ammo);
 					}
 				}
 				if(ballElement.ammunition.size() == 1) {
@@ -259,32 +255,14 @@ public class DataLoader_v3 implements IDataLoader {
 						marker.id = dataMarkers.markers.size()+1;
 						dataMarkers.markers.add(marker);
 					}
-					
-					ballElement.function = DefaultBallisticFuntion.create(ballElement, data.vehicle, data.isZoomedIn(ballElement));
 				}
 				
+				ballElement.function = data.createFunction(ballElement);
+				
 			}
 			
 			Element elementImages = XMLUtils.getElementByTagName(elementVehicle, "images");
-			for(Element elementImg : XMLUtils.getChildren(elementImages)) {
-				if(elementImg.getTagName().startsWith("image_element_zoomMod")) {
-					continue;
-				}
-				int elementIndex = Integer.parseInt(elementImg.getTagName().split("_")[2]);
-				BallisticElement ballElement = data.elements.get(elementIndex);
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesBallistic.put(ballElement, img);
-			}
-			if(XMLUtils.getElementByTagName(elementImages, "image_element_zoomModIn") != null) {
-				Element elementImg = XMLUtils.getElementByTagName(elementImages, "image_element_zoomModIn");
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesZoom.put(true, img);
-			}
-			if(XMLUtils.getElementByTagName(elementImages, "image_element_zoomModOut") != null) {
-				Element elementImg = XMLUtils.getElementByTagName(elementImages, "image_element_zoomModOut");
-				BufferedImage img = decodeImage(elementImg.getAttribute("encodedData"));
-				data.imagesZoom.put(false, img);
-			}
+			loadImages(elementImages, file, data);
 				
 		} catch (ParserConfigurationException e) {
 			Logger.get().error(e);
@@ -300,9 +278,40 @@ public class DataLoader_v3 implements IDataLoader {
 	
 	
 	
-	private BufferedImage decodeImage(String encodedImage) throws IOException {
-		byte[] bytes = Base64.getDecoder().decode(encodedImage);
-		return ImageIO.read(new ByteArrayInputStream(bytes));
+	/**
+	 * Adds the (still encoded) images to the given data. The images are either stored in the xml-file as base64 (old format) or in the binary sidecar file.
+	 * */
+	protected void loadImages(Element elementImages, File file, BallisticData data) throws IOException {
+		
+		List<Element> elements = XMLUtils.getChildren(elementImages);
+		byte[][] images = new byte[elements.size()][];
+		
+		if(elementImages.hasAttribute("sidecar")) {
+			long[] offsets = new long[elements.size()];
+			int[] lengths = new int[elements.size()];
+			for(int i=0; i<elements.size(); i++) {
+				offsets[i] = Long.parseLong(elements.get(i).getAttribute("offset"));
+				lengths[i] = Integer.parseInt(elements.get(i).getAttribute("length"));
+			}
+			File fileSidecar = new File(file.getAbsoluteFile().getParentFile(), elementImages.getAttribute("sidecar"));
+			images = ImageSidecar.read(fileSidecar, offsets, lengths);
+		} else {
+			for(int i=0; i<elements.size(); i++) {
+				images[i] = Base64.getDecoder().decode(elements.get(i).getAttribute("encodedData"));
+			}
+		}
+		
+		for(int i=0; i<elements.size(); i++) {
+			String tagName = elements.get(i).getTagName();
+			if(tagName.equals("image_element_zoomModIn")) {
+				data.imagesZoom.putEncoded(true, images[i]);
+			} else if(tagName.equals("image_element_zoomModOut")) {
+				data.imagesZoom.putEncoded(false, images[i]);
+			} else if(!tagName.startsWith("image_element_zoomMod")) {
+				int elementIndex = Integer.parseInt(tagName.split("_")[2]);
+				data.imagesBallistic.putEncoded(data.elements.get(elementIndex), images[i]);
+			}
+		}
 	}
 	
 	
@@ -1231,4 +1240,14 @@ public class DataLoader_v3 implements IDataLoader {
 	
 	
 	
+	/**
+	 * @return the value of the given optional attribute or 0, if the attribute does not exist
+	 * */
+	private static double attributeAsDouble(Element element, String name) {
+		String value = element.getAttribute(name);
+		return value == null || value.isEmpty() ? 0 : Double.parseDouble(value);
+	}
+	
+	
+	
 }
@@ -0,0 +1,255 @@
+package com.ruegnerlukas.wtsights.data.loading;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
+import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
+import com.ruegnerlukas.wtsights.data.vehicle.Weapon;
+import com.ruegnerlukas.wtutils.SightUtils.TriggerGroup;
+
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+
+
+/**
+ * Same as {@link DataLoader_v3}, but reads the (merged) vehicle data in a single pass with a StAX-reader.
+ * Vehicles, weapons and ammo are created directly from the parser events without building a DOM,
+ * so memory usage does not depend on the size of the file.
+ * */
+public class DataLoader_v3_stream extends DataLoader_v3 {
+
+
+	// depth of the elements in the merged vehicle file
+	// <data> <vehicles> <vehicle_xyz> <weapons> <weapon_xyz> <ammo> <ammo_xyz/>
+	private static final int DEPTH_VEHICLES = 2;
+	private static final int DEPTH_VEHICLE = 3;
+	private static final int DEPTH_WEAPONS = 4;
+	private static final int DEPTH_WEAPON = 5;
+	private static final int DEPTH_AMMO_ROOT = 6;
+	private static final int DEPTH_AMMO = 7;
+
+
+
+
+	/**
+	 * loads the files with merged data (vehicles+ammoData)
+	 * */
+	@Override
+	public List<Vehicle> loadVehicleDataFile(File file) throws Exception {
+
+		Logger.get().info("Loading vehicleData-file (v3, stream): " + file.getAbsolutePath());
+
+		if(file == null || !file.exists()) {
+			Logger.get().fatal("Error loading vehicles: Could not find " + file);
+			Alert alert = new Alert(AlertType.ERROR);
+			alert.setTitle("Error");
+			alert.setHeaderText(null);
+			alert.setContentText("Error loading vehicles: Could not find " + file);
+			alert.showAndWait();
+			return new ArrayList<Vehicle>();
+		}
+
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			return loadVehicleData(in);
+		} finally {
+			in.close();
+		}
+	}
+
+
+
+
+	/**
+	 * reads the merged vehicle data from the given stream. The stream is not closed.
+	 * */
+	public List<Vehicle> loadVehicleData(InputStream in) throws XMLStreamException {
+
+		List<Vehicle> vehiclesOut = new ArrayList<Vehicle>();
+
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		XMLStreamReader reader = factory.createXMLStreamReader(in);
+
+		try {
+
+			int depth = 0;
+			boolean inVehicles = false;
+			boolean vehiclesDone = false;
+
+			Vehicle vehicle = null;
+			Weapon weapon = null;
+			boolean inWeapons = false;
+			boolean inAmmo = false;
+
+			while(reader.hasNext()) {
+				int event = reader.next();
+
+				if(event == XMLStreamConstants.START_ELEMENT) {
+					depth++;
+
+					if(!inVehicles) {
+						if(!vehiclesDone && depth == DEPTH_VEHICLES && "vehicles".equals(reader.getLocalName())) {
+							inVehicles = true;
+						}
+						continue;
+					}
+
+					switch(depth) {
+						case DEPTH_VEHICLE: {
+							vehicle = new Vehicle();
+							vehicle.name = reader.getLocalName();
+							vehicle.fovOut = Float.parseFloat(reader.getAttributeValue(null, "fovOut"));
+							vehicle.fovIn = Float.parseFloat(reader.getAttributeValue(null, "fovIn"));
+							vehicle.fovSight = Float.parseFloat(reader.getAttributeValue(null, "fovSight"));
+							if( !(vehicle.name.contains("tutorial") || vehicle.name.contains("dummy")) ) {
+								vehiclesOut.add(vehicle);
+							}
+							break;
+						}
+						case DEPTH_WEAPONS: {
+							inWeapons = "weapons".equals(reader.getLocalName());
+							break;
+						}
+						case DEPTH_WEAPON: {
+							if(inWeapons) {
+								weapon = new Weapon();
+								weapon.name = reader.getLocalName();
+								weapon.triggerGroup = TriggerGroup.get(attributeOrEmpty(reader, "triggerGroup"));
+								vehicle.weaponsList.add(weapon);
+							}
+							break;
+						}
+						case DEPTH_AMMO_ROOT: {
+							inAmmo = weapon != null && "ammo".equals(reader.getLocalName());
+							break;
+						}
+						case DEPTH_AMMO: {
+							if(inAmmo) {
+								Ammo ammo = new Ammo();
+								ammo.parentWeapon = weapon;
+								ammo.type = attributeOrEmpty(reader, "type");
+								ammo.speed = Integer.parseInt(reader.getAttributeValue(null, "speed"));
+								ammo.mass = attributeAsDouble(reader, "mass");
+								ammo.caliber = attributeAsDouble(reader, "caliber");
+								ammo.cx = attributeAsDouble(reader, "cx");
+								ammo.name = reader.getLocalName();
+								addAmmo(weapon, ammo);
+							}
+							break;
+						}
+					}
+
+				} else if(event == XMLStreamConstants.END_ELEMENT) {
+
+					if(inVehicles) {
+						switch(depth) {
+							case DEPTH_VEHICLES: {
+								inVehicles = false;
+								vehiclesDone = true;
+								break;
+							}
+							case DEPTH_VEHICLE: {
+								vehicle = null;
+								break;
+							}
+							case DEPTH_WEAPONS: {
+								inWeapons = false;
+								break;
+							}
+							case DEPTH_WEAPON: {
+								weapon = null;
+								break;
+							}
+							case DEPTH_AMMO_ROOT: {
+								inAmmo = false;
+								break;
+							}
+						}
+					}
+					depth--;
+				}
+
+			}
+
+		} finally {
+			reader.close();
+		}
+
+		return vehiclesOut;
+	}
+
+
+
+
+	private void addAmmo(Weapon weapon, Ammo ammo) {
+		for(int i=0, n=weapon.ammo.size(); i<n; i++) {
+			Ammo a = weapon.ammo.get(i);
+			if( (a.type.equalsIgnoreCase(ammo.type)) && (a.speed == ammo.speed) && (a.name.equalsIgnoreCase(ammo.name)) ) {
+				return;
+			}
+		}
+		weapon.ammo.add(ammo);
+	}
+
+
+
+
+	private static String attributeOrEmpty(XMLStreamReader reader, String name) {
+		String value = reader.getAttributeValue(null, name);
+		return value == null ? "" : value;
+	}
+
+	
+	
+	
+	/**
+	 * @return the value of the given optional attribute or 0, if the attribute does not exist
+	 * */
+	private static double attributeAsDouble(XMLStreamReader reader, String name) {
+		String value = reader.getAttributeValue(null, name);
+		return value == null || value.isEmpty() ? 0 : Double.parseDouble(value);
+	}
+
+
+
+
+	/**
+	 * Reads only the attribute "fileversion" of the root element of the given xml-file.
+	 * @return the value of the attribute or null, if the root has no such attribute
+	 * */
+	public static String readRootFileVersion(File file) throws Exception {
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			XMLStreamReader reader = factory.createXMLStreamReader(in);
+			try {
+				while(reader.hasNext()) {
+					if(reader.next() == XMLStreamConstants.START_ELEMENT) {
+						return reader.getAttributeValue(null, "fileversion");
+					}
+				}
+				return null;
+			} finally {
+				reader.close();
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+
+}
@@ -10,6 +10,7 @@ import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
@@ -43,7 +44,13 @@ public class SightData {
 
 	
 	// elements
-	public HashMap<ElementType, List<BaseElement>> elements = new HashMap<ElementType, List<BaseElement>>();
+	private static final ElementType[] TYPES = ElementType.values();
+	private static final List<BaseElement> EMPTY = Collections.emptyList();
+	
+	private final EnumMap<ElementType, List<BaseElement>> elements = new EnumMap<ElementType, List<BaseElement>>(ElementType.class);
+	private List<BaseElement> drawOrder = EMPTY;	// all elements in the order of their types, null = rebuild
+	private final HashMap<String, List<BaseElement>> nameIndex = new HashMap<String, List<BaseElement>>();
+	private boolean nameIndexDirty = false;
 	public BaseElement selectedElement = null;
 	
 	
@@ -72,104 +79,151 @@ public class SightData {
 			elements.put(element.type, list);
 		}
 		list.add(element);
+		onElementsChanged();
 	}
 	
 	
+	/**
+	 * @return the elements of the given type. The list must not be modified.
+	 * */
 	public List<BaseElement> getElements(ElementType type) {
 		List<BaseElement> list = elements.get(type);
-		if(list == null) {
-			return new ArrayList<BaseElement>(1);
+		if(list == null || list.isEmpty()) {
+			return EMPTY;
 		} else {
 			return list;
 		}
 	}
 	
 	
+	/**
+	 * @return the (unmodifiable) list of elements with the given name
+	 * */
 	public List<BaseElement> getElements(String name) {
-		List<BaseElement> list = new ArrayList<BaseElement>();
-		for(Entry<ElementType,List<BaseElement>> entry : elements.entrySet()) {
-			for(BaseElement element : entry.getValue()) {
-				if(element.name.equals(name)) {
-					list.add(element);
-				}
-			}
+		if(nameIndexDirty) {
+			rebuildNameIndex();
 		}
-		return list;
+		List<BaseElement> list = nameIndex.get(name);
+		return list == null ? EMPTY : list;
 	}
 	
 	
+	/**
+	 * @return the (unmodifiable) list of elements with the given type and name
+	 * */
 	public List<BaseElement> getElements(ElementType type, String name) {
-		List<BaseElement> list = new ArrayList<BaseElement>();
-		if(elements.get(type) != null) {
-			for(BaseElement element : elements.get(type)) {
-				if(element.name.equals(name)) {
-					list.add(element);
+		List<BaseElement> byName = getElements(name);
+		for(int i=0; i<byName.size(); i++) {
+			if(byName.get(i).type != type) {
+				List<BaseElement> list = new ArrayList<BaseElement>(byName.size());
+				for(int j=0; j<byName.size(); j++) {
+					if(byName.get(j).type == type) {
+						list.add(byName.get(j));
+					}
 				}
+				return Collections.unmodifiableList(list);
 			}
 		}
-		return list;
+		return byName;
 	}
 	
 	
+	/**
+	 * @return all elements in the order of their types. The list is unmodifiable and stays the same until elements are added or removed.
+	 * */
 	public List<BaseElement> collectElements() {
-		List<BaseElement> list = new ArrayList<BaseElement>();
-		for(Entry<ElementType,List<BaseElement>> e : elements.entrySet()) {
-			list.addAll(e.getValue());
+		if(drawOrder == null) {
+			List<BaseElement> list = new ArrayList<BaseElement>();
+			for(int i=0; i<TYPES.length; i++) {
+				list.addAll(getElements(TYPES[i]));
+			}
+			drawOrder = Collections.unmodifiableList(list);
 		}
-		return Collections.unmodifiableList(list);
+		return drawOrder;
 	}
 	
 	
-	
 	public boolean removeElement(BaseElement element) {
-		for(Entry<ElementType,List<BaseElement>> entry : elements.entrySet()) {
-			if(entry.getValue().remove(element)) {
-				return true;
-			}
+		if(element == null) {
+			return false;
+		}
+		List<BaseElement> list = elements.get(element.type);
+		if(list != null && list.remove(element)) {
+			onElementsChanged();
+			return true;
 		}
 		return false;
 	}
 	
 	
 	public boolean removeElement(String name) {
-		for(Entry<ElementType,List<BaseElement>> entry : elements.entrySet()) {
-			for(BaseElement element : entry.getValue()) {
-				if(element.name.equals(name)) {
-					entry.getValue().remove(element);
-					return true;
-				}
-			}
-		}
-		return false;
+		List<BaseElement> list = getElements(name);
+		return list.isEmpty() ? false : removeElement(list.get(0));
 	}
 	
 	
 	public boolean removeElement(String name, ElementType type) {
-		if(elements.containsKey(type)) {
-			for(BaseElement element : elements.get(type)) {
-				if(element.name.equals(name)) {
-					elements.get(type).remove(element);
-					return true;
-				}
-			}
+		List<BaseElement> list = getElements(type, name);
+		return list.isEmpty() ? false : removeElement(list.get(0));
+	}
+	
+	
+	/**
+	 * Removes all elements of the given type
+	 * */
+	public void removeElements(ElementType type) {
+		if(elements.remove(type) != null) {
+			onElementsChanged();
 		}
-		return false;
+	}
+	
+	
+	/**
+	 * Changes the name of the given element. The name must not be changed directly, since the elements are indexed by their names.
+	 * */
+	public void renameElement(BaseElement element, String name) {
+		element.name = name;
+		nameIndexDirty = true;
 	}
 	
 	
 	public void setElementsDirty() {
-		for(Entry<ElementType,List<BaseElement>> entry : elements.entrySet()) {
-			for(BaseElement e : entry.getValue()) {
-				e.setDirty(true);
-			}
+		for(int i=0; i<TYPES.length; i++) {
+			setElementsDirty(TYPES[i]);
 		}
 	}
 	
 	
 	public void setElementsDirty(ElementType type) {
-		for(BaseElement e : elements.get(type)) {
-			e.setDirty(true);
+		List<BaseElement> list = getElements(type);
+		for(int i=0; i<list.size(); i++) {
+			list.get(i).setDirty(true);
+		}
+	}
+	
+	
+	private void onElementsChanged() {
+		drawOrder = null;
+		nameIndexDirty = true;
+	}
+	
+	
+	private void rebuildNameIndex() {
+		nameIndex.clear();
+		List<BaseElement> all = collectElements();
+		for(int i=0; i<all.size(); i++) {
+			BaseElement element = all.get(i);
+			List<BaseElement> list = nameIndex.get(element.name);
+			if(list == null) {
+				list = new ArrayList<BaseElement>(1);
+				nameIndex.put(element.name, list);
+			}
+			list.add(element);
+		}
+		for(Entry<String,List<BaseElement>> entry : nameIndex.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
 		}
+		nameIndexDirty = false;
 	}
 	
 }
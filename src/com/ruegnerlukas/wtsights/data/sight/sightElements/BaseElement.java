@@ -1,6 +1,7 @@
 package com.ruegnerlukas.wtsights.data.sight.sightElements;
 
 import com.ruegnerlukas.wtsights.data.DataPackage;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public abstract class BaseElement {
 
@@ -21,7 +22,7 @@ public abstract class BaseElement {
 	
 	
 	
-	public abstract ILayoutData layout(DataPackage data, double canvasWidth, double canvasHeight);
+	public abstract ILayoutData layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight);
 	
 	
 	
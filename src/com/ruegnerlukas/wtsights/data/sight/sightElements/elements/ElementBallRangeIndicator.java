@@ -13,15 +13,13 @@ import com.ruegnerlukas.wtsights.data.sight.BIndicator;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutBallRangeIndicators;
-import com.ruegnerlukas.wtsights.ui.sighteditor.rendering.SightRenderer;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils;
 import com.ruegnerlukas.wtutils.SightUtils.ScaleMode;
 import com.ruegnerlukas.wtutils.SightUtils.TextAlign;
 import com.ruegnerlukas.wtutils.SightUtils.Thousandth;
+import com.ruegnerlukas.wtutils.TextMetrics;
 
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 
 public class ElementBallRangeIndicator extends BaseElement {
 
@@ -45,7 +43,6 @@ public class ElementBallRangeIndicator extends BaseElement {
 	public boolean		radiusUseMils	= true;							// whether to use mils or screenspace for radialRadius
 	public List<BIndicator> indicators = new ArrayList<BIndicator>();
 	
-	private Text corrHelper = new Text();
 	
 	
 	
@@ -79,19 +76,19 @@ public class ElementBallRangeIndicator extends BaseElement {
 	
 	
 	@Override
-	public LayoutBallRangeIndicators layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutBallRangeIndicators layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutBallRangeIndicators layout = (LayoutBallRangeIndicators)getLayout();
 
 		if(isDirty()) {
 			setDirty(false);
 			if(scaleMode == ScaleMode.VERTICAL) {
-				return layoutVertical(data, canvasWidth, canvasHeight);
+				return layoutVertical(data, conversion, canvasWidth, canvasHeight);
 			} else {
 				if(circleMode) {
-					return layoutRadialCircles(data, canvasWidth, canvasHeight);
+					return layoutRadialCircles(data, conversion, canvasWidth, canvasHeight);
 				} else {
-					return layoutRadialLines(data, canvasWidth, canvasHeight);
+					return layoutRadialLines(data, conversion, canvasWidth, canvasHeight);
 				}
 			}
 		}
@@ -102,7 +99,26 @@ public class ElementBallRangeIndicator extends BaseElement {
 	
 	
 	
-	private LayoutBallRangeIndicators layoutVertical(DataPackage data, double canvasWidth, double canvasHeight) {
+	/**
+	 * evaluates the ballistic function at the distances of all indicators
+	 * @return the results in pixels (in the same order as the indicators)
+	 * */
+	private double[] evalIndicators(DataPackage data, LayoutBallRangeIndicators layout) {
+		if(layout.ranges == null || layout.ranges.length != indicators.size()) {
+			layout.ranges = new double[indicators.size()];
+			layout.rangeResultsPX = new double[indicators.size()];
+		}
+		for(int i=0; i<indicators.size(); i++) {
+			layout.ranges[i] = indicators.get(i).getDistance();
+		}
+		data.elementBallistic.function.evalInto(layout.ranges, layout.rangeResultsPX);
+		return layout.rangeResultsPX;
+	}
+	
+	
+	
+	
+	private LayoutBallRangeIndicators layoutVertical(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutBallRangeIndicators layout = (LayoutBallRangeIndicators)getLayout();
 		
@@ -117,14 +133,17 @@ public class ElementBallRangeIndicator extends BaseElement {
 			}
 		}
 		
-		final double lineSize = 1.0 * data.dataSight.gnrLineSize * data.dataSight.gnrFontScale * (data.dataSight.envZoomedIn ? Conversion.get().zoomInMul : 1);
+		final double lineSize = 1.0 * data.dataSight.gnrLineSize * data.dataSight.gnrFontScale * (data.dataSight.envZoomedIn ? conversion.zoomInMul : 1);
 		
-		layout.fontSize = 25 * data.dataSight.gnrFontScale * 0.5f * (data.dataSight.envZoomedIn ? Conversion.get().zoomInMul : 1);
+		layout.fontSize = 25 * data.dataSight.gnrFontScale * 0.5f * (data.dataSight.envZoomedIn ? conversion.zoomInMul : 1);
 		
 		// range correction
 		final double rangeCorrectionResultPX = data.elementBallistic.function.eval(data.dataSight.envRangeCorrection);
-		final double rangeCorrectionMil = Conversion.get().pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
-		final double rangeCorrectionPX = move ? Conversion.get().mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn) : 0;
+		final double rangeCorrectionMil = conversion.pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
+		final double rangeCorrectionPX = move ? conversion.mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn) : 0;
+		
+		// range fitting
+		final double[] resultsPX = evalIndicators(data, layout);
 		
 		// draw indicators
 		for(int i=0; i<indicators.size(); i++) {
@@ -133,13 +152,12 @@ public class ElementBallRangeIndicator extends BaseElement {
 			Rectanglef boundsCenter = layout.vCenterBounds[i];
 			Vector2d textPos = layout.vTextPositions[i];
 			
-			int distance = indicator.getDistance();
 			boolean isMajor = indicator.isMajor();
 			
 			// range fitting
-			double resultPX = data.elementBallistic.function.eval(distance);
-			double rangeMil = Conversion.get().pixel2mil(resultPX, canvasHeight, false);
-			double rangePixel = Conversion.get().mil2pixel(rangeMil, canvasHeight, data.dataSight.envZoomedIn) * (drawUpward ? -1 : +1);
+			double resultPX = resultsPX[i];
+			double rangeMil = conversion.pixel2mil(resultPX, canvasHeight, false);
+			double rangePixel = conversion.mil2pixel(rangeMil, canvasHeight, data.dataSight.envZoomedIn) * (drawUpward ? -1 : +1);
 			rangePixel -= drawUpward ? -rangeCorrectionPX : rangeCorrectionPX;
 
 			// CENTRAL BLOCK
@@ -152,7 +170,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 				double yCentral = canvasHeight/2 + rangePixel;
 				
 				// length
-				double lengthCentral = Conversion.get().screenspace2pixel(isMajor ? sizeAddLine.x : sizeAddLine.y, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
+				double lengthCentral = conversion.screenspace2pixel(isMajor ? sizeAddLine.x : sizeAddLine.y, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
 				lengthCentral = Math.max(lengthCentral, 0);
 				
 				// draw
@@ -178,7 +196,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			}
 			mainLength = mainLength + Math.abs(indicators.get(i).getExtend());
 			mainLength = mainLength * data.dataSight.gnrFontScale;
-			mainLength = Conversion.get().screenspace2pixel(mainLength, canvasHeight, data.dataSight.envZoomedIn);
+			mainLength = conversion.screenspace2pixel(mainLength, canvasHeight, data.dataSight.envZoomedIn);
 			mainLength = Math.max(0, mainLength);
 			
 			
@@ -192,7 +210,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			}
 			mainX = mainX + (indicators.get(i).getExtend()>0 ? indicators.get(i).getExtend() : 0);
 			mainX = mainX * data.dataSight.gnrFontScale;
-			mainX = Conversion.get().screenspace2pixel(mainX, canvasHeight, data.dataSight.envZoomedIn);
+			mainX = conversion.screenspace2pixel(mainX, canvasHeight, data.dataSight.envZoomedIn);
 			mainX = canvasWidth/2 - mainX;
 
 			
@@ -202,7 +220,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 				mainY = mainY + 0.004 * (position.y / 0.13817484);
 			}
 			mainY = mainY * data.dataSight.gnrFontScale;
-			mainY = Conversion.get().screenspace2pixel(mainY, canvasHeight, data.dataSight.envZoomedIn);
+			mainY = conversion.screenspace2pixel(mainY, canvasHeight, data.dataSight.envZoomedIn);
 			mainY = canvasHeight/2+rangePixel + mainY;
 			
 			if(!MathUtils.isNearlyEqual(mainLength, 0)) {
@@ -213,9 +231,9 @@ public class ElementBallRangeIndicator extends BaseElement {
 			
 			// main labels
 			if(isMajor) {
-				double distLabel = Conversion.get().screenspace2pixel(0.004, canvasHeight, data.dataSight.envZoomedIn);
-				double textOffX = Conversion.get().screenspace2pixel(indicators.get(i).getTextX()+this.textPos.x, canvasHeight, data.dataSight.envZoomedIn);
-				double textOffY = Conversion.get().screenspace2pixel(indicators.get(i).getTextY()+this.textPos.y, canvasHeight, data.dataSight.envZoomedIn);
+				double distLabel = conversion.screenspace2pixel(0.004, canvasHeight, data.dataSight.envZoomedIn);
+				double textOffX = conversion.screenspace2pixel(indicators.get(i).getTextX()+this.textPos.x, canvasHeight, data.dataSight.envZoomedIn);
+				double textOffY = conversion.screenspace2pixel(indicators.get(i).getTextY()+this.textPos.y, canvasHeight, data.dataSight.envZoomedIn);
 				textOffY *= data.dataSight.gnrFontScale;
 				
 				if(textAlign == TextAlign.LEFT)   { }
@@ -235,7 +253,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 	
 
 	
-	private LayoutBallRangeIndicators layoutRadialLines(DataPackage data, double canvasWidth, double canvasHeight) {
+	private LayoutBallRangeIndicators layoutRadialLines(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutBallRangeIndicators layout = (LayoutBallRangeIndicators)getLayout();
 		
@@ -252,7 +270,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 		final double lineSize = 1.0 * data.dataSight.gnrLineSize * data.dataSight.gnrFontScale;
 		layout.rlLineSize = lineSize;
 		
-		layout.fontSize = 25 * data.dataSight.gnrFontScale * 0.5f * (data.dataSight.envZoomedIn ? Conversion.get().zoomInMul : 1);
+		layout.fontSize = 25 * data.dataSight.gnrFontScale * 0.5f * (data.dataSight.envZoomedIn ? conversion.zoomInMul : 1);
 
 		// origin x
 		double originX = position.x;
@@ -260,7 +278,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			originX = originX + 0.0015 * (position.x / 0.05);
 		}
 		originX = originX * data.dataSight.gnrFontScale;
-		originX = Conversion.get().screenspace2pixel(originX, canvasHeight, data.dataSight.envZoomedIn);
+		originX = conversion.screenspace2pixel(originX, canvasHeight, data.dataSight.envZoomedIn);
 
 		// origin y
 		double originY = position.y;
@@ -268,7 +286,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			originY = originY + 0.0015 * (position.y / 0.05);
 		}
 		originY = originY * data.dataSight.gnrFontScale;
-		originY = Conversion.get().screenspace2pixel(originY, canvasHeight, data.dataSight.envZoomedIn);
+		originY = conversion.screenspace2pixel(originY, canvasHeight, data.dataSight.envZoomedIn);
 	
 		layout.rlCenter.set(canvasWidth/2 - originX, canvasHeight/2 - originY);
 		
@@ -277,20 +295,19 @@ public class ElementBallRangeIndicator extends BaseElement {
 		if(radiusUseMils) {
 			radiusMil = radialRadius;
 		} else {
-			radiusMil = Conversion.get().screenspace2mil(radialRadius, data.dataSight.envZoomedIn);
+			radiusMil = conversion.screenspace2mil(radialRadius, data.dataSight.envZoomedIn);
 		}
 		
 		
 		double radiusPX = 0;
 		if(radiusUseMils) {
-			radiusPX = Conversion.get().mil2pixel(radialRadius, canvasHeight, data.dataSight.envZoomedIn);
+			radiusPX = conversion.mil2pixel(radialRadius, canvasHeight, data.dataSight.envZoomedIn);
 		} else {
-			radiusPX = Conversion.get().screenspace2pixel(radialRadius, canvasHeight, data.dataSight.envZoomedIn);
+			radiusPX = conversion.screenspace2pixel(radialRadius, canvasHeight, data.dataSight.envZoomedIn);
 		}
 		layout.rlRadius = radiusPX;
 		
-		Conversion conversionUSSR = new Conversion();
-		conversionUSSR.initialize(
+		ConversionContext conversionUSSR = new ConversionContext(
 				canvasWidth,
 				canvasHeight,
 				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
@@ -298,11 +315,14 @@ public class ElementBallRangeIndicator extends BaseElement {
 				Thousandth.USSR);
 		
 		// length
-		double length = Conversion.get().screenspace2pixel(size.x, canvasHeight, data.dataSight.envZoomedIn);
+		double length = conversion.screenspace2pixel(size.x, canvasHeight, data.dataSight.envZoomedIn);
 		length = length * data.dataSight.gnrFontScale;
 		layout.rlRadius = layout.rlRadius-length/2;
 		layout.rlRadiusOutside = layout.rlRadius+length;
 		
+		// range fitting
+		final double[] resultsPX = evalIndicators(data, layout);
+		
 		// draw indicators
 		for(int i=0; i<indicators.size(); i++) {
 			Vector4d line = layout.rlLines[i];
@@ -310,7 +330,6 @@ public class ElementBallRangeIndicator extends BaseElement {
 			BIndicator indicator = indicators.get(i);
 			
 			
-			int meters = indicator.getDistance();
 			boolean isMajor = indicator.isMajor();
 			Vector2d dir = new Vector2d(0, radiusPX);
 
@@ -319,7 +338,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			dir.rotateDeg(-angleOffset);
 			
 			// angle range
-			double resultPX = data.elementBallistic.function.eval(meters);
+			double resultPX = resultsPX[i];
 			double rangeMil = conversionUSSR.pixel2mil(resultPX, canvasHeight, false);
 			double rangeAngle     = ((rangeMil) / radiusMil) * radialStretch;
 
@@ -355,7 +374,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			
 			// labels
 			if(isMajor) {
-				double textOffset = (Conversion.get().screenspace2pixel(indicators.get(i).getTextX()+this.textPos.x, canvasHeight, data.dataSight.envZoomedIn)*data.dataSight.gnrFontScale);
+				double textOffset = (conversion.screenspace2pixel(indicators.get(i).getTextX()+this.textPos.x, canvasHeight, data.dataSight.envZoomedIn)*data.dataSight.gnrFontScale);
 				textPosition.set(canvasWidth/2 - originX + posEnd.x + dir.copy().setLength(textOffset).x, canvasHeight/2 - originY + posEnd.y + dir.copy().setLength(textOffset).y);
 			}
 			
@@ -367,7 +386,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 	
 	
 	
-	private LayoutBallRangeIndicators layoutRadialCircles(DataPackage data, double canvasWidth, double canvasHeight) {
+	private LayoutBallRangeIndicators layoutRadialCircles(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutBallRangeIndicators layout = (LayoutBallRangeIndicators)getLayout();
 		
@@ -380,7 +399,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			}
 		}
 
-		layout.fontSize = 25 * data.dataSight.gnrFontScale * 0.5f * (data.dataSight.envZoomedIn ? Conversion.get().zoomInMul : 1);
+		layout.fontSize = 25 * data.dataSight.gnrFontScale * 0.5f * (data.dataSight.envZoomedIn ? conversion.zoomInMul : 1);
 		
 		// origin x
 		double originX = position.x;
@@ -388,7 +407,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			originX = originX + 0.0015 * (position.x / 0.05);
 		}
 		originX = originX * data.dataSight.gnrFontScale;
-		originX = Conversion.get().screenspace2pixel(originX, canvasHeight, data.dataSight.envZoomedIn);
+		originX = conversion.screenspace2pixel(originX, canvasHeight, data.dataSight.envZoomedIn);
 
 		// origin y
 		double originY = position.y;
@@ -396,7 +415,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			originY = originY + 0.0015 * (position.y / 0.05);
 		}
 		originY = originY * data.dataSight.gnrFontScale;
-		originY = Conversion.get().screenspace2pixel(originY, canvasHeight, data.dataSight.envZoomedIn);
+		originY = conversion.screenspace2pixel(originY, canvasHeight, data.dataSight.envZoomedIn);
 
 		layout.rcCenter.set(canvasWidth/2 - originX, canvasHeight/2 - originY);
 
@@ -406,20 +425,19 @@ public class ElementBallRangeIndicator extends BaseElement {
 		if (radiusUseMils) {
 			radiusMil = radialRadius;
 		} else {
-			radiusMil = Conversion.get().screenspace2mil(radialRadius, data.dataSight.envZoomedIn);
+			radiusMil = conversion.screenspace2mil(radialRadius, data.dataSight.envZoomedIn);
 		}
 
 		double radiusPX = 0;
 		if (radiusUseMils) {
-			radiusPX = Conversion.get().mil2pixel(radialRadius, canvasHeight, data.dataSight.envZoomedIn);
+			radiusPX = conversion.mil2pixel(radialRadius, canvasHeight, data.dataSight.envZoomedIn);
 		} else {
-			radiusPX = Conversion.get().screenspace2pixel(radialRadius, canvasHeight,
+			radiusPX = conversion.screenspace2pixel(radialRadius, canvasHeight,
 					data.dataSight.envZoomedIn);
 		}
 		layout.rcRadius = radiusPX;
 
-		Conversion conversionUSSR = new Conversion();
-		conversionUSSR.initialize(
+		ConversionContext conversionUSSR = new ConversionContext(
 				canvasWidth,
 				canvasHeight,
 				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
@@ -428,11 +446,13 @@ public class ElementBallRangeIndicator extends BaseElement {
 
 		
 		
+		// range fitting
+		final double[] resultsPX = evalIndicators(data, layout);
+		
 		// calc indicators
 		for (int i = 0; i < indicators.size(); i++) {
 			BIndicator indicator = indicators.get(i);
 
-			int meters = indicator.getDistance();
 			boolean isMajor = indicator.isMajor();
 
 			Vector2d dir = new Vector2d(0, radiusPX);
@@ -442,7 +462,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 			dir.rotateDeg(-angleOffset);
 
 			// angle range
-			double resultPX = data.elementBallistic.function.eval(meters);
+			double resultPX = resultsPX[i];
 			double rangeMil = conversionUSSR.pixel2mil(resultPX, canvasHeight, false);
 			double rangeAngle = ((rangeMil) / radiusMil) * radialStretch;
 
@@ -462,13 +482,13 @@ public class ElementBallRangeIndicator extends BaseElement {
 			circleDiameter = circleDiameter + indicator.getExtend();
 			circleDiameter = circleDiameter * 2;
 			circleDiameter = circleDiameter * data.dataSight.gnrFontScale;
-			circleDiameter = Conversion.get().screenspace2pixel(circleDiameter, canvasHeight, data.dataSight.envZoomedIn);
+			circleDiameter = conversion.screenspace2pixel(circleDiameter, canvasHeight, data.dataSight.envZoomedIn);
 
 			// circle width
 			double circleWidth = size.x;
 			circleWidth = circleWidth / 2;
 			circleWidth = circleWidth * data.dataSight.gnrFontScale;
-			circleWidth = Conversion.get().screenspace2pixel(circleWidth, canvasHeight, data.dataSight.envZoomedIn);
+			circleWidth = conversion.screenspace2pixel(circleWidth, canvasHeight, data.dataSight.envZoomedIn);
 			layout.rcLineWidth = circleWidth;
 			
 			// circle
@@ -477,7 +497,7 @@ public class ElementBallRangeIndicator extends BaseElement {
 
 			// labels
 			if (isMajor) {
-				double textOffset = (Conversion.get().screenspace2pixel(indicator.getTextX() + this.textPos.x, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale);
+				double textOffset = (conversion.screenspace2pixel(indicator.getTextX() + this.textPos.x, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale);
 				layout.rcTextPositions[i].set(
 						canvasWidth / 2 - originX + dir.x + dir.copy().setLength(textOffset).x,
 						canvasHeight / 2 - originY + dir.y + dir.copy().setLength(textOffset).y);
@@ -491,24 +511,18 @@ public class ElementBallRangeIndicator extends BaseElement {
 	
 	
 	
-	public LayoutBallRangeIndicators layoutLabel(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutBallRangeIndicators layoutLabel(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutBallRangeIndicators layout = (LayoutBallRangeIndicators)getLayout();
 		
-		final double fontSize = 25.5*0.5*data.dataSight.gnrFontScale*(data.dataSight.envZoomedIn?Conversion.get().zoomInMul:1);
-		
-		Font corrFont = SightRenderer.getFont(fontSize);
-		corrHelper.setFont(corrFont);
-		corrHelper.setWrappingWidth(0);
-		corrHelper.setLineSpacing(0);
-		corrHelper.setText("Distance:"+data.dataSight.envRangeCorrection);
+		final double fontSize = 25.5*0.5*data.dataSight.gnrFontScale*(data.dataSight.envZoomedIn?conversion.zoomInMul:1);
 		
 		// x position
 		double corrX = -posCorrLabel.x;
 		if(data.dataSight.envZoomedIn) {
 			corrX = corrX * 1.025;
 		}
-		corrX = Conversion.get().screenspace2pixel(corrX, canvasHeight, data.dataSight.envZoomedIn);
+		corrX = conversion.screenspace2pixel(corrX, canvasHeight, data.dataSight.envZoomedIn);
 		corrX = corrX * data.dataSight.gnrFontScale;
 		corrX = canvasWidth/2 - corrX;
 		
@@ -517,10 +531,10 @@ public class ElementBallRangeIndicator extends BaseElement {
 		if(data.dataSight.envZoomedIn) {
 			corrY = corrY * 1.025;
 		}
-		corrY = Conversion.get().screenspace2pixel(corrY, canvasHeight, data.dataSight.envZoomedIn);
+		corrY = conversion.screenspace2pixel(corrY, canvasHeight, data.dataSight.envZoomedIn);
 		corrY = corrY * data.dataSight.gnrFontScale;
 		corrY = corrY + (canvasHeight/2);
-		corrY = corrY - corrHelper.getLayoutBounds().getHeight();
+		corrY = corrY - TextMetrics.getLineHeight(fontSize);
 		
 		layout.corrLabel.set(corrX, corrY, fontSize);
 		
@@ -4,6 +4,7 @@ import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutCentralHorzLine;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementCentralHorzLine extends BaseElement {
 
@@ -27,7 +28,7 @@ public class ElementCentralHorzLine extends BaseElement {
 	
 
 	@Override
-	public LayoutCentralHorzLine layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutCentralHorzLine layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutCentralHorzLine layout = (LayoutCentralHorzLine)getLayout();
 		
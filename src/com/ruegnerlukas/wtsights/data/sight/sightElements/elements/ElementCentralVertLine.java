@@ -4,6 +4,7 @@ import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutCentralVertLine;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementCentralVertLine extends BaseElement {
 
@@ -26,7 +27,7 @@ public class ElementCentralVertLine extends BaseElement {
 	
 	
 	@Override
-	public LayoutCentralVertLine layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutCentralVertLine layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutCentralVertLine layout = (LayoutCentralVertLine)getLayout();
 		
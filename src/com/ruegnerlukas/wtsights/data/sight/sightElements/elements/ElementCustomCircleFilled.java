@@ -10,7 +10,7 @@ import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ILayoutData;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutCircleFilledObject;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutPolygonFilledObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementCustomCircleFilled extends ElementCustomObject {
 
@@ -22,6 +22,12 @@ public class ElementCustomCircleFilled extends ElementCustomObject {
 	
 	private ElementCustomPolygonFilled polygon = new ElementCustomPolygonFilled();
 	
+	// shape of the current vertices of the polygon
+	private int cachedNLines = -1;
+	private double cachedDiameter = Double.NaN;
+	private Vector2d cachedPosition = new Vector2d(Double.NaN, Double.NaN);
+	private Vector2d cachedSegment = new Vector2d(Double.NaN, Double.NaN);
+	
 	
 	
 	
@@ -68,8 +74,8 @@ public class ElementCustomCircleFilled extends ElementCustomObject {
 	
 	
 	
-	public int calcNumQuads(double diameter, double angleStart, double angleEnd) {
-		final double dNrm = useThousandth ? diameter : Conversion.get().screenspace2mil(diameter, false);
+	public int calcNumQuads(ConversionContext conversion, double diameter, double angleStart, double angleEnd) {
+		final double dNrm = useThousandth ? diameter : conversion.screenspace2mil(diameter, false);
 		return (int) Math.max(3, Math.min(360, Math.max((int) (((angleEnd-angleStart)/10.0) * (dNrm/50.0)), 15)) * quality);
 	}
 	
@@ -77,7 +83,7 @@ public class ElementCustomCircleFilled extends ElementCustomObject {
 	
 	
 	@Override
-	public ILayoutData layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public ILayoutData layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutCircleFilledObject layout = (LayoutCircleFilledObject)getLayout();
 
@@ -91,30 +97,41 @@ public class ElementCustomCircleFilled extends ElementCustomObject {
 			polygon.radCenter = radCenter;
 			polygon.speed = speed;
 			
-			List<Vector2d> vertices = new ArrayList<Vector2d>();
-			
 			final double angleStart = segment.x;
 			final double angleEnd = segment.y;
 			if(angleStart > angleEnd) {
 				return null;
 			}
 			
-			final int nLines = calcNumQuads(diameter, angleStart, angleEnd);
-			double angleStep = (angleEnd-angleStart)/nLines;
+			final int nLines = calcNumQuads(conversion, diameter, angleStart, angleEnd);
 			
-			vertices.add(new Vector2d(position.x, position.y));
-			
-			Vector2d pointer = new Vector2d(0,1).rotateDeg(-angleStart).setLength(diameter/2);
-			for(int i=0; i<nLines; i++) {
+			// the vertices (and the triangulation of the polygon) only change with the shape of the circle
+			if(nLines != cachedNLines || diameter != cachedDiameter
+					|| position.x != cachedPosition.x || position.y != cachedPosition.y
+					|| segment.x != cachedSegment.x || segment.y != cachedSegment.y) {
+				cachedNLines = nLines;
+				cachedDiameter = diameter;
+				cachedPosition.set(position);
+				cachedSegment.set(segment);
+				
+				List<Vector2d> vertices = new ArrayList<Vector2d>();
+				double angleStep = (angleEnd-angleStart)/nLines;
+				
+				vertices.add(new Vector2d(position.x, position.y));
+				
+				Vector2d pointer = new Vector2d(0,1).rotateDeg(-angleStart).setLength(diameter/2);
+				for(int i=0; i<nLines; i++) {
+					vertices.add(new Vector2d(position.x+pointer.x, position.y+pointer.y));
+					pointer.rotateDeg(-angleStep).setLength(diameter/2);
+				}
+				
 				vertices.add(new Vector2d(position.x+pointer.x, position.y+pointer.y));
-				pointer.rotateDeg(-angleStep).setLength(diameter/2);
+				
+				polygon.setVertices(vertices);
 			}
 			
-			vertices.add(new Vector2d(position.x+pointer.x, position.y+pointer.y));
-
-			polygon.setVertices(vertices);
 			polygon.setDirty(true);
-			polygon.layout(data, canvasWidth, canvasHeight);
+			polygon.layout(data, conversion, canvasWidth, canvasHeight);
 			
 			layout.center.set( ((LayoutPolygonFilledObject)polygon.getLayout()).center );
 			layout.radCenter.set( ((LayoutPolygonFilledObject)polygon.getLayout()).radCenter );
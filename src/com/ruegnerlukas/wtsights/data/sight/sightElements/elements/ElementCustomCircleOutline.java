@@ -6,7 +6,7 @@ import com.ruegnerlukas.simplemath.vectors.vec4.Vector4d;
 import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutCircleOutlineObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils;
 
 public class ElementCustomCircleOutline extends ElementCustomObject {
@@ -35,7 +35,7 @@ public class ElementCustomCircleOutline extends ElementCustomObject {
 
 	
 	@Override
-	public LayoutCircleOutlineObject layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutCircleOutlineObject layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutCircleOutlineObject layout = (LayoutCircleOutlineObject)getLayout();
 		
@@ -56,18 +56,18 @@ public class ElementCustomCircleOutline extends ElementCustomObject {
 				
 				if(useThousandth) {
 					layout.center.set(
-							Conversion.get().mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				} else {
 					layout.center.set(
-							Conversion.get().screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				}
 				layout.center.add(canvasWidth/2, canvasHeight/2);
 				layout.radCenter.add(canvasWidth/2, canvasHeight/2);
@@ -79,40 +79,40 @@ public class ElementCustomCircleOutline extends ElementCustomObject {
 			if(movement == Movement.STATIC) {
 				
 				if(useThousandth) {
-					xPX = Conversion.get().mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
-					dPX = Conversion.get().mil2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					dPX = conversion.mil2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX = Conversion.get().screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
-					dPX = Conversion.get().screenspace2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					dPX = conversion.screenspace2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				
 			} else if(movement == Movement.MOVE) {
 				
 				if(useThousandth) {
-					xPX = Conversion.get().mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
-					dPX = Conversion.get().mil2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					dPX = conversion.mil2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX = Conversion.get().screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
-					dPX = Conversion.get().screenspace2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					dPX = conversion.screenspace2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				double rangeCorrectionMil = 0;
 				
 				if(data.elementBallistic != null) {
 					final double rangeCorrectionResultPX = data.elementBallistic.function.eval(data.dataSight.envRangeCorrection);
-					rangeCorrectionMil = Conversion.get().pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
+					rangeCorrectionMil = conversion.pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
 					
 				} else {
 					// found values by testing    50m = 0.6875mil
 					rangeCorrectionMil = data.dataSight.envRangeCorrection * (0.6875/50.0);
 				}
 				
-				final double rangeCorrectionPX = Conversion.get().mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
+				final double rangeCorrectionPX = conversion.mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
 				
 				if(data.dataSight.gnrApplyCorrectionToGun) {
 					yPX -= rangeCorrectionPX;
@@ -134,7 +134,7 @@ public class ElementCustomCircleOutline extends ElementCustomObject {
 				if(useThousandth) {
 					radius = centerOW.dist(radCenter);
 				} else {
-					radius = Conversion.get().screenspace2mil(centerOW.dist(radCenter), false);
+					radius = conversion.screenspace2mil(centerOW.dist(radCenter), false);
 				}
 				
 				if(MathUtils.isNearlyEqual(radius, 0)) {
@@ -156,13 +156,13 @@ public class ElementCustomCircleOutline extends ElementCustomObject {
 				}
 				
 				if(useThousandth) {
-					xPX = Conversion.get().mil2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().mil2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
-					dPX = Conversion.get().mil2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.mil2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.mil2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
+					dPX = conversion.mil2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX = Conversion.get().screenspace2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().screenspace2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
-					dPX = Conversion.get().screenspace2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.screenspace2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.screenspace2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
+					dPX = conversion.screenspace2pixel(diameter, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 			}
@@ -5,7 +5,7 @@ import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutLineObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils;
 
 public class ElementCustomLine extends ElementCustomObject {
@@ -30,7 +30,7 @@ public class ElementCustomLine extends ElementCustomObject {
 
 	
 	@Override
-	public LayoutLineObject layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutLineObject layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutLineObject layout = (LayoutLineObject)getLayout();
 		
@@ -49,18 +49,18 @@ public class ElementCustomLine extends ElementCustomObject {
 				}
 				if(useThousandth) {
 					layout.center.set(
-							Conversion.get().mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				} else {
 					layout.center.set(
-							Conversion.get().screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				}
 				layout.center.add(canvasWidth/2, canvasHeight/2);
 				layout.radCenter.add(canvasWidth/2, canvasHeight/2);
@@ -78,15 +78,15 @@ public class ElementCustomLine extends ElementCustomObject {
 			if(movement == Movement.STATIC) {
 				
 				if(useThousandth) {
-					sxPX = Conversion.get().mil2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
-					syPX = Conversion.get().mil2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
-					exPX = Conversion.get().mil2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
-					eyPX = Conversion.get().mil2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
+					sxPX = conversion.mil2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
+					syPX = conversion.mil2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
+					exPX = conversion.mil2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
+					eyPX = conversion.mil2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					sxPX = Conversion.get().screenspace2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
-					syPX = Conversion.get().screenspace2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
-					exPX = Conversion.get().screenspace2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
-					eyPX = Conversion.get().screenspace2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
+					sxPX = conversion.screenspace2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
+					syPX = conversion.screenspace2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
+					exPX = conversion.screenspace2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
+					eyPX = conversion.screenspace2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				
@@ -96,25 +96,25 @@ public class ElementCustomLine extends ElementCustomObject {
 				
 				if(data.elementBallistic != null && !(data.elementBallistic.ammunition.get(0).type.contains("rocket") || data.elementBallistic.ammunition.get(0).type.contains("atgm")) ) {
 					final double rangeCorrectionResultPX = data.elementBallistic.function.eval(data.dataSight.envRangeCorrection);
-					rangeCorrectionMil = Conversion.get().pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
+					rangeCorrectionMil = conversion.pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
 					
 				} else {
 					// found values by testing  50m = 0.6875mil
 					rangeCorrectionMil = data.dataSight.envRangeCorrection * (0.6875/50.0);
 				}
 				
-				final double rangeCorrectionPX = Conversion.get().mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
+				final double rangeCorrectionPX = conversion.mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
 				
 				if(useThousandth) {
-					sxPX = Conversion.get().mil2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
-					syPX = Conversion.get().mil2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
-					exPX = Conversion.get().mil2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
-					eyPX = Conversion.get().mil2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
+					sxPX = conversion.mil2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
+					syPX = conversion.mil2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
+					exPX = conversion.mil2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
+					eyPX = conversion.mil2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					sxPX = Conversion.get().screenspace2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
-					syPX = Conversion.get().screenspace2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
-					exPX = Conversion.get().screenspace2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
-					eyPX = Conversion.get().screenspace2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
+					sxPX = conversion.screenspace2pixel(start.x, canvasHeight, data.dataSight.envZoomedIn);
+					syPX = conversion.screenspace2pixel(start.y, canvasHeight, data.dataSight.envZoomedIn);
+					exPX = conversion.screenspace2pixel(end.x, canvasHeight, data.dataSight.envZoomedIn);
+					eyPX = conversion.screenspace2pixel(end.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				if(data.dataSight.gnrApplyCorrectionToGun) {
@@ -140,7 +140,7 @@ public class ElementCustomLine extends ElementCustomObject {
 				if(useThousandth) {
 					radius = centerOW.dist(radCenter);
 				} else {
-					radius = Conversion.get().screenspace2mil(centerOW.dist(radCenter), false);
+					radius = conversion.screenspace2mil(centerOW.dist(radCenter), false);
 				}
 				
 				if(MathUtils.isNearlyEqual(radius, 0)) {
@@ -166,15 +166,15 @@ public class ElementCustomLine extends ElementCustomObject {
 
 				
 				if(useThousandth) {
-					sxPX = Conversion.get().mil2pixel(toStart.x, canvasHeight, data.dataSight.envZoomedIn);
-					syPX = Conversion.get().mil2pixel(toStart.y, canvasHeight, data.dataSight.envZoomedIn);
-					exPX = Conversion.get().mil2pixel(toEnd.x, canvasHeight, data.dataSight.envZoomedIn);
-					eyPX = Conversion.get().mil2pixel(toEnd.y, canvasHeight, data.dataSight.envZoomedIn);
+					sxPX = conversion.mil2pixel(toStart.x, canvasHeight, data.dataSight.envZoomedIn);
+					syPX = conversion.mil2pixel(toStart.y, canvasHeight, data.dataSight.envZoomedIn);
+					exPX = conversion.mil2pixel(toEnd.x, canvasHeight, data.dataSight.envZoomedIn);
+					eyPX = conversion.mil2pixel(toEnd.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					sxPX = Conversion.get().screenspace2pixel(toStart.x, canvasHeight, data.dataSight.envZoomedIn);
-					syPX = Conversion.get().screenspace2pixel(toStart.y, canvasHeight, data.dataSight.envZoomedIn);
-					exPX = Conversion.get().screenspace2pixel(toEnd.x, canvasHeight, data.dataSight.envZoomedIn);
-					eyPX = Conversion.get().screenspace2pixel(toEnd.y, canvasHeight, data.dataSight.envZoomedIn);
+					sxPX = conversion.screenspace2pixel(toStart.x, canvasHeight, data.dataSight.envZoomedIn);
+					syPX = conversion.screenspace2pixel(toStart.y, canvasHeight, data.dataSight.envZoomedIn);
+					exPX = conversion.screenspace2pixel(toEnd.x, canvasHeight, data.dataSight.envZoomedIn);
+					eyPX = conversion.screenspace2pixel(toEnd.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 			}
@@ -10,7 +10,7 @@ import com.ruegnerlukas.simplemath.vectors.vec3.Vector3i;
 import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutPolygonFilledObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementCustomPolygonFilled extends ElementCustomObject {
 
@@ -19,6 +19,10 @@ public class ElementCustomPolygonFilled extends ElementCustomObject {
 	private List<ElementCustomQuadFilled> quads = new ArrayList<ElementCustomQuadFilled>();
 	private List<Vector3i> triangleIndices = new ArrayList<Vector3i>();
 	
+	// vertices (with position offset) of the current triangulation
+	private List<Vector2d> offsetVertices = new ArrayList<Vector2d>();
+	private String triangulatedName;
+	
 	
 	
 	
@@ -113,17 +117,18 @@ public class ElementCustomPolygonFilled extends ElementCustomObject {
 	
 	
 	@Override
-	public LayoutPolygonFilledObject layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutPolygonFilledObject layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutPolygonFilledObject layout = (LayoutPolygonFilledObject)getLayout();
 
 		if(isDirty()) {
 			setDirty(false);
 			
-			List<Vector2d> vertices = new ArrayList<Vector2d>();
-			for(Vector2d vertex : this.vertices) {
-				vertices.add(vertex.copy().add(this.positionOffset));
+			// the triangulation only depends on the vertices and is only recalculated if they changed
+			if(updateOffsetVertices() || quads.size() != triangleIndices.size() || !name.equals(triangulatedName)) {
+				triangulate();
 			}
+			List<Vector2d> vertices = this.offsetVertices;
 			
 			// calculate center (if autocenter) and layout of this parent element
 			if(movement == Movement.MOVE_RADIAL) {
@@ -138,18 +143,18 @@ public class ElementCustomPolygonFilled extends ElementCustomObject {
 				
 				if(useThousandth) {
 					layout.center.set(
-							Conversion.get().mil2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				} else {
 					layout.center.set(
-							Conversion.get().screenspace2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				}
 				
 				layout.center.add(canvasWidth/2, canvasHeight/2);
@@ -160,26 +165,7 @@ public class ElementCustomPolygonFilled extends ElementCustomObject {
 				layout.radCenter.set(-10000, -10000);
 			}
 			
-
-			quads.clear();
-			Polygonf polygon = new Polygonf(vertices.size());
-			for(int i=0; i<vertices.size(); i++) {
-				polygon.setVertex(vertices.get(i), i);
-			}
-			
-			triangleIndices.clear();
-			
-			polygon.triangulateIndices(triangleIndices);
-				for(int i=0; i<triangleIndices.size(); i++) {
-				Vector3i triangle = triangleIndices.get(i);
-				ElementCustomQuadFilled quad = new ElementCustomQuadFilled(name+"_quad"+(i+1));
-				quad.pos1.set(vertices.get(triangle.x));
-				quad.pos2.set(vertices.get(triangle.y));
-				quad.pos3.set(vertices.get(triangle.z));
-				quad.pos4.set(vertices.get(triangle.z));
-				quads.add(quad);
-			}
-			
+			// per-frame parameters (movement, range correction, zoom) of the cached quads
 			for(ElementCustomQuadFilled quad : this.quads) {
 				quad.useThousandth = useThousandth;
 				quad.movement = movement;
@@ -198,7 +184,7 @@ public class ElementCustomPolygonFilled extends ElementCustomObject {
 				quad.speed = speed;
 				
 				quad.setDirty(true);
-				quad.layout(data, canvasWidth, canvasHeight);
+				quad.layout(data, conversion, canvasWidth, canvasHeight);
 			}
 			
 		}
@@ -206,4 +192,62 @@ public class ElementCustomPolygonFilled extends ElementCustomObject {
 		return layout;
 	}
 
+	
+	
+	
+	/**
+	 * Updates the vertices with the position offset.
+	 * @return true, if the vertices changed since the last call
+	 * */
+	private boolean updateOffsetVertices() {
+		boolean changed = false;
+		while(offsetVertices.size() > vertices.size()) {
+			offsetVertices.remove(offsetVertices.size()-1);
+			changed = true;
+		}
+		while(offsetVertices.size() < vertices.size()) {
+			offsetVertices.add(new Vector2d(Double.NaN, Double.NaN));
+		}
+		for(int i=0; i<vertices.size(); i++) {
+			Vector2d vertex = vertices.get(i);
+			Vector2d offsetVertex = offsetVertices.get(i);
+			final double x = vertex.x + positionOffset.x;
+			final double y = vertex.y + positionOffset.y;
+			if(offsetVertex.x != x || offsetVertex.y != y) {
+				offsetVertex.set(x, y);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+	
+	
+	
+	
+	/**
+	 * Triangulates the (offset) vertices and creates a quad for each triangle.
+	 * */
+	private void triangulate() {
+		
+		Polygonf polygon = new Polygonf(offsetVertices.size());
+		for(int i=0; i<offsetVertices.size(); i++) {
+			polygon.setVertex(offsetVertices.get(i), i);
+		}
+		
+		triangleIndices.clear();
+		polygon.triangulateIndices(triangleIndices);
+		
+		quads.clear();
+		for(int i=0; i<triangleIndices.size(); i++) {
+			Vector3i triangle = triangleIndices.get(i);
+			ElementCustomQuadFilled quad = new ElementCustomQuadFilled(name+"_quad"+(i+1));
+			quad.pos1.set(offsetVertices.get(triangle.x));
+			quad.pos2.set(offsetVertices.get(triangle.y));
+			quad.pos3.set(offsetVertices.get(triangle.z));
+			quad.pos4.set(offsetVertices.get(triangle.z));
+			quads.add(quad);
+		}
+		triangulatedName = name;
+	}
+
 }
@@ -8,7 +8,7 @@ import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutPolygonOutlineObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementCustomPolygonOutline extends ElementCustomObject {
 
@@ -94,7 +94,7 @@ public class ElementCustomPolygonOutline extends ElementCustomObject {
 	
 	
 	@Override
-	public LayoutPolygonOutlineObject layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutPolygonOutlineObject layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutPolygonOutlineObject layout = (LayoutPolygonOutlineObject)getLayout();
 
@@ -119,18 +119,18 @@ public class ElementCustomPolygonOutline extends ElementCustomObject {
 				
 				if(useThousandth) {
 					layout.center.set(
-							Conversion.get().mil2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				} else {
 					layout.center.set(
-							Conversion.get().screenspace2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				}
 				
 				layout.center.add(canvasWidth/2, canvasHeight/2);
@@ -171,7 +171,7 @@ public class ElementCustomPolygonOutline extends ElementCustomObject {
 				line.radCenter = radCenter;
 				
 				line.setDirty(true);
-				line.layout(data, canvasWidth, canvasHeight);
+				line.layout(data, conversion, canvasWidth, canvasHeight);
 			}
 		}
 		
@@ -5,7 +5,7 @@ import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutQuadFilledObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils;
 
 public class ElementCustomQuadFilled extends ElementCustomObject {
@@ -16,6 +16,11 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 	public Vector2d pos3 = new Vector2d(+0.2, +0.1);
 	public Vector2d pos4 = new Vector2d(+0.1, +0.1);
 	
+	// reused by layout
+	private final Vector2d tmpPos1 = new Vector2d(), tmpPos2 = new Vector2d(), tmpPos3 = new Vector2d(), tmpPos4 = new Vector2d();
+	private final Vector2d tmpToPos1 = new Vector2d(), tmpToPos2 = new Vector2d(), tmpToPos3 = new Vector2d(), tmpToPos4 = new Vector2d();
+	private final Vector2d tmpCenter = new Vector2d();
+	
 	
 	
 	public ElementCustomQuadFilled() {
@@ -33,7 +38,7 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 
 	
 	@Override
-	public LayoutQuadFilledObject layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutQuadFilledObject layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 
 		LayoutQuadFilledObject layout = (LayoutQuadFilledObject)getLayout();
 		
@@ -41,10 +46,10 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 		if(isDirty()) {
 			setDirty(false);
 			
-			Vector2d pos1 = this.pos1.copy().add(this.positionOffset);
-			Vector2d pos2 = this.pos2.copy().add(this.positionOffset);
-			Vector2d pos3 = this.pos3.copy().add(this.positionOffset);
-			Vector2d pos4 = this.pos4.copy().add(this.positionOffset);
+			Vector2d pos1 = tmpPos1.set(this.pos1).add(this.positionOffset);
+			Vector2d pos2 = tmpPos2.set(this.pos2).add(this.positionOffset);
+			Vector2d pos3 = tmpPos3.set(this.pos3).add(this.positionOffset);
+			Vector2d pos4 = tmpPos4.set(this.pos4).add(this.positionOffset);
 			
 			if(movement == Movement.MOVE_RADIAL) {
 				
@@ -56,18 +61,18 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 				
 				if(useThousandth) {
 					layout.center.set(
-							Conversion.get().mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				} else {
 					layout.center.set(
-							Conversion.get().screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				}
 				layout.center.add(canvasWidth/2, canvasHeight/2);
 				layout.radCenter.add(canvasWidth/2, canvasHeight/2);
@@ -88,23 +93,23 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 			if(movement == Movement.STATIC) {
 				
 				if(useThousandth) {
-					xPX1 = Conversion.get().mil2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX1 = Conversion.get().mil2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX2 = Conversion.get().mil2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX2 = Conversion.get().mil2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX3 = Conversion.get().mil2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX3 = Conversion.get().mil2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX4 = Conversion.get().mil2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX4 = Conversion.get().mil2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX1 = conversion.mil2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX1 = conversion.mil2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX2 = conversion.mil2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX2 = conversion.mil2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX3 = conversion.mil2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX3 = conversion.mil2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX4 = conversion.mil2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX4 = conversion.mil2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX1 = Conversion.get().screenspace2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX1 = Conversion.get().screenspace2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX2 = Conversion.get().screenspace2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX2 = Conversion.get().screenspace2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX3 = Conversion.get().screenspace2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX3 = Conversion.get().screenspace2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX4 = Conversion.get().screenspace2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX4 = Conversion.get().screenspace2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX1 = conversion.screenspace2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX1 = conversion.screenspace2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX2 = conversion.screenspace2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX2 = conversion.screenspace2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX3 = conversion.screenspace2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX3 = conversion.screenspace2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX4 = conversion.screenspace2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX4 = conversion.screenspace2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				
@@ -112,37 +117,37 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 			} else if(movement == Movement.MOVE) {
 				
 				if(useThousandth) {
-					xPX1 = Conversion.get().mil2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX1 = Conversion.get().mil2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX2 = Conversion.get().mil2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX2 = Conversion.get().mil2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX3 = Conversion.get().mil2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX3 = Conversion.get().mil2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX4 = Conversion.get().mil2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX4 = Conversion.get().mil2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX1 = conversion.mil2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX1 = conversion.mil2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX2 = conversion.mil2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX2 = conversion.mil2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX3 = conversion.mil2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX3 = conversion.mil2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX4 = conversion.mil2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX4 = conversion.mil2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX1 = Conversion.get().screenspace2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX1 = Conversion.get().screenspace2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX2 = Conversion.get().screenspace2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX2 = Conversion.get().screenspace2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX3 = Conversion.get().screenspace2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX3 = Conversion.get().screenspace2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX4 = Conversion.get().screenspace2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX4 = Conversion.get().screenspace2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX1 = conversion.screenspace2pixel(pos1.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX1 = conversion.screenspace2pixel(pos1.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX2 = conversion.screenspace2pixel(pos2.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX2 = conversion.screenspace2pixel(pos2.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX3 = conversion.screenspace2pixel(pos3.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX3 = conversion.screenspace2pixel(pos3.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX4 = conversion.screenspace2pixel(pos4.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX4 = conversion.screenspace2pixel(pos4.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				double rangeCorrectionMil = 0;
 				
 				if(data.elementBallistic != null) {
 					final double rangeCorrectionResultPX = data.elementBallistic.function.eval(data.dataSight.envRangeCorrection);
-					rangeCorrectionMil = Conversion.get().pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
+					rangeCorrectionMil = conversion.pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
 					
 				} else {
 					// found values by testing  50m = 0.6875mil
 					rangeCorrectionMil = data.dataSight.envRangeCorrection * (0.6875/50.0);
 				}
 				
-				final double rangeCorrectionPX = Conversion.get().mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
+				final double rangeCorrectionPX = conversion.mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
 				
 				if(data.dataSight.gnrApplyCorrectionToGun) {
 					yPX1 -= rangeCorrectionPX;
@@ -159,7 +164,7 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 				
 			} else if(movement == Movement.MOVE_RADIAL) {
 
-				Vector2d centerOW = new Vector2d();
+				Vector2d centerOW = tmpCenter.set(0);
 				if(autoCenter) {
 					centerOW.add(pos1).add(pos2).add(pos3).add(pos4.x).scale(1.0/4.0);
 				} else {
@@ -170,7 +175,7 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 				if(useThousandth) {
 					radius = centerOW.dist(radCenter);
 				} else {
-					radius = Conversion.get().screenspace2mil(centerOW.dist(radCenter), false);
+					radius = conversion.screenspace2mil(centerOW.dist(radCenter), false);
 				}
 				
 				if(MathUtils.isNearlyEqual(radius, 0)) {
@@ -185,10 +190,10 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 					rangeAngle = -rangeAngle;
 				}
 			
-				Vector2d toPos1 = Vector2d.createVectorAB(radCenter, pos1);
-				Vector2d toPos2 = Vector2d.createVectorAB(radCenter, pos2);
-				Vector2d toPos3 = Vector2d.createVectorAB(radCenter, pos3);
-				Vector2d toPos4 = Vector2d.createVectorAB(radCenter, pos4);
+				Vector2d toPos1 = tmpToPos1.set(pos1).sub(radCenter);
+				Vector2d toPos2 = tmpToPos2.set(pos2).sub(radCenter);
+				Vector2d toPos3 = tmpToPos3.set(pos3).sub(radCenter);
+				Vector2d toPos4 = tmpToPos4.set(pos4).sub(radCenter);
 				
 				if(MathUtils.isNearlyEqual(toPos1.length2(), 0) && MathUtils.isNearlyEqual(toPos2.length2(), 0) && MathUtils.isNearlyEqual(toPos3.length2(), 0) && MathUtils.isNearlyEqual(toPos4.length2(), 0)) {
 					toPos1.set(pos1);
@@ -203,23 +208,23 @@ public class ElementCustomQuadFilled extends ElementCustomObject {
 				}
 
 				if(useThousandth) {
-					xPX1 = Conversion.get().mil2pixel(toPos1.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX1 = Conversion.get().mil2pixel(toPos1.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX2 = Conversion.get().mil2pixel(toPos2.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX2 = Conversion.get().mil2pixel(toPos2.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX3 = Conversion.get().mil2pixel(toPos3.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX3 = Conversion.get().mil2pixel(toPos3.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX4 = Conversion.get().mil2pixel(toPos4.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX4 = Conversion.get().mil2pixel(toPos4.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX1 = conversion.mil2pixel(toPos1.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX1 = conversion.mil2pixel(toPos1.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX2 = conversion.mil2pixel(toPos2.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX2 = conversion.mil2pixel(toPos2.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX3 = conversion.mil2pixel(toPos3.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX3 = conversion.mil2pixel(toPos3.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX4 = conversion.mil2pixel(toPos4.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX4 = conversion.mil2pixel(toPos4.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX1 = Conversion.get().screenspace2pixel(toPos1.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX1 = Conversion.get().screenspace2pixel(toPos1.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX2 = Conversion.get().screenspace2pixel(toPos2.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX2 = Conversion.get().screenspace2pixel(toPos2.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX3 = Conversion.get().screenspace2pixel(toPos3.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX3 = Conversion.get().screenspace2pixel(toPos3.y, canvasHeight, data.dataSight.envZoomedIn);
-					xPX4 = Conversion.get().screenspace2pixel(toPos4.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX4 = Conversion.get().screenspace2pixel(toPos4.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX1 = conversion.screenspace2pixel(toPos1.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX1 = conversion.screenspace2pixel(toPos1.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX2 = conversion.screenspace2pixel(toPos2.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX2 = conversion.screenspace2pixel(toPos2.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX3 = conversion.screenspace2pixel(toPos3.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX3 = conversion.screenspace2pixel(toPos3.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX4 = conversion.screenspace2pixel(toPos4.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX4 = conversion.screenspace2pixel(toPos4.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				
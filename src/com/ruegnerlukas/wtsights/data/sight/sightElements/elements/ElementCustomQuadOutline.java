@@ -8,6 +8,7 @@ import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ILayoutData;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutPolygonOutlineObject;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutQuadOutlineObject;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementCustomQuadOutline extends ElementCustomObject {
 
@@ -45,7 +46,7 @@ public class ElementCustomQuadOutline extends ElementCustomObject {
 
 	
 	@Override
-	public ILayoutData layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public ILayoutData layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutQuadOutlineObject layout = (LayoutQuadOutlineObject)getLayout();
 
@@ -66,7 +67,7 @@ public class ElementCustomQuadOutline extends ElementCustomObject {
 			
 			polygon.setVertices(pos1, pos2, pos3, pos4);
 			polygon.setDirty(true);
-			polygon.layout(data, canvasWidth, canvasHeight);
+			polygon.layout(data, conversion, canvasWidth, canvasHeight);
 			
 			layout.center.set( ((LayoutPolygonOutlineObject)polygon.getLayout()).center );
 			layout.radCenter.set( ((LayoutPolygonOutlineObject)polygon.getLayout()).radCenter );
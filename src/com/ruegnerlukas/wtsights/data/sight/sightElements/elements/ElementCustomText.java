@@ -5,7 +5,7 @@ import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutTextObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils;
 import com.ruegnerlukas.wtutils.SightUtils.TextAlign;
 
@@ -33,7 +33,7 @@ public class ElementCustomText extends ElementCustomObject {
 
 	
 	@Override
-	public LayoutTextObject layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutTextObject layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 
 		LayoutTextObject layout = (LayoutTextObject)getLayout();
 		
@@ -50,18 +50,18 @@ public class ElementCustomText extends ElementCustomObject {
 			
 				if(useThousandth) {
 					layout.center.set(
-							Conversion.get().mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.mil2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.mil2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				} else {
 					layout.center.set(
-							Conversion.get().screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(layout.center.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(layout.center.y, canvasHeight, data.dataSight.envZoomedIn));
 					layout.radCenter.set(
-							Conversion.get().screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
-							Conversion.get().screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
+							conversion.screenspace2pixel(radCenter.x,canvasHeight, data.dataSight.envZoomedIn),
+							conversion.screenspace2pixel(radCenter.y, canvasHeight, data.dataSight.envZoomedIn));
 				}
 				layout.center.add(canvasWidth/2, canvasHeight/2);
 				layout.radCenter.add(canvasWidth/2, canvasHeight/2);
@@ -76,35 +76,35 @@ public class ElementCustomText extends ElementCustomObject {
 			if(movement == Movement.STATIC) {
 			
 				if(useThousandth) {
-					xPX = Conversion.get().mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX = Conversion.get().screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				
 			} else if(movement == Movement.MOVE) {
 				
 				if(useThousandth) {
-					xPX = Conversion.get().mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.mil2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.mil2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX = Conversion.get().screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.screenspace2pixel(position.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 				double rangeCorrectionMil = 0;
 				if(data.elementBallistic != null) {
 					final double rangeCorrectionResultPX = data.elementBallistic.function.eval(data.dataSight.envRangeCorrection);
-					rangeCorrectionMil = Conversion.get().pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
+					rangeCorrectionMil = conversion.pixel2mil(rangeCorrectionResultPX, canvasHeight, false);
 					
 				} else {
 					// found values by testing  50m = 0.6875mil
 					rangeCorrectionMil = data.dataSight.envRangeCorrection * (0.6875/50.0);
 				}
 				
-				final double rangeCorrectionPX = Conversion.get().mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
+				final double rangeCorrectionPX = conversion.mil2pixel(rangeCorrectionMil, canvasHeight, data.dataSight.envZoomedIn);
 				
 				if(data.dataSight.gnrApplyCorrectionToGun) {
 					yPX -= rangeCorrectionPX;
@@ -126,7 +126,7 @@ public class ElementCustomText extends ElementCustomObject {
 				if(useThousandth) {
 					radius = centerOW.dist(radCenter);
 				} else {
-					radius = Conversion.get().screenspace2mil(centerOW.dist(radCenter), false);
+					radius = conversion.screenspace2mil(centerOW.dist(radCenter), false);
 				}
 				
 				if(MathUtils.isNearlyEqual(radius, 0)) {
@@ -148,11 +148,11 @@ public class ElementCustomText extends ElementCustomObject {
 				}
 
 				if(useThousandth) {
-					xPX = Conversion.get().mil2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().mil2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.mil2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.mil2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
 				} else {
-					xPX = Conversion.get().screenspace2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
-					yPX = Conversion.get().screenspace2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
+					xPX = conversion.screenspace2pixel(toCenter.x, canvasHeight, data.dataSight.envZoomedIn);
+					yPX = conversion.screenspace2pixel(toCenter.y, canvasHeight, data.dataSight.envZoomedIn);
 				}
 				
 			}
@@ -160,7 +160,7 @@ public class ElementCustomText extends ElementCustomObject {
 			xPX += canvasWidth/2;
 			yPX += canvasHeight/2;
 		
-			layout.fontSize = (data.dataSight.envZoomedIn?18.5:17.5) * data.dataSight.gnrFontScale * size * (data.dataSight.envZoomedIn ? Conversion.get().zoomInMul : 1);
+			layout.fontSize = (data.dataSight.envZoomedIn?18.5:17.5) * data.dataSight.gnrFontScale * size * (data.dataSight.envZoomedIn ? conversion.zoomInMul : 1);
 			layout.pos.set(xPX, yPX);
 		}
 		
@@ -11,7 +11,7 @@ import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutFunnel;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 
 public class ElementFunnel extends BaseElement {
@@ -64,7 +64,7 @@ public class ElementFunnel extends BaseElement {
 	
 	
 	@Override
-	public LayoutFunnel layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutFunnel layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 	
 		LayoutFunnel layout = (LayoutFunnel)getLayout();
 		
@@ -93,6 +93,14 @@ public class ElementFunnel extends BaseElement {
 				points = flippedPoints;
 			}
 			
+			// range fitting
+			double[] ranges = new double[points.size()];
+			double[] resultsPX = new double[points.size()];
+			for(int i=0; i<points.size(); i++) {
+				ranges[i] = points.get(i).x;
+			}
+			elementBallistic.function.evalInto(ranges, resultsPX);
+			
 			lines.clear();
 			if(rangeStart < rangeEnd) {
 				for(int i=0; i<points.size()-1; i++) {
@@ -106,18 +114,18 @@ public class ElementFunnel extends BaseElement {
 						px0 = p0.y;
 						px1 = p1.y;
 					} else {
-						px0 = Conversion.get().mil2screenspace(p0.y, false);
-						px1 = Conversion.get().mil2screenspace(p1.y, false);
+						px0 = conversion.mil2screenspace(p0.y, false);
+						px1 = conversion.mil2screenspace(p1.y, false);
 					}
 					
 					double py0 = 0;
 					double py1 = 0;
 					if(useThousandth) {
-						py0 = Conversion.get().pixel2mil(elementBallistic.function.eval(p0.x), canvasHeight, false);
-						py1 = Conversion.get().pixel2mil(elementBallistic.function.eval(p1.x), canvasHeight, false);
+						py0 = conversion.pixel2mil(resultsPX[i], canvasHeight, false);
+						py1 = conversion.pixel2mil(resultsPX[i+1], canvasHeight, false);
 					} else {
-						py0 = Conversion.get().pixel2screenspace(elementBallistic.function.eval(p0.x), canvasHeight, false);
-						py1 = Conversion.get().pixel2screenspace(elementBallistic.function.eval(p1.x), canvasHeight, false);
+						py0 = conversion.pixel2screenspace(resultsPX[i], canvasHeight, false);
+						py1 = conversion.pixel2screenspace(resultsPX[i+1], canvasHeight, false);
 					}
 					
 					if(showRight) {
@@ -133,7 +141,7 @@ public class ElementFunnel extends BaseElement {
 							lineRight.end.set((showLeft ? px1/2 : px1) + offset.x, py1 + offset.y);
 						}
 						lineRight.setDirty(true);
-						lineRight.layout(data, canvasWidth, canvasHeight);
+						lineRight.layout(data, conversion, canvasWidth, canvasHeight);
 						lines.add(lineRight);
 					}
 					
@@ -150,15 +158,15 @@ public class ElementFunnel extends BaseElement {
 							lineLeft.end.set((showRight ? -px1/2 : -px1) + offset.x, py1 + offset.y);
 						}
 						lineLeft.setDirty(true);
-						lineLeft.layout(data, canvasWidth, canvasHeight);
+						lineLeft.layout(data, conversion, canvasWidth, canvasHeight);
 						lines.add(lineLeft);
 					}
 					
 				}
 				
 				if((showRight ^ showLeft) && baseLine) {
-					double py0 = Conversion.get().pixel2mil(elementBallistic.function.eval(rangeStart), canvasHeight, false);
-					double py1 = Conversion.get().pixel2mil(elementBallistic.function.eval(rangeEnd), canvasHeight, false);
+					double py0 = conversion.pixel2mil(resultsPX[0], canvasHeight, false);
+					double py1 = conversion.pixel2mil(resultsPX[resultsPX.length-1], canvasHeight, false);
 					ElementCustomLine baseLine = new ElementCustomLine();
 					baseLine.useThousandth = this.useThousandth;
 					baseLine.movement = movement;
@@ -170,7 +178,7 @@ public class ElementFunnel extends BaseElement {
 						baseLine.end.set(0 + offset.x, py1 + offset.y);
 					}
 					baseLine.setDirty(true);
-					baseLine.layout(data, canvasWidth, canvasHeight);
+					baseLine.layout(data, conversion, canvasWidth, canvasHeight);
 					lines.add(baseLine);
 				}
 				
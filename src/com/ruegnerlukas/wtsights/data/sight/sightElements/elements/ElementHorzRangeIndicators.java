@@ -10,7 +10,7 @@ import com.ruegnerlukas.wtsights.data.sight.HIndicator;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutHorzRangeIndicators;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 
 public class ElementHorzRangeIndicators extends BaseElement {
 
@@ -52,7 +52,7 @@ public class ElementHorzRangeIndicators extends BaseElement {
 	
 	
 	@Override
-	public LayoutHorzRangeIndicators layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutHorzRangeIndicators layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 		
 		LayoutHorzRangeIndicators layout = (LayoutHorzRangeIndicators)getLayout();
 		
@@ -70,7 +70,7 @@ public class ElementHorzRangeIndicators extends BaseElement {
 			
 			final double lineSize = data.dataSight.gnrLineSize * data.dataSight.gnrFontScale;
 			
-			layout.fontSize = 12.5 * data.dataSight.gnrFontScale * (data.dataSight.envZoomedIn ? Conversion.get().zoomInMul : 1);
+			layout.fontSize = 12.5 * data.dataSight.gnrFontScale * (data.dataSight.envZoomedIn ? conversion.zoomInMul : 1);
 			
 			for(int i=0; i<indicators.size(); i++) {
 				
@@ -79,14 +79,14 @@ public class ElementHorzRangeIndicators extends BaseElement {
 				final boolean isMajor = indicator.isMajor();
 				
 				// length
-				final double length = Conversion.get().mil2pixel(isMajor ? sizeMajor : sizeMinor, canvasHeight, data.dataSight.envZoomedIn);
+				final double length = conversion.mil2pixel(isMajor ? sizeMajor : sizeMinor, canvasHeight, data.dataSight.envZoomedIn);
 				
 				// x pos
-				final double x = canvasWidth/2 + Conversion.get().mil2pixel(mil, canvasHeight, data.dataSight.envZoomedIn);
+				final double x = canvasWidth/2 + conversion.mil2pixel(mil, canvasHeight, data.dataSight.envZoomedIn);
 				
 				// y pos
 				final double y = canvasHeight/2;
-				final double yLabel = y - length - Conversion.get().screenspace2pixel(0.013, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
+				final double yLabel = y - length - conversion.screenspace2pixel(0.013, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
 				
 				layout.bounds[i].set(x-lineSize/2, y-length, lineSize, length*2);
 				layout.textPositions[i].set(x, yLabel);
@@ -6,12 +6,10 @@ import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutRangefinder;
-import com.ruegnerlukas.wtsights.ui.sighteditor.rendering.SightRenderer;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
+import com.ruegnerlukas.wtutils.TextMetrics;
 
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 
 
 public class ElementRangefinder extends BaseElement {
@@ -22,7 +20,6 @@ public class ElementRangefinder extends BaseElement {
 	public Color 		color2 		= new Color(1, 1, 1, 64.0/255.0);	// color of the background
 	public double		textScale		= 0.7;					// the scale of the text and progressbar (relative to general font scale)
 	
-	private Text text = new Text();
 
 	
 	
@@ -40,7 +37,7 @@ public class ElementRangefinder extends BaseElement {
 
 	
 	@Override
-	public LayoutRangefinder layout(DataPackage data, double canvasWidth, double canvasHeight) {
+	public LayoutRangefinder layout(DataPackage data, ConversionContext conversion, double canvasWidth, double canvasHeight) {
 	
 		LayoutRangefinder layout = (LayoutRangefinder)getLayout();
 		
@@ -49,20 +46,20 @@ public class ElementRangefinder extends BaseElement {
 			
 			double x = 0;
 			if(data.dataSight.envZoomedIn) {
-				x = position.x * data.dataSight.gnrFontScale * Conversion.get().zoomInMul;
+				x = position.x * data.dataSight.gnrFontScale * conversion.zoomInMul;
 			} else {
 				x = position.x * data.dataSight.gnrFontScale;
 			}
 			
 			double y = 0;
 			if(useThousandth) {
-				y = Conversion.get().mil2pixel(position.y+3, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
+				y = conversion.mil2pixel(position.y+3, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
 				
 			} else {
 				if(data.dataSight.envZoomedIn) {
-					y = Conversion.get().screenspace2pixel(position.y+0.002, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
+					y = conversion.screenspace2pixel(position.y+0.002, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
 				} else {
-					y = Conversion.get().screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
+					y = conversion.screenspace2pixel(position.y, canvasHeight, data.dataSight.envZoomedIn) * data.dataSight.gnrFontScale;
 				}
 			}
 			
@@ -70,19 +67,13 @@ public class ElementRangefinder extends BaseElement {
 			y = canvasHeight/2.0 - y;
 			
 			if(data.dataSight.envZoomedIn) {
-				layout.fontSize = 18.0 * data.dataSight.gnrFontScale * textScale * Conversion.get().zoomInMul;
+				layout.fontSize = 18.0 * data.dataSight.gnrFontScale * textScale * conversion.zoomInMul;
 			} else {
 				layout.fontSize = 17.5 * data.dataSight.gnrFontScale * textScale;
 			}
 			
-			Font font = SightRenderer.getFont(layout.fontSize);
-			text.setFont(font);
-			text.setText("Measuring range");
-			text.setWrappingWidth(0);
-			text.setLineSpacing(0);
-			
-			final double width  = text.getLayoutBounds().getWidth();
-			final double height = text.getLayoutBounds().getHeight();
+			final double width  = TextMetrics.getWidth("Measuring range", layout.fontSize);
+			final double height = TextMetrics.getLineHeight(layout.fontSize);
 			
 			layout.bounds.set(x, y-height/2, width, height);
 			layout.textPos.set(x+width/2, y);
@@ -11,6 +11,10 @@ public class LayoutBallRangeIndicators implements ILayoutData {
 
 	public double fontSize;
 	public Vector3d corrLabel = new Vector3d(); // x, y, fontSize
+	
+	// the distances of the indicators and the results of the ballistic function at these distances
+	public double[] ranges = null;
+	public double[] rangeResultsPX = null;
 
 	
 	// VERTICAL
@@ -17,10 +17,32 @@ public class BLKSightParser {
 	public static Block parse(File file) {
 		Logger.get().info("Parsing sight: " + file);
 		String rawContent = BLKSightParser.read(file);
+		return BLKSightParser.parseContent(rawContent, file.getName());
+	}
+	
+	
+	
+	
+	/**
+	 * Parses the given content with the old multi-pass parser ({@link #prepare(String)}, {@link #split(String)}, {@link #parseElements(List)}).
+	 * */
+	public static Block parseLegacy(String rawContent) {
 		String ppContent = BLKSightParser.prepare(rawContent);
 		List<String> strElements = BLKSightParser.split(ppContent);
-		Block root = BLKSightParser.parseElements(strElements);
-		return root;
+		return BLKSightParser.parseElements(strElements);
+	}
+	
+	
+	
+	
+	/**
+	 * Parses the given content of a sight-file in a single pass over the characters.
+	 * Spaces and tabs outside of quotes are ignored, text in quotes is trimmed. Comments are skipped, except comments starting with "//--",
+	 * which are the metadata of the next element. Errors are logged with the line and column and the invalid element is skipped.
+	 * @param source the name of the source (for error messages)
+	 * */
+	public static Block parseContent(String content, String source) {
+		return new Lexer(content, source).parse();
 	}
 	
 	
@@ -35,9 +57,10 @@ public class BLKSightParser {
 		
 			BufferedReader reader = new BufferedReader(new FileReader(file));
 
-			String str;
-			while( (str = reader.readLine()) != null) {
-				sb.append(str).append(System.lineSeparator());
+			char[] buffer = new char[8192];
+			int n;
+			while( (n = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, n);
 			}
 			
 			reader.close();
@@ -207,6 +230,13 @@ public class BLKSightParser {
 		String strType = paramBody.substring(0, paramBody.indexOf("="));
 		String strValue = paramBody.substring(paramBody.indexOf("=")+1, paramBody.length());
 		
+		return createParameter(paramName, strType, strValue, metadata, strParameter);
+	}
+	
+	
+	
+	
+	private static Parameter createParameter(String paramName, String strType, String strValue, String metadata, String strParameter) {
 		
 		if(strType.equalsIgnoreCase(Parameter.ParameterType.TEXT.token)) {
 			return new ParamText(paramName, metadata, strValue);
@@ -307,12 +337,341 @@ public class BLKSightParser {
 	}
 	
 	
+	
+	
+	/**
+	 * Single-pass parser for the content of a sight-file.
+	 * */
+	private static class Lexer {
+		
+		private final String content;
+		private final String source;
+		private final int length;
+		
+		private int pos = 0;
+		private int line = 1;
+		private int column = 1;
+		
+		private final StringBuilder token = new StringBuilder();
+		private int tokenLine;
+		private int tokenColumn;
+		
+		private final Block root = new Block("ROOT", "ROOT");
+		private final Stack<Block> stack = new Stack<Block>();
+		private String lastMetaData = null;
+		
+		
+		
+		
+		public Lexer(String content, String source) {
+			this.content = content;
+			this.source = source;
+			this.length = content.length();
+		}
+		
+		
+		
+		
+		public Block parse() {
+			
+			stack.push(root);
+			
+			while(pos < length) {
+				char c = content.charAt(pos);
+				
+				switch(c) {
+					case ' ':
+					case '\t': {
+						advance();
+						break;
+					}
+					case '\n':
+					case '\r':
+					case ';': {
+						endStatement();
+						advance();
+						break;
+					}
+					case '"': {
+						markToken();
+						readQuoted();
+						break;
+					}
+					case '/': {
+						char next = charAt(pos+1);
+						if(next == '/') {
+							if(isMetadataStart()) {
+								endStatement();
+								readMetadata();
+							} else {
+								skipLine();
+							}
+						} else if(next == '*') {
+							skipBlockComment();
+						} else {
+							markToken();
+							token.append(c);
+							advance();
+						}
+						break;
+					}
+					case '{': {
+						Block block = new Block(token.toString(), lastMetaData);
+						token.setLength(0);
+						stack.peek().elements.add(block);
+						stack.push(block);
+						lastMetaData = null;
+						advance();
+						break;
+					}
+					case '}': {
+						endStatement();
+						if(stack.size() > 1) {
+							stack.pop();
+						} else {
+							error("unexpected '}'", line, column);
+						}
+						lastMetaData = null;
+						advance();
+						break;
+					}
+					default: {
+						markToken();
+						token.append(c);
+						advance();
+					}
+				}
+			}
+			
+			endStatement();
+			
+			if(stack.size() > 1) {
+				error("missing '}' for block '" + stack.peek().name + "'", line, column);
+			}
+			if(lastMetaData != null) {
+				root.floatingMetadata.add(lastMetaData);
+			}
+			
+			return root;
+		}
+		
+		
+		
+		
+		private char charAt(int index) {
+			return index < length ? content.charAt(index) : 0;
+		}
+		
+		
+		
+		
+		private void advance() {
+			char c = content.charAt(pos++);
+			if(c == '\n' || (c == '\r' && charAt(pos) != '\n')) {
+				line++;
+				column = 1;
+			} else {
+				column++;
+			}
+		}
+		
+		
+		
+		
+		private void markToken() {
+			if(token.length() == 0) {
+				tokenLine = line;
+				tokenColumn = column;
+			}
+		}
+		
+		
+		
+		
+		/**
+		 * Adds the current token as a parameter to the current block
+		 * */
+		private void endStatement() {
+			if(token.length() == 0) {
+				return;
+			}
+			
+			String strParameter = token.toString();
+			token.setLength(0);
+			
+			int indexType = strParameter.indexOf(':');
+			int indexValue = indexType < 0 ? -1 : strParameter.indexOf('=', indexType);
+			if(indexType < 0 || indexValue < 0) {
+				error("invalid parameter '" + strParameter + "', expected 'name:type=value'", tokenLine, tokenColumn);
+				lastMetaData = null;
+				return;
+			}
+			
+			Parameter param = createParameter(
+					strParameter.substring(0, indexType),
+					strParameter.substring(indexType+1, indexValue),
+					strParameter.substring(indexValue+1),
+					lastMetaData, strParameter);
+			if(param != null) {
+				stack.peek().elements.add(param);
+			} else {
+				error("invalid parameter '" + strParameter + "'", tokenLine, tokenColumn);
+			}
+			lastMetaData = null;
+		}
+		
+		
+		
+		
+		/**
+		 * Reads the text in quotes at the current position into the token. The text is trimmed, tabs are removed.
+		 * */
+		private void readQuoted() {
+			int startLine = line;
+			int startColumn = column;
+			advance();
+			
+			int start = token.length();
+			token.append('"');
+			
+			while(pos < length) {
+				char c = content.charAt(pos);
+				if(c == '"') {
+					advance();
+					trimQuoted(start+1);
+					token.append('"');
+					return;
+				}
+				if(c == '\n' || c == '\r') {
+					break;
+				}
+				if(c != '\t') {
+					token.append(c);
+				}
+				advance();
+			}
+			
+			trimQuoted(start+1);
+			error("missing closing quote", startLine, startColumn);
+		}
+		
+		
+		
+		
+		private void trimQuoted(int start) {
+			int end = token.length();
+			int first = start;
+			while(first < end && token.charAt(first) <= ' ') {
+				first++;
+			}
+			int last = end;
+			while(last > first && token.charAt(last-1) <= ' ') {
+				last--;
+			}
+			token.delete(last, end);
+			token.delete(start, first);
+		}
+		
+		
+		
+		
+		/**
+		 * @return true, if the comment at the current position starts with "--" (ignoring spaces and tabs)
+		 * */
+		private boolean isMetadataStart() {
+			int nDashes = 0;
+			for(int i=pos+2; i<length && nDashes < 2; i++) {
+				char c = content.charAt(i);
+				if(c == '-') {
+					nDashes++;
+				} else if(c != ' ' && c != '\t') {
+					return false;
+				}
+			}
+			return nDashes == 2;
+		}
+		
+		
+		
+		
+		/**
+		 * Reads the metadata at the current position until the end of the line.
+		 * */
+		private void readMetadata() {
+			
+			// skip "//--"
+			int nDashes = 0;
+			advance();
+			advance();
+			while(nDashes < 2) {
+				if(content.charAt(pos) == '-') {
+					nDashes++;
+				}
+				advance();
+			}
+			
+			while(pos < length) {
+				char c = content.charAt(pos);
+				if(c == '\n' || c == '\r' || c == ';') {
+					break;
+				}
+				if(c == '"') {
+					readQuoted();
+				} else {
+					if(c != ' ' && c != '\t') {
+						token.append(c);
+					}
+					advance();
+				}
+			}
+			
+			if(lastMetaData != null) {
+				root.floatingMetadata.add(lastMetaData);
+			}
+			lastMetaData = token.toString().trim();
+			token.setLength(0);
+		}
+		
+		
+		
+		
+		private void skipLine() {
+			while(pos < length) {
+				char c = content.charAt(pos);
+				if(c == '\n' || c == '\r') {
+					return;
+				}
+				advance();
+			}
+		}
+		
+		
+		
+		
+		private void skipBlockComment() {
+			int startLine = line;
+			int startColumn = column;
+			advance();
+			advance();
+			while(pos < length) {
+				if(content.charAt(pos) == '*' && charAt(pos+1) == '/') {
+					advance();
+					advance();
+					return;
+				}
+				advance();
+			}
+			error("missing end of comment", startLine, startColumn);
+		}
+		
+		
+		
+		
+		private void error(String msg, int line, int column) {
+			Logger.get().error("Error parsing sight (" + source + ", line " + line + ", column " + column + "): " + msg);
+		}
+		
+	}
+	
+	
 }
-
-
-
-
-
-
-
-
@@ -7,4 +7,9 @@ public class Ammo {
 	public String name;
 	public String namePretty;
 	public int speed;
+	
+	// ballistic properties, 0 if unknown
+	public double mass;		// kg
+	public double caliber;	// m
+	public double cx;		// drag coefficient
 }
@@ -0,0 +1,299 @@
+package com.ruegnerlukas.wtsights.data.writing;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+
+/**
+ * Writes the lines of a blk-file directly into a buffered file. Numbers are appended without creating intermediate strings.
+ * Lines end with the line separator of the system.
+ * */
+public class BlkWriter implements Closeable {
+
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final long[] POW10 = new long[] { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L };
+	private static final double MAX_FAST_VALUE = 1e15;
+
+	private final Writer writer;
+	private final StringBuilder numBuffer = new StringBuilder(32);
+	private char[] charBuffer = new char[32];
+
+
+
+
+	public BlkWriter(File file) throws IOException {
+		this(Files.newBufferedWriter(file.toPath(), Charset.forName("UTF-8")));
+	}
+
+
+
+
+	public BlkWriter(Writer writer) {
+		this.writer = writer;
+	}
+
+
+
+
+	/**
+	 * appends the given string ("null", if the string is null)
+	 * */
+	public BlkWriter append(String str) throws IOException {
+		writer.write(String.valueOf(str));
+		return this;
+	}
+
+
+
+
+	public BlkWriter append(char c) throws IOException {
+		writer.write(c);
+		return this;
+	}
+
+
+
+
+	public BlkWriter append(int value) throws IOException {
+		numBuffer.setLength(0);
+		numBuffer.append(value);
+		return flushNumBuffer();
+	}
+
+
+
+
+	/**
+	 * appends "yes" or "no"
+	 * */
+	public BlkWriter append(boolean value) throws IOException {
+		writer.write(value ? "yes" : "no");
+		return this;
+	}
+
+
+
+
+	/**
+	 * appends the given value rounded to the given decimal places (see {@link BlkWriter#appendDecimal(StringBuilder, double, int)})
+	 * */
+	public BlkWriter append(double value, int decPlaces) throws IOException {
+		numBuffer.setLength(0);
+		appendDecimal(numBuffer, value, decPlaces);
+		return flushNumBuffer();
+	}
+
+
+
+
+	private BlkWriter flushNumBuffer() throws IOException {
+		final int length = numBuffer.length();
+		if(charBuffer.length < length) {
+			charBuffer = new char[length];
+		}
+		numBuffer.getChars(0, length, charBuffer, 0);
+		writer.write(charBuffer, 0, length);
+		return this;
+	}
+
+
+
+
+	/**
+	 * ends the current line
+	 * */
+	public BlkWriter endLine() throws IOException {
+		writer.write(LINE_SEPARATOR);
+		return this;
+	}
+
+
+
+
+	/**
+	 * writes the given string as a complete line
+	 * */
+	public BlkWriter line(String str) throws IOException {
+		writer.write(String.valueOf(str));
+		writer.write(LINE_SEPARATOR);
+		return this;
+	}
+
+
+
+
+	/**
+	 * writes an empty line
+	 * */
+	public BlkWriter line() throws IOException {
+		writer.write(LINE_SEPARATOR);
+		return this;
+	}
+
+
+
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+
+
+
+	/**
+	 * @return the given value rounded to the given decimal places (see {@link BlkWriter#appendDecimal(StringBuilder, double, int)})
+	 * */
+	public static String toDecimalString(double value, int decPlaces) {
+		return appendDecimal(new StringBuilder(16), value, decPlaces).toString();
+	}
+
+
+
+
+	/**
+	 * Appends the given value rounded (half-up) to the given decimal places with '.' as the decimal separator and without trailing zeros.
+	 * Produces the same result as String.format("%.[decPlaces]f") with trailing zeros and a trailing '.' removed.
+	 * @return the given StringBuilder
+	 * */
+	public static StringBuilder appendDecimal(StringBuilder sb, double value, int decPlaces) {
+
+		// fast path: the value is exactly the closest double of a decimal with at most 'decPlaces' decimal places (e.g. values of the editor spinners)
+		if(decPlaces >= 0 && decPlaces < POW10.length && Math.abs(value) < MAX_FAST_VALUE / POW10[decPlaces]) {
+			final long pow = POW10[decPlaces];
+			final long n = Math.round(value * pow);
+			if((double)n / pow == value) {
+				if(n < 0 || (n == 0 && Double.doubleToRawLongBits(value) != 0)) {
+					sb.append('-');
+				}
+				final long abs = Math.abs(n);
+				sb.append(abs / pow);
+				long frac = abs % pow;
+				int nFracDigits = decPlaces;
+				while(nFracDigits > 0 && frac % 10 == 0) {
+					frac /= 10;
+					nFracDigits--;
+				}
+				if(nFracDigits > 0) {
+					sb.append('.');
+					for(long p=POW10[nFracDigits-1]; p>frac && p>1; p/=10) {
+						sb.append('0');
+					}
+					sb.append(frac);
+				}
+				return sb;
+			}
+		}
+
+		return appendDecimalSlow(sb, value, decPlaces);
+	}
+
+
+
+
+	/**
+	 * rounds the (shortest) decimal representation of the value, like the java-formatter does
+	 * */
+	private static StringBuilder appendDecimalSlow(StringBuilder sb, double value, int decPlaces) {
+
+		if(Double.isNaN(value) || Double.isInfinite(value)) {
+			return sb.append(value);
+		}
+
+		final String str = Double.toString(Math.abs(value));
+
+		// collect digits and the position of the decimal point (number of integer digits)
+		final int idxExp = str.indexOf('E');
+		final int end = idxExp < 0 ? str.length() : idxExp;
+		char[] digits = new char[end+1];
+		int nDigits = 0;
+		int pointPos = -1;
+		for(int i=0; i<end; i++) {
+			char c = str.charAt(i);
+			if(c == '.') {
+				pointPos = nDigits;
+			} else {
+				digits[1+nDigits++] = c;
+			}
+		}
+		if(pointPos < 0) {
+			pointPos = nDigits;
+		}
+		if(idxExp >= 0) {
+			pointPos += Integer.parseInt(str.substring(idxExp+1));
+		}
+
+		// round half-up, digits[0] is reserved for the carry
+		digits[0] = '0';
+		int nKeep = pointPos + decPlaces;
+		if(nKeep < 0) {
+			nKeep = 0;
+			nDigits = 0;
+		} else if(nKeep < nDigits) {
+			boolean roundUp = digits[1+nKeep] >= '5';
+			nDigits = nKeep;
+			for(int i=nKeep; roundUp && i>=0; i--) {
+				if(digits[i] == '9') {
+					digits[i] = '0';
+				} else {
+					digits[i]++;
+					roundUp = false;
+				}
+			}
+		}
+		int start = 1;
+		if(digits[0] != '0') {
+			start = 0;
+			pointPos++;
+			nDigits++;
+		}
+
+		// drop trailing zeros of the fraction
+		int nFrac = Math.min(decPlaces, Math.max(0, nDigits - pointPos));
+		while(nFrac > 0 && digitAt(digits, start, nDigits, pointPos+nFrac-1) == '0') {
+			nFrac--;
+		}
+
+		if(value < 0 || Double.doubleToRawLongBits(value) != 0 && value == 0) {
+			sb.append('-');
+		}
+
+		// integer part
+		boolean leading = true;
+		for(int i=0; i<pointPos; i++) {
+			char c = digitAt(digits, start, nDigits, i);
+			if(leading && c == '0' && i != pointPos-1) {
+				continue;
+			}
+			leading = false;
+			sb.append(c);
+		}
+		if(pointPos <= 0) {
+			sb.append('0');
+		}
+
+		// fraction
+		if(nFrac > 0) {
+			sb.append('.');
+			for(int i=0; i<nFrac; i++) {
+				sb.append(digitAt(digits, start, nDigits, pointPos+i));
+			}
+		}
+
+		return sb;
+	}
+
+
+
+
+	private static char digitAt(char[] digits, int start, int nDigits, int index) {
+		return index >= 0 && index < nDigits ? digits[start+index] : '0';
+	}
+
+
+}
@@ -4,8 +4,10 @@ import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.simplemath.vectors.vec3.Vector3i;
 import com.ruegnerlukas.simpleutils.logging.logger.Logger;
 import com.ruegnerlukas.wtsights.data.FileVersion;
+import com.ruegnerlukas.wtsights.data.ImageSidecar;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
+import com.ruegnerlukas.wtsights.data.ballisticdata.LazyImageMap;
 import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.sight.BIndicator;
 import com.ruegnerlukas.wtsights.data.sight.HIndicator;
@@ -17,6 +19,7 @@ import com.ruegnerlukas.wtsights.data.vehicle.Ammo;
 import com.ruegnerlukas.wtsights.ui.sighteditor.StepSizes;
 import com.ruegnerlukas.wtutils.Config;
 import com.ruegnerlukas.wtutils.SightUtils.ScaleMode;
+import javafx.scene.paint.Color;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -28,17 +31,13 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
-import java.util.Map.Entry;
 
 public class DataWriter_v3 implements IDataWriter {
 
@@ -65,8 +64,9 @@ public class DataWriter_v3 implements IDataWriter {
 		Document doc = docBuilder.newDocument();
 		
 		
+		// version 4: older versions would load the file without the images in the sidecar
 		Element rootElement = doc.createElement("ballisticdata");
-		rootElement.setAttribute("fileversion", FileVersion.V_2.fileversion);
+		rootElement.setAttribute("fileversion", FileVersion.V_4.fileversion);
 		doc.appendChild(rootElement);
 		
 		Element elementVehicle = doc.createElement(data.vehicle.name);
@@ -118,25 +118,32 @@ public class DataWriter_v3 implements IDataWriter {
 		}
 		
 		
+		// the images are stored in a binary sidecar file, the xml-file only contains their offsets and lengths
+		File fileImages = ImageSidecar.getFile(outputFile);
 		Element elementImages = doc.createElement("images");
+		elementImages.setAttribute("sidecar", fileImages.getName());
 		elementVehicle.appendChild(elementImages);
 		
-		for(Entry<BallisticElement,BufferedImage> entry : data.imagesBallistic.entrySet()) {
-			Element elementImg = doc.createElement("image_element_" + data.elements.indexOf(entry.getKey()));
-			String encodedImage = encodeImage(entry.getValue(), "jpg");
-			elementImg.setAttribute("encodedData", encodedImage);
-			elementImages.appendChild(elementImg);
+		List<Element> imgElements = new ArrayList<Element>();
+		List<byte[]> imgData = new ArrayList<byte[]>();
+		for(BallisticElement element : data.imagesBallistic.keySet()) {
+			imgElements.add(doc.createElement("image_element_" + data.elements.indexOf(element)));
+			imgData.add(getImageBytes(data.imagesBallistic, element));
 		}
 		if(data.imagesZoom.containsKey(true)) {
-			Element elementImg = doc.createElement("image_element_zoomModIn");
-			String encodedImage = encodeImage(data.imagesZoom.get(true), "jpg");
-			elementImg.setAttribute("encodedData", encodedImage);
-			elementImages.appendChild(elementImg);
+			imgElements.add(doc.createElement("image_element_zoomModIn"));
+			imgData.add(getImageBytes(data.imagesZoom, true));
 		}
 		if(data.imagesZoom.containsKey(false)) {
-			Element elementImg = doc.createElement("image_element_zoomModOut");
-			String encodedImage = encodeImage(data.imagesZoom.get(true), "jpg");
-			elementImg.setAttribute("encodedData", encodedImage);
+			imgElements.add(doc.createElement("image_element_zoomModOut"));
+			imgData.add(getImageBytes(data.imagesZoom, false));
+		}
+		
+		long[] offsets = ImageSidecar.write(fileImages, imgData);
+		for(int i=0; i<imgElements.size(); i++) {
+			Element elementImg = imgElements.get(i);
+			elementImg.setAttribute("offset", Long.toString(offsets[i]));
+			elementImg.setAttribute("length", Integer.toString(imgData.get(i).length));
 			elementImages.appendChild(elementImg);
 		}
 		
@@ -156,16 +163,17 @@ public class DataWriter_v3 implements IDataWriter {
 	
 	
 	
-	private static String encodeImage(BufferedImage img, String format) throws IOException {
-	
+	/**
+	 * @return the encoded image as it was loaded or the image encoded as jpg, if it was created/changed since
+	 * */
+	private static <K> byte[] getImageBytes(LazyImageMap<K> images, K key) throws IOException {
+		byte[] bytes = images.getEncoded(key);
+		if(bytes != null) {
+			return bytes;
+		}
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		ImageIO.write(img, format, baos);
-		baos.flush();
-		
-		String strImage = Base64.getEncoder().encodeToString(baos.toByteArray());
-		baos.close();
-		
-		return strImage;
+		ImageIO.write(images.get(key), "jpg", baos);
+		return baos.toByteArray();
 	}
 	
 	
@@ -187,155 +195,184 @@ public class DataWriter_v3 implements IDataWriter {
 			return false;
 		}
 		
-		List<String> lines = new ArrayList<String>();
+		// write into a temporary file next to the target first, so an error can not leave a half-written sight
+		File fileTmp = null;
+		try {
+			fileTmp = File.createTempFile(outputFile.getName(), ".tmp", outputFile.getAbsoluteFile().getParentFile());
+			BlkWriter out = new BlkWriter(fileTmp);
+			try {
+				writeSight(out, data, dataBall);
+			} finally {
+				out.close();
+			}
+			Files.move(fileTmp.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			Logger.get().info("Sight file saved: " + outputFile.getAbsolutePath());
+			return true;
+		} catch (Exception e) {
+			Logger.get().error("An error occured while saving sight");
+			Logger.get().error(e);
+			if(fileTmp != null) {
+				fileTmp.delete();
+			}
+			return false;
+		}
+		
+	}
+	
+	
+	
+	
+	/**
+	 * Writes the sight line by line into the given writer. Nothing is collected in memory, so the time only depends on the number of elements.
+	 * */
+	private void writeSight(BlkWriter out, SightData data, BallisticData dataBall) throws IOException {
 		
 		// metadata
-		lines.add("// created with WTSightEdit " + Config.build_version);
-		lines.add("// fileversion = " + FileVersion.V_3.fileversion);
-		lines.add("// vehicle = " + (dataBall == null ? "unknown" : dataBall.vehicle.name));
-		lines.add("");
+		out.append("// created with WTSightEdit ").append(Config.build_version).endLine();
+		out.append("// fileversion = ").append(FileVersion.V_3.fileversion).endLine();
+		out.append("// vehicle = ").append(dataBall == null ? "unknown" : dataBall.vehicle.name).endLine();
+		out.line();
 		
 		// general
-		lines.add("// general");
-		lines.add("thousandth:t = \"" + data.gnrThousandth.tag + "\"");
-		lines.add("fontSizeMult:r = " + asString(data.gnrFontScale, StepSizes.DECPLACES_SCALE));
-		lines.add("lineSizeMult:r = " + asString(data.gnrLineSize, StepSizes.DECPLACES_SCALE));
-		lines.add("applyCorrectionToGun:b = " + (data.gnrApplyCorrectionToGun ? "yes" : "no") );
-		lines.add("drawCentralLineVert:b = " + (((ElementCentralVertLine)data.getElements(ElementType.CENTRAL_VERT_LINE).get(0)).drawCentralVertLine ? "yes" : "no") );
-		lines.add("drawCentralLineHorz:b = " + (((ElementCentralHorzLine)data.getElements(ElementType.CENTRAL_HORZ_LINE).get(0)).drawCentralHorzLine ? "yes" : "no") );
-		lines.add("");
+		out.line("// general");
+		out.append("thousandth:t = \"").append(data.gnrThousandth.tag).append('"').endLine();
+		out.append("fontSizeMult:r = ").append(data.gnrFontScale, StepSizes.DECPLACES_SCALE).endLine();
+		out.append("lineSizeMult:r = ").append(data.gnrLineSize, StepSizes.DECPLACES_SCALE).endLine();
+		out.append("applyCorrectionToGun:b = ").append(data.gnrApplyCorrectionToGun).endLine();
+		out.append("drawCentralLineVert:b = ").append(((ElementCentralVertLine)data.getElements(ElementType.CENTRAL_VERT_LINE).get(0)).drawCentralVertLine).endLine();
+		out.append("drawCentralLineHorz:b = ").append(((ElementCentralHorzLine)data.getElements(ElementType.CENTRAL_HORZ_LINE).get(0)).drawCentralHorzLine).endLine();
+		out.line();
 		
 		// rangefinder
 		ElementRangefinder rangefinder = (ElementRangefinder)data.getElements(ElementType.RANGEFINDER).get(0);
-		lines.add("// rangefinder");
-		lines.add("rangefinderHorizontalOffset:r = " + asString(rangefinder.position.x, StepSizes.DECPLACES_PIXEL));
-		lines.add("rangefinderVerticalOffset:r = " + asString(rangefinder.position.y, rangefinder.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-		lines.add("rangefinderProgressBarColor1:c = " + (int)(rangefinder.color1.getRed()*255) + "," + (int)(rangefinder.color1.getGreen()*255) + "," + (int)(rangefinder.color1.getBlue()*255) + "," + (int)(rangefinder.color1.getOpacity()*255));
-		lines.add("rangefinderProgressBarColor2:c = " + (int)(rangefinder.color2.getRed()*255) + "," + (int)(rangefinder.color2.getGreen()*255) + "," + (int)(rangefinder.color2.getBlue()*255) + "," + (int)(rangefinder.color2.getOpacity()*255));
-		lines.add("rangefinderTextScale:r = " + asString(rangefinder.textScale, StepSizes.DECPLACES_SCALE));
-		lines.add("rangefinderUseThousandth:b = " + (rangefinder.useThousandth ? "yes" : "no") );
-		lines.add("");
+		out.line("// rangefinder");
+		out.append("rangefinderHorizontalOffset:r = ").append(rangefinder.position.x, StepSizes.DECPLACES_PIXEL).endLine();
+		out.append("rangefinderVerticalOffset:r = ").append(rangefinder.position.y, decPlaces(rangefinder.useThousandth)).endLine();
+		out.append("rangefinderProgressBarColor1:c = ");
+		writeColor(out, rangefinder.color1).endLine();
+		out.append("rangefinderProgressBarColor2:c = ");
+		writeColor(out, rangefinder.color2).endLine();
+		out.append("rangefinderTextScale:r = ").append(rangefinder.textScale, StepSizes.DECPLACES_SCALE).endLine();
+		out.append("rangefinderUseThousandth:b = ").append(rangefinder.useThousandth).endLine();
+		out.line();
 		
 		// horz range indicators
 		ElementHorzRangeIndicators horzRange = (ElementHorzRangeIndicators)data.getElements(ElementType.HORZ_RANGE_INDICATORS).get(0);
-		lines.add("// horizontal range indicators");
-		lines.add("crosshairHorVertSize:p2 = " + asString(horzRange.sizeMajor, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(horzRange.sizeMinor, StepSizes.DECPLACES_SCREENSPACE));
-		lines.add("crosshair_hor_ranges {");
+		out.line("// horizontal range indicators");
+		out.append("crosshairHorVertSize:p2 = ").append(horzRange.sizeMajor, StepSizes.DECPLACES_SCREENSPACE).append(',').append(horzRange.sizeMinor, StepSizes.DECPLACES_SCREENSPACE).endLine();
+		out.line("crosshair_hor_ranges {");
 		for(int i=0; i<horzRange.indicators.size(); i++) {
 			HIndicator indicator = horzRange.indicators.get(i);
 			int mil = indicator.getMil();
 			int label = indicator.isMajor() ? Math.abs(indicator.getMil()) : 0;
-			lines.add("  range:p2 = " + mil + "," + label);	
+			out.append("  range:p2 = ").append(mil).append(',').append(label).endLine();
 		}
-		lines.add("}");
-		lines.add("");
+		out.line("}");
+		out.line();
 		
 		
 		// ballistic range indicators
 		if(!data.getElements(ElementType.BALLISTIC_RANGE_INDICATORS).isEmpty()) {
 			ElementBallRangeIndicator ballRange = (ElementBallRangeIndicator)data.getElements(ElementType.BALLISTIC_RANGE_INDICATORS).get(0);
-			lines.add("// ballistic range indicators");
-			lines.add("drawUpward:b = " + (ballRange.drawUpward ? "yes" : "no") );
-			lines.add("distancePos:p2 = " + asString(ballRange.position.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(ballRange.position.y, StepSizes.DECPLACES_SCREENSPACE));
+			out.line("// ballistic range indicators");
+			out.append("drawUpward:b = ").append(ballRange.drawUpward).endLine();
+			out.append("distancePos:p2 = ");
+			writeVec2(out, ballRange.position.x, ballRange.position.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
 			if(ballRange.move) {
-				lines.add("move:b = " + (ballRange.move ? "yes" : "no") );
+				out.line("move:b = yes");
 			}
 			if(ballRange.scaleMode == ScaleMode.RADIAL) {
-				lines.add("radial:b = " + (ballRange.scaleMode == ScaleMode.RADIAL ? "yes" : "no"));
+				out.line("radial:b = yes");
 			}
 			if(ballRange.circleMode) {
-				lines.add("circleMode:b = " + (ballRange.circleMode ? "yes" : "no"));
+				out.line("circleMode:b = yes");
 			}
-			lines.add("crosshairDistHorSizeMain:p2 = " + asString(ballRange.size.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(ballRange.size.y, StepSizes.DECPLACES_SCREENSPACE));
-			lines.add("textPos:p2 = " + asString(ballRange.textPos.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(ballRange.textPos.y, StepSizes.DECPLACES_SCREENSPACE));
-			lines.add("textAlign:i = " + ballRange.textAlign.id);
-			lines.add("textShift:r = " + asString(ballRange.textShift, 1));
-			lines.add("drawAdditionalLines:b = " + (ballRange.drawAddLines ? "yes" : "no") );
-			lines.add("crosshairDistHorSizeAdditional:p2 = " + asString(ballRange.sizeAddLine.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(ballRange.sizeAddLine.y, StepSizes.DECPLACES_SCREENSPACE));
+			out.append("crosshairDistHorSizeMain:p2 = ");
+			writeVec2(out, ballRange.size.x, ballRange.size.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
+			out.append("textPos:p2 = ");
+			writeVec2(out, ballRange.textPos.x, ballRange.textPos.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
+			out.append("textAlign:i = ").append(ballRange.textAlign.id).endLine();
+			out.append("textShift:r = ").append(ballRange.textShift, 1).endLine();
+			out.append("drawAdditionalLines:b = ").append(ballRange.drawAddLines).endLine();
+			out.append("crosshairDistHorSizeAdditional:p2 = ");
+			writeVec2(out, ballRange.sizeAddLine.x, ballRange.sizeAddLine.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
 			if(ballRange.scaleMode == ScaleMode.RADIAL) {
-				lines.add("radialStretch:r = " + asString(ballRange.radialStretch, 2));
-				lines.add("radialAngle:r = " + asString(ballRange.radialAngle, StepSizes.DECPLACES_ANGLE));
-				lines.add("radialRadius:p2 = " + asString(ballRange.radialRadius, ballRange.radiusUseMils ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + (ballRange.radiusUseMils ? "1" : "0") );
+				out.append("radialStretch:r = ").append(ballRange.radialStretch, 2).endLine();
+				out.append("radialAngle:r = ").append(ballRange.radialAngle, StepSizes.DECPLACES_ANGLE).endLine();
+				out.append("radialRadius:p2 = ").append(ballRange.radialRadius, decPlaces(ballRange.radiusUseMils)).append(',').append(ballRange.radiusUseMils ? '1' : '0').endLine();
 			}
-			lines.add("drawDistanceCorrection:b = " + (ballRange.drawCorrLabel ? "yes" : "no") );
+			out.append("drawDistanceCorrection:b = ").append(ballRange.drawCorrLabel).endLine();
 			if(ballRange.drawCorrLabel) {
-				lines.add("distanceCorrectionPos:p2 = " + asString(ballRange.posCorrLabel.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(ballRange.posCorrLabel.y, StepSizes.DECPLACES_SCREENSPACE));
+				out.append("distanceCorrectionPos:p2 = ");
+				writeVec2(out, ballRange.posCorrLabel.x, ballRange.posCorrLabel.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
 			}
-			lines.add("");
+			out.line();
 			
-			lines.add("crosshair_distances {");
+			out.line("crosshair_distances {");
 			for(int i=0; i<ballRange.indicators.size(); i++) {
-				BIndicator indicator = ballRange.indicators.get(i);
-				int dist = indicator.getDistance();
-				boolean major = indicator.isMajor();
-				int label = major ? Math.abs(dist/100) : 0;
-				String extend = asString(indicator.getExtend(), StepSizes.DECPLACES_SCREENSPACE);
-				Vector2d textOff = new Vector2d(indicator.getTextX(), indicator.getTextY());
-				lines.add("    distance { distance:p3="+dist + "," + label + "," + extend + "; textPos:p2=" + asString(textOff.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(textOff.y, StepSizes.DECPLACES_SCREENSPACE) + "; }");
+				writeDistance(out, "    ", ballRange.indicators.get(i));
 			}
-			lines.add("}");
-			lines.add("");
+			out.line("}");
+			out.line();
 		}
 		
 		
 		
 		//  shell ballistics blocks
 		if(!data.getElements(ElementType.SHELL_BALLISTICS_BLOCK).isEmpty()) {
-			lines.add("// shell ballistics blocks");
-			lines.add("ballistics {");
+			out.line("// shell ballistics blocks");
+			out.line("ballistics {");
 			
 			for(BaseElement element : data.getElements(ElementType.SHELL_BALLISTICS_BLOCK)) {
 
 				ElementShellBlock shellBlock = (ElementShellBlock)element;
 				
-				lines.add("  //-- eid=\"" + getElementIdentifier(shellBlock, null) + "\"");
-				lines.add("  bullet {");
+				writeElementIdentifier(out, shellBlock, null);
+				out.line("  bullet {");
 				
 				for(Ammo ammo : shellBlock.elementBallistic.ammunition) {
-					lines.add("    bulletType:t = \"" + ammo.type + "\"");
-					lines.add("    speed:r = " + ammo.speed);
+					out.append("    bulletType:t = \"").append(ammo.type).append('"').endLine();
+					out.append("    speed:r = ").append(ammo.speed).endLine();
 				}
-				lines.add("    triggerGroup:t = \"" + shellBlock.triggerGroup + "\"");
-				lines.add("    thousandth:b = " + "no");
-				lines.add("    drawUpward:b = " + (shellBlock.drawUpward ? "yes" : "no") );
-				lines.add("    distancePos:p2 = " + asString(shellBlock.position.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(shellBlock.position.y, StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    move:b = " + (shellBlock.move ? "yes" : "no") );
+				out.append("    triggerGroup:t = \"").append(String.valueOf(shellBlock.triggerGroup)).append('"').endLine();
+				out.line("    thousandth:b = no");
+				out.append("    drawUpward:b = ").append(shellBlock.drawUpward).endLine();
+				out.append("    distancePos:p2 = ");
+				writeVec2(out, shellBlock.position.x, shellBlock.position.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
+				out.append("    move:b = ").append(shellBlock.move).endLine();
 				if(shellBlock.scaleMode == ScaleMode.RADIAL) {
-					lines.add("    radial:b = " + (shellBlock.scaleMode == ScaleMode.RADIAL ? "yes" : "no") );
+					out.line("    radial:b = yes");
 				}
 				if(shellBlock.circleMode) {
-					lines.add("    circleMode:b = " + (shellBlock.circleMode ? "yes" : "no") );
+					out.line("    circleMode:b = yes");
 				}
-				lines.add("    crosshairDistHorSizeMain:p2 = " + asString(shellBlock.size.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(shellBlock.size.y, StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    textPos:p2 = " + asString(shellBlock.textPos.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(shellBlock.textPos.y, StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    textAlign:i = " + shellBlock.textAlign.id);
-				lines.add("    textShift:r = " + asString(shellBlock.textShift, StepSizes.DECPLACES_SCREENSPACE));
+				out.append("    crosshairDistHorSizeMain:p2 = ");
+				writeVec2(out, shellBlock.size.x, shellBlock.size.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
+				out.append("    textPos:p2 = ");
+				writeVec2(out, shellBlock.textPos.x, shellBlock.textPos.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
+				out.append("    textAlign:i = ").append(shellBlock.textAlign.id).endLine();
+				out.append("    textShift:r = ").append(shellBlock.textShift, StepSizes.DECPLACES_SCREENSPACE).endLine();
 				
-				lines.add("    drawAdditionalLines:b = " + (shellBlock.drawAddLines ? "yes" : "no") );
-				lines.add("    crosshairDistHorSizeAdditional:p2 = " + asString(shellBlock.sizeAddLine.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(shellBlock.sizeAddLine.y, StepSizes.DECPLACES_SCREENSPACE));
+				out.append("    drawAdditionalLines:b = ").append(shellBlock.drawAddLines).endLine();
+				out.append("    crosshairDistHorSizeAdditional:p2 = ");
+				writeVec2(out, shellBlock.sizeAddLine.x, shellBlock.sizeAddLine.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
 				
 				if(shellBlock.scaleMode == ScaleMode.RADIAL) {
-					lines.add("radialStretch:r = " + asString(shellBlock.radialStretch, 2));
-					lines.add("radialAngle:r = " + asString(shellBlock.radialAngle, StepSizes.DECPLACES_ANGLE));
-					lines.add("radialRadius:p2 = " + asString(shellBlock.radialRadius, shellBlock.radiusUseMils ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + (shellBlock.radiusUseMils ? "1" : "0") );
+					out.append("radialStretch:r = ").append(shellBlock.radialStretch, 2).endLine();
+					out.append("radialAngle:r = ").append(shellBlock.radialAngle, StepSizes.DECPLACES_ANGLE).endLine();
+					out.append("radialRadius:p2 = ").append(shellBlock.radialRadius, decPlaces(shellBlock.radiusUseMils)).append(',').append(shellBlock.radiusUseMils ? '1' : '0').endLine();
 				}
-				lines.add("    crosshair_distances {");
+				out.line("    crosshair_distances {");
 				
 				for(int i=0; i<shellBlock.indicators.size(); i++) {
-					BIndicator indicator = shellBlock.indicators.get(i);
-					int dist = indicator.getDistance();
-					boolean major = indicator.isMajor();
-					int label = major ? Math.abs(dist/100) : 0;
-					String extend = asString(indicator.getExtend(), StepSizes.DECPLACES_SCREENSPACE);
-					Vector2d textOff = new Vector2d(indicator.getTextX(), indicator.getTextY());
-					lines.add("        distance { distance:p3="+dist + "," + label + "," + extend + "; textPos:p2=" + asString(textOff.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(textOff.y, StepSizes.DECPLACES_SCREENSPACE) + "; }");
+					writeDistance(out, "        ", shellBlock.indicators.get(i));
 				}
-				lines.add("    }");
-				lines.add("  }");
+				out.line("    }");
+				out.line("  }");
 			}
 			
-			lines.add("}");
-			lines.add("");
+			out.line("}");
+			out.line();
 		}
 		
 		
@@ -346,58 +383,30 @@ public class DataWriter_v3 implements IDataWriter {
 				|| !data.getElements(ElementType.CUSTOM_POLY_OUTLINE).isEmpty()
 				|| !data.getElements(ElementType.CUSTOM_QUAD_OUTLINE).isEmpty()
 				|| !data.getElements(ElementType.FUNNEL).isEmpty()) {
-			lines.add("// lines");
-			lines.add("drawLines {");
+			out.line("// lines");
+			out.line("drawLines {");
 			
 			// lines
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_LINE)) {
 				ElementCustomLine lineObj = (ElementCustomLine)element;
-				lines.add("  //-- eid=\"" + getElementIdentifier(lineObj, null) + "\"");
-				lines.add("  line {");
-				lines.add("    thousandth:b = " + (lineObj.useThousandth ? "yes" : "no") );
-				if(lineObj.movement == Movement.MOVE) {
-					lines.add("    move:b = " + (lineObj.movement == Movement.STATIC ? "no" : "yes") );
-				}
-				if(lineObj.movement == Movement.MOVE_RADIAL) {
-					lines.add("    moveRadial:b = " + (lineObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-					lines.add("    radialAngle:r = " + asString(lineObj.angle, StepSizes.DECPLACES_ANGLE));
-					lines.add("    radialCenter:p2 = " + asString(lineObj.radCenter.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(lineObj.radCenter.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    radialMoveSpeed:r = " + asString(lineObj.speed, StepSizes.DECPLACES_SPEED));
-					if(!lineObj.autoCenter) {
-						lines.add("    center:p2 = " + asString(lineObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(lineObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-				}
-				lines.add("    line:p4 = " 
-									+ asString(lineObj.start.x+lineObj.positionOffset.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-									+ asString(lineObj.start.y+lineObj.positionOffset.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ", "
-									+ asString(lineObj.end.x+lineObj.positionOffset.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-									+ asString(lineObj.end.y+lineObj.positionOffset.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("  }");
+				writeElementIdentifier(out, lineObj, null);
+				out.line("  line {");
+				out.append("    thousandth:b = ").append(lineObj.useThousandth).endLine();
+				writeMovement(out, lineObj, !lineObj.autoCenter);
+				writeLine(out, lineObj, lineObj.positionOffset);
+				out.line("  }");
 			}
 			
 			// polygon outlines
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_POLY_OUTLINE)) {
 				ElementCustomPolygonOutline polyObj = (ElementCustomPolygonOutline)element;
 				for(ElementCustomLine lineObj : polyObj.getLines()) {
-					lines.add("  //-- eid=\"" + getElementIdentifier(polyObj, lineObj) + "\"");
-					lines.add("  line {");
-					lines.add("    thousandth:b = " + (lineObj.useThousandth ? "yes" : "no") );
-					if(polyObj.movement == Movement.MOVE) {
-						lines.add("    move:b = " + (polyObj.movement == Movement.STATIC ? "no" : "yes") );
-					}
-					if(polyObj.movement == Movement.MOVE_RADIAL) {
-						lines.add("    moveRadial:b = " + (polyObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-						lines.add("    radialAngle:r = " + asString(polyObj.angle, StepSizes.DECPLACES_ANGLE));
-						lines.add("    radialCenter:p2 = " + asString(polyObj.radCenter.x, polyObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(polyObj.radCenter.y, polyObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-						lines.add("    radialMoveSpeed:r = " + asString(polyObj.speed, StepSizes.DECPLACES_SPEED));
-						lines.add("    center:p2 = " + asString(polyObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(polyObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-					lines.add("    line:p4 = " 
-							+ asString(lineObj.start.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-							+ asString(lineObj.start.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ", "
-							+ asString(lineObj.end.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-							+ asString(lineObj.end.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));					
-					lines.add("  }");
+					writeElementIdentifier(out, polyObj, lineObj);
+					out.line("  line {");
+					out.append("    thousandth:b = ").append(lineObj.useThousandth).endLine();
+					writeMovement(out, polyObj, true);
+					writeLine(out, lineObj, null);
+					out.line("  }");
 				}
 			}
 			
@@ -405,25 +414,12 @@ public class DataWriter_v3 implements IDataWriter {
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_QUAD_OUTLINE)) {
 				ElementCustomQuadOutline quadObj = (ElementCustomQuadOutline)element;
 				for(ElementCustomLine lineObj : quadObj.getLines()) {
-					lines.add("  //-- eid=\"" + getElementIdentifier(quadObj, lineObj) + "\"");
-					lines.add("  line {");
-					lines.add("    thousandth:b = " + (lineObj.useThousandth ? "yes" : "no") );
-					if(quadObj.movement == Movement.MOVE) {
-						lines.add("    move:b = " + (quadObj.movement == Movement.STATIC ? "no" : "yes") );
-					}
-					if(quadObj.movement == Movement.MOVE_RADIAL) {
-						lines.add("    moveRadial:b = " + (quadObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-						lines.add("    radialAngle:r = " + asString(quadObj.angle, StepSizes.DECPLACES_ANGLE));
-						lines.add("    radialCenter:p2 = " + asString(quadObj.radCenter.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.radCenter.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-						lines.add("    radialMoveSpeed:r = " + asString(quadObj.speed, StepSizes.DECPLACES_SPEED));
-						lines.add("    center:p2 = " + asString(quadObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-					lines.add("    line:p4 = " 
-							+ asString(lineObj.start.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-							+ asString(lineObj.start.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ", "
-							+ asString(lineObj.end.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-							+ asString(lineObj.end.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));				
-					lines.add("  }");
+					writeElementIdentifier(out, quadObj, lineObj);
+					out.line("  line {");
+					out.append("    thousandth:b = ").append(lineObj.useThousandth).endLine();
+					writeMovement(out, quadObj, true);
+					writeLine(out, lineObj, null);
+					out.line("  }");
 				}
 			}
 			
@@ -431,348 +427,337 @@ public class DataWriter_v3 implements IDataWriter {
 			for(BaseElement element : data.getElements(ElementType.FUNNEL)) {
 				ElementFunnel funnel = (ElementFunnel)element;
 				for(ElementCustomLine lineObj : funnel.getLines()) {
-					lines.add("  //-- eid=\"" + getElementIdentifier(funnel, lineObj) + "\"");
-					lines.add("  line {");
-					lines.add("    thousandth:b = " + funnel.useThousandth );
+					writeElementIdentifier(out, funnel, lineObj);
+					out.line("  line {");
+					out.append("    thousandth:b = ").append(Boolean.toString(funnel.useThousandth)).endLine();
 					if(funnel.movement == Movement.MOVE) {
-						lines.add("    move:b = " + (funnel.movement == Movement.STATIC ? "no" : "yes") );
+						out.line("    move:b = yes");
 					}
-					lines.add("    line:p4 = " 
-							+ asString(lineObj.start.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-							+ asString(lineObj.start.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ", "
-							+ asString(lineObj.end.x, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + ","
-							+ asString(lineObj.end.y, lineObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));				
-					lines.add("  }");
+					writeLine(out, lineObj, null);
+					out.line("  }");
 				}
 			}
 			
-			lines.add("}");
-			lines.add("");
+			out.line("}");
+			out.line();
 		}
 		
 		// text
 		if(!data.getElements(ElementType.CUSTOM_TEXT).isEmpty()) {
-			lines.add("// text");
-			lines.add("drawTexts {");
+			out.line("// text");
+			out.line("drawTexts {");
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_TEXT)) {
 				ElementCustomText textObj = (ElementCustomText)element;
-				lines.add("  //-- eid=\"" + getElementIdentifier(textObj, null) + "\"");
-				lines.add("  text {");
-				lines.add("    text:t = " + "\""+textObj.text + "\"");
-				lines.add("    thousandth:b = " + (textObj.useThousandth ? "yes" : "no") );
-				if(textObj.movement == Movement.MOVE) {
-					lines.add("    move:b = " + (textObj.movement == Movement.STATIC ? "no" : "yes") );
-				}
-				if(textObj.movement == Movement.MOVE_RADIAL) {
-					lines.add("    moveRadial:b = " + (textObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-					lines.add("    radialAngle:r = " + asString(textObj.angle, StepSizes.DECPLACES_ANGLE));
-					lines.add("    radialCenter:p2 = " + asString(textObj.radCenter.x, textObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(textObj.radCenter.y, textObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    radialMoveSpeed:r = " + asString(textObj.speed, StepSizes.DECPLACES_SPEED));
-					if(!textObj.autoCenter) {
-						lines.add("    center:p2 = " + asString(textObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(textObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-				}
-				lines.add("    pos:p2 = " + asString(textObj.position.x, textObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(textObj.position.y, textObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    align:i = " + textObj.align.id);
-				lines.add("    size:r = " + asString(textObj.size, StepSizes.DECPLACES_SCREENSPACE));
+				writeElementIdentifier(out, textObj, null);
+				out.line("  text {");
+				out.append("    text:t = \"").append(textObj.text).append('"').endLine();
+				out.append("    thousandth:b = ").append(textObj.useThousandth).endLine();
+				writeMovement(out, textObj, !textObj.autoCenter);
+				out.append("    pos:p2 = ");
+				writeVec2(out, textObj.position.x, textObj.position.y, decPlaces(textObj.useThousandth)).endLine();
+				out.append("    align:i = ").append(textObj.align.id).endLine();
+				out.append("    size:r = ").append(textObj.size, StepSizes.DECPLACES_SCREENSPACE).endLine();
 				if(textObj.enableHighlight) {
-					lines.add("    highlight:b = yes");
+					out.line("    highlight:b = yes");
 				}
-				lines.add("  }");
+				out.line("  }");
 			}
-			lines.add("}");
-			lines.add("");
+			out.line("}");
+			out.line();
 		}
 		
 		// circles
 		if(!data.getElements(ElementType.CUSTOM_CIRCLE_OUTLINE).isEmpty()) {
-			lines.add("// circles");
-			lines.add("drawCircles {");
+			out.line("// circles");
+			out.line("drawCircles {");
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_CIRCLE_OUTLINE)) {
 				ElementCustomCircleOutline circleObj = (ElementCustomCircleOutline)element;
-				lines.add("  //-- eid=\"" + getElementIdentifier(circleObj, null) + "\"");
-				lines.add("  circle {");
-				lines.add("    thousandth:b = " + (circleObj.useThousandth ? "yes" : "no") );
-				if(circleObj.movement == Movement.MOVE) {
-					lines.add("    move:b = " + (circleObj.movement == Movement.STATIC ? "no" : "yes") );
-				}
-				if(circleObj.movement == Movement.MOVE_RADIAL) {
-					lines.add("    moveRadial:b = " + (circleObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-					lines.add("    radialAngle:r = " + asString(circleObj.angle, StepSizes.DECPLACES_ANGLE));
-					lines.add("    radialCenter:p2 = " + asString(circleObj.radCenter.x, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(circleObj.radCenter.y, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    radialMoveSpeed:r = " + asString(circleObj.speed, StepSizes.DECPLACES_SPEED));
-					if(!circleObj.autoCenter) {
-						lines.add("    center:p2 = " + asString(circleObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(circleObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-				}
-				lines.add("    segment:p2 = " + asString(circleObj.segment.x, StepSizes.DECPLACES_ANGLE) + "," + asString(circleObj.segment.y, StepSizes.DECPLACES_ANGLE));
-				lines.add("    pos:p2 = " + asString(circleObj.position.x, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(circleObj.position.y, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    diameter:r = " + asString(circleObj.diameter, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    size:r = " + asString(circleObj.size, StepSizes.DECPLACES_THICKNESS));
-				lines.add("  }");
+				writeElementIdentifier(out, circleObj, null);
+				out.line("  circle {");
+				out.append("    thousandth:b = ").append(circleObj.useThousandth).endLine();
+				writeMovement(out, circleObj, !circleObj.autoCenter);
+				out.append("    segment:p2 = ");
+				writeVec2(out, circleObj.segment.x, circleObj.segment.y, StepSizes.DECPLACES_ANGLE).endLine();
+				out.append("    pos:p2 = ");
+				writeVec2(out, circleObj.position.x, circleObj.position.y, decPlaces(circleObj.useThousandth)).endLine();
+				out.append("    diameter:r = ").append(circleObj.diameter, decPlaces(circleObj.useThousandth)).endLine();
+				out.append("    size:r = ").append(circleObj.size, StepSizes.DECPLACES_THICKNESS).endLine();
+				out.line("  }");
 			}
-			lines.add("}");
-			lines.add("");
+			out.line("}");
+			out.line();
 		}
 		
 		
 		// quads
 		if(!data.getElements(ElementType.CUSTOM_QUAD_FILLED).isEmpty() || !data.getElements(ElementType.CUSTOM_POLY_FILLED).isEmpty() || !data.getElements(ElementType.CUSTOM_CIRCLE_FILLED).isEmpty()) {
-			lines.add("// quads");
-			lines.add("drawQuads {");
+			out.line("// quads");
+			out.line("drawQuads {");
 			
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_QUAD_FILLED)) {
 				ElementCustomQuadFilled quadObj = (ElementCustomQuadFilled)element;
-				lines.add("  //-- eid=\"" + getElementIdentifier(quadObj, null) + "\"");
-				lines.add("  quad {");
-				lines.add("    thousandth:b = " + (quadObj.useThousandth ? "yes" : "no") );
-				if(quadObj.movement == Movement.MOVE) {
-					lines.add("    move:b = " + (quadObj.movement == Movement.STATIC ? "no" : "yes") );
-				}
-				if(quadObj.movement == Movement.MOVE_RADIAL) {
-					lines.add("    moveRadial:b = " + (quadObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-					lines.add("    radialAngle:r = " + asString(quadObj.angle, StepSizes.DECPLACES_ANGLE));
-					lines.add("    radialCenter:p2 = " + asString(quadObj.radCenter.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.radCenter.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    radialMoveSpeed:r = " + asString(quadObj.speed, StepSizes.DECPLACES_SPEED));
-					if(!quadObj.autoCenter) {
-						lines.add("    center:p2 = " + asString(quadObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-				}
-				lines.add("    tl:p2 = " + asString(quadObj.pos1.x+quadObj.positionOffset.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos1.y+quadObj.positionOffset.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    tr:p2 = " + asString(quadObj.pos2.x+quadObj.positionOffset.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos2.y+quadObj.positionOffset.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    br:p2 = " + asString(quadObj.pos3.x+quadObj.positionOffset.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos3.y+quadObj.positionOffset.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("    bl:p2 = " + asString(quadObj.pos4.x+quadObj.positionOffset.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos4.y+quadObj.positionOffset.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-				lines.add("  }");
+				writeElementIdentifier(out, quadObj, null);
+				out.line("  quad {");
+				out.append("    thousandth:b = ").append(quadObj.useThousandth).endLine();
+				writeMovement(out, quadObj, !quadObj.autoCenter);
+				writeQuad(out, quadObj, quadObj.positionOffset);
+				out.line("  }");
 			}
 			
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_POLY_FILLED)) {
 				ElementCustomPolygonFilled polyObj = (ElementCustomPolygonFilled)element;
 				for(ElementCustomQuadFilled quadObj : polyObj.getQuads()) {
-					lines.add("  //-- eid=\"" + getElementIdentifier(polyObj, quadObj) + "\"");
-					lines.add("  quad {");
-					lines.add("    thousandth:b = " + (polyObj.useThousandth ? "yes" : "no") );
-					if(polyObj.movement == Movement.MOVE) {
-						lines.add("    move:b = " + (polyObj.movement == Movement.STATIC ? "no" : "yes") );
-					}
-					if(polyObj.movement == Movement.MOVE_RADIAL) {
-						lines.add("    moveRadial:b = " + (polyObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-						lines.add("    radialAngle:r = " + asString(polyObj.angle, StepSizes.DECPLACES_ANGLE));
-						lines.add("    radialCenter:p2 = " + asString(polyObj.radCenter.x, polyObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(polyObj.radCenter.y, polyObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-						lines.add("    radialMoveSpeed:r = " + asString(polyObj.speed, StepSizes.DECPLACES_SPEED));
-						lines.add("    center:p2 = " + asString(polyObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(polyObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-					lines.add("    tl:p2 = " + asString(quadObj.pos1.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos1.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    tr:p2 = " + asString(quadObj.pos2.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos2.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    br:p2 = " + asString(quadObj.pos3.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos3.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    bl:p2 = " + asString(quadObj.pos4.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos4.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("  }");
+					writeElementIdentifier(out, polyObj, quadObj);
+					out.line("  quad {");
+					out.append("    thousandth:b = ").append(polyObj.useThousandth).endLine();
+					writeMovement(out, polyObj, true);
+					writeQuad(out, quadObj, null);
+					out.line("  }");
 				}
 			}
 			
 			for(BaseElement element : data.getElements(ElementType.CUSTOM_CIRCLE_FILLED)) {
 				ElementCustomCircleFilled circleObj = (ElementCustomCircleFilled)element;
 				for(ElementCustomQuadFilled quadObj : circleObj.getQuads()) {
-					lines.add("  //-- eid=\"" + getElementIdentifier(circleObj, quadObj) + "\"");
-					lines.add("  quad {");
-					lines.add("    thousandth:b = " + (circleObj.useThousandth ? "yes" : "no") );
-					if(circleObj.movement == Movement.MOVE) {
-						lines.add("    move:b = " + (circleObj.movement == Movement.STATIC ? "no" : "yes") );
-					}
-					if(circleObj.movement == Movement.MOVE_RADIAL) {
-						lines.add("    moveRadial:b = " + (circleObj.movement == Movement.MOVE_RADIAL ? "yes" : "no") );
-						lines.add("    radialAngle:r = " + asString(circleObj.angle, StepSizes.DECPLACES_ANGLE));
-						lines.add("    radialCenter:p2 = " + asString(circleObj.radCenter.x, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(circleObj.radCenter.y, circleObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-						lines.add("    radialMoveSpeed:r = " + asString(circleObj.speed, StepSizes.DECPLACES_SPEED));
-						lines.add("    center:p2 = " + asString(circleObj.center.x, StepSizes.DECPLACES_SCREENSPACE) + "," + asString(circleObj.center.y, StepSizes.DECPLACES_SCREENSPACE));
-					}
-					lines.add("    tl:p2 = " + asString(quadObj.pos1.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos1.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    tr:p2 = " + asString(quadObj.pos2.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos2.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    br:p2 = " + asString(quadObj.pos3.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos3.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("    bl:p2 = " + asString(quadObj.pos4.x, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + "," + asString(quadObj.pos4.y, quadObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE));
-					lines.add("  }");
+					writeElementIdentifier(out, circleObj, quadObj);
+					out.line("  quad {");
+					out.append("    thousandth:b = ").append(circleObj.useThousandth).endLine();
+					writeMovement(out, circleObj, true);
+					writeQuad(out, quadObj, null);
+					out.line("  }");
 				}
 			}
 			
-			lines.add("}");
-			lines.add("");
-			lines.add("");
-			lines.add("");
+			out.line("}");
+			out.line();
+			out.line();
+			out.line();
 		}
 		
 		
 		// write element metadata
-		lines.add("//-- metadata start");
+		out.line("//-- metadata start");
 		for(BaseElement element : data.getElements(ElementType.SHELL_BALLISTICS_BLOCK)) {
 			ElementShellBlock shellBlock = (ElementShellBlock)element;
-			String strAmmo = "";
+			writeMetadataStart(out, shellBlock).append(", ");
+			out.append("ammo=\"");
 			for(int i=0; i<shellBlock.elementBallistic.ammunition.size(); i++) {
-				strAmmo += shellBlock.elementBallistic.ammunition.get(i).name;
+				out.append(shellBlock.elementBallistic.ammunition.get(i).name);
 				if(i != shellBlock.elementBallistic.ammunition.size()-1) {
-					strAmmo += ", ";
+					out.append(", ");
 				}
 			}
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(shellBlock, null)).append(", ");
-			buildAttribute(sb, "name", shellBlock.name).append(", ");
-			buildAttribute(sb, "type", shellBlock.type.toString()).append(", ");
-			buildAttribute(sb, "ammo", strAmmo);
-			lines.add(sb.toString());
+			out.append('"').endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_LINE)) {
-			ElementCustomLine lineObj = (ElementCustomLine)element;
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(lineObj, null)).append(", ");
-			buildAttribute(sb, "name", lineObj.name).append(", ");
-			buildAttribute(sb, "type", lineObj.type.toString());
-			lines.add(sb.toString());
+			writeMetadataStart(out, element).endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_POLY_OUTLINE)) {
 			ElementCustomPolygonOutline polyObj = (ElementCustomPolygonOutline)element;
-			String strVertices = "";
-			for(int i=0; i<polyObj.getLines().size(); i++) {
-				ElementCustomLine lineObj = (ElementCustomLine)polyObj.getLines().get(i);
-				strVertices += getElementIdentifier(lineObj, null);
-				if(i != polyObj.getLines().size()-1) {
-					strVertices += ",";
-				}
-			}
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(polyObj, null)).append(", ");
-			buildAttribute(sb, "name", polyObj.name).append(", ");
-			buildAttribute(sb, "type", polyObj.type.toString()).append(", ");
-			buildAttribute(sb, "vertices", strVertices);
-			lines.add(sb.toString());
+			writeMetadataStart(out, polyObj).append(", ");
+			writeVertices(out, polyObj.getLines()).endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_QUAD_OUTLINE)) {
 			ElementCustomQuadOutline quadObj = (ElementCustomQuadOutline)element;
-			String strVertices = "";
-			for(int i=0; i<quadObj.getLines().size(); i++) {
-				ElementCustomLine lineObj = (ElementCustomLine)quadObj.getLines().get(i);
-				strVertices += getElementIdentifier(lineObj, null);
-				if(i != quadObj.getLines().size()-1) {
-					strVertices += ",";
-				}
-			}
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(quadObj, null)).append(", ");
-			buildAttribute(sb, "name", quadObj.name).append(", ");
-			buildAttribute(sb, "type", quadObj.type.toString()).append(", ");
-			buildAttribute(sb, "vertices", strVertices);
-			lines.add(sb.toString());
+			writeMetadataStart(out, quadObj).append(", ");
+			writeVertices(out, quadObj.getLines()).endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.FUNNEL)) {
 			ElementFunnel funnelObj = (ElementFunnel)element;
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(funnelObj, null)).append(", ");
-			buildAttribute(sb, "name", funnelObj.name).append(", ");
-			buildAttribute(sb, "type", funnelObj.type.toString()).append(", ");
-			buildAttribute(sb, "sizetarget", funnelObj.sizeTargetCM+"").append(", ");
-			buildAttribute(sb, "range", funnelObj.rangeStart+" "+funnelObj.rangeEnd+" "+funnelObj.rangeStep).append(", ");
-			buildAttribute(sb, "shell", funnelObj.elementBallistic.ammunition.get(0).name).append(", ");
-			buildAttribute(sb, "data", (funnelObj.showLeft?"l":"")
-										+(funnelObj.showRight?"r":"")
-										+(funnelObj.horz?"h":"")
-										+(funnelObj.flip?"f":"")
-										+(funnelObj.baseLine?"b":"")).append(", ");
-			buildAttribute(sb, "offset", 
-					asString(funnelObj.offset.x, funnelObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE) + " " +
-					asString(funnelObj.offset.y, funnelObj.useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE)).append(", ");
-			lines.add(sb.toString());
+			writeMetadataStart(out, funnelObj).append(", ");
+			out.append("sizetarget=\"").append(funnelObj.sizeTargetCM).append("\", ");
+			out.append("range=\"").append(funnelObj.rangeStart).append(' ').append(funnelObj.rangeEnd).append(' ').append(funnelObj.rangeStep).append("\", ");
+			writeAttribute(out, "shell", funnelObj.elementBallistic.ammunition.get(0).name).append(", ");
+			out.append("data=\"");
+			if(funnelObj.showLeft) { out.append('l'); }
+			if(funnelObj.showRight) { out.append('r'); }
+			if(funnelObj.horz) { out.append('h'); }
+			if(funnelObj.flip) { out.append('f'); }
+			if(funnelObj.baseLine) { out.append('b'); }
+			out.append("\", ");
+			out.append("offset=\"").append(funnelObj.offset.x, decPlaces(funnelObj.useThousandth)).append(' ').append(funnelObj.offset.y, decPlaces(funnelObj.useThousandth)).append("\", ");
+			out.endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_TEXT)) {
-			ElementCustomText textObj = (ElementCustomText)element;
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(textObj, null)).append(", ");
-			buildAttribute(sb, "name", textObj.name).append(", ");
-			buildAttribute(sb, "type", textObj.type.toString());
-			lines.add(sb.toString());
+			writeMetadataStart(out, element).endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_CIRCLE_OUTLINE)) {
-			ElementCustomCircleOutline circleObj = (ElementCustomCircleOutline)element;
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(circleObj, null)).append(", ");
-			buildAttribute(sb, "name", circleObj.name).append(", ");
-			buildAttribute(sb, "type", circleObj.type.toString());
-			lines.add(sb.toString());
+			writeMetadataStart(out, element).endLine();
 		}
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_QUAD_FILLED)) {
-			ElementCustomQuadFilled quadObj = (ElementCustomQuadFilled)element;
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(quadObj, null)).append(", ");
-			buildAttribute(sb, "name", quadObj.name).append(", ");
-			buildAttribute(sb, "type", quadObj.type.toString());
-			lines.add(sb.toString());
+			writeMetadataStart(out, element).endLine();
 		}
 		
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_POLY_FILLED)) {
 			ElementCustomPolygonFilled polyObj = (ElementCustomPolygonFilled)element;
-			String strTriangles = "";
+			writeMetadataStart(out, polyObj).append(", ");
+			out.append("size=\"").append(polyObj.getVertices().size()).append("\", ");
+			out.append("tris=\"");
 			for(int i=0; i<polyObj.getQuads().size(); i++) {
 				ElementCustomQuadFilled quadObj = (ElementCustomQuadFilled)polyObj.getQuads().get(i);
 				Vector3i indices = polyObj.getTriangleIndices(quadObj);
-				strTriangles += getElementIdentifier(quadObj, null) + "=[" + indices.x + " " + indices.y + " " + indices.z + "]";
+				out.append(getElementIdentifier(quadObj, null)).append("=[").append(indices.x).append(' ').append(indices.y).append(' ').append(indices.z).append(']');
 				if(i != polyObj.getQuads().size()-1) {
-					strTriangles += ",";
+					out.append(',');
 				}
 			}
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(polyObj, null)).append(", ");
-			buildAttribute(sb, "name", polyObj.name).append(", ");
-			buildAttribute(sb, "type", polyObj.type.toString()).append(", ");
-			buildAttribute(sb, "size", polyObj.getVertices().size()+"").append(", ");
-			buildAttribute(sb, "tris", strTriangles);
-			lines.add(sb.toString());
+			out.append('"').endLine();
 		}
 		
 		
 		for(BaseElement element : data.getElements(ElementType.CUSTOM_CIRCLE_FILLED)) {
 			ElementCustomCircleFilled circleObj = (ElementCustomCircleFilled)element;
-			StringBuilder sb = new StringBuilder().append("//-- ");
-			buildAttribute(sb, "eid", getElementIdentifier(circleObj, null)).append(", ");
-			buildAttribute(sb, "name", circleObj.name).append(", ");
-			buildAttribute(sb, "type", circleObj.type.toString()).append(", ");
-			buildAttribute(sb, "segment", circleObj.segment.x+" "+circleObj.segment.y).append(", ");
-			buildAttribute(sb, "quality", circleObj.quality+"");
-			lines.add(sb.toString());
-		}
-		lines.add("//-- metadata end");
-
-
-		try {
-			Files.write(Paths.get(outputFile.getAbsolutePath()), lines, Charset.forName("UTF-8"));
-			Logger.get().info("Sight file saved: " + outputFile.getAbsolutePath());
-			return true;
-		} catch (IOException e) {
-			Logger.get().error("An error occured while saving sight");
-			Logger.get().error(e);
-			return false;
+			writeMetadataStart(out, circleObj).append(", ");
+			out.append("segment=\"").append(Double.toString(circleObj.segment.x)).append(' ').append(Double.toString(circleObj.segment.y)).append("\", ");
+			out.append("quality=\"").append(Double.toString(circleObj.quality)).append('"').endLine();
 		}
-		
+		out.line("//-- metadata end");
 		
 	}
 	
 	
 	
-	private StringBuilder buildAttribute(StringBuilder sb, String key, String value) {
-		return sb.append(key).append('=').append('"').append(value).append('"');
+	
+	private static int decPlaces(boolean useThousandth) {
+		return useThousandth ? StepSizes.DECPLACES_MIL : StepSizes.DECPLACES_SCREENSPACE;
 	}
 	
 	
 	
 	
-	private String getElementIdentifier(BaseElement element, BaseElement subElement) {
-		return Integer.toHexString(element.hashCode()) + (subElement != null ? "-" + Integer.toHexString(subElement.hashCode()) : "");
+	private static BlkWriter writeVec2(BlkWriter out, double x, double y, int decPlaces) throws IOException {
+		return out.append(x, decPlaces).append(',').append(y, decPlaces);
 	}
-
 	
 	
 	
-	private static String asString(double value, int decPlaces) {
-		String s = String.format("%." + decPlaces + "f", value).replaceAll(",", ".");
-		s = s.indexOf(".") < 0 ? s : s.replaceAll("0*$", "").replaceAll("\\.$", "");
-		return s;
+	
+	private static BlkWriter writeColor(BlkWriter out, Color color) throws IOException {
+		return out.append((int)(color.getRed()*255)).append(',')
+				.append((int)(color.getGreen()*255)).append(',')
+				.append((int)(color.getBlue()*255)).append(',')
+				.append((int)(color.getOpacity()*255));
+	}
+	
+	
+	
+	
+	/**
+	 * writes the "move" / "moveRadial" attributes of the given (parent) element.
+	 * */
+	private static void writeMovement(BlkWriter out, ElementCustomObject obj, boolean writeCenter) throws IOException {
+		if(obj.movement == Movement.MOVE) {
+			out.line("    move:b = yes");
+		}
+		if(obj.movement == Movement.MOVE_RADIAL) {
+			out.line("    moveRadial:b = yes");
+			out.append("    radialAngle:r = ").append(obj.angle, StepSizes.DECPLACES_ANGLE).endLine();
+			out.append("    radialCenter:p2 = ");
+			writeVec2(out, obj.radCenter.x, obj.radCenter.y, decPlaces(obj.useThousandth)).endLine();
+			out.append("    radialMoveSpeed:r = ").append(obj.speed, StepSizes.DECPLACES_SPEED).endLine();
+			if(writeCenter) {
+				out.append("    center:p2 = ");
+				writeVec2(out, obj.center.x, obj.center.y, StepSizes.DECPLACES_SCREENSPACE).endLine();
+			}
+		}
+	}
+	
+	
+	
+	
+	/**
+	 * writes the point with the (optional) offset added
+	 * */
+	private static BlkWriter writePoint(BlkWriter out, Vector2d point, Vector2d offset, int decPlaces) throws IOException {
+		if(offset == null) {
+			return writeVec2(out, point.x, point.y, decPlaces);
+		} else {
+			return writeVec2(out, point.x+offset.x, point.y+offset.y, decPlaces);
+		}
+	}
+	
+	
+	
+	
+	private static void writeLine(BlkWriter out, ElementCustomLine lineObj, Vector2d offset) throws IOException {
+		final int decPlaces = decPlaces(lineObj.useThousandth);
+		out.append("    line:p4 = ");
+		writePoint(out, lineObj.start, offset, decPlaces).append(", ");
+		writePoint(out, lineObj.end, offset, decPlaces).endLine();
+	}
+	
+	
+	
+	
+	private static void writeQuad(BlkWriter out, ElementCustomQuadFilled quadObj, Vector2d offset) throws IOException {
+		final int decPlaces = decPlaces(quadObj.useThousandth);
+		out.append("    tl:p2 = ");
+		writePoint(out, quadObj.pos1, offset, decPlaces).endLine();
+		out.append("    tr:p2 = ");
+		writePoint(out, quadObj.pos2, offset, decPlaces).endLine();
+		out.append("    br:p2 = ");
+		writePoint(out, quadObj.pos3, offset, decPlaces).endLine();
+		out.append("    bl:p2 = ");
+		writePoint(out, quadObj.pos4, offset, decPlaces).endLine();
+	}
+	
+	
+	
+	
+	private static void writeDistance(BlkWriter out, String indent, BIndicator indicator) throws IOException {
+		int dist = indicator.getDistance();
+		int label = indicator.isMajor() ? Math.abs(dist/100) : 0;
+		out.append(indent).append("distance { distance:p3=").append(dist).append(',').append(label).append(',').append(indicator.getExtend(), StepSizes.DECPLACES_SCREENSPACE);
+		out.append("; textPos:p2=");
+		writeVec2(out, indicator.getTextX(), indicator.getTextY(), StepSizes.DECPLACES_SCREENSPACE).append("; }").endLine();
+	}
+	
+	
+	
+	
+	private void writeElementIdentifier(BlkWriter out, BaseElement element, BaseElement subElement) throws IOException {
+		out.append("  //-- eid=\"").append(getElementIdentifier(element, subElement)).append('"').endLine();
+	}
+	
+	
+	
+	
+	/**
+	 * writes the start of the metadata-line of the given element (eid, name and type)
+	 * */
+	private BlkWriter writeMetadataStart(BlkWriter out, BaseElement element) throws IOException {
+		out.append("//-- ");
+		writeAttribute(out, "eid", getElementIdentifier(element, null)).append(", ");
+		writeAttribute(out, "name", element.name).append(", ");
+		return writeAttribute(out, "type", element.type.toString());
+	}
+	
+	
+	
+	
+	private BlkWriter writeVertices(BlkWriter out, List<ElementCustomLine> lines) throws IOException {
+		out.append("vertices=\"");
+		for(int i=0; i<lines.size(); i++) {
+			out.append(getElementIdentifier(lines.get(i), null));
+			if(i != lines.size()-1) {
+				out.append(',');
+			}
+		}
+		return out.append('"');
+	}
+	
+	
+	
+	
+	private static BlkWriter writeAttribute(BlkWriter out, String key, String value) throws IOException {
+		return out.append(key).append('=').append('"').append(value).append('"');
+	}
+	
+	
+	
+	
+	private String getElementIdentifier(BaseElement element, BaseElement subElement) {
+		return Integer.toHexString(element.hashCode()) + (subElement != null ? "-" + Integer.toHexString(subElement.hashCode()) : "");
 	}
 	
 }
-
-
@@ -13,6 +13,7 @@ import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.ParamKey;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
 import com.ruegnerlukas.wtutils.FXUtils;
+import com.ruegnerlukas.wtutils.ImageStore.ImageListener;
 import com.ruegnerlukas.wtutils.canvas.WTCanvas;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -24,6 +25,7 @@ import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
@@ -105,12 +107,6 @@ public class CalibrationEditorController implements IViewController {
 
 		// CANVAS
 		wtCanvas = new WTCanvas(paneCanvas, false) {
-			@Override public void onMouseMoved() {
-				wtCanvas.repaint();
-			}
-			@Override public void onMouseDragged() {
-				wtCanvas.repaint();
-			}
 			@Override public void onMousePressed(MouseButton btn) {
 				wtCanvas.repaint();
 			}
@@ -189,7 +185,7 @@ public class CalibrationEditorController implements IViewController {
 								imgView.setSmooth(true);
 								imgView.setPreserveRatio(true);
 								imgView.setFitHeight(40);
-								setGraphic(imgView);
+								setGraphic(new HBox(5, imgView, createThumbnail(element)));
 								String displayName = "";
 								for(int i=0; i<element.ammunition.size(); i++) {
 									if(i == element.ammunition.size()-1) {
@@ -207,7 +203,7 @@ public class CalibrationEditorController implements IViewController {
 							} else {
 								setText(ViewManager.getResources().getString("ce_img_zoomed_out"));
 							}
-							setGraphic(null);
+							setGraphic(createThumbnail(item));
 						}
 
 					}
@@ -234,6 +230,24 @@ public class CalibrationEditorController implements IViewController {
 
 
 
+	/**
+	 * @return a view showing a downscaled version of the screenshot of the given object. The image is shown as soon as it is decoded.
+	 * */
+	private ImageView createThumbnail(Object obj) {
+		final ImageView imgView = new ImageView();
+		imgView.setPreserveRatio(true);
+		imgView.setFitHeight(40);
+		imgView.setImage(service.getImageProxy(obj, new ImageListener() {
+			@Override public void onImageLoaded(Object key, Image image) {
+				imgView.setImage(image);
+			}
+		}));
+		return imgView;
+	}
+
+
+
+
 	void onElementSelected(Object obj) {
 		service.selectElement(obj);
 
@@ -1,16 +1,14 @@
 package com.ruegnerlukas.wtsights.ui.calibrationeditor;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.imageio.ImageIO;
-
 import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.simplemath.vectors.vec2.Vector2f;
 import com.ruegnerlukas.simplemath.vectors.vec3.Vector3d;
@@ -23,7 +21,7 @@ import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.ballisticdata.MarkerData;
 import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.DefaultBallisticFuntion;
 import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.IBallisticFunction;
-import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.NullBallisticFunction;
+import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.QuadraticFitter;
 import com.ruegnerlukas.wtsights.data.loading.DataLoader;
 import com.ruegnerlukas.wtsights.data.sight.SightData;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
@@ -32,13 +30,14 @@ import com.ruegnerlukas.wtsights.ui.view.IViewService;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.ParamKey;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
+import com.ruegnerlukas.wtutils.ImageStore;
+import com.ruegnerlukas.wtutils.ImageStore.ImageListener;
 import com.ruegnerlukas.wtutils.SightUtils.Thousandth;
 import com.ruegnerlukas.wtutils.Workflow;
 import com.ruegnerlukas.wtutils.Workflow.Step;
 
-import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.Image;
 import javafx.stage.FileChooser;
 
@@ -46,9 +45,13 @@ import javafx.stage.FileChooser;
 
 public class CalibrationEditorService implements IViewService {
 
+	private static final long IMAGE_CACHE_SIZE = 256L * 1024L * 1024L;
+	public static final int PROXY_SIZE = 96;
+	
 	private File fileSight;
-	private Map<Object,Image> imageCache = new HashMap<Object,Image>();
+	private ImageStore imageStore = new ImageStore(IMAGE_CACHE_SIZE, 2);
 	private BallisticData dataBallistic;
+	private Map<BallisticElement,QuadraticFitter> fitters = new HashMap<BallisticElement,QuadraticFitter>();
 
 	private Object currentObject;
 	private Image currentImage;
@@ -59,8 +62,9 @@ public class CalibrationEditorService implements IViewService {
 	@Override
 	public void initService() {
 		fileSight = null;
-		imageCache.clear();
+		imageStore.clear();
 		dataBallistic = null;
+		fitters.clear();
 		currentObject = null;
 		currentImage = null;
 	}
@@ -74,22 +78,20 @@ public class CalibrationEditorService implements IViewService {
 		dataBallistic.vehicle = vehicle;
 		dataBallistic.elements.addAll(imagesBallistic.keySet());
 		
+		// the screenshots are only read, they are decoded when they are shown
 		try {
 			for(Entry<BallisticElement,File> entry : imagesBallistic.entrySet()) {
 				BallisticElement element  = entry.getKey();
 				File file = entry.getValue();
 				if(file != null) {
-					BufferedImage img = ImageIO.read(file);
-					dataBallistic.imagesBallistic.put(element, img);
+					dataBallistic.imagesBallistic.putEncoded(element, Files.readAllBytes(file.toPath()));
 				}
 			}
 			if(imagesZoom[0] != null) { // zoomed in
-				BufferedImage img = ImageIO.read(imagesZoom[0]);
-				dataBallistic.imagesZoom.put(true, img);
+				dataBallistic.imagesZoom.putEncoded(true, Files.readAllBytes(imagesZoom[0].toPath()));
 			}
 			if(imagesZoom[1] != null) { // zoomed out
-				BufferedImage img = ImageIO.read(imagesZoom[1]);
-				dataBallistic.imagesZoom.put(false, img);
+				dataBallistic.imagesZoom.putEncoded(false, Files.readAllBytes(imagesZoom[1].toPath()));
 			}
 			
 		} catch (IOException e) {
@@ -104,6 +106,14 @@ public class CalibrationEditorService implements IViewService {
 	
 	public void initNewBallisticData(BallisticData dataBallistic) {
 		this.dataBallistic = dataBallistic;
+		this.fitters.clear();
+		imageStore.clear();
+		for(BallisticElement element : dataBallistic.imagesBallistic.keySet()) {
+			imageStore.add(element, ImageStore.createSource(dataBallistic.imagesBallistic, element));
+		}
+		for(Boolean zoomedIn : dataBallistic.imagesZoom.keySet()) {
+			imageStore.add(zoomedIn, ImageStore.createSource(dataBallistic.imagesZoom, zoomedIn));
+		}
 	}
 	
 	
@@ -153,38 +163,18 @@ public class CalibrationEditorService implements IViewService {
 			
 		} else if(obj instanceof BallisticElement) {
 			BallisticElement element = (BallisticElement)obj;
-			
-			// get current image
-			if(dataBallistic.imagesBallistic.get(element) == null) {
-				currentImage = null;
-			} else if(imageCache.containsKey(element)) {
-				currentImage = imageCache.get(element);
-				Logger.get().debug("Image retrieved from cache");
-			} else {
-				BufferedImage bufImg = dataBallistic.imagesBallistic.get(element);
-				currentImage = SwingFXUtils.toFXImage(bufImg, null);
-				imageCache.put(element, currentImage);
-			}
+			currentImage = imageStore.getImage(element);
 			this.currentObject = element;
+			prefetchNeighbours(element);
 			
 			Logger.get().debug("Ballistic Element selected: " + this.currentObject);
 		
 			
 		} else if(obj instanceof Boolean) {
 			boolean zoomedIn = (Boolean) obj;
-
-			// get current image
-			if(dataBallistic.imagesZoom.get(zoomedIn) == null) {
-				currentImage = null;
-			} else if(imageCache.containsKey(obj)) {
-				currentImage = imageCache.get(obj);
-				Logger.get().debug("Image retrieved from cache");
-			} else {
-				BufferedImage bufImg = dataBallistic.imagesZoom.get(obj);
-				currentImage = SwingFXUtils.toFXImage(bufImg, null);
-				imageCache.put(obj, currentImage);
-			}
+			currentImage = imageStore.getImage(zoomedIn);
 			this.currentObject = obj;
+			prefetchNeighbours(obj);
 			
 			Logger.get().debug("zoomed image selected: " + zoomedIn);
 		}
@@ -194,11 +184,44 @@ public class CalibrationEditorService implements IViewService {
 	
 	
 	
+	/**
+	 * decodes the images of the previous and next selectable object in the background
+	 * */
+	private void prefetchNeighbours(Object obj) {
+		List<Object> objects = getSelectableObjects();
+		int index = objects.indexOf(obj);
+		if(index > 0) {
+			imageStore.prefetch(objects.get(index-1));
+		}
+		if(index >= 0 && index < objects.size()-1) {
+			imageStore.prefetch(objects.get(index+1));
+		}
+	}
+	
+	
+	
+	
+	/**
+	 * @return a downscaled version of the image of the given object (e.g. for thumbnails) or null, if it is not decoded yet. The listener is notified when it is available.
+	 * */
+	public Image getImageProxy(Object obj, ImageListener listener) {
+		return imageStore.getProxy(obj, PROXY_SIZE, listener);
+	}
+	
+	
+	
+	
 	public void setZoomModifier(double value, boolean zoomedIn) {
 		if(zoomedIn) {
 			dataBallistic.zoomModIn = value;
 		} else {
 			dataBallistic.zoomModOut = value;
+			// the functions computed from the ammo depend on the fov
+			for(BallisticElement element : dataBallistic.elements) {
+				if(element.markerData == null || element.markerData.markers.size() < 3) {
+					element.function = dataBallistic.createFunctionFromAmmo(element);
+				}
+			}
 		}
 	}
 
@@ -253,9 +276,9 @@ public class CalibrationEditorService implements IViewService {
 				MarkerData dataMarker = currentElement.markerData;
 				double zoom = dataBallistic.vehicle.fovOut / dataBallistic.vehicle.fovIn;
 				
-				IBallisticFunction func = currentElement.function;
+				double[] table = currentElement.function.getTable();
 				for(int d=200; d<=2800; d+=200) {
-					double p = func.eval(d) * (isZoomedIn() ? zoom : 1.0);
+					double p = table[d/IBallisticFunction.TABLE_STEP] * (isZoomedIn() ? zoom : 1.0);
 					float x = (float) (canvasWidth/2) - 20;
 					float y = (float) (dataMarker.yPosCenter + p);
 					indicators.add(new Vector2f(x,y));
@@ -274,7 +297,7 @@ public class CalibrationEditorService implements IViewService {
 		
 		List<Vector3d> indicators = new ArrayList<Vector3d>();
 		
-		Conversion.get().initialize(
+		ConversionContext conversion = new ConversionContext(
 				width,
 				height,
 				dataBallistic.vehicle.fovOut*dataBallistic.zoomModOut,
@@ -286,7 +309,7 @@ public class CalibrationEditorService implements IViewService {
 			final int mil = i;
 			final boolean isMajor = mil % 8 == 0;
 			
-			final double x = width/2 + Conversion.get().mil2pixel(mil, height, this.isZoomedIn());
+			final double x = width/2 + conversion.mil2pixel(mil, height, this.isZoomedIn());
 			final double y = height/2;
 			
 			Vector3d pos = new Vector3d(x, y, isMajor ? +1 : -1);
@@ -378,18 +401,19 @@ public class CalibrationEditorService implements IViewService {
 				currentElement.markerData.yPosCenter = currentImage != null ? currentImage.getHeight()/2 : 720/2;
 			}
 			MarkerData dataMarker = currentElement.markerData;
+			QuadraticFitter fitter = getFitter(currentElement);
 			double mc = dataMarker.yPosCenter;
 			
 			// add new marker
+			Marker marker;
 			if(dataMarker.markers.size() == 0) {
-				Marker marker = new Marker(200, y-mc);
-				marker.id = dataMarker.markers.size()+1;
-				dataMarker.markers.add(marker);
+				marker = new Marker(200, y-mc);
 			} else {
-				Marker marker = new Marker(dataMarker.markers.get(dataMarker.markers.size()-1).distMeters+200, y-mc);
-				marker.id = dataMarker.markers.size()+1;
-				dataMarker.markers.add(marker);
+				marker = new Marker(dataMarker.markers.get(dataMarker.markers.size()-1).distMeters+200, y-mc);
 			}
+			marker.id = dataMarker.markers.size()+1;
+			dataMarker.markers.add(marker);
+			DefaultBallisticFuntion.addMarker(fitter, marker);
 			
 			// update function
 			currentElement.function = createFunctionFromMarkers(currentElement);
@@ -404,7 +428,10 @@ public class CalibrationEditorService implements IViewService {
 		if(this.currentObject != null && this.currentObject instanceof BallisticElement) {
 			BallisticElement currentElement = (BallisticElement) currentObject;
 			if(currentElement != null) {
+				QuadraticFitter fitter = getFitter(currentElement);
+				DefaultBallisticFuntion.removeMarker(fitter, marker);
 				marker.distMeters = distMeters;
+				DefaultBallisticFuntion.addMarker(fitter, marker);
 				currentElement.function = createFunctionFromMarkers(currentElement);
 			}
 		}
@@ -429,7 +456,10 @@ public class CalibrationEditorService implements IViewService {
 			BallisticElement currentElement = (BallisticElement) currentObject;
 			if(marker != null) {
 				MarkerData dataMarker = currentElement.markerData;
-				dataMarker.markers.remove(marker);
+				QuadraticFitter fitter = getFitter(currentElement);
+				if(dataMarker.markers.remove(marker)) {
+					DefaultBallisticFuntion.removeMarker(fitter, marker);
+				}
 				currentElement.function = createFunctionFromMarkers(currentElement);
 				Logger.get().debug("Deleted marker " + marker);
 			}
@@ -443,10 +473,25 @@ public class CalibrationEditorService implements IViewService {
 	public IBallisticFunction createFunctionFromMarkers(BallisticElement element) {
 		MarkerData dataMarker = element.markerData;
 		if(dataMarker != null && dataMarker.markers.size() >= 3) {
-			return DefaultBallisticFuntion.create(element, dataBallistic.vehicle, isZoomedIn());
+			return DefaultBallisticFuntion.create(getFitter(element), dataBallistic.vehicle, isZoomedIn());
 		} else {
-			return new NullBallisticFunction();
+			return dataBallistic.createFunctionFromAmmo(element);
+		}
+	}
+	
+	
+	
+	
+	/**
+	 * @return the fitter of the markers of the given element. The fitter is created from the markers on the first access and updated when markers are added, edited or deleted.
+	 * */
+	private QuadraticFitter getFitter(BallisticElement element) {
+		QuadraticFitter fitter = fitters.get(element);
+		if(fitter == null) {
+			fitter = DefaultBallisticFuntion.createFitter(element);
+			fitters.put(element, fitter);
 		}
+		return fitter;
 	}
 	
 	
@@ -533,7 +578,7 @@ public class CalibrationEditorService implements IViewService {
 			BallisticElement currentElement = (BallisticElement) currentObject;
 			if(currentElement != null) {
 				dataBallistic.zoomedIn.put(currentElement, zoomedIn);
-				currentElement.function = DefaultBallisticFuntion.create(currentElement, dataBallistic.vehicle, isZoomedIn());
+				currentElement.function = createFunctionFromMarkers(currentElement);
 			}
 		}
 	}
@@ -25,6 +25,7 @@ import com.ruegnerlukas.wtsights.ui.view.IViewController;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.ParamKey;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
 import com.ruegnerlukas.wtutils.canvas.WTCanvas;
 
@@ -66,6 +67,11 @@ public class SightEditorController implements IViewController {
 	@FXML private CheckBox cbShowSelections;
 	@FXML private Label labelPosMil;
 	@FXML private Label labelPosSS;
+	@FXML private Label labelPosRange;
+	
+	// steps in meters the range at the cursor is rounded to (while moving / while dragging)
+	private static final int RANGE_STEP = 1;
+	private static final int RANGE_STEP_SNAP = 50;
 	
 	// ui
 	@FXML private Label labelVehicleName;
@@ -110,16 +116,16 @@ public class SightEditorController implements IViewController {
 		// CANVAS
 		wtCanvas = new WTCanvas(paneCanvas) {
 			@Override public void onMouseMoved() {
-				setLabelsCursorPos();
+				setLabelsCursorPos(RANGE_STEP);
 			}
 			@Override public void onMouseDragged() {
-				setLabelsCursorPos();
+				setLabelsCursorPos(RANGE_STEP_SNAP);
 			}
 			@Override public void onMousePressed(MouseButton btn) {
-				setLabelsCursorPos();
+				setLabelsCursorPos(RANGE_STEP);
 			}
 			@Override public void onMouseReleased(MouseButton btn) {
-				setLabelsCursorPos();
+				setLabelsCursorPos(RANGE_STEP);
 			}
 			@Override public void onKeyReleased(KeyCode code) {
 			}
@@ -133,9 +139,18 @@ public class SightEditorController implements IViewController {
 					OverlayRenderer.draw(wtCanvas, g, service.getDataPackage());
 				}
 			}
+			@Override public boolean isOverlayAnimated() {
+				return cbShowSelections.isSelected() && service.getDataPackage().dataSight.selectedElement != null;
+			}
 		};
 		wtCanvas.rebuildCanvas(1920, 1080);
 		
+		cbShowSelections.selectedProperty().addListener(new ChangeListener<Boolean>() {
+			@Override public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+				wtCanvas.repaintOverlay();
+			}
+		});
+		
 		labelVehicleName.setText(service.getVehicleName());
 		
 		// PANEL: ENVIRONMENT
@@ -160,8 +175,8 @@ public class SightEditorController implements IViewController {
 		initModule(ElementType.CENTRAL_HORZ_LINE, "/ui/sightEditor/layout_element_centralHorzLine.fxml");
 		initModule(ElementType.HORZ_RANGE_INDICATORS, "/ui/sightEditor/layout_element_horzRangeIndicators.fxml");
 		if(service.getDataPackage().dataBallistic.elements.isEmpty()) {
-			service.getDataPackage().dataSight.elements.remove(ElementType.BALLISTIC_RANGE_INDICATORS);
-			service.getDataPackage().dataSight.elements.remove(ElementType.SHELL_BALLISTICS_BLOCK);
+			service.getDataPackage().dataSight.removeElements(ElementType.BALLISTIC_RANGE_INDICATORS);
+			service.getDataPackage().dataSight.removeElements(ElementType.SHELL_BALLISTICS_BLOCK);
 		} else {
 			initModule(ElementType.BALLISTIC_RANGE_INDICATORS, "/ui/sightEditor/layout_element_ballRangeIndicators.fxml");
 			initModule(ElementType.SHELL_BALLISTICS_BLOCK, "/ui/sightEditor/layout_element_shellBlock.fxml");
@@ -269,13 +284,7 @@ public class SightEditorController implements IViewController {
 
 			// disable delete-btn, if element count of that type would fall below threshold 
 			btnRemoveElement.setDisable(false);
-			int typeCount = 0;
-			for(BaseElement e : service.getElements()) {
-				if(e.type == element.type) {
-					typeCount++;
-				}
-			}
-			if(typeCount <= element.type.minCount) {
+			if(service.getElements(element.type).size() <= element.type.minCount) {
 				btnRemoveElement.setDisable(true);
 			}
 			
@@ -415,21 +424,34 @@ public class SightEditorController implements IViewController {
 	
 	
 	
-	void setLabelsCursorPos() {
+	/**
+	 * @param rangeStep the step in meters the range at the cursor is rounded to
+	 * */
+	void setLabelsCursorPos(int rangeStep) {
 		if(wtCanvas.cursorVisible) {
 			Vector2d posMil = service.getCursorPosMil(wtCanvas.cursorPosition, wtCanvas.getWidth(), wtCanvas.getHeight());
 			Vector2d posSS = service.getCursorPosSS(wtCanvas.cursorPosition, wtCanvas.getWidth(), wtCanvas.getHeight());
+			double range = service.getCursorRange(wtCanvas.cursorPosition, wtCanvas.getWidth(), wtCanvas.getHeight(), rangeStep);
 			labelPosMil.setText("mil: " + posMil.x + ", " + posMil.y);
 			labelPosSS.setText("ss: " + posSS.x + ", " + posSS.y);
+			labelPosRange.setText("range: " + (Double.isNaN(range) ? "-" : ((int)range + "m")));
 		} else {
 			labelPosMil.setText("mil: - , -");
 			labelPosSS.setText("ss: - , -");
+			labelPosRange.setText("range: -");
 		}
 	}
 	
 	
 	
 	
+	public ConversionContext getConversion() {
+		return service.getConversion(wtCanvas.getWidth(), wtCanvas.getHeight());
+	}
+	
+	
+	
+	
 	@FXML
 	void onExport(ActionEvent event) {
 		service.export();
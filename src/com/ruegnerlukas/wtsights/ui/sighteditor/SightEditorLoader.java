@@ -28,8 +28,8 @@ public class SightEditorLoader implements IViewLoader {
 		((Stage)ViewManager.getStage(View.SIGHT_EDITOR)).setOnCloseRequest(new EventHandler<WindowEvent>() {
 			@Override public void handle(WindowEvent event) {
 				SightEditorController controller = (SightEditorController) ViewManager.getController(View.SIGHT_EDITOR);
-				if(controller.wtCanvas != null && controller.wtCanvas.ses != null) {
-					controller.wtCanvas.ses.shutdownNow();
+				if(controller.wtCanvas != null) {
+					controller.wtCanvas.dispose();
 				}
 			}
 		});
@@ -9,11 +9,12 @@ import com.ruegnerlukas.wtsights.data.DataPackage;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
 import com.ruegnerlukas.wtsights.data.sight.SightData;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
+import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.writing.DataWriter;
 import com.ruegnerlukas.wtsights.ui.view.IViewService;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
 
 import javafx.stage.FileChooser;
@@ -62,6 +63,13 @@ public class SightEditorService implements IViewService {
 	
 	
 	
+	public List<BaseElement> getElements(ElementType type) {
+		return data.dataSight.getElements(type);
+	}
+	
+	
+	
+	
 	public void selectElement(BaseElement element) {
 		data.dataSight.selectedElement = element;
 	}
@@ -104,7 +112,7 @@ public class SightEditorService implements IViewService {
 	
 	public void renameElement(BaseElement element, String name) {
 		if(validateElementName(element, name) == 0) {
-			element.name = name.trim();
+			data.dataSight.renameElement(element, name.trim());
 		}
 	}
 	
@@ -120,21 +128,26 @@ public class SightEditorService implements IViewService {
 	
 	
 	
+	/**
+	 * @return the conversion for the current vehicle and thousandth on a canvas with the given size
+	 * */
+	public ConversionContext getConversion(double canvasWidth, double canvasHeight) {
+		return ConversionContext.create(data, canvasWidth, canvasHeight);
+	}
+	
+	
+	
+	
 	public Vector2d getCursorPosMil(Vector2d cursorPosPX, double canvasWidth, double canvasHeight) {
 		
-		Conversion.get().initialize(
-				canvasWidth,
-				canvasHeight,
-				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
-				data.dataBallistic.vehicle.fovIn*data.dataBallistic.zoomModIn,
-				data.dataSight.gnrThousandth);
+		ConversionContext conversion = getConversion(canvasWidth, canvasHeight);
 		
 		Vector2d posMil = new Vector2d(cursorPosPX);
 		posMil.x -= canvasWidth/2;
 		posMil.y -= canvasHeight/2;
 		posMil.y *= -1;
-		posMil.x = Conversion.get().pixel2mil(posMil.x, canvasHeight, isZoomedIn());
-		posMil.y = Conversion.get().pixel2mil(posMil.y, canvasHeight, isZoomedIn());
+		posMil.x = conversion.pixel2mil(posMil.x, canvasHeight, isZoomedIn());
+		posMil.y = conversion.pixel2mil(posMil.y, canvasHeight, isZoomedIn());
 		posMil.x = ((int)(posMil.x*100)) / 100.0;
 		posMil.y = ((int)(posMil.y*100)) / 100.0;
 		return posMil;
@@ -145,19 +158,14 @@ public class SightEditorService implements IViewService {
 	
 	public Vector2d getCursorPosSS(Vector2d cursorPosPX, double canvasWidth, double canvasHeight) {
 		
-		Conversion.get().initialize(
-				canvasWidth,
-				canvasHeight,
-				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
-				data.dataBallistic.vehicle.fovIn*data.dataBallistic.zoomModIn,
-				data.dataSight.gnrThousandth);
+		ConversionContext conversion = getConversion(canvasWidth, canvasHeight);
 		
 		Vector2d posSS = new Vector2d(cursorPosPX);
 		posSS.x -= canvasWidth/2;
 		posSS.y -= canvasHeight/2;
 		posSS.y *= -1;
-		posSS.x = Conversion.get().pixel2screenspace(posSS.x, canvasHeight, isZoomedIn());
-		posSS.y = Conversion.get().pixel2screenspace(posSS.y, canvasHeight, isZoomedIn());
+		posSS.x = conversion.pixel2screenspace(posSS.x, canvasHeight, isZoomedIn());
+		posSS.y = conversion.pixel2screenspace(posSS.y, canvasHeight, isZoomedIn());
 		posSS.x = ((int)(posSS.x*1000)) / 1000.0;
 		posSS.y = ((int)(posSS.y*1000)) / 1000.0;
 		return posSS;
@@ -166,6 +174,27 @@ public class SightEditorService implements IViewService {
 	
 	
 	
+	/**
+	 * @return the range in meters of the selected ballistic element at the height of the given cursor position (rounded to the given step in meters)
+	 * 			or NaN, if no element is selected or the position is outside of the range of the element
+	 * */
+	public double getCursorRange(Vector2d cursorPosPX, double canvasWidth, double canvasHeight, int stepMeters) {
+		
+		if(data.elementBallistic == null) {
+			return Double.NaN;
+		}
+		
+		ConversionContext conversion = getConversion(canvasWidth, canvasHeight);
+		
+		// same conversion as the range indicators, but reversed
+		double offsetMil = conversion.pixel2mil(cursorPosPX.y - canvasHeight/2, canvasHeight, isZoomedIn());
+		double offsetPX = conversion.mil2pixel(offsetMil, canvasHeight, false);
+		return data.elementBallistic.function.getInverse().getRange(offsetPX, stepMeters);
+	}
+	
+	
+	
+	
 	public void export() {
 		
 		FileChooser fc = new FileChooser();
@@ -11,7 +11,7 @@ import com.ruegnerlukas.wtsights.ui.sighteditor.SightEditorController;
 import com.ruegnerlukas.wtsights.ui.sighteditor.StepSizes;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
 import com.ruegnerlukas.wtutils.SightUtils.ScaleMode;
 import com.ruegnerlukas.wtutils.SightUtils.TextAlign;
@@ -344,10 +344,11 @@ public class ModuleBallisticRangeIndicators implements Module {
 					return;
 				}
 				element.radiusUseMils = rRadiusUseMils.isSelected();
+				ConversionContext conversion = ((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion();
 				if(element.radiusUseMils) {
-					FXUtils.initSpinner(rCircleRadius, Conversion.get().screenspace2mil(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, 0.5, 1, null);
+					FXUtils.initSpinner(rCircleRadius, conversion.screenspace2mil(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, 0.5, 1, null);
 				} else {
-					FXUtils.initSpinner(rCircleRadius, Conversion.get().mil2screenspace(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, 0.001, 3, null);
+					FXUtils.initSpinner(rCircleRadius, conversion.mil2screenspace(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, 0.001, 3, null);
 				}
 				element.setDirty(true);
 				((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
@@ -9,7 +9,7 @@ import com.ruegnerlukas.wtsights.ui.sighteditor.SightEditorController;
 import com.ruegnerlukas.wtsights.ui.sighteditor.StepSizes;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
 
 import javafx.beans.value.ChangeListener;
@@ -59,21 +59,22 @@ public class ModuleCustomCircleFilled implements Module {
 			@Override public void handle(ActionEvent event) {
 				if(element != null) {
 					element.useThousandth = cbUseThousandth.isSelected();
+					ConversionContext conversion = ((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion();
 					if(element.useThousandth) {
-						FXUtils.initSpinner(spinnerPosX, Conversion.get().screenspace2mil(spinnerPosX.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
-						FXUtils.initSpinner(spinnerPosY, Conversion.get().screenspace2mil(spinnerPosY.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
-						FXUtils.initSpinner(spinnerDiameter, Conversion.get().screenspace2mil(spinnerDiameter.getValue(), data.dataSight.envZoomedIn), 0, Integer.MAX_VALUE, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
-						FXUtils.initSpinner(spinnerOriginX, Conversion.get().screenspace2mil(spinnerOriginX.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
-						FXUtils.initSpinner(spinnerOriginY, Conversion.get().screenspace2mil(spinnerOriginY.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
+						FXUtils.initSpinner(spinnerPosX, conversion.screenspace2mil(spinnerPosX.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
+						FXUtils.initSpinner(spinnerPosY, conversion.screenspace2mil(spinnerPosY.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
+						FXUtils.initSpinner(spinnerDiameter, conversion.screenspace2mil(spinnerDiameter.getValue(), data.dataSight.envZoomedIn), 0, Integer.MAX_VALUE, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
+						FXUtils.initSpinner(spinnerOriginX, conversion.screenspace2mil(spinnerOriginX.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
+						FXUtils.initSpinner(spinnerOriginY, conversion.screenspace2mil(spinnerOriginY.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
 					} else {
-						FXUtils.initSpinner(spinnerPosX, Conversion.get().mil2screenspace(spinnerPosX.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
-						FXUtils.initSpinner(spinnerPosY, Conversion.get().mil2screenspace(spinnerPosY.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
-						FXUtils.initSpinner(spinnerDiameter, Conversion.get().mil2screenspace(spinnerDiameter.getValue(), data.dataSight.envZoomedIn), 0, Integer.MAX_VALUE, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
-						FXUtils.initSpinner(spinnerOriginX, Conversion.get().mil2screenspace(spinnerOriginX.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
-						FXUtils.initSpinner(spinnerOriginY, Conversion.get().mil2screenspace(spinnerOriginY.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
+						FXUtils.initSpinner(spinnerPosX, conversion.mil2screenspace(spinnerPosX.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
+						FXUtils.initSpinner(spinnerPosY, conversion.mil2screenspace(spinnerPosY.getValue(), data.dataSight.envZoomedIn), Integer.MIN_VALUE, Integer.MAX_VALUE, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
+						FXUtils.initSpinner(spinnerDiameter, conversion.mil2screenspace(spinnerDiameter.getValue(), data.dataSight.envZoomedIn), 0, Integer.MAX_VALUE, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
+						FXUtils.initSpinner(spinnerOriginX, conversion.mil2screenspace(spinnerOriginX.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
+						FXUtils.initSpinner(spinnerOriginY, conversion.mil2screenspace(spinnerOriginY.getValue(), data.dataSight.envZoomedIn), -9999, 9999, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
 					}
 					element.setDirty(true);
-					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(element.diameter, element.segment.x, element.segment.y) + " elements)");
+					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(conversion, element.diameter, element.segment.x, element.segment.y) + " elements)");
 					((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
 				}
 			}
@@ -196,7 +197,7 @@ public class ModuleCustomCircleFilled implements Module {
 				if(element != null) {
 					element.segment.x = newValue.doubleValue();
 					element.setDirty(true);
-					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(element.diameter, element.segment.x, element.segment.y) + " elements)");
+					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion(), element.diameter, element.segment.x, element.segment.y) + " elements)");
 					((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
 				}
 			}
@@ -206,7 +207,7 @@ public class ModuleCustomCircleFilled implements Module {
 				if(element != null) {
 					element.segment.y = newValue.doubleValue();
 					element.setDirty(true);
-					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(element.diameter, element.segment.x, element.segment.y) + " elements)");
+					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion(), element.diameter, element.segment.x, element.segment.y) + " elements)");
 					((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
 				}
 			}
@@ -216,7 +217,7 @@ public class ModuleCustomCircleFilled implements Module {
 				if(element != null) {
 					element.diameter = newValue.doubleValue();
 					element.setDirty(true);
-					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(element.diameter, element.segment.x, element.segment.y) + " elements)");
+					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion(), element.diameter, element.segment.x, element.segment.y) + " elements)");
 					((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
 				}
 			}
@@ -228,14 +229,14 @@ public class ModuleCustomCircleFilled implements Module {
 				if(element != null) {
 					element.quality = Math.max(1, newValue.intValue()) / 100.0;
 					element.setDirty(true);
-					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(element.diameter, element.segment.x, element.segment.y) + " elements)");
+					labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion(), element.diameter, element.segment.x, element.segment.y) + " elements)");
 					((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
 				}
 			}
 		});
 		sliderQuality.setValue(elementDefault.quality*100);
 		
-		labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + elementDefault.calcNumQuads(elementDefault.diameter, elementDefault.segment.x, elementDefault.segment.y) + " elements)");
+		labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + elementDefault.calcNumQuads(((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion(), elementDefault.diameter, elementDefault.segment.x, elementDefault.segment.y) + " elements)");
 		
 		setElement(null);
 	}
@@ -274,7 +275,7 @@ public class ModuleCustomCircleFilled implements Module {
 			spinnerSegment2.getValueFactory().setValue(element.segment.y);
 			spinnerDiameter.getValueFactory().setValue(element.diameter);
 			sliderQuality.setValue(element.quality*100);
-			labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(element.diameter, element.segment.x, element.segment.y) + " elements)");
+			labelQuality.setText(ViewManager.getResources().getString("se_mccf_quality") + " (" + element.calcNumQuads(((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion(), element.diameter, element.segment.x, element.segment.y) + " elements)");
 		}
 	}
 	
@@ -8,7 +8,7 @@ import com.ruegnerlukas.wtsights.ui.sighteditor.SightEditorController;
 import com.ruegnerlukas.wtsights.ui.sighteditor.StepSizes;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
 
 import javafx.beans.value.ChangeListener;
@@ -71,8 +71,9 @@ public class ModuleRangefinder implements Module {
 			@Override public void handle(ActionEvent event) {
 				if(element == null) { return; }
 				element.useThousandth = cbUseThousandth.isSelected();
+				ConversionContext conversion = ((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion();
 				if(element.useThousandth) {
-					FXUtils.initSpinner(spinnerPosY, Conversion.get().screenspace2mil(element.position.y, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, new ChangeListener<Double>() {
+					FXUtils.initSpinner(spinnerPosY, conversion.screenspace2mil(element.position.y, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, new ChangeListener<Double>() {
 						@Override public void changed(ObservableValue<? extends Double> observable, Double oldValue, Double newValue) {
 							if(element != null) {
 								element.position.y = newValue.intValue();
@@ -80,7 +81,7 @@ public class ModuleRangefinder implements Module {
 						}
 					});
 				} else {
-					FXUtils.initSpinner(spinnerPosY, Conversion.get().mil2screenspace(element.position.y, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, new ChangeListener<Double>() {
+					FXUtils.initSpinner(spinnerPosY, conversion.mil2screenspace(element.position.y, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, new ChangeListener<Double>() {
 						@Override public void changed(ObservableValue<? extends Double> observable, Double oldValue, Double newValue) {
 							if(element != null) {
 								element.position.y = newValue.intValue();
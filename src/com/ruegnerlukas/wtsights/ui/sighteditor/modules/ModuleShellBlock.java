@@ -15,7 +15,7 @@ import com.ruegnerlukas.wtsights.ui.sighteditor.SightEditorController;
 import com.ruegnerlukas.wtsights.ui.sighteditor.StepSizes;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager.View;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.FXUtils;
 import com.ruegnerlukas.wtutils.SightUtils.ScaleMode;
 import com.ruegnerlukas.wtutils.SightUtils.TextAlign;
@@ -375,10 +375,11 @@ public class ModuleShellBlock implements Module {
 					return;
 				}
 				element.radiusUseMils = rRadiusUseMils.isSelected();
+				ConversionContext conversion = ((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).getConversion();
 				if(element.radiusUseMils) {
-					FXUtils.initSpinner(rCircleRadius, Conversion.get().screenspace2mil(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
+					FXUtils.initSpinner(rCircleRadius, conversion.screenspace2mil(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_MIL, StepSizes.DECPLACES_MIL, null);
 				} else {
-					FXUtils.initSpinner(rCircleRadius, Conversion.get().mil2screenspace(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
+					FXUtils.initSpinner(rCircleRadius, conversion.mil2screenspace(element.radialRadius, data.dataSight.envZoomedIn), -1000, 1000, StepSizes.STEP_SCREENSPACE, StepSizes.DECPLACES_SCREENSPACE, null);
 				}
 				element.setDirty(true);
 				((SightEditorController)ViewManager.getController(View.SIGHT_EDITOR)).wtCanvas.repaint();
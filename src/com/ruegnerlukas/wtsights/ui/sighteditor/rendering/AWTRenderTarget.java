@@ -0,0 +1,200 @@
+package com.ruegnerlukas.wtsights.ui.sighteditor.rendering;
+
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * Draws with java2d, e.g. onto a {@link java.awt.image.BufferedImage}. Does not need a window or a javafx-canvas.
+ * Only solid colors are supported, other paints are drawn black.
+ * */
+public class AWTRenderTarget implements RenderTarget {
+
+
+	private final Graphics2D g;
+
+	private java.awt.Color fill = java.awt.Color.BLACK;
+	private java.awt.Color stroke = java.awt.Color.BLACK;
+	private double lineWidth = 1;
+	private TextAlignment textAlign = TextAlignment.LEFT;
+	private VPos textBaseline = VPos.BASELINE;
+
+	private Font lastFont;
+	private java.awt.Font font = new java.awt.Font(java.awt.Font.SANS_SERIF, java.awt.Font.PLAIN, 12);
+
+
+
+
+	public AWTRenderTarget(Graphics2D g) {
+		this.g = g;
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+		g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+	}
+
+
+
+
+	private static java.awt.Color toAWT(Paint paint) {
+		if(paint instanceof Color) {
+			Color c = (Color)paint;
+			return new java.awt.Color((float)c.getRed(), (float)c.getGreen(), (float)c.getBlue(), (float)c.getOpacity());
+		}
+		return java.awt.Color.BLACK;
+	}
+
+
+
+
+	@Override
+	public void setFill(Paint fill) {
+		this.fill = toAWT(fill);
+	}
+
+
+
+
+	@Override
+	public void setStroke(Paint stroke) {
+		this.stroke = toAWT(stroke);
+	}
+
+
+
+
+	@Override
+	public void setLineWidth(double lineWidth) {
+		this.lineWidth = lineWidth;
+	}
+
+
+
+
+	@Override
+	public void setFont(Font font) {
+		if(font != lastFont) {
+			lastFont = font;
+			this.font = new java.awt.Font(font.getFamily(), java.awt.Font.PLAIN, 1).deriveFont((float)font.getSize());
+		}
+	}
+
+
+
+
+	@Override
+	public void setTextAlign(TextAlignment textAlign) {
+		this.textAlign = textAlign;
+	}
+
+
+
+
+	@Override
+	public void setTextBaseline(VPos textBaseline) {
+		this.textBaseline = textBaseline;
+	}
+
+
+
+
+	@Override
+	public void fillRect(double x, double y, double w, double h) {
+		g.setColor(fill);
+		g.fill(new Rectangle2D.Double(x, y, w, h));
+	}
+
+
+
+
+	@Override
+	public void strokeLine(double x0, double y0, double x1, double y1) {
+		g.setColor(stroke);
+		g.setStroke(createStroke());
+		g.draw(new Line2D.Double(x0, y0, x1, y1));
+	}
+
+
+
+
+	@Override
+	public void strokeOval(double x, double y, double w, double h) {
+		g.setColor(stroke);
+		g.setStroke(createStroke());
+		g.draw(new Ellipse2D.Double(x, y, w, h));
+	}
+
+
+
+
+	/**
+	 * same caps/joins as the default of the javafx-canvas
+	 * */
+	private BasicStroke createStroke() {
+		return new BasicStroke((float)lineWidth, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 10f);
+	}
+
+
+
+
+	@Override
+	public void fillPolygon(double[] xPoints, double[] yPoints, int nPoints) {
+		if(nPoints < 2) {
+			return;
+		}
+		Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, nPoints);
+		path.moveTo(xPoints[0], yPoints[0]);
+		for(int i=1; i<nPoints; i++) {
+			path.lineTo(xPoints[i], yPoints[i]);
+		}
+		path.closePath();
+		g.setColor(fill);
+		g.fill(path);
+	}
+
+
+
+
+	@Override
+	public void fillText(String text, double x, double y) {
+
+		FontRenderContext frc = g.getFontRenderContext();
+
+		// horizontal alignment
+		if(textAlign == TextAlignment.CENTER || textAlign == TextAlignment.RIGHT) {
+			double width = font.getStringBounds(text, frc).getWidth();
+			x -= textAlign == TextAlignment.CENTER ? width/2 : width;
+		}
+
+		// vertical alignment
+		if(textBaseline != VPos.BASELINE) {
+			LineMetrics metrics = font.getLineMetrics(text, frc);
+			if(textBaseline == VPos.TOP) {
+				y += metrics.getAscent();
+			} else if(textBaseline == VPos.BOTTOM) {
+				y -= metrics.getDescent();
+			} else if(textBaseline == VPos.CENTER) {
+				y += (metrics.getAscent() - metrics.getDescent()) / 2;
+			}
+		}
+
+		g.setColor(fill);
+		g.setFont(font);
+		g.drawString(text, (float)x, (float)y);
+	}
+
+
+}
@@ -0,0 +1,341 @@
+package com.ruegnerlukas.wtsights.ui.sighteditor.rendering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * Records draw operations of a single element so they can be replayed without calling the layout/draw-code again.
+ * Has the same drawing-methods as the {@link RenderTarget} the operations are replayed on.
+ * Every recorded operation stores the state it needs (paint, line width, font, ...) and its bounds,
+ * so any subset of operations can be replayed in the correct order (e.g. only the ones inside a dirty region).
+ * */
+public class DisplayList {
+
+
+	private static final int FILL_RECT = 0;
+	private static final int STROKE_LINE = 1;
+	private static final int STROKE_OVAL = 2;
+	private static final int FILL_POLYGON = 3;
+	private static final int FILL_TEXT = 4;
+
+
+	private static class Op {
+
+		public int type;
+		public double[] coords;
+		public double[] coordsY; // only used by polygons
+		public Paint paint;
+		public double lineWidth;
+		public Font font;
+		public TextAlignment textAlign;
+		public VPos textBaseline;
+		public String text;
+
+		public double minX, minY, maxX, maxY;
+
+		public boolean isSameAs(Op other) {
+			return type == other.type
+					&& Arrays.equals(coords, other.coords)
+					&& Arrays.equals(coordsY, other.coordsY)
+					&& (paint == null ? other.paint == null : paint.equals(other.paint))
+					&& lineWidth == other.lineWidth
+					&& font == other.font
+					&& textAlign == other.textAlign
+					&& textBaseline == other.textBaseline
+					&& (text == null ? other.text == null : text.equals(other.text));
+		}
+
+		public boolean intersects(double x0, double y0, double x1, double y1) {
+			return minX <= x1 && maxX >= x0 && minY <= y1 && maxY >= y0;
+		}
+
+	}
+
+
+	private final List<Op> ops = new ArrayList<Op>();
+
+	// current state
+	private Paint fill = Color.BLACK;
+	private Paint stroke = Color.BLACK;
+	private double lineWidth = 1;
+	private Font font = Font.getDefault();
+	private TextAlignment textAlign = TextAlignment.LEFT;
+	private VPos textBaseline = VPos.BASELINE;
+
+	// bounds of all operations
+	private double minX = Double.POSITIVE_INFINITY;
+	private double minY = Double.POSITIVE_INFINITY;
+	private double maxX = Double.NEGATIVE_INFINITY;
+	private double maxY = Double.NEGATIVE_INFINITY;
+
+
+
+
+	public void setFill(Paint fill) {
+		this.fill = fill;
+	}
+
+
+
+
+	public void setStroke(Paint stroke) {
+		this.stroke = stroke;
+	}
+
+
+
+
+	public void setLineWidth(double lineWidth) {
+		this.lineWidth = lineWidth;
+	}
+
+
+
+
+	public void setFont(Font font) {
+		this.font = font;
+	}
+
+
+
+
+	public void setTextAlign(TextAlignment textAlign) {
+		this.textAlign = textAlign;
+	}
+
+
+
+
+	public void setTextBaseline(VPos textBaseline) {
+		this.textBaseline = textBaseline;
+	}
+
+
+
+
+	public void fillRect(double x, double y, double w, double h) {
+		Op op = new Op();
+		op.type = FILL_RECT;
+		op.coords = new double[] {x, y, w, h};
+		op.paint = fill;
+		add(op, Math.min(x, x+w), Math.min(y, y+h), Math.max(x, x+w), Math.max(y, y+h), 0);
+	}
+
+
+
+
+	public void strokeLine(double x0, double y0, double x1, double y1) {
+		Op op = new Op();
+		op.type = STROKE_LINE;
+		op.coords = new double[] {x0, y0, x1, y1};
+		op.paint = stroke;
+		op.lineWidth = lineWidth;
+		add(op, Math.min(x0, x1), Math.min(y0, y1), Math.max(x0, x1), Math.max(y0, y1), lineWidth/2);
+	}
+
+
+
+
+	public void strokeOval(double x, double y, double w, double h) {
+		Op op = new Op();
+		op.type = STROKE_OVAL;
+		op.coords = new double[] {x, y, w, h};
+		op.paint = stroke;
+		op.lineWidth = lineWidth;
+		add(op, Math.min(x, x+w), Math.min(y, y+h), Math.max(x, x+w), Math.max(y, y+h), lineWidth/2);
+	}
+
+
+
+
+	public void fillPolygon(double[] xPoints, double[] yPoints, int nPoints) {
+		Op op = new Op();
+		op.type = FILL_POLYGON;
+		op.coords = Arrays.copyOf(xPoints, nPoints);
+		op.coordsY = Arrays.copyOf(yPoints, nPoints);
+		double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+		double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+		for(int i=0; i<nPoints; i++) {
+			x0 = Math.min(x0, xPoints[i]);
+			y0 = Math.min(y0, yPoints[i]);
+			x1 = Math.max(x1, xPoints[i]);
+			y1 = Math.max(y1, yPoints[i]);
+		}
+		op.paint = fill;
+		add(op, x0, y0, x1, y1, 0);
+	}
+
+
+
+
+	/**
+	 * The bounds of the text are estimated (each character at most as wide as the font size) and do not depend on the alignment.
+	 * */
+	public void fillText(String text, double x, double y) {
+		Op op = new Op();
+		op.type = FILL_TEXT;
+		op.coords = new double[] {x, y};
+		op.paint = fill;
+		op.font = font;
+		op.textAlign = textAlign;
+		op.textBaseline = textBaseline;
+		op.text = text;
+		double w = text.length() * font.getSize();
+		double h = font.getSize() * 1.5;
+		add(op, x-w, y-h, x+w, y+h, 0);
+	}
+
+
+
+
+	private void add(Op op, double x0, double y0, double x1, double y1, double padding) {
+		op.minX = x0 - padding;
+		op.minY = y0 - padding;
+		op.maxX = x1 + padding;
+		op.maxY = y1 + padding;
+		minX = Math.min(minX, op.minX);
+		minY = Math.min(minY, op.minY);
+		maxX = Math.max(maxX, op.maxX);
+		maxY = Math.max(maxY, op.maxY);
+		ops.add(op);
+	}
+
+
+
+
+	/**
+	 * Draws all recorded operations.
+	 * */
+	public void replay(RenderTarget g) {
+		for(int i=0, n=ops.size(); i<n; i++) {
+			replay(g, ops.get(i));
+		}
+	}
+
+
+
+
+	/**
+	 * Draws all recorded operations intersecting the given region.
+	 * */
+	public void replay(RenderTarget g, double x0, double y0, double x1, double y1) {
+		if(!intersects(x0, y0, x1, y1)) {
+			return;
+		}
+		for(int i=0, n=ops.size(); i<n; i++) {
+			Op op = ops.get(i);
+			if(op.intersects(x0, y0, x1, y1)) {
+				replay(g, op);
+			}
+		}
+	}
+
+
+
+
+	private void replay(RenderTarget g, Op op) {
+		double[] c = op.coords;
+		switch(op.type) {
+			case FILL_RECT: {
+				g.setFill(op.paint);
+				g.fillRect(c[0], c[1], c[2], c[3]);
+				break;
+			}
+			case STROKE_LINE: {
+				g.setStroke(op.paint);
+				g.setLineWidth(op.lineWidth);
+				g.strokeLine(c[0], c[1], c[2], c[3]);
+				break;
+			}
+			case STROKE_OVAL: {
+				g.setStroke(op.paint);
+				g.setLineWidth(op.lineWidth);
+				g.strokeOval(c[0], c[1], c[2], c[3]);
+				break;
+			}
+			case FILL_POLYGON: {
+				g.setFill(op.paint);
+				g.fillPolygon(c, op.coordsY, c.length);
+				break;
+			}
+			case FILL_TEXT: {
+				g.setFill(op.paint);
+				g.setFont(op.font);
+				g.setTextAlign(op.textAlign);
+				g.setTextBaseline(op.textBaseline);
+				g.fillText(op.text, c[0], c[1]);
+				break;
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * @return true, if both lists contain the same operations
+	 * */
+	public boolean isSameAs(DisplayList other) {
+		if(other == null || ops.size() != other.ops.size()) {
+			return false;
+		}
+		for(int i=0, n=ops.size(); i<n; i++) {
+			if(!ops.get(i).isSameAs(other.ops.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+
+
+	public boolean intersects(double x0, double y0, double x1, double y1) {
+		return !isEmpty() && minX <= x1 && maxX >= x0 && minY <= y1 && maxY >= y0;
+	}
+
+
+
+
+	public boolean isEmpty() {
+		return ops.isEmpty();
+	}
+
+
+
+
+	public double getMinX() {
+		return minX;
+	}
+
+
+
+
+	public double getMinY() {
+		return minY;
+	}
+
+
+
+
+	public double getMaxX() {
+		return maxX;
+	}
+
+
+
+
+	public double getMaxY() {
+		return maxY;
+	}
+
+
+}
@@ -0,0 +1,114 @@
+package com.ruegnerlukas.wtsights.ui.sighteditor.rendering;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * Draws onto a javafx-canvas.
+ * */
+public class FXRenderTarget implements RenderTarget {
+
+	
+	private final GraphicsContext g;
+	
+	
+	
+	
+	public FXRenderTarget(GraphicsContext g) {
+		this.g = g;
+	}
+	
+	
+	
+	
+	@Override
+	public void setFill(Paint fill) {
+		g.setFill(fill);
+	}
+	
+	
+	
+	
+	@Override
+	public void setStroke(Paint stroke) {
+		g.setStroke(stroke);
+	}
+	
+	
+	
+	
+	@Override
+	public void setLineWidth(double lineWidth) {
+		g.setLineWidth(lineWidth);
+	}
+	
+	
+	
+	
+	@Override
+	public void setFont(Font font) {
+		g.setFont(font);
+	}
+	
+	
+	
+	
+	@Override
+	public void setTextAlign(TextAlignment textAlign) {
+		g.setTextAlign(textAlign);
+	}
+	
+	
+	
+	
+	@Override
+	public void setTextBaseline(VPos textBaseline) {
+		g.setTextBaseline(textBaseline);
+	}
+	
+	
+	
+	
+	@Override
+	public void fillRect(double x, double y, double w, double h) {
+		g.fillRect(x, y, w, h);
+	}
+	
+	
+	
+	
+	@Override
+	public void strokeLine(double x0, double y0, double x1, double y1) {
+		g.strokeLine(x0, y0, x1, y1);
+	}
+	
+	
+	
+	
+	@Override
+	public void strokeOval(double x, double y, double w, double h) {
+		g.strokeOval(x, y, w, h);
+	}
+	
+	
+	
+	
+	@Override
+	public void fillPolygon(double[] xPoints, double[] yPoints, int nPoints) {
+		g.fillPolygon(xPoints, yPoints, nPoints);
+	}
+	
+	
+	
+	
+	@Override
+	public void fillText(String text, double x, double y) {
+		g.fillText(text, x, y);
+	}
+	
+	
+}
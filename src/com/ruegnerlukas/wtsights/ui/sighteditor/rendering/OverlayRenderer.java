@@ -1,5 +1,7 @@
 package com.ruegnerlukas.wtsights.ui.sighteditor.rendering;
 
+import java.util.Arrays;
+
 import com.ruegnerlukas.simplemath.MathUtils;
 import com.ruegnerlukas.simplemath.geometry.shapes.circle.Circlef;
 import com.ruegnerlukas.simplemath.geometry.shapes.rectangle.Rectanglef;
@@ -36,12 +38,15 @@ import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutQuadFill
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutQuadOutlineObject;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutRangefinder;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.LayoutTextObject;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils.ScaleMode;
 import com.ruegnerlukas.wtutils.canvas.WTCanvas;
 
 import javafx.geometry.Point2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
@@ -58,37 +63,113 @@ public class OverlayRenderer {
 
 	private static final Font font = new Font("Arial", 15);
 	
+	// cached grid layer
+	private static Canvas gridCanvas;
+	private static WritableImage gridImage;
+	private static Object[] gridState;
+	
 	
 	
 	public static void draw(WTCanvas canvas, GraphicsContext g, DataPackage data) {
 		
+		ConversionContext conversion = ConversionContext.create(data, canvas.getWidth(), canvas.getHeight());
+		
 		if(data.dataSight.envDisplayGrid && !MathUtils.isNearlyEqual(0, data.dataSight.envGridWidth) && !MathUtils.isNearlyEqual(0, data.dataSight.envGridHeight)) {
-			
-			double pxWidth = Conversion.get().mil2pixel(data.dataSight.envGridWidth, canvas.getHeight(), data.dataSight.envZoomedIn);
-			double pxHeight = Conversion.get().mil2pixel(data.dataSight.envGridHeight, canvas.getHeight(), data.dataSight.envZoomedIn);
-			
-			int nx = (int) (canvas.getWidth() / pxWidth);
-			int ny = (int) (canvas.getHeight() / pxHeight);
-			
-			for(int x=-nx/2-1; x<=nx/2; x++) {
-				for(int y=-ny/2-1; y<=ny/2; y++) {
-					double cx = x * pxWidth + canvas.getWidth()/2;
-					double cy = y * pxHeight + canvas.getHeight()/2;
-					double cw = pxWidth;
-					double ch = pxHeight;
-					drawRect(data.dataSight.envColorGrid, data.dataSight.envColorGrid, canvas, g, cx, cy, cw, ch);
-				}
+			drawGrid(canvas, g, data, conversion);
+		}
+		
+		drawElementSelection(canvas, g, data, conversion);
+	}
+	
+	
+	
+	/**
+	 * Draws the cached grid layer. The grid is rasterized again only if the grid size, color, zoom, scroll position or size of the overlay changed.
+	 * */
+	private static void drawGrid(WTCanvas canvas, GraphicsContext g, DataPackage data, ConversionContext conversion) {
+		
+		double pxWidth = conversion.mil2pixel(data.dataSight.envGridWidth, canvas.getHeight(), data.dataSight.envZoomedIn);
+		double pxHeight = conversion.mil2pixel(data.dataSight.envGridHeight, canvas.getHeight(), data.dataSight.envZoomedIn);
+		
+		int nx = (int) (canvas.getWidth() / pxWidth);
+		int ny = (int) (canvas.getHeight() / pxHeight);
+		
+		// first cell (top left) in overlay-space
+		double x0 = (-nx/2-1) * pxWidth + canvas.getWidth()/2;
+		double y0 = (-ny/2-1) * pxHeight + canvas.getHeight()/2;
+		Point2D p0 = canvas.transformToOverlay(x0, y0);
+		Point2D p1 = canvas.transformToOverlay(x0+pxWidth, y0+pxHeight);
+		
+		int width = (int) Math.ceil(canvas.canvasOverlay.getWidth());
+		int height = (int) Math.ceil(canvas.canvasOverlay.getHeight());
+		if(width <= 0 || height <= 0) {
+			return;
+		}
+		
+		Object[] state = new Object[] {
+				width, height, data.dataSight.envColorGrid,
+				p0.getX(), p0.getY(), p1.getX(), p1.getY(), nx, ny };
+		
+		if(gridImage == null || !Arrays.equals(state, gridState)) {
+			gridState = state;
+			gridImage = rasterizeGrid(width, height, data.dataSight.envColorGrid,
+					p0.getX(), p0.getY(), p1.getX()-p0.getX(), p1.getY()-p0.getY(), (nx/2)*2+2, (ny/2)*2+2);
+		}
+		
+		g.drawImage(gridImage, 0, 0);
+	}
+	
+	
+	
+	
+	/**
+	 * Draws the lines of the grid (one line for each row/column instead of one rectangle for each cell) into an image with a transparent background.
+	 * */
+	private static WritableImage rasterizeGrid(int width, int height, Color color, double x, double y, double cellWidth, double cellHeight, int nCellsX, int nCellsY) {
+		
+		if(gridCanvas == null || (int)gridCanvas.getWidth() != width || (int)gridCanvas.getHeight() != height) {
+			gridCanvas = new Canvas(width, height);
+			gridImage = null;
+		}
+		
+		GraphicsContext g = gridCanvas.getGraphicsContext2D();
+		g.clearRect(0, 0, width, height);
+		g.setStroke(color);
+		g.setLineWidth(1);
+		g.setLineDashes(null);
+		
+		final double top = Math.max(0, y);
+		final double bottom = Math.min(height, y + cellHeight*nCellsY);
+		final double left = Math.max(0, x);
+		final double right = Math.min(width, x + cellWidth*nCellsX);
+		
+		for(int i=0; i<=nCellsX; i++) {
+			double px = x + i*cellWidth;
+			if(px < -1 || px > width+1) {
+				continue;
 			}
-			
-			
+			px = ((int)px) + 0.5;
+			g.strokeLine(px, top, px, bottom);
 		}
 		
-		drawElementSelection(canvas, g, data);
+		for(int i=0; i<=nCellsY; i++) {
+			double py = y + i*cellHeight;
+			if(py < -1 || py > height+1) {
+				continue;
+			}
+			py = ((int)py) + 0.5;
+			g.strokeLine(left, py, right, py);
+		}
+		
+		SnapshotParameters params = new SnapshotParameters();
+		params.setFill(Color.TRANSPARENT);
+		return gridCanvas.snapshot(params, gridImage);
 	}
 	
 	
 	
-	public static void drawElementSelection(WTCanvas canvas, GraphicsContext g, DataPackage data) {
+	
+	public static void drawElementSelection(WTCanvas canvas, GraphicsContext g, DataPackage data, ConversionContext conversion) {
 		
 		BaseElement selectedElement = data.dataSight.selectedElement;
 		
@@ -97,30 +178,23 @@ public class OverlayRenderer {
 		}
 		
 		
-		Conversion.get().initialize(
-				canvas.getWidth(),
-				canvas.getHeight(),
-				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
-				data.dataBallistic.vehicle.fovIn*data.dataBallistic.zoomModIn,
-				data.dataSight.gnrThousandth);
-		
 		if(selectedElement.type == ElementType.CENTRAL_VERT_LINE) {
 			ElementCentralVertLine element = (ElementCentralVertLine)selectedElement;
-			LayoutCentralVertLine layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutCentralVertLine layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			drawRect(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.bounds.x, layout.bounds.y, layout.bounds.width, layout.bounds.height);
 			
 			
 			
 		} else if(selectedElement.type == ElementType.CENTRAL_HORZ_LINE) {
 			ElementCentralHorzLine element = (ElementCentralHorzLine)selectedElement;
-			LayoutCentralHorzLine layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutCentralHorzLine layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			drawRect(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.bounds.x, layout.bounds.y, layout.bounds.width, layout.bounds.height);
 			
 			
 			
 		} else if(selectedElement.type == ElementType.RANGEFINDER) {
 			ElementRangefinder element = (ElementRangefinder)selectedElement;
-			LayoutRangefinder layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutRangefinder layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			drawRect(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.bounds.x, layout.bounds.y, layout.bounds.width, layout.bounds.height);
 			drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.bounds.x, layout.bounds.y+layout.bounds.height, 6);
 			
@@ -128,7 +202,7 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.HORZ_RANGE_INDICATORS) {
 			ElementHorzRangeIndicators element = (ElementHorzRangeIndicators)selectedElement;
-			LayoutHorzRangeIndicators layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutHorzRangeIndicators layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 
 			for(int i=0; i<layout.bounds.length; i++) {
 				Rectanglef bounds = layout.bounds[i];
@@ -145,7 +219,7 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_LINE) {
 			ElementCustomLine element = (ElementCustomLine)selectedElement;
-			LayoutLineObject layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutLineObject layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			drawLine(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, layout.end.x, layout.end.y, layout.lineSize);
 			
 			Vector2d dir = Vector2d.createVectorAB(layout.start, layout.end).setLength(3);
@@ -162,7 +236,7 @@ public class OverlayRenderer {
 		
 		} else if(selectedElement.type == ElementType.CUSTOM_CIRCLE_OUTLINE) {
 			ElementCustomCircleOutline element = (ElementCustomCircleOutline)selectedElement;
-			LayoutCircleOutlineObject layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutCircleOutlineObject layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			if(layout.useLineSegments) {
 				Vector2d v0 = new Vector2d(0, 1).rotateDeg(-element.segment.x).setLength(layout.circle.radius+layout.circle.radius*0.1);
 				Vector2d v1 = new Vector2d(0, 1).rotateDeg(-element.segment.y).setLength(layout.circle.radius+layout.circle.radius*0.1);
@@ -181,7 +255,7 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_TEXT) {
 			ElementCustomText element = (ElementCustomText)selectedElement;
-			LayoutTextObject layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutTextObject layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.pos.x, layout.pos.x, 6);
 			
 			if(element.movement == Movement.MOVE_RADIAL) {
@@ -192,7 +266,7 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_QUAD_FILLED) {
 			ElementCustomQuadFilled element = (ElementCustomQuadFilled)selectedElement;
-			LayoutQuadFilledObject layout = element.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutQuadFilledObject layout = element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			drawQuad(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.p0.x, layout.p0.y, layout.p1.x, layout.p1.y, layout.p2.x, layout.p2.y, layout.p3.x, layout.p3.y);
 			drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.p0.x, layout.p0.y, 4);
 			drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.p1.x, layout.p1.y, 4);
@@ -211,10 +285,10 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_QUAD_OUTLINE) {
 			ElementCustomQuadOutline element = (ElementCustomQuadOutline)selectedElement;
-			element.layout(data, canvas.getWidth(), canvas.getHeight());
+			element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			for(int i=0; i<element.getLines().size(); i++) {
 				ElementCustomLine lineObject = element.getLines().get(i);
-				LayoutLineObject layout = lineObject.layout(data, canvas.getWidth(), canvas.getHeight());
+				LayoutLineObject layout = lineObject.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 				if(layout != null) {
 					drawLine(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, layout.end.x, layout.end.y, layout.lineSize);
 					drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, 4);
@@ -231,10 +305,10 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_POLY_OUTLINE) {
 			ElementCustomPolygonOutline element = (ElementCustomPolygonOutline)selectedElement;
-			element.layout(data, canvas.getWidth(), canvas.getHeight());
+			element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			for(int i=0; i<element.getLines().size(); i++) {
 				ElementCustomLine lineObject = element.getLines().get(i);
-				LayoutLineObject layout = lineObject.layout(data, canvas.getWidth(), canvas.getHeight());
+				LayoutLineObject layout = lineObject.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 				if(layout != null) {
 					drawLine(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, layout.end.x, layout.end.y, layout.lineSize);
 					drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, 4);
@@ -252,7 +326,7 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_POLY_FILLED) {
 			ElementCustomPolygonFilled element = (ElementCustomPolygonFilled)selectedElement;
-			element.layout(data, canvas.getWidth(), canvas.getHeight());
+			element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			
 			ElementCustomPolygonOutline outline = new ElementCustomPolygonOutline("notanelement");
 			outline.useThousandth = element.useThousandth;
@@ -264,10 +338,10 @@ public class OverlayRenderer {
 			outline.speed = element.speed;
 			outline.positionOffset.set(element.positionOffset);
 			outline.setVertices(element.getVertices());
-			outline.layout(data, canvas.getWidth(), canvas.getHeight());
+			outline.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			for(int i=0; i<outline.getLines().size(); i++) {
 				ElementCustomLine lineObject = outline.getLines().get(i);
-				LayoutLineObject layout = lineObject.layout(data, canvas.getWidth(), canvas.getHeight());
+				LayoutLineObject layout = lineObject.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 				if(layout != null) {
 					drawThinLine(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, layout.end.x, layout.end.y);
 					drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, 4);
@@ -286,7 +360,7 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.CUSTOM_CIRCLE_FILLED) {
 			ElementCustomCircleFilled element = (ElementCustomCircleFilled)selectedElement;
-			element.layout(data, canvas.getWidth(), canvas.getHeight());
+			element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			ElementCustomCircleOutline outline = new ElementCustomCircleOutline("notanelement");
 			outline.positionOffset.set(element.positionOffset);
 			outline.useThousandth = element.useThousandth;
@@ -299,7 +373,7 @@ public class OverlayRenderer {
 			outline.position.set(element.position);
 			outline.diameter = element.diameter;
 			outline.segment.set(element.segment);
-			LayoutCircleOutlineObject layoutOutline = outline.layout(data, canvas.getWidth(), canvas.getHeight());
+			LayoutCircleOutlineObject layoutOutline = outline.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 
 			if(layoutOutline.useLineSegments) {
 				Vector2d v0 = new Vector2d(0, 1).rotateDeg(-element.segment.x).setLength(layoutOutline.circle.radius+layoutOutline.circle.radius*0.1);
@@ -325,7 +399,7 @@ public class OverlayRenderer {
 			dataBlock.dataSight = data.dataSight;
 			dataBlock.dataBallistic = data.dataBallistic;
 			dataBlock.elementBallistic = selectedElement.type == ElementType.BALLISTIC_RANGE_INDICATORS ? data.elementBallistic : ((ElementShellBlock)selectedElement).elementBallistic;
-			LayoutBallRangeIndicators layout = element.layout(dataBlock, canvas.getWidth(), canvas.getHeight());
+			LayoutBallRangeIndicators layout = element.layout(dataBlock, conversion, canvas.getWidth(), canvas.getHeight());
 			
 			if(element.drawCorrLabel && data.dataSight.envRangeCorrection > 0) {
 				drawCross(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.corrLabel.x, layout.corrLabel.y, 6);
@@ -381,10 +455,10 @@ public class OverlayRenderer {
 			
 		} else if(selectedElement.type == ElementType.FUNNEL) {
 			ElementFunnel element = (ElementFunnel)selectedElement;
-			element.layout(data, canvas.getWidth(), canvas.getHeight());
+			element.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 			for(int i=0; i<element.getLines().size(); i++) {
 				ElementCustomLine lineObject = element.getLines().get(i);
-				LayoutLineObject layout = lineObject.layout(data, canvas.getWidth(), canvas.getHeight());
+				LayoutLineObject layout = lineObject.layout(data, conversion, canvas.getWidth(), canvas.getHeight());
 				if(layout != null) {
 					drawLine(COLOR_SELECTION_1, COLOR_SELECTION_2, canvas, g, layout.start.x, layout.start.y, layout.end.x, layout.end.y, layout.lineSize);
 				}
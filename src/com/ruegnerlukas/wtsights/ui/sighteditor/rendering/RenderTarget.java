@@ -0,0 +1,39 @@
+package com.ruegnerlukas.wtsights.ui.sighteditor.rendering;
+
+import javafx.geometry.VPos;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+
+/**
+ * The drawing-methods used by the {@link SightRenderer}. Recorded {@link DisplayList}s can be replayed on any target,
+ * e.g. the editor canvas ({@link FXRenderTarget}) or an off-screen image ({@link AWTRenderTarget}).
+ * */
+public interface RenderTarget {
+
+	
+	public void setFill(Paint fill);
+	
+	public void setStroke(Paint stroke);
+	
+	public void setLineWidth(double lineWidth);
+	
+	public void setFont(Font font);
+	
+	public void setTextAlign(TextAlignment textAlign);
+	
+	public void setTextBaseline(VPos textBaseline);
+	
+	public void fillRect(double x, double y, double w, double h);
+	
+	public void strokeLine(double x0, double y0, double x1, double y1);
+	
+	public void strokeOval(double x, double y, double w, double h);
+	
+	public void fillPolygon(double[] xPoints, double[] yPoints, int nPoints);
+	
+	public void fillText(String text, double x, double y);
+	
+	
+}
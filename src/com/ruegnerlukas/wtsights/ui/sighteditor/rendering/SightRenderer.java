@@ -14,149 +14,374 @@ import com.ruegnerlukas.wtsights.data.sight.sightElements.BaseElement;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.ElementType;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.elements.*;
 import com.ruegnerlukas.wtsights.data.sight.sightElements.layouts.*;
-import com.ruegnerlukas.wtutils.Conversion;
+import com.ruegnerlukas.wtutils.ConversionContext;
 import com.ruegnerlukas.wtutils.SightUtils.ScaleMode;
 import com.ruegnerlukas.wtutils.SightUtils.TextAlign;
 import com.ruegnerlukas.wtutils.SightUtils.TriggerGroup;
+import com.ruegnerlukas.wtutils.TextMetrics;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.transform.Rotate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 
 
 public class SightRenderer {
 
 	private static final int MAX_FONT_CACHE_SIZE = 20;
-	private static List<Font> fontCache = new ArrayList<Font>();
+	private static final Map<Long,Font> fontCache = new LinkedHashMap<Long,Font>(MAX_FONT_CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override protected boolean removeEldestEntry(Entry<Long,Font> eldest) {
+			return size() > MAX_FONT_CACHE_SIZE;
+		}
+	};
+	
+	public static boolean retainedMode = true; // false: record and draw all elements every frame
+	
+	private static final int MAX_DIRTY_REGIONS = 32;
+	private static Map<BaseElement,DisplayList> displayLists = new LinkedHashMap<BaseElement,DisplayList>();
+	private static List<double[]> dirtyRegions = new ArrayList<double[]>();
+	private static Object[] lastState;
 	
 	
+	/**
+	 * @return the font for sights with the given size. The least recently used fonts are removed from the cache first.
+	 * */
 	public static Font getFont(double size) {
+		Long key = TextMetrics.toKey(size);
+		synchronized (fontCache) {
+			Font font = fontCache.get(key);
+			if(font == null) {
+				font = new Font(TextMetrics.FONT_FAMILY, size);
+				fontCache.put(key, font);
+			}
+			return font;
+		}
+	}
+	
+
+	
+	
+	
+	
+	/**
+	 * Draws the sight. The draw operations of every element are recorded into a {@link DisplayList} and kept until the element is dirty again.
+	 * Only the regions of elements whose operations changed are redrawn (background + all display lists in that region).
+	 * The whole canvas is redrawn when the canvas, sight color, background or conversion changed.
+	 * */
+	public static synchronized void draw(Canvas canvas, GraphicsContext g, DataPackage data) {
 		
-		for(int i=0, n=fontCache.size(); i<n; i++) {
-			Font font = fontCache.get(i);
-			
-			if(MathUtils.isNearlyEqual(font.getSize(), size)) {
-				fontCache.remove(font);
-				fontCache.add(font);
-				return font;
+		ConversionContext conversion = ConversionContext.create(data, canvas.getWidth(), canvas.getHeight());
+		
+		Object[] state = new Object[] {
+				canvas, canvas.getWidth(), canvas.getHeight(),
+				data.dataSight.envSightColor,
+				data.dataSight.envBackground, data.dataSight.envBackgroundOffX, data.dataSight.envBackgroundOffY,
+				data.dataSight.envBackgroundScale, data.dataSight.envBackgroundRotation,
+				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
+				data.dataBallistic.vehicle.fovIn*data.dataBallistic.zoomModIn,
+				data.dataSight.gnrThousandth };
+		
+		boolean fullRedraw = !retainedMode || !Arrays.equals(state, lastState);
+		lastState = state;
+		dirtyRegions.clear();
+		
+		Frame frame = new Frame(displayLists, fullRedraw);
+		synchronized (data.dataSight) {
+			recordElements(frame, conversion, data);
+		}
+		Map<BaseElement,DisplayList> currentLists = frame.lists;
+		
+		// find changed regions
+		if(!fullRedraw) {
+			for(Entry<BaseElement,DisplayList> entry : displayLists.entrySet()) {
+				DisplayList listNew = currentLists.get(entry.getKey());
+				if(listNew == null) {
+					addDirtyRegion(entry.getValue());
+				} else if(listNew != entry.getValue() && !listNew.isSameAs(entry.getValue())) {
+					addDirtyRegion(entry.getValue());
+					addDirtyRegion(listNew);
+				}
+			}
+			for(Entry<BaseElement,DisplayList> entry : currentLists.entrySet()) {
+				if(!displayLists.containsKey(entry.getKey())) {
+					addDirtyRegion(entry.getValue());
+				}
+			}
+			if(dirtyRegions.size() > MAX_DIRTY_REGIONS || getDirtyArea() > canvas.getWidth()*canvas.getHeight()*0.5) {
+				fullRedraw = true;
+			}
+		}
+		displayLists = currentLists;
+		
+		// composite
+		RenderTarget target = new FXRenderTarget(g);
+		if(fullRedraw) {
+			drawBackground(canvas, g, data.dataSight);
+			for(DisplayList l : displayLists.values()) {
+				l.replay(target);
 			}
 			
+		} else {
+			for(double[] region : dirtyRegions) {
+				double x0 = Math.floor(region[0]) - 2;
+				double y0 = Math.floor(region[1]) - 2;
+				double x1 = Math.ceil(region[2]) + 2;
+				double y1 = Math.ceil(region[3]) + 2;
+				g.save();
+				g.beginPath();
+				g.rect(x0, y0, x1-x0, y1-y0);
+				g.clip();
+				drawBackground(canvas, g, data.dataSight);
+				for(DisplayList l : displayLists.values()) {
+					l.replay(target, x0, y0, x1, y1);
+				}
+				g.restore();
+			}
 		}
 		
-		Font font = new Font("Arial", size);
-		fontCache.add(font);
+		dirtyRegions.clear();
+	}
+	
+	
+	
+	
+	/**
+	 * Forces a redraw of the whole canvas on the next call of {@link SightRenderer#draw(Canvas, GraphicsContext, DataPackage)}.
+	 * */
+	public static synchronized void invalidate() {
+		lastState = null;
+	}
+	
+	
+	
+	
+	/**
+	 * Lays out all elements for a canvas with the given size and records their draw operations (in draw order).
+	 * Does not use or change the display lists of the editor canvas.
+	 * Different sights can be recorded in parallel. The layouts are cached in the elements, so recording the same sight is synchronized on its {@link SightData}.
+	 * */
+	public static List<DisplayList> record(DataPackage data, double width, double height) {
+		
+		ConversionContext conversion = ConversionContext.create(data, width, height);
+		Frame frame = new Frame(new HashMap<BaseElement,DisplayList>(), true);
 		
-		if(MAX_FONT_CACHE_SIZE < fontCache.size()) {
-			fontCache.remove(fontCache.size()-1);
+		synchronized (data.dataSight) {
+			data.dataSight.setElementsDirty();
+			recordElements(frame, conversion, data);
+			
+			// the layouts now belong to this size
+			data.dataSight.setElementsDirty();
 		}
+		invalidate();
 		
-		return font;
+		return new ArrayList<DisplayList>(frame.lists.values());
 	}
 	
-
+	
+	
+	
+	/**
+	 * Draws the background and the given recorded display lists onto the given target.
+	 * The background image of the environment is not drawn.
+	 * */
+	public static void draw(RenderTarget target, List<DisplayList> lists, double width, double height) {
+		target.setFill(Color.GRAY);
+		target.fillRect(0, 0, width, height);
+		for(DisplayList list : lists) {
+			list.replay(target);
+		}
+	}
 	
 	
 	
 	
-	public static void draw(Canvas canvas, GraphicsContext g, DataPackage data) {
+	/**
+	 * The display lists of a single recording pass.
+	 * */
+	private static class Frame {
 		
-		Conversion.get().initialize(
-				canvas.getWidth(),
-				canvas.getHeight(),
-				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
-				data.dataBallistic.vehicle.fovIn*data.dataBallistic.zoomModIn,
-				data.dataSight.gnrThousandth);
+		public final Map<BaseElement,DisplayList> prevLists;
+		public final Map<BaseElement,DisplayList> lists = new LinkedHashMap<BaseElement,DisplayList>();
+		public final boolean recordAll;
 		
-		// background
-		drawBackground(canvas, g, data.dataSight);
+		public Frame(Map<BaseElement,DisplayList> prevLists, boolean recordAll) {
+			this.prevLists = prevLists;
+			this.recordAll = recordAll;
+		}
+		
+		/**
+		 * @return a new (empty) display list, if the element has to be drawn again, or null if the previous display list of the element can be used
+		 * */
+		public DisplayList record(BaseElement element, boolean forceRecord) {
+			DisplayList prev = prevLists.get(element);
+			if(prev != null && !recordAll && !forceRecord && !element.isDirty()) {
+				lists.put(element, prev);
+				return null;
+			}
+			DisplayList list = new DisplayList();
+			lists.put(element, list);
+			return list;
+		}
+		
+	}
+	
+	
+	
+	
+	/**
+	 * Records the draw operations of all elements (in draw order) into the given frame.
+	 * */
+	private static void recordElements(Frame frame, ConversionContext conversion, DataPackage data) {
+		
+		DisplayList list;
 		
 		// centered lines
-		drawCenteredLines(canvas, g, data);
+		BaseElement horzLine = data.dataSight.getElements(ElementType.CENTRAL_HORZ_LINE).get(0);
+		BaseElement vertLine = data.dataSight.getElements(ElementType.CENTRAL_VERT_LINE).get(0);
+		if((list = frame.record(horzLine, vertLine.isDirty())) != null) {
+			drawCenteredLines(conversion, list, data);
+		}
 		
 		// rangefinder
 		if(data.dataSight.envShowRangeFinder) {
-			drawRangefinder(canvas, g, data);
+			if((list = frame.record(data.dataSight.getElements(ElementType.RANGEFINDER).get(0), false)) != null) {
+				drawRangefinder(conversion, list, data);
+			}
 		}
 		
 		// horz range indicators
-		drawHorzRangeIndicators(canvas, g, data);
+		if((list = frame.record(data.dataSight.getElements(ElementType.HORZ_RANGE_INDICATORS).get(0), false)) != null) {
+			drawHorzRangeIndicators(conversion, list, data);
+		}
 		
 		// ballistic range indicators
 		if(data.dataSight.getElements(ElementType.SHELL_BALLISTICS_BLOCK).isEmpty() && data.elementBallistic != null) {
-			drawBallisticsBlock(canvas, g, data, (ElementBallRangeIndicator)data.dataSight.getElements(ElementType.BALLISTIC_RANGE_INDICATORS).get(0));
+			ElementBallRangeIndicator block = (ElementBallRangeIndicator)data.dataSight.getElements(ElementType.BALLISTIC_RANGE_INDICATORS).get(0);
+			if((list = frame.record(block, false)) != null) {
+				drawBallisticsBlock(conversion, list, data, block);
+			}
 		}
 		
 		// shell block indicators
 		if(data.elementBallistic != null) {
 			for(BaseElement e : data.dataSight.getElements(ElementType.SHELL_BALLISTICS_BLOCK)) {
 				ElementShellBlock shellBlock = (ElementShellBlock)e;
+				if((list = frame.record(shellBlock, false)) == null) {
+					continue;
+				}
 				DataPackage dataBlock = new DataPackage();
 				dataBlock.dataBallistic = data.dataBallistic;
 				dataBlock.elementBallistic = shellBlock.elementBallistic;
 				dataBlock.dataSight = data.dataSight;
-				drawBallisticsBlock(canvas, g, dataBlock, shellBlock);
+				drawBallisticsBlock(conversion, list, dataBlock, shellBlock);
 			}
 		}
 		
 		// custom elements
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_CIRCLE_OUTLINE)) {
-			drawCircleObject(canvas, g, data, (ElementCustomCircleOutline)e);
+			if((list = frame.record(e, false)) != null) {
+				drawCircleObject(conversion, list, data, (ElementCustomCircleOutline)e);
+			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_LINE)) {
-			drawLineObject(canvas, g, data, (ElementCustomLine)e);
+			if((list = frame.record(e, false)) != null) {
+				drawLineObject(conversion, list, data, (ElementCustomLine)e);
+			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_QUAD_FILLED)) {
-			drawQuadObject(canvas, g, data, (ElementCustomQuadFilled)e);
+			if((list = frame.record(e, false)) != null) {
+				drawQuadObject(conversion, list, data, (ElementCustomQuadFilled)e);
+			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_TEXT)) {
-			drawTextObject(canvas, g, data, (ElementCustomText)e);
+			if((list = frame.record(e, false)) != null) {
+				drawTextObject(conversion, list, data, (ElementCustomText)e);
+			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_POLY_OUTLINE)) {
+			if((list = frame.record(e, false)) == null) {
+				continue;
+			}
 			ElementCustomPolygonOutline ePoly = (ElementCustomPolygonOutline)e;
-			ePoly.layout(data, canvas.getWidth(), canvas.getHeight());
+			ePoly.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 			for(ElementCustomLine eLine : ePoly.getLines()) {
-				drawLineObject(canvas, g, data, eLine);
+				drawLineObject(conversion, list, data, eLine);
 			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_POLY_FILLED)) {
+			if((list = frame.record(e, false)) == null) {
+				continue;
+			}
 			ElementCustomPolygonFilled ePoly = (ElementCustomPolygonFilled)e;
-			ePoly.layout(data, canvas.getWidth(), canvas.getHeight());
+			ePoly.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 			for(ElementCustomQuadFilled eQuad : ePoly.getQuads()) {
-				drawQuadObject(canvas, g, data, eQuad);
+				drawQuadObject(conversion, list, data, eQuad);
 			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_QUAD_OUTLINE)) {
+			if((list = frame.record(e, false)) == null) {
+				continue;
+			}
 			ElementCustomQuadOutline eQuad = (ElementCustomQuadOutline)e;
-			eQuad.layout(data, canvas.getWidth(), canvas.getHeight());
+			eQuad.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 			for(ElementCustomLine eLine : eQuad.getLines()) {
-				drawLineObject(canvas, g, data, eLine);
+				drawLineObject(conversion, list, data, eLine);
 			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.CUSTOM_CIRCLE_FILLED)) {
+			if((list = frame.record(e, false)) == null) {
+				continue;
+			}
 			ElementCustomCircleFilled eCircle = (ElementCustomCircleFilled)e;
-			eCircle.layout(data, canvas.getWidth(), canvas.getHeight());
+			eCircle.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 			for(ElementCustomQuadFilled eQuad : eCircle.getQuads()) {
-				drawQuadObject(canvas, g, data, eQuad);
+				drawQuadObject(conversion, list, data, eQuad);
 			}
 		}
 		for(BaseElement e : data.dataSight.getElements(ElementType.FUNNEL)) {
+			if((list = frame.record(e, false)) == null) {
+				continue;
+			}
 			ElementFunnel eFunnel = (ElementFunnel)e;
-			eFunnel.layout(data, canvas.getWidth(), canvas.getHeight());
+			eFunnel.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 			for(ElementCustomLine eLine : eFunnel.getLines()) {
-				drawLineObject(canvas, g, data, eLine);
+				drawLineObject(conversion, list, data, eLine);
 			}
 		}
-
 		
 	}
+	
+	
+	
+	
+	private static void addDirtyRegion(DisplayList list) {
+		if(!list.isEmpty()) {
+			dirtyRegions.add(new double[] {list.getMinX(), list.getMinY(), list.getMaxX(), list.getMaxY()});
+		}
+	}
+	
+	
+	
+	
+	private static double getDirtyArea() {
+		double area = 0;
+		for(double[] region : dirtyRegions) {
+			area += (region[2]-region[0]) * (region[3]-region[1]);
+		}
+		return area;
+	}
 
 	
 	
@@ -194,13 +419,13 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawCenteredLines(Canvas canvas, GraphicsContext g, DataPackage data) {
+	private static void drawCenteredLines(ConversionContext conversion, DisplayList g, DataPackage data) {
 		
 		ElementCentralHorzLine horzLine = (ElementCentralHorzLine)data.dataSight.getElements(ElementType.CENTRAL_HORZ_LINE).get(0);
 		ElementCentralVertLine vertLine = (ElementCentralVertLine)data.dataSight.getElements(ElementType.CENTRAL_VERT_LINE).get(0);
 
-		Rectanglef horzBounds = horzLine.layout(data, canvas.getWidth(), canvas.getHeight()).bounds;
-		Rectanglef vertBounds = vertLine.layout(data, canvas.getWidth(), canvas.getHeight()).bounds;
+		Rectanglef horzBounds = horzLine.layout(data, conversion, conversion.screenWidth, conversion.screenHeight).bounds;
+		Rectanglef vertBounds = vertLine.layout(data, conversion, conversion.screenWidth, conversion.screenHeight).bounds;
 		
 		g.setFill(data.dataSight.envSightColor);
 		if(horzLine.drawCentralHorzLine) {
@@ -217,11 +442,11 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawRangefinder(Canvas canvas, GraphicsContext g, DataPackage data) {
+	private static void drawRangefinder(ConversionContext conversion, DisplayList g, DataPackage data) {
 		
 		ElementRangefinder rangefinder = (ElementRangefinder)data.dataSight.getElements(ElementType.RANGEFINDER).get(0);
 		
-		LayoutRangefinder layout = rangefinder.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutRangefinder layout = rangefinder.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -253,14 +478,14 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawHorzRangeIndicators(Canvas canvas, GraphicsContext g, DataPackage data) {
+	private static void drawHorzRangeIndicators(ConversionContext conversion, DisplayList g, DataPackage data) {
 		
 		ElementHorzRangeIndicators horRange = (ElementHorzRangeIndicators)data.dataSight.getElements(ElementType.HORZ_RANGE_INDICATORS).get(0);
 		if(horRange.indicators.isEmpty()) {
 			return;
 		}
 		
-		LayoutHorzRangeIndicators layout = horRange.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutHorzRangeIndicators layout = horRange.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -292,7 +517,7 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawBallisticsBlock(Canvas canvas, GraphicsContext g, DataPackage data, ElementBallRangeIndicator block) {
+	private static void drawBallisticsBlock(ConversionContext conversion, DisplayList g, DataPackage data, ElementBallRangeIndicator block) {
 		if(data.elementBallistic.ammunition.isEmpty()) {
 			return;
 		}
@@ -303,30 +528,25 @@ public class SightRenderer {
 		}
 		
 		if(block.scaleMode == ScaleMode.VERTICAL) {
-			drawBallisticsVertical(canvas, g, data, block);
+			drawBallisticsVertical(conversion, g, data, block);
 		} else {
-			drawBallisticsRadial(canvas, g, data, block);
+			drawBallisticsRadial(conversion, g, data, block);
 		}
 	}
 	
 	
 	
 	
-	private static void drawRangeCorrectionLabel(Canvas canvas, GraphicsContext g, DataPackage data, ElementBallRangeIndicator block) {
+	private static void drawRangeCorrectionLabel(ConversionContext conversion, DisplayList g, DataPackage data, ElementBallRangeIndicator block) {
 		
 		if(block.drawCorrLabel && data.dataSight.envRangeCorrection > 0) {
 			
-			Vector3d layout = block.layoutLabel(data, canvas.getWidth(), canvas.getHeight()).corrLabel;
+			Vector3d layout = block.layoutLabel(data, conversion, conversion.screenWidth, conversion.screenHeight).corrLabel;
 			if(layout == null) {
 				return;
 			}
 			
 			Font corrFont = getFont(layout.z);
-			Text corrHelper = new Text();
-			corrHelper.setFont(corrFont);
-			corrHelper.setWrappingWidth(0);
-			corrHelper.setLineSpacing(0);
-			corrHelper.setText("Distance:"+data.dataSight.envRangeCorrection);
 			
 			// draw label
 			g.setTextBaseline(VPos.CENTER);
@@ -343,13 +563,13 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawBallisticsVertical(Canvas canvas, GraphicsContext g, DataPackage data, ElementBallRangeIndicator block) {
+	private static void drawBallisticsVertical(ConversionContext conversion, DisplayList g, DataPackage data, ElementBallRangeIndicator block) {
 		
 		if(block.indicators.isEmpty()) {
 			return;
 		}
 
-		LayoutBallRangeIndicators layout = block.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutBallRangeIndicators layout = block.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -393,7 +613,7 @@ public class SightRenderer {
 		
 		// draw range correction label
 		if(block.drawCorrLabel) {
-			drawRangeCorrectionLabel(canvas, g, data, block);
+			drawRangeCorrectionLabel(conversion, g, data, block);
 		}
 		
 	}
@@ -401,22 +621,22 @@ public class SightRenderer {
 	
 	
 
-	private static void drawBallisticsRadial(Canvas canvas, GraphicsContext g, DataPackage data, ElementBallRangeIndicator block) {
+	private static void drawBallisticsRadial(ConversionContext conversion, DisplayList g, DataPackage data, ElementBallRangeIndicator block) {
 		
 		if(block.indicators.isEmpty()) {
 			return;
 		}
 		
 		if(block.circleMode) {
-			drawBallisticsRadialCircle(canvas, g, data, block);
+			drawBallisticsRadialCircle(conversion, g, data, block);
 		} else {
-			drawBallisticsRadialLine(canvas, g, data, block);
+			drawBallisticsRadialLine(conversion, g, data, block);
 		}
 		
 		
 		// draw range correction label
 		if(block.drawCorrLabel) {
-			drawRangeCorrectionLabel(canvas, g, data, block);
+			drawRangeCorrectionLabel(conversion, g, data, block);
 		}
 		
 	}
@@ -425,9 +645,9 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawBallisticsRadialLine(Canvas canvas, GraphicsContext g, DataPackage data, ElementBallRangeIndicator block) {
+	private static void drawBallisticsRadialLine(ConversionContext conversion, DisplayList g, DataPackage data, ElementBallRangeIndicator block) {
 		
-		LayoutBallRangeIndicators layout = block.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutBallRangeIndicators layout = block.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -473,9 +693,9 @@ public class SightRenderer {
 	
 	
 
-	private static void drawBallisticsRadialCircle(Canvas canvas, GraphicsContext g, DataPackage data, ElementBallRangeIndicator block) {
+	private static void drawBallisticsRadialCircle(ConversionContext conversion, DisplayList g, DataPackage data, ElementBallRangeIndicator block) {
 		
-		LayoutBallRangeIndicators layout = block.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutBallRangeIndicators layout = block.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -524,8 +744,8 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawLineObject(Canvas canvas, GraphicsContext g, DataPackage data, ElementCustomLine objLine) {
-		LayoutLineObject layout = objLine.layout(data, canvas.getWidth(), canvas.getHeight());
+	private static void drawLineObject(ConversionContext conversion, DisplayList g, DataPackage data, ElementCustomLine objLine) {
+		LayoutLineObject layout = objLine.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -542,9 +762,9 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawTextObject(Canvas canvas, GraphicsContext g, DataPackage data, ElementCustomText objText) {
+	private static void drawTextObject(ConversionContext conversion, DisplayList g, DataPackage data, ElementCustomText objText) {
 	
-		LayoutTextObject layout = objText.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutTextObject layout = objText.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -569,9 +789,9 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawCircleObject(Canvas canvas, GraphicsContext g, DataPackage data, ElementCustomCircleOutline objCircle) {
+	private static void drawCircleObject(ConversionContext conversion, DisplayList g, DataPackage data, ElementCustomCircleOutline objCircle) {
 		
-		LayoutCircleOutlineObject layout = objCircle.layout(data, canvas.getWidth(), canvas.getHeight());
+		LayoutCircleOutlineObject layout = objCircle.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
@@ -598,8 +818,8 @@ public class SightRenderer {
 	
 	
 	
-	private static void drawQuadObject(Canvas canvas, GraphicsContext g, DataPackage data, ElementCustomQuadFilled objQuad) {
-		LayoutQuadFilledObject layout = objQuad.layout(data, canvas.getWidth(), canvas.getHeight());
+	private static void drawQuadObject(ConversionContext conversion, DisplayList g, DataPackage data, ElementCustomQuadFilled objQuad) {
+		LayoutQuadFilledObject layout = objQuad.layout(data, conversion, conversion.screenWidth, conversion.screenHeight);
 		if(layout == null) {
 			return;
 		}
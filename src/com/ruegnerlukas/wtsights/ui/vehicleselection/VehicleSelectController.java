@@ -6,7 +6,6 @@ import java.util.Map;
 import java.util.ResourceBundle;
 
 import com.ruegnerlukas.simpleutils.logging.logger.Logger;
-import com.ruegnerlukas.wtsights.data.Database;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
 import com.ruegnerlukas.wtsights.ui.view.IViewController;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
@@ -86,7 +85,7 @@ public class VehicleSelectController implements IViewController {
 			strFilter = textfieldFilter.getText().trim().toLowerCase();
 		}
 		
-		List<Vehicle> vehicles = service.applyFilter(strFilter, Database.getVehicles());
+		List<Vehicle> vehicles = service.applyFilter(strFilter);
 		
 		if(vehicles.size() > 0) {
 			comboVehicles.setItems(FXCollections.observableArrayList(vehicles));
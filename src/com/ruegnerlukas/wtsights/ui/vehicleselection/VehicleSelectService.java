@@ -1,10 +1,10 @@
 package com.ruegnerlukas.wtsights.ui.vehicleselection;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.ruegnerlukas.simpleutils.collectionbuilders.MapBuilder;
+import com.ruegnerlukas.wtsights.data.Database;
 import com.ruegnerlukas.wtsights.data.vehicle.Vehicle;
 import com.ruegnerlukas.wtsights.ui.view.IViewService;
 import com.ruegnerlukas.wtsights.ui.view.ViewManager;
@@ -26,21 +26,15 @@ public class VehicleSelectService implements IViewService {
 	
 	
 	
-	public List<Vehicle> applyFilter(String filter, List<Vehicle> vehiclesIn) {
-		
-		if(filter.isEmpty()) {
-			return vehiclesIn;
-		}
-		
-		List<Vehicle> vehiclesFiltered = new ArrayList<Vehicle>();
-		for(int i=0,n=vehiclesIn.size(); i<n; i++) {
-			Vehicle vehicle = vehiclesIn.get(i);
-			if(vehicle.namePretty.toLowerCase().contains(filter)) {
-				vehiclesFiltered.add(vehicle);
-			}
-		}
-		
-		return vehiclesFiltered;
+	public List<Vehicle> applyFilter(String filter) {
+		return applyFilter(filter, null, null);
+	}
+	
+	
+	
+	
+	public List<Vehicle> applyFilter(String filter, String nation, String ammoType) {
+		return Database.searchVehicles(filter, nation, ammoType);
 	}
 	
 	
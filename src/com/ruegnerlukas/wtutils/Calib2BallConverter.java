@@ -6,7 +6,6 @@ import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticData;
 import com.ruegnerlukas.wtsights.data.ballisticdata.BallisticElement;
 import com.ruegnerlukas.wtsights.data.ballisticdata.Marker;
 import com.ruegnerlukas.wtsights.data.ballisticdata.MarkerData;
-import com.ruegnerlukas.wtsights.data.ballisticdata.ballfunctions.DefaultBallisticFuntion;
 import com.ruegnerlukas.wtsights.data.calibration.CalibrationAmmoData;
 import com.ruegnerlukas.wtsights.data.calibration.CalibrationData;
 
@@ -40,7 +39,7 @@ public class Calib2BallConverter {
 					distances[i+1] = dataAmmo.markerRanges.get(i).y;
 					yPositions[i+1] = dataAmmo.markerRanges.get(i).x;
 					if(dataAmmo.zoomedIn) {
-						yPositions[i+1] /= Conversion.get().zoomInMul;
+						yPositions[i+1] /= dataCalib.vehicle.fovOut / dataCalib.vehicle.fovIn;
 					}
 				}
 				
@@ -52,11 +51,11 @@ public class Calib2BallConverter {
 					marker.id = element.markerData.markers.size()+1;
 					element.markerData.markers.add(marker);
 				}
-
-				element.function = DefaultBallisticFuntion.create(element, dataBall.vehicle, dataBall.isZoomedIn(element));
 				
 			}
 			
+			element.function = dataBall.createFunction(element);
+			
 			
 			BufferedImage img = dataCalib.images.get("image_"+dataAmmo.ammo.name);
 			if(img != null) {
@@ -0,0 +1,98 @@
+package com.ruegnerlukas.wtutils;
+
+import com.ruegnerlukas.wtsights.data.DataPackage;
+import com.ruegnerlukas.wtutils.SightUtils.Thousandth;
+
+
+/**
+ * Converts between pixels, screenspace and mils for one screen size, field of view and thousandth.
+ * Immutable, so one context can be shared by any number of threads (e.g. laying out multiple sights or resolutions in parallel).
+ * */
+public class ConversionContext {
+
+
+	public final double screenWidth;
+	public final double screenHeight;
+
+	public final double conversionMilPx;	// screenspace units per mil
+	public final double zoomInMul;
+
+	// precomputed factors, index 0 = zoomed out, 1 = zoomed in
+	private final double[] zoomMul;
+	private final double[] mil2ss;
+	private final double[] ss2mil;
+
+
+
+
+	/**
+	 * @return the context for the given canvas size and the vehicle/thousandth of the given data
+	 * */
+	public static ConversionContext create(DataPackage data, double screenWidth, double screenHeight) {
+		return new ConversionContext(
+				screenWidth,
+				screenHeight,
+				data.dataBallistic.vehicle.fovOut*data.dataBallistic.zoomModOut,
+				data.dataBallistic.vehicle.fovIn*data.dataBallistic.zoomModIn,
+				data.dataSight.gnrThousandth);
+	}
+
+
+
+
+	public ConversionContext(double screenWidth, double screenHeight, double fovOut, double fovIn, Thousandth thousanth) {
+		this.screenWidth = screenWidth;
+		this.screenHeight = screenHeight;
+		final double x1 = (fovOut / 360.0) * thousanth.value;
+		final double x2 = screenWidth / x1;
+		this.conversionMilPx = x2 / screenHeight;
+		this.zoomInMul = fovOut / fovIn;
+		this.zoomMul = new double[] { 1, zoomInMul };
+		this.mil2ss = new double[] { conversionMilPx, conversionMilPx * zoomInMul };
+		this.ss2mil = new double[] { 1.0 / conversionMilPx, zoomInMul / conversionMilPx };
+	}
+
+
+
+
+	public double screenspace2pixel(double ssUnits, double pxScreenHeight, boolean zoomedIn) {
+		return ssUnits * pxScreenHeight * zoomMul[zoomedIn ? 1 : 0];
+	}
+
+
+
+
+	public double pixel2screenspace(double pxUnits, double pxScreenHeight, boolean zoomedIn) {
+		return (pxUnits / pxScreenHeight) * zoomMul[zoomedIn ? 1 : 0];
+	}
+
+
+
+
+	public double screenspace2mil(double ssUnits, boolean zoomedIn) {
+		return ssUnits * ss2mil[zoomedIn ? 1 : 0];
+	}
+
+
+
+
+	public double mil2screenspace(double milUnits, boolean zoomedIn) {
+		return milUnits * mil2ss[zoomedIn ? 1 : 0];
+	}
+
+
+
+
+	public double mil2pixel(double milUnits, double pxScreenHeight, boolean zoomedIn) {
+		return milUnits * pxScreenHeight * mil2ss[zoomedIn ? 1 : 0];
+	}
+
+
+
+
+	public double pixel2mil(double pxUnits, double pxScreenHeight, boolean zoomedIn) {
+		return (pxUnits / pxScreenHeight) * ss2mil[zoomedIn ? 1 : 0];
+	}
+
+
+}
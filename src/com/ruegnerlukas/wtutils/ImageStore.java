@@ -0,0 +1,386 @@
+package com.ruegnerlukas.wtutils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import com.ruegnerlukas.simpleutils.logging.logger.Logger;
+import com.ruegnerlukas.wtsights.data.ballisticdata.LazyImageMap;
+
+import javafx.application.Platform;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+
+
+/**
+ * Decodes images into javafx-images when they are needed and keeps the most recently used ones.
+ * Full resolution images are decoded when they are requested (or prefetched), downscaled proxies (e.g. for thumbnails) are decoded in the background by a small pool of worker threads.
+ * The cache is limited by the memory of the decoded images (4 bytes per pixel), the least recently used images are removed first.
+ * */
+public class ImageStore {
+
+
+	public static interface ImageListener {
+
+		/**
+		 * called on the javafx-thread when an image that was requested asynchronously is available
+		 * */
+		public void onImageLoaded(Object key, Image image);
+
+	}
+
+
+	public static abstract class ImageSource {
+
+		/**
+		 * @return the encoded image or null, if only a decoded image is available
+		 * */
+		public abstract byte[] getEncoded();
+
+		/**
+		 * @return the decoded image. Only used when no encoded image is available.
+		 * */
+		public abstract BufferedImage getDecoded();
+
+	}
+
+
+	private static class CacheKey {
+
+		public final Object key;
+		public final int proxySize;	// 0 = full resolution
+
+		public CacheKey(Object key, int proxySize) {
+			this.key = key;
+			this.proxySize = proxySize;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey)obj;
+			return key.equals(other.key) && proxySize == other.proxySize;
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() * 31 + proxySize;
+		}
+
+	}
+
+
+	private final long maxWeight;
+	private long weight = 0;
+
+	private final Map<Object,ImageSource> sources = new HashMap<Object,ImageSource>();
+	private final LinkedHashMap<CacheKey,Image> cache = new LinkedHashMap<CacheKey,Image>(16, 0.75f, true);
+	private final Map<CacheKey,FutureTask<Image>> pending = new HashMap<CacheKey,FutureTask<Image>>();
+	private final Map<CacheKey,List<ImageListener>> listeners = new HashMap<CacheKey,List<ImageListener>>();
+
+	private final ExecutorService executor;
+
+
+
+
+	/**
+	 * @param maxWeight the maximum memory of all cached images in bytes
+	 * @param nThreads the number of threads decoding images in the background
+	 * */
+	public ImageStore(long maxWeight, int nThreads) {
+		this.maxWeight = maxWeight;
+		this.executor = Executors.newFixedThreadPool(Math.max(1, nThreads), new ThreadFactory() {
+			@Override public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "image-store");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+
+
+
+	/**
+	 * @return a source reading the image with the given key from the given map (without keeping the decoded image in the map)
+	 * */
+	public static <K> ImageSource createSource(final LazyImageMap<K> images, final K key) {
+		return new ImageSource() {
+			@Override public byte[] getEncoded() {
+				return images.getEncoded(key);
+			}
+			@Override public BufferedImage getDecoded() {
+				return images.get(key);
+			}
+		};
+	}
+
+
+
+
+	public synchronized void add(Object key, ImageSource source) {
+		sources.put(key, source);
+	}
+
+
+
+
+	public synchronized boolean contains(Object key) {
+		return sources.containsKey(key);
+	}
+
+
+
+
+	/**
+	 * removes all sources and cached images. Images that are still being decoded are discarded.
+	 * */
+	public synchronized void clear() {
+		for(FutureTask<Image> task : pending.values()) {
+			task.cancel(false);
+		}
+		sources.clear();
+		cache.clear();
+		pending.clear();
+		listeners.clear();
+		weight = 0;
+	}
+
+
+
+
+	/**
+	 * Returns the image with the given key in full resolution. Blocks until the image is decoded.
+	 * @return the image or null, if there is no image with the given key or it could not be decoded
+	 * */
+	public Image getImage(Object key) {
+		FutureTask<Image> task;
+		boolean runHere = false;
+		synchronized (this) {
+			CacheKey cacheKey = new CacheKey(key, 0);
+			Image image = cache.get(cacheKey);
+			if(image != null) {
+				return image;
+			}
+			task = pending.get(cacheKey);
+			if(task == null) {
+				task = createTask(cacheKey);
+				if(task == null) {
+					return null;
+				}
+				runHere = true;
+			}
+		}
+		if(runHere) {
+			task.run();
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			Logger.get().error(e);
+			return null;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+
+
+
+	/**
+	 * Starts decoding the image with the given key in full resolution in the background, so a later {@link ImageStore#getImage(Object)} does not have to wait.
+	 * */
+	public synchronized void prefetch(Object key) {
+		CacheKey cacheKey = new CacheKey(key, 0);
+		if(!cache.containsKey(cacheKey) && !pending.containsKey(cacheKey)) {
+			FutureTask<Image> task = createTask(cacheKey);
+			if(task != null) {
+				executor.execute(task);
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * Returns a downscaled version of the image with the given key that fits into a square with the given size.
+	 * If the proxy is not decoded yet, it is decoded in the background and the given listener is notified when it is available.
+	 * @return the proxy image or null, if it is not available yet
+	 * */
+	public synchronized Image getProxy(Object key, int size, ImageListener listener) {
+		CacheKey cacheKey = new CacheKey(key, Math.max(1, size));
+		Image image = cache.get(cacheKey);
+		if(image != null) {
+			return image;
+		}
+		if(!pending.containsKey(cacheKey)) {
+			FutureTask<Image> task = createTask(cacheKey);
+			if(task == null) {
+				return null;
+			}
+			executor.execute(task);
+		}
+		if(listener != null) {
+			List<ImageListener> list = listeners.get(cacheKey);
+			if(list == null) {
+				list = new ArrayList<ImageListener>();
+				listeners.put(cacheKey, list);
+			}
+			list.add(listener);
+		}
+		return null;
+	}
+
+
+
+
+	/**
+	 * creates and registers the task decoding the given image. Must be called while holding the lock.
+	 * @return the task or null, if there is no source for the given image
+	 * */
+	private FutureTask<Image> createTask(final CacheKey cacheKey) {
+		final ImageSource source = sources.get(cacheKey.key);
+		if(source == null) {
+			return null;
+		}
+		FutureTask<Image> task = new FutureTask<Image>(new Callable<Image>() {
+			@Override public Image call() throws Exception {
+				Image image = decode(source, cacheKey.proxySize);
+				onDecoded(cacheKey, image);
+				return image;
+			}
+		});
+		pending.put(cacheKey, task);
+		return task;
+	}
+
+
+
+
+	private void onDecoded(final CacheKey cacheKey, final Image image) {
+
+		final List<ImageListener> notify;
+		synchronized (this) {
+			if(!pending.containsKey(cacheKey)) {
+				return; // store was cleared in the meantime
+			}
+			pending.remove(cacheKey);
+			notify = listeners.remove(cacheKey);
+			if(image != null) {
+				Image prev = cache.put(cacheKey, image);
+				if(prev != null) {
+					weight -= getWeight(prev);
+				}
+				weight += getWeight(image);
+				evict();
+			}
+		}
+
+		if(notify != null && image != null) {
+			Platform.runLater(new Runnable() {
+				@Override public void run() {
+					for(ImageListener listener : notify) {
+						listener.onImageLoaded(cacheKey.key, image);
+					}
+				}
+			});
+		}
+	}
+
+
+
+
+	/**
+	 * removes the least recently used images until the cache fits into the memory limit. The most recent image is always kept.
+	 * */
+	private void evict() {
+		Iterator<Entry<CacheKey,Image>> iterator = cache.entrySet().iterator();
+		while(weight > maxWeight && cache.size() > 1 && iterator.hasNext()) {
+			Entry<CacheKey,Image> entry = iterator.next();
+			weight -= getWeight(entry.getValue());
+			iterator.remove();
+		}
+	}
+
+
+
+
+	/**
+	 * @return the memory of the given image in bytes
+	 * */
+	private static long getWeight(Image image) {
+		return (long)image.getWidth() * (long)image.getHeight() * 4L;
+	}
+
+
+
+
+	private static Image decode(ImageSource source, int proxySize) {
+
+		byte[] encoded = source.getEncoded();
+		if(encoded != null) {
+			Image image;
+			if(proxySize == 0) {
+				image = new Image(new ByteArrayInputStream(encoded));
+			} else {
+				image = new Image(new ByteArrayInputStream(encoded), proxySize, proxySize, true, true);
+			}
+			if(image.isError()) {
+				Logger.get().error("Could not decode image: " + image.getException());
+				return null;
+			}
+			return image;
+		}
+
+		BufferedImage decoded = source.getDecoded();
+		if(decoded == null) {
+			return null;
+		}
+		if(proxySize == 0) {
+			return SwingFXUtils.toFXImage(decoded, null);
+		}
+
+		double scale = Math.min(1.0, (double)proxySize / Math.max(decoded.getWidth(), decoded.getHeight()));
+		int width = Math.max(1, (int)Math.round(decoded.getWidth()*scale));
+		int height = Math.max(1, (int)Math.round(decoded.getHeight()*scale));
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = scaled.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.drawImage(decoded, 0, 0, width, height, null);
+		g.dispose();
+		return SwingFXUtils.toFXImage(scaled, null);
+	}
+
+
+
+
+	/**
+	 * stops the worker threads
+	 * */
+	public void dispose() {
+		clear();
+		executor.shutdownNow();
+	}
+
+
+}
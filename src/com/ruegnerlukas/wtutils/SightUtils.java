@@ -316,7 +316,7 @@ public class SightUtils {
 	
 	public static double ballisticFunction(double rangeMeters, Vector3d params) {
 		final double x = rangeMeters;
-		return (float) (params.x + params.y*x + params.z*x*x);
+		return params.x + params.y*x + params.z*x*x;
 	}
 	
 	
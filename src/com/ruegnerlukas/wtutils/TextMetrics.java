@@ -0,0 +1,132 @@
+package com.ruegnerlukas.wtutils;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+
+/**
+ * Measures single-line strings of the font used for sights without a javafx-text node, so layouts can be calculated on any thread.
+ * The advances of the first 256 characters and the line metrics are measured once per font size and cached (least recently used sizes are removed first).
+ * */
+public class TextMetrics {
+
+
+	public static final String FONT_FAMILY = "Arial";
+
+	private static final int N_CACHED_CHARS = 256;
+	private static final int MAX_CACHE_SIZE = 32;
+	private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+
+	private static class Metrics {
+
+		public final Font font;
+		public final float[] advances = new float[N_CACHED_CHARS];
+		public final double ascent;
+		public final double descent;
+		public final double lineHeight;
+
+		public Metrics(double fontSize) {
+			font = new Font(FONT_FAMILY, Font.PLAIN, 1).deriveFont((float)fontSize);
+
+			char[] chars = new char[N_CACHED_CHARS];
+			for(int i=0; i<N_CACHED_CHARS; i++) {
+				chars[i] = (char)i;
+			}
+			GlyphVector glyphs = font.createGlyphVector(FRC, chars);
+			for(int i=0; i<N_CACHED_CHARS; i++) {
+				advances[i] = glyphs.getGlyphMetrics(i).getAdvanceX();
+			}
+
+			LineMetrics lineMetrics = font.getLineMetrics("Mg", FRC);
+			ascent = lineMetrics.getAscent();
+			descent = lineMetrics.getDescent();
+			lineHeight = lineMetrics.getAscent() + lineMetrics.getDescent() + lineMetrics.getLeading();
+		}
+
+	}
+
+
+	private static final Map<Long,Metrics> cache = new LinkedHashMap<Long,Metrics>(MAX_CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override protected boolean removeEldestEntry(Entry<Long,Metrics> eldest) {
+			return size() > MAX_CACHE_SIZE;
+		}
+	};
+
+
+
+
+	private static Metrics getMetrics(double fontSize) {
+		Long key = toKey(fontSize);
+		synchronized (cache) {
+			Metrics metrics = cache.get(key);
+			if(metrics == null) {
+				metrics = new Metrics(fontSize);
+				cache.put(key, metrics);
+			}
+			return metrics;
+		}
+	}
+
+
+
+
+	/**
+	 * @return the key of the given font size. Sizes closer than 0.0001 share the same key.
+	 * */
+	public static long toKey(double fontSize) {
+		return Math.round(fontSize * 10000.0);
+	}
+
+
+
+
+	/**
+	 * @return the width of the given (single-line) text
+	 * */
+	public static double getWidth(String text, double fontSize) {
+		Metrics metrics = getMetrics(fontSize);
+		double width = 0;
+		for(int i=0, n=text.length(); i<n; i++) {
+			char c = text.charAt(i);
+			if(c < N_CACHED_CHARS) {
+				width += metrics.advances[c];
+			} else {
+				width += metrics.font.getStringBounds(text, i, i+1, FRC).getWidth();
+			}
+		}
+		return width;
+	}
+
+
+
+
+	/**
+	 * @return the height of a single line of text
+	 * */
+	public static double getLineHeight(double fontSize) {
+		return getMetrics(fontSize).lineHeight;
+	}
+
+
+
+
+	public static double getAscent(double fontSize) {
+		return getMetrics(fontSize).ascent;
+	}
+
+
+
+
+	public static double getDescent(double fontSize) {
+		return getMetrics(fontSize).descent;
+	}
+
+
+}
@@ -0,0 +1,209 @@
+package com.ruegnerlukas.wtutils.canvas;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+
+/**
+ * Coalesces repaint requests and renders at most once per javafx-pulse, only if something was invalidated since the last frame.
+ * The timer is stopped while nothing is invalid, so an idle canvas does not request any pulses.
+ * All methods can be called from any thread, rendering happens on the javafx application thread.
+ * */
+public abstract class FrameScheduler extends AnimationTimer {
+
+
+	private volatile boolean canvasDirty = false;
+	private volatile boolean overlayDirty = false;
+	private boolean running = false;
+
+	private long lastOverlayFrame = 0;
+
+	// metrics
+	private long nRequests = 0;
+	private long nFrames = 0;
+	private long lastFrameTime = 0;
+	private long maxFrameTime = 0;
+	private long totalFrameTime = 0;
+
+
+
+
+	/**
+	 * Marks the canvas and the overlay as invalid. Both are redrawn with the next pulse.
+	 * */
+	public void invalidate() {
+		canvasDirty = true;
+		overlayDirty = true;
+		requestFrame();
+	}
+
+
+
+
+	/**
+	 * Marks only the overlay as invalid. It is redrawn with the next pulse.
+	 * */
+	public void invalidateOverlay() {
+		overlayDirty = true;
+		requestFrame();
+	}
+
+
+
+
+	private void requestFrame() {
+		if(Platform.isFxApplicationThread()) {
+			nRequests++;
+			if(!running) {
+				running = true;
+				start();
+			}
+		} else {
+			Platform.runLater(new Runnable() {
+				@Override public void run() {
+					requestFrame();
+				}
+			});
+		}
+	}
+
+
+
+
+	@Override
+	public void handle(long now) {
+
+		// animated overlays are redrawn in fixed intervals
+		if(isOverlayAnimated() && now-lastOverlayFrame >= getOverlayAnimationDelay()*1000000L) {
+			overlayDirty = true;
+		}
+
+		if(!canvasDirty && !overlayDirty) {
+			if(!isOverlayAnimated()) {
+				running = false;
+				stop();
+			}
+			return;
+		}
+
+		final boolean drawCanvas = canvasDirty;
+		final boolean drawOverlay = overlayDirty;
+		canvasDirty = false;
+		overlayDirty = false;
+
+		long timeStart = System.nanoTime();
+		if(drawCanvas) {
+			onRenderCanvas();
+		}
+		if(drawOverlay) {
+			onRenderOverlay();
+			lastOverlayFrame = now;
+		}
+		long frameTime = System.nanoTime() - timeStart;
+
+		nFrames++;
+		lastFrameTime = frameTime;
+		maxFrameTime = Math.max(maxFrameTime, frameTime);
+		totalFrameTime += frameTime;
+	}
+
+
+
+
+	/**
+	 * Stops rendering. Later repaint requests start the scheduler again.
+	 * */
+	public void dispose() {
+		running = false;
+		stop();
+	}
+
+
+
+
+	/**
+	 * @return the number of repaint requests since the last reset (each frame can handle any number of requests)
+	 * */
+	public long getRequestCount() {
+		return nRequests;
+	}
+
+
+
+
+	/**
+	 * @return the number of rendered frames since the last reset
+	 * */
+	public long getFrameCount() {
+		return nFrames;
+	}
+
+
+
+
+	/**
+	 * @return the time it took to render the last frame in ms
+	 * */
+	public double getLastFrameTime() {
+		return lastFrameTime / 1000000.0;
+	}
+
+
+
+
+	/**
+	 * @return the longest time it took to render a frame since the last reset in ms
+	 * */
+	public double getMaxFrameTime() {
+		return maxFrameTime / 1000000.0;
+	}
+
+
+
+
+	/**
+	 * @return the average time it took to render a frame since the last reset in ms
+	 * */
+	public double getAvgFrameTime() {
+		return nFrames == 0 ? 0 : (totalFrameTime / (double)nFrames) / 1000000.0;
+	}
+
+
+
+
+	public void resetMetrics() {
+		nRequests = 0;
+		nFrames = 0;
+		lastFrameTime = 0;
+		maxFrameTime = 0;
+		totalFrameTime = 0;
+	}
+
+
+
+
+	@Override
+	public String toString() {
+		return String.format("frames=%d, requests=%d, last=%.2fms, avg=%.2fms, max=%.2fms",
+				getFrameCount(), getRequestCount(), getLastFrameTime(), getAvgFrameTime(), getMaxFrameTime());
+	}
+
+
+
+
+	/**
+	 * @return true, if the overlay changes over time and has to be redrawn every {@link FrameScheduler#getOverlayAnimationDelay()} ms
+	 * */
+	public abstract boolean isOverlayAnimated();
+
+	/**
+	 * @return the time between two frames of an animated overlay in ms
+	 * */
+	public abstract int getOverlayAnimationDelay();
+
+	public abstract void onRenderCanvas();
+
+	public abstract void onRenderOverlay();
+
+
+}
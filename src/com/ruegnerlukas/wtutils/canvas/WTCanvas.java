@@ -1,13 +1,10 @@
 package com.ruegnerlukas.wtutils.canvas;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
 import com.ruegnerlukas.simplemath.vectors.vec2.Vector2d;
 import com.ruegnerlukas.wtutils.ZoomableScrollPane;
 
-import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.event.EventHandler;
 import javafx.geometry.Point2D;
 import javafx.scene.canvas.Canvas;
@@ -29,9 +26,9 @@ public class WTCanvas {
 	public boolean cursorVisible = false;
 	public Vector2d cursorPosition = new Vector2d();
 	
-	public boolean constantOverlayUpdate = true;
-	public int overlayUpdateDelay = 30; // in ms
-	public ScheduledExecutorService ses;
+	public boolean constantOverlayUpdate = true; // whether the overlay is animated and redrawn every 'overlayUpdateDelay' ms
+	public int overlayUpdateDelay = 100; // in ms (the dashes of the selection move every 100ms)
+	public final FrameScheduler frameScheduler;
 	
 	
 	
@@ -57,18 +54,22 @@ public class WTCanvas {
 		AnchorPane.setTopAnchor(canvasOverlay, 0.0);
 		canvasOverlay.toFront();
 		
-		if(constantOverlayUpdate) {
-			ses = Executors.newSingleThreadScheduledExecutor();
-			ses.scheduleAtFixedRate(new Runnable() {
-			     @Override public void run() {
-			    	 Platform.runLater(new Runnable() {
-						@Override public void run() {
-							canvasOverlay.repaint();
-						}
-			    	 });
-			     }
-			}, 0, overlayUpdateDelay, TimeUnit.MILLISECONDS);
-		}
+		this.frameScheduler = new FrameScheduler() {
+			@Override public boolean isOverlayAnimated() {
+				return WTCanvas.this.isOverlayAnimated();
+			}
+			@Override public int getOverlayAnimationDelay() {
+				return overlayUpdateDelay;
+			}
+			@Override public void onRenderCanvas() {
+				if(canvas != null) {
+					onRepaint(canvas.getGraphicsContext2D());
+				}
+			}
+			@Override public void onRenderOverlay() {
+				canvasOverlay.repaint();
+			}
+		};
 		
 	}
 	
@@ -96,6 +97,7 @@ public class WTCanvas {
 				cursorVisible = true;
 				cursorPosition.set(event.getX(), event.getY());
 				onMouseMoved();
+				repaintOverlay();
 			}
 		});
 		canvas.setOnMouseDragged(new EventHandler<MouseEvent>() {
@@ -106,6 +108,7 @@ public class WTCanvas {
 					cursorVisible = true;
 					cursorPosition.set(event.getX(), event.getY());
 					onMouseDragged();
+					repaintOverlay();
 				} else {
 					repaint();
 				}
@@ -116,6 +119,7 @@ public class WTCanvas {
 			public void handle(MouseEvent event) {
 				event.consume();
 				cursorVisible = false;
+				repaintOverlay();
 			}
 		});
 		canvas.setOnMousePressed(new EventHandler<MouseEvent>() {
@@ -153,9 +157,16 @@ public class WTCanvas {
 		paneCanvasControl = new ZoomableScrollPane(canvas) {
 			@Override
 			public void onZoom() {
-				canvasOverlay.repaint();
+				repaintOverlay();
 			};
 		};
+		ChangeListener<Number> scrollListener = new ChangeListener<Number>() {
+			@Override public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+				repaintOverlay();
+			}
+		};
+		paneCanvasControl.hvalueProperty().addListener(scrollListener);
+		paneCanvasControl.vvalueProperty().addListener(scrollListener);
 		AnchorPane.setLeftAnchor(paneCanvasControl, 0.0);
 		AnchorPane.setRightAnchor(paneCanvasControl, 0.0);
 		AnchorPane.setTopAnchor(paneCanvasControl, 0.0);
@@ -172,13 +183,56 @@ public class WTCanvas {
 	
 	
 	
+	/**
+	 * Requests a repaint of the canvas and the overlay. Multiple requests are combined and drawn once with the next pulse.
+	 * */
 	public void repaint() {
+		frameScheduler.invalidate();
+	}
+	
+	
+	
+	
+	/**
+	 * Requests a repaint of only the overlay with the next pulse.
+	 * */
+	public void repaintOverlay() {
+		frameScheduler.invalidateOverlay();
+	}
+	
+	
+	
+	
+	/**
+	 * Repaints the canvas and the overlay immediately. Must be called on the javafx application thread.
+	 * */
+	public void repaintNow() {
 		onRepaint(canvas.getGraphicsContext2D());
 		canvasOverlay.repaint();
 	}
 	
 	
 	
+	
+	/**
+	 * Stops the rendering of this canvas.
+	 * */
+	public void dispose() {
+		frameScheduler.dispose();
+	}
+	
+	
+	
+	
+	/**
+	 * @return true, if the overlay is animated and has to be redrawn every 'overlayUpdateDelay' ms
+	 * */
+	public boolean isOverlayAnimated() {
+		return constantOverlayUpdate;
+	}
+	
+	
+	
 	public double getWidth() {
 		return canvas.getWidth();
 	}